@@ -22,6 +22,7 @@ import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.*;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.api.tenant.MultiTenantMigrationResult;
 import org.flywaydb.core.internal.configuration.ConfigUtils;
 import org.flywaydb.core.internal.info.MigrationInfoDumper;
 import org.flywaydb.core.internal.license.VersionPrinter;
@@ -42,7 +43,7 @@ public class Main {
 
     private static List<String> VALID_OPERATIONS_AND_FLAGS = Arrays.asList("-X", "-q", "-n", "-v", "-json.experimental", "-?",
             "-community", "-pro", "-enterprise",
-            "help", "migrate", "clean", "info", "validate", "undo", "baseline", "repair");
+            "help", "migrate", "migrateTenants", "clean", "reset", "info", "validate", "undo", "baseline", "repair");
 
     /**
      * Initializes the logging.
@@ -177,10 +178,18 @@ public class Main {
     private static void executeOperation(Flyway flyway, String operation, Boolean jsonOutput) {
         if ("clean".equals(operation)) {
             flyway.clean();
+        } else if ("reset".equals(operation)) {
+            flyway.reset();
         } else if ("baseline".equals(operation)) {
             flyway.baseline();
         } else if ("migrate".equals(operation)) {
             flyway.migrate();
+        } else if ("migrateTenants".equals(operation)) {
+            MultiTenantMigrationResult result = flyway.migrateTenants();
+            if (!result.isSuccess()) {
+                throw new FlywayException("Migration failed for " + result.getFailedResults().size() + " of "
+                        + result.getResults().size() + " tenants");
+            }
         } else if ("undo".equals(operation)) {
             flyway.undo();
         } else if ("validate".equals(operation)) {
@@ -276,13 +285,15 @@ public class Main {
         LOG.info("");
         LOG.info("Commands");
         LOG.info("--------");
-        LOG.info("migrate  : Migrates the database");
-        LOG.info("clean    : Drops all objects in the configured schemas");
-        LOG.info("info     : Prints the information about applied, current and pending migrations");
-        LOG.info("validate : Validates the applied migrations against the ones on the classpath");
-        LOG.info("undo     : [" + "pro] Undoes the most recently applied versioned migration");
-        LOG.info("baseline : Baselines an existing database at the baselineVersion");
-        LOG.info("repair   : Repairs the schema history table");
+        LOG.info("migrate        : Migrates the database");
+        LOG.info("migrateTenants : Migrates the configured tenants concurrently");
+        LOG.info("clean          : Drops all objects in the configured schemas");
+        LOG.info("reset          : Restores the data in the configured schemas to their state after migrating");
+        LOG.info("info           : Prints the information about applied, current and pending migrations");
+        LOG.info("validate       : Validates the applied migrations against the ones on the classpath");
+        LOG.info("undo           : [" + "pro] Undoes the most recently applied versioned migration");
+        LOG.info("baseline       : Baselines an existing database at the baselineVersion");
+        LOG.info("repair         : Repairs the schema history table");
         LOG.info("");
         LOG.info("Options (Format: -key=value)");
         LOG.info("-------");
@@ -310,6 +321,24 @@ public class Main {
         LOG.info("placeholders                 : Placeholders to replace in sql migrations");
         LOG.info("placeholderPrefix            : Prefix of every placeholder");
         LOG.info("placeholderSuffix            : Suffix of every placeholder");
+        LOG.info("checksumCacheFile            : File in which to cache migration checksums between runs");
+        LOG.info("scanCacheFile                : File in which to cache classpath jar scans between runs");
+        LOG.info("cleanParallelism             : Max number of schemas to clean at the same time");
+        LOG.info("snapshotDirectory            : Directory for snapshots of migrated embedded databases");
+        LOG.info("tenants                      : Comma-separated list of JDBC urls or schemas for migrateTenants");
+        LOG.info("tenantParallelism            : Max number of tenants to migrate at the same time");
+        LOG.info("tenantRetries                : Max number of retries for tenants failing with database errors");
+        LOG.info("migrateParallelism           : Max number of migrations with declared dependencies applied concurrently");
+        LOG.info("parallelRepeatables          : Apply non-conflicting repeatable migrations concurrently");
+        LOG.info("groupSize                    : Max number of migrations per transaction when group is enabled");
+        LOG.info("groupMaxDuration             : Max seconds per transaction when group is enabled");
+        LOG.info("checkpointFile               : File recording the progress of non-transactional migrations");
+        LOG.info("throttleStatementsPerSecond  : Max statements per second executed for migrations");
+        LOG.info("throttleRowsPerSecond        : Max rows per second modified by migrations");
+        LOG.info("backpressureProbes           : Comma-separated list of BackpressureProbes for migrations");
+        LOG.info("bulkProfile                  : Apply migrations with the bulk-load profile of embedded databases");
+        LOG.info("serverSideScripts            : Let H2 and HSQLDB execute SQL scripts in one call");
+        LOG.info("dataMigrations               : Resolve .csv and .tsv data file migrations");
         LOG.info("installedBy                  : Username that will be recorded in the schema history table");
         LOG.info("target                       : Target version up to which Flyway should use migrations");
         LOG.info("outOfOrder                   : Allows migrations to be run \"out of order\"");
@@ -15,8 +15,11 @@
  */
 package org.flywaydb.core;
 
+import org.flywaydb.core.api.ErrorCode;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationInfoService;
+import org.flywaydb.core.api.async.MigrateFuture;
+import org.flywaydb.core.api.async.MigrateResult;
 import org.flywaydb.core.api.callback.Callback;
 import org.flywaydb.core.api.configuration.ClassicConfiguration;
 import org.flywaydb.core.api.configuration.Configuration;
@@ -25,6 +28,8 @@ import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.api.migration.JavaMigration;
 import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.tenant.MultiTenantMigrationResult;
+import org.flywaydb.core.api.tenant.Tenant;
 import org.flywaydb.core.internal.callback.CallbackExecutor;
 import org.flywaydb.core.internal.callback.DefaultCallbackExecutor;
 import org.flywaydb.core.internal.callback.NoopCallback;
@@ -36,34 +41,49 @@ import org.flywaydb.core.internal.command.DbBaseline;
 import org.flywaydb.core.internal.command.DbClean;
 import org.flywaydb.core.internal.command.DbInfo;
 import org.flywaydb.core.internal.command.DbMigrate;
+import org.flywaydb.core.internal.command.DbMigrateTenants;
 import org.flywaydb.core.internal.command.DbRepair;
+import org.flywaydb.core.internal.command.DbReset;
 import org.flywaydb.core.internal.command.DbSchemas;
+import org.flywaydb.core.internal.command.DbSnapshot;
 import org.flywaydb.core.internal.command.DbValidate;
+import org.flywaydb.core.internal.command.MigrateProgressTracker;
+import org.flywaydb.core.internal.command.SharedMigrationResources;
 import org.flywaydb.core.internal.configuration.ConfigurationValidator;
 import org.flywaydb.core.internal.database.DatabaseFactory;
 import org.flywaydb.core.internal.database.base.Database;
 import org.flywaydb.core.internal.database.base.Schema;
+import org.flywaydb.core.internal.database.base.Table;
+import org.flywaydb.core.internal.exception.MigrateCancelledException;
+import org.flywaydb.core.internal.jdbc.DriverDataSource;
 import org.flywaydb.core.internal.jdbc.JdbcConnectionFactory;
 import org.flywaydb.core.internal.license.VersionPrinter;
 import org.flywaydb.core.internal.resolver.CompositeMigrationResolver;
+import org.flywaydb.core.internal.resource.ChecksumCache;
 import org.flywaydb.core.internal.resource.NoopResourceProvider;
 import org.flywaydb.core.internal.resource.ResourceProvider;
 import org.flywaydb.core.internal.resource.StringResource;
 import org.flywaydb.core.internal.scanner.ResourceNameCache;
+import org.flywaydb.core.internal.scanner.ScanCache;
 import org.flywaydb.core.internal.scanner.Scanner;
 import org.flywaydb.core.internal.schemahistory.SchemaHistory;
 import org.flywaydb.core.internal.schemahistory.SchemaHistoryFactory;
 import org.flywaydb.core.internal.sqlscript.SqlScript;
 import org.flywaydb.core.internal.sqlscript.SqlScriptExecutorFactory;
 import org.flywaydb.core.internal.sqlscript.SqlScriptFactory;
+import org.flywaydb.core.internal.sqlscript.StatementThrottle;
 import org.flywaydb.core.internal.util.IOUtils;
+import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.StringUtils;
 
+import java.io.File;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 /**
  * This is the centre point of Flyway, and for most users, the only class they will ever have to deal with.
@@ -143,6 +163,28 @@ public class Flyway {
      */
     private ResourceNameCache resourceNameCache = new ResourceNameCache();
 
+    /**
+     * The persistent checksum cache, loaded on first use. {@code null} if checksum caching is disabled.
+     */
+    private ChecksumCache checksumCache;
+
+    /**
+     * The persistent classpath scan cache, loaded on first use. {@code null} if scan caching is disabled.
+     */
+    private ScanCache scanCache;
+
+    /**
+     * The scan results and resolved migrations shared with the other tenants when this instance migrates a single
+     * tenant as part of migrateTenants. {@code null} otherwise.
+     */
+    private SharedMigrationResources sharedMigrationResources;
+
+    /**
+     * The tracker following the progress of this instance when it migrates in the background as part of
+     * migrateAsync. {@code null} otherwise.
+     */
+    private MigrateProgressTracker migrateProgressTracker;
+
     /**
      * <p>Starts the database migration. All pending migrations will be applied in order.
      * Calling migrate on an up-to-date database has no effect.</p>
@@ -153,8 +195,8 @@ public class Flyway {
      */
     public int migrate() throws FlywayException {
         return execute(new Command<Integer>() {
-            public Integer execute(MigrationResolver migrationResolver,
-                                   SchemaHistory schemaHistory, Database database, Schema[] schemas, CallbackExecutor callbackExecutor
+            public Integer execute(final MigrationResolver migrationResolver,
+                                   final SchemaHistory schemaHistory, final Database database, final Schema[] schemas, final CallbackExecutor callbackExecutor
 
 
 
@@ -165,6 +207,7 @@ public class Flyway {
                     );
                 }
 
+                boolean emptyDatabase = false;
                 if (!schemaHistory.exists()) {
                     List<Schema> nonEmptySchemas = new ArrayList<>();
                     for (Schema schema : schemas) {
@@ -186,22 +229,180 @@ public class Flyway {
                             }
                         }
                     } else {
+                        if (StringUtils.hasText(configuration.getSnapshotDirectory())) {
+                            return new DbSnapshot(database, schemaHistory, migrationResolver, callbackExecutor,
+                                    configuration)
+                                    .migrate(new Callable<Integer>() {
+                                        @Override
+                                        public Integer call() {
+                                            new DbSchemas(database, schemas, schemaHistory).create(false);
+                                            schemaHistory.create(false);
+                                            int count = new DbMigrate(database, schemaHistory, schemas[0],
+                                                    migrationResolver, configuration, callbackExecutor,
+                                                    migrateProgressTracker).migrate();
+                                            recordResetState(database, schemas, true, count);
+                                            return count;
+                                        }
+                                    });
+                        }
+
                         new DbSchemas(database, schemas, schemaHistory).create(false);
                         schemaHistory.create(false);
+                        emptyDatabase = true;
                     }
                 }
 
-                return new DbMigrate(database, schemaHistory, schemas[0], migrationResolver, configuration,
-                        callbackExecutor).migrate();
+                int count = new DbMigrate(database, schemaHistory, schemas[0], migrationResolver, configuration,
+                        callbackExecutor, migrateProgressTracker).migrate();
+                recordResetState(database, schemas, emptyDatabase, count);
+                return count;
             }
         }, true);
     }
 
+    /**
+     * <p>Starts the database migration in the background, so an application can start up while its database is being
+     * migrated and only wait for the migration once it actually needs the database.</p>
+     * <p>The returned future reports the progress of the migration, and completes with its result. Cancelling it
+     * stops the migration at the next safe point: before the next migration, or before the next statement of a
+     * migration executing in a DDL transaction, which is then rolled back. Its outcome is only completed once the
+     * migration has actually stopped.</p>
+     *
+     * @param executor The executor to migrate on.
+     * @return The migration running in the background.
+     */
+    public MigrateFuture migrateAsync(Executor executor) {
+        final Flyway flyway = new Flyway(configuration);
+        final MigrateProgressTracker tracker = new MigrateProgressTracker();
+        flyway.migrateProgressTracker = tracker;
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (tracker.isCancelRequested()) {
+                    tracker.completeCancelled();
+                    return;
+                }
+                StopWatch stopWatch = new StopWatch();
+                stopWatch.start();
+                try {
+                    int migrationsExecuted = flyway.migrate();
+                    stopWatch.stop();
+                    tracker.completeMigrated(new MigrateResult(migrationsExecuted, stopWatch.getTotalTimeMillis()));
+                } catch (Throwable e) {
+                    MigrateCancelledException cancelled = MigrateCancelledException.find(e);
+                    if (cancelled != null) {
+                        LOG.info(cancelled.getMessage());
+                        tracker.completeCancelled();
+                    } else {
+                        tracker.completeFailed(e);
+                    }
+                    if (e instanceof Error) {
+                        throw (Error) e;
+                    }
+                }
+            }
+        });
+        return tracker;
+    }
+
     private void doBaseline(SchemaHistory schemaHistory, CallbackExecutor callbackExecutor) {
         new DbBaseline(schemaHistory, configuration.getBaselineVersion(), configuration.getBaselineDescription(),
                 callbackExecutor).baseline();
     }
 
+    /**
+     * <p>Migrates the tenants configured with the {@code tenants} property. Entries starting with {@code jdbc:} are the
+     * urls of tenant databases, accessed with the configured user and password. All other entries are the names of
+     * tenant schemas within the configured database.</p>
+     *
+     * @return The results of the individual tenants.
+     * @throws FlywayException when no tenants are configured.
+     * @see #migrateTenants(List)
+     */
+    public MultiTenantMigrationResult migrateTenants() throws FlywayException {
+        String[] tenantNames = configuration.getTenants();
+        if (tenantNames.length == 0) {
+            throw new FlywayException("No tenants configured. Set the tenants property to migrate tenants.",
+                    ErrorCode.CONFIGURATION);
+        }
+
+        String user = null;
+        String password = null;
+        if (configuration.getDataSource() instanceof DriverDataSource) {
+            user = ((DriverDataSource) configuration.getDataSource()).getUser();
+            password = ((DriverDataSource) configuration.getDataSource()).getPassword();
+        }
+
+        List<Tenant> tenants = new ArrayList<>(tenantNames.length);
+        for (String tenantName : tenantNames) {
+            if (tenantName.startsWith("jdbc:")) {
+                tenants.add(Tenant.ofDataSource(tenantName,
+                        new DriverDataSource(configuration.getClassLoader(), null, tenantName, user, password)));
+            } else {
+                tenants.add(Tenant.ofSchemas(tenantName));
+            }
+        }
+        return migrateTenants(tenants);
+    }
+
+    /**
+     * <p>Migrates all these tenants, as migrate would do for each of them individually, but much faster for large
+     * numbers of tenants. The locations are scanned once, and SQL scripts are parsed once per type of database, for all
+     * tenants together. Up to {@code tenantParallelism} tenants are migrated at the same time, each on its own
+     * connection.</p>
+     * <p>The failure of a tenant never affects the other tenants. Tenants failing because of a transient database
+     * error are retried up to {@code tenantRetries} times. This method only fails when the run itself can't be set
+     * up; the failures of individual tenants are reported in the results instead.</p>
+     * <p>Java migrations and callbacks configured as instances are shared by all tenants, so they must be safe to
+     * invoke concurrently.</p>
+     *
+     * @param tenants The tenants to migrate.
+     * @return The results of the individual tenants.
+     * @throws FlywayException when the run could not be set up.
+     */
+    public MultiTenantMigrationResult migrateTenants(List<Tenant> tenants) throws FlywayException {
+        VersionPrinter.printVersion(
+
+
+
+        );
+
+        configurationValidator.validate(configuration);
+
+        final SharedMigrationResources resources;
+        if (sharedMigrationResources != null) {
+            resources = sharedMigrationResources;
+        } else {
+            Scanner<JavaMigration> scanner = createScanner();
+            resources = new SharedMigrationResources(scanner, scanner);
+        }
+
+        try {
+            return new DbMigrateTenants(tenants, configuration.getTenantParallelism(), configuration.getTenantRetries())
+                    .migrate(new DbMigrateTenants.TenantMigrator() {
+                        @Override
+                        public int migrate(Tenant tenant) {
+                            ClassicConfiguration tenantConfiguration = new ClassicConfiguration(configuration);
+                            if (tenant.getDataSource() != null) {
+                                tenantConfiguration.setDataSource(tenant.getDataSource());
+                            }
+                            if (tenant.getSchemas().length > 0) {
+                                tenantConfiguration.setSchemas(tenant.getSchemas());
+                            }
+
+                            Flyway flyway = new Flyway(tenantConfiguration);
+                            flyway.sharedMigrationResources = resources;
+                            return flyway.migrate();
+                        }
+                    });
+        } finally {
+            if (sharedMigrationResources == null) {
+                saveCaches();
+            }
+        }
+    }
+
     /**
      * <p>Undoes the most recently applied versioned migration. If target is specified, Flyway will attempt to undo
      * versioned migrations in the order they were applied until it hits one with a version below the target. If there
@@ -284,7 +485,8 @@ public class Flyway {
     }
 
     private void doClean(Database database, SchemaHistory schemaHistory, Schema[] schemas, CallbackExecutor callbackExecutor) {
-        new DbClean(database, schemaHistory, schemas, callbackExecutor, configuration.isCleanDisabled()).clean();
+        new DbClean(database, schemaHistory, schemas, callbackExecutor, configuration.isCleanDisabled(),
+                configuration.getCleanParallelism()).clean();
     }
 
     /**
@@ -308,6 +510,59 @@ public class Flyway {
         }, false);
     }
 
+    /**
+     * <p>Restores the data in the configured schemas to its state right after they were last migrated, while keeping
+     * their structure and the schema history table intact. Data inserted by the migrations is restored, all other data
+     * is deleted, and sequences and identity columns continue from the values they had after migrating. This is a much
+     * faster alternative to clean followed by migrate for resetting a test database to a known state.</p>
+     * <p>The state to reset to is recorded by migrate whenever it migrates an empty database, and updated whenever it
+     * applies further migrations afterwards. It is kept in a table named after the schema history table, with the
+     * {@code _reset} suffix, and copies of the tables containing data.</p>
+     * <p>Supported for H2, HSQLDB, Derby and SQLite. Like clean, reset is not available when clean is disabled.</p>
+     *
+     * @throws FlywayException when the reset fails, isn't supported for this database, or no state has been recorded.
+     */
+    public void reset() {
+        execute(new Command<Void>() {
+            public Void execute(MigrationResolver migrationResolver, SchemaHistory schemaHistory, Database database,
+                                Schema[] schemas, CallbackExecutor callbackExecutor
+
+
+
+            ) {
+                if (!database.supportsReset()) {
+                    throw new FlywayException("Reset is not supported for " + database.getDatabaseType().getName()
+                            + " databases. Use clean followed by migrate instead.");
+                }
+                createDbReset(database, schemas).reset();
+                return null;
+            }
+        }, false);
+    }
+
+    private DbReset createDbReset(Database database, Schema[] schemas) {
+        Table schemaHistoryTable = schemas[0].getTable(configuration.getTable());
+        return new DbReset(database, schemaHistoryTable, schemas, configuration.isCleanDisabled());
+    }
+
+    /**
+     * Records the data after migrating as the state to reset to, when migrating an empty database or when migrations
+     * were applied to a database whose state was recorded before.
+     *
+     * @param emptyDatabase      Whether an empty database was migrated.
+     * @param migrationsExecuted The number of migrations applied.
+     */
+    private void recordResetState(Database database, Schema[] schemas, boolean emptyDatabase,
+                                  int migrationsExecuted) {
+        if (!database.supportsReset() || configuration.isCleanDisabled()) {
+            return;
+        }
+        DbReset dbReset = createDbReset(database, schemas);
+        if (emptyDatabase || (migrationsExecuted > 0 && dbReset.isRecorded())) {
+            dbReset.record();
+        }
+    }
+
     /**
      * <p>Retrieves the complete information about all the migrations including applied, pending and current migrations with
      * details and status.</p>
@@ -422,21 +677,15 @@ public class Flyway {
 
         final ResourceProvider resourceProvider;
         ClassProvider<JavaMigration> classProvider;
-        if (!scannerRequired && configuration.isSkipDefaultResolvers() && configuration.isSkipDefaultCallbacks()) {
+        if (sharedMigrationResources != null) {
+            resourceProvider = sharedMigrationResources.getResourceProvider();
+            classProvider = sharedMigrationResources.getClassProvider();
+        } else if (!scannerRequired && configuration.isSkipDefaultResolvers() && configuration.isSkipDefaultCallbacks()) {
             resourceProvider = NoopResourceProvider.INSTANCE;
             //noinspection unchecked
             classProvider = NoopClassProvider.INSTANCE;
         } else {
-            Scanner<JavaMigration> scanner = new Scanner<>(
-                    JavaMigration.class,
-                    Arrays.asList(configuration.getLocations()),
-                    configuration.getClassLoader(),
-                    configuration.getEncoding()
-
-
-
-                    , resourceNameCache
-            );
+            Scanner<JavaMigration> scanner = createScanner();
             resourceProvider = scanner;
             classProvider = scanner;
         }
@@ -453,7 +702,7 @@ public class Flyway {
                 DatabaseFactory.createSqlScriptFactory(jdbcConnectionFactory, configuration);
 
         final SqlScriptExecutorFactory noCallbackSqlScriptExecutorFactory = DatabaseFactory.createSqlScriptExecutorFactory(
-                jdbcConnectionFactory
+                jdbcConnectionFactory, null
 
 
 
@@ -481,6 +730,15 @@ public class Flyway {
             }
         });
 
+        // Tenants migrated together share their parsed migration and callback scripts, but nothing bound to their
+        // own database
+        SqlScriptFactory migrationSqlScriptFactory = sharedMigrationResources == null
+                ? sqlScriptFactory
+                : sharedMigrationResources.getSqlScriptFactory(jdbcConnectionFactory.getDatabaseType(), sqlScriptFactory);
+
+        // Only the statements of migrations are throttled, never those of callbacks or the schema history table
+        StatementThrottle throttle = StatementThrottle.create(configuration);
+
         Database database = null;
         try {
             database = DatabaseFactory.createDatabase(configuration, !dbConnectionInfoPrinted, jdbcConnectionFactory
@@ -502,21 +760,28 @@ public class Flyway {
             database.ensureSupported();
 
             DefaultCallbackExecutor callbackExecutor = new DefaultCallbackExecutor(configuration, database, schemas[0],
-                    prepareCallbacks(database, resourceProvider, jdbcConnectionFactory, sqlScriptFactory
+                    prepareCallbacks(database, resourceProvider, jdbcConnectionFactory, migrationSqlScriptFactory
 
 
 
                     ));
 
-            SqlScriptExecutorFactory sqlScriptExecutorFactory = DatabaseFactory.createSqlScriptExecutorFactory(jdbcConnectionFactory
+            SqlScriptExecutorFactory sqlScriptExecutorFactory = DatabaseFactory.createSqlScriptExecutorFactory(jdbcConnectionFactory,
+                    throttle
 
 
 
 
             );
 
+            if (migrateProgressTracker != null) {
+                sqlScriptExecutorFactory =
+                        migrateProgressTracker.wrap(sqlScriptExecutorFactory, database.supportsDdlTransactions());
+            }
+
             result = command.execute(
-                    createMigrationResolver(resourceProvider, classProvider, sqlScriptExecutorFactory, sqlScriptFactory),
+                    createMigrationResolver(resourceProvider, classProvider, sqlScriptExecutorFactory,
+                            migrationSqlScriptFactory),
                     SchemaHistoryFactory.getSchemaHistory(configuration, noCallbackSqlScriptExecutorFactory, sqlScriptFactory,
                             database, schemas[0]
 
@@ -533,13 +798,56 @@ public class Flyway {
         } finally {
             IOUtils.close(database);
 
+            if (throttle != null) {
+                throttle.logSummary();
+            }
+
 
 
+            saveCaches();
+
             showMemoryUsage();
         }
         return result;
     }
 
+    /**
+     * Creates a scanner for the configured locations, loading the persistent caches it uses if necessary.
+     *
+     * @return The scanner.
+     */
+    private Scanner<JavaMigration> createScanner() {
+        if (checksumCache == null && StringUtils.hasText(configuration.getChecksumCacheFile())) {
+            checksumCache = new ChecksumCache(new File(configuration.getChecksumCacheFile()));
+        }
+        if (scanCache == null && StringUtils.hasText(configuration.getScanCacheFile())) {
+            scanCache = new ScanCache(new File(configuration.getScanCacheFile()));
+        }
+
+        return new Scanner<>(
+                JavaMigration.class,
+                Arrays.asList(configuration.getLocations()),
+                configuration.getClassLoader(),
+                configuration.getEncoding()
+
+
+
+                , resourceNameCache, checksumCache, scanCache
+        );
+    }
+
+    /**
+     * Writes the persistent caches back to disk, if they are enabled.
+     */
+    private void saveCaches() {
+        if (checksumCache != null) {
+            checksumCache.save();
+        }
+        if (scanCache != null) {
+            scanCache.save();
+        }
+    }
+
     private void showMemoryUsage() {
         Runtime runtime = Runtime.getRuntime();
         long free = runtime.freeMemory();
@@ -603,10 +911,13 @@ public class Flyway {
 
 
         effectiveCallbacks.addAll(Arrays.asList(configuration.getCallbacks()));
+        if (migrateProgressTracker != null) {
+            effectiveCallbacks.add(migrateProgressTracker);
+        }
 
         if (!configuration.isSkipDefaultCallbacks()) {
             SqlScriptExecutorFactory sqlScriptExecutorFactory =
-                    DatabaseFactory.createSqlScriptExecutorFactory(jdbcConnectionFactory
+                    DatabaseFactory.createSqlScriptExecutorFactory(jdbcConnectionFactory, null
 
 
 
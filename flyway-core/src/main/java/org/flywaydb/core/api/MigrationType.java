@@ -73,7 +73,12 @@ public enum MigrationType {
     /**
      * Undo migrations using custom MigrationResolvers.
      */
-    UNDO_CUSTOM(false, true);
+    UNDO_CUSTOM(false, true),
+
+    /**
+     * Data file migrations, loading the rows of a CSV or TSV file into a table.
+     */
+    DATA(false, false);
 
     private final boolean synthetic;
     private final boolean undo;
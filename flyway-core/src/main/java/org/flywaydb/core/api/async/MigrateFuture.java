@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.async;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A migration running in the background. It completes with the result of the migration, or exceptionally with the
+ * failure of the migration.
+ * <p>Cancelling requests the migration to stop, so the database is never left halfway through a statement, and
+ * cancels this future right away. No further migrations are started, and the statements of a migration executing in a
+ * DDL transaction are no longer executed, so it is rolled back. Other migrations run to completion. Use
+ * {@link #getOutcome()} to wait until the migration has actually stopped.</p>
+ */
+public class MigrateFuture extends CompletableFuture<MigrateResult> {
+    /**
+     * The outcome of the migration itself, which isn't affected by cancelling this future.
+     */
+    private final CompletableFuture<MigrateResult> outcome = new CompletableFuture<>();
+
+    private volatile boolean cancelRequested;
+
+    /**
+     * @return A snapshot of the progress of the migration.
+     */
+    public MigrateProgress getProgress() {
+        return new MigrateProgress(null, 0, 0, 0, 0, -1);
+    }
+
+    /**
+     * @return Whether the migration was requested to stop.
+     */
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /**
+     * @return The outcome of the migration itself. Unlike this future it isn't completed by {@link #cancel(boolean)},
+     * but only once the migration has actually stopped: with the result of the migration, exceptionally with its
+     * failure, or as cancelled if it stopped at a safe point after being requested to.
+     */
+    public CompletableFuture<MigrateResult> getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Requests the migration to stop at the next safe point and cancels this future. The migration may still be
+     * running when this call returns: wait for {@link #getOutcome()} to find out when and how it stopped.
+     *
+     * @param mayInterruptIfRunning Ignored, as the migration thread is never interrupted.
+     * @return {@code true} if this future is now cancelled, {@code false} if it had already completed.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (isDone()) {
+            return false;
+        }
+        cancelRequested = true;
+        return super.cancel(false);
+    }
+
+    /**
+     * Completes this future and its outcome with the result of the migration.
+     *
+     * @param result The result of the migration.
+     */
+    public void completeMigrated(MigrateResult result) {
+        outcome.complete(result);
+        complete(result);
+    }
+
+    /**
+     * Completes this future and its outcome exceptionally with the failure of the migration.
+     *
+     * @param failure The failure of the migration.
+     */
+    public void completeFailed(Throwable failure) {
+        outcome.completeExceptionally(failure);
+        completeExceptionally(failure);
+    }
+
+    /**
+     * Completes this future and its outcome as cancelled, once the migration has stopped after being requested to.
+     */
+    public void completeCancelled() {
+        outcome.cancel(false);
+        super.cancel(false);
+    }
+}
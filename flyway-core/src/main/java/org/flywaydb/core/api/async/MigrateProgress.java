@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.async;
+
+import org.flywaydb.core.api.MigrationInfo;
+
+/**
+ * A snapshot of the progress of a migration running in the background.
+ */
+public class MigrateProgress {
+    private final MigrationInfo currentMigration;
+    private final int migrationsCompleted;
+    private final int migrationsTotal;
+    private final int statementsExecuted;
+    private final int statementsTotal;
+    private final long estimatedRemainingTime;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param currentMigration       The migration being applied. {@code null} if none is being applied right now.
+     * @param migrationsCompleted    The number of migrations applied so far.
+     * @param migrationsTotal        The number of migrations pending when the migration started.
+     * @param statementsExecuted     The number of statements of the current migration executed so far.
+     * @param statementsTotal        The number of statements of the current migration. 0 if unknown.
+     * @param estimatedRemainingTime The estimated time until the migration completes, in milliseconds. -1 if unknown.
+     */
+    public MigrateProgress(MigrationInfo currentMigration, int migrationsCompleted, int migrationsTotal,
+                           int statementsExecuted, int statementsTotal, long estimatedRemainingTime) {
+        this.currentMigration = currentMigration;
+        this.migrationsCompleted = migrationsCompleted;
+        this.migrationsTotal = migrationsTotal;
+        this.statementsExecuted = statementsExecuted;
+        this.statementsTotal = statementsTotal;
+        this.estimatedRemainingTime = estimatedRemainingTime;
+    }
+
+    /**
+     * @return The migration being applied. {@code null} if none is being applied right now.
+     */
+    public MigrationInfo getCurrentMigration() {
+        return currentMigration;
+    }
+
+    /**
+     * @return The number of migrations applied so far.
+     */
+    public int getMigrationsCompleted() {
+        return migrationsCompleted;
+    }
+
+    /**
+     * @return The number of migrations pending when the migration started.
+     */
+    public int getMigrationsTotal() {
+        return migrationsTotal;
+    }
+
+    /**
+     * @return The number of statements of the current migration executed so far. Only SQL migrations report their
+     * statements.
+     */
+    public int getStatementsExecuted() {
+        return statementsExecuted;
+    }
+
+    /**
+     * @return The number of statements of the current migration. 0 if unknown.
+     */
+    public int getStatementsTotal() {
+        return statementsTotal;
+    }
+
+    /**
+     * @return The estimated time until the migration completes, in milliseconds, based on the execution times
+     * recorded in the schema history table. -1 if unknown.
+     */
+    public long getEstimatedRemainingTime() {
+        return estimatedRemainingTime;
+    }
+
+    @Override
+    public String toString() {
+        String text = migrationsCompleted + "/" + migrationsTotal + " migrations";
+        if (currentMigration != null) {
+            text += ", migrating " + (currentMigration.getVersion() == null
+                    ? currentMigration.getDescription()
+                    : currentMigration.getVersion().toString());
+            if (statementsTotal > 0) {
+                text += " (statement " + statementsExecuted + "/" + statementsTotal + ")";
+            }
+        }
+        if (estimatedRemainingTime >= 0) {
+            text += ", about " + (estimatedRemainingTime / 1000) + " s remaining";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.async;
+
+/**
+ * The outcome of a successful migration.
+ */
+public class MigrateResult {
+    private final int migrationsExecuted;
+    private final long executionTime;
+
+    /**
+     * Creates a new result.
+     *
+     * @param migrationsExecuted The number of successfully applied migrations.
+     * @param executionTime      The time spent migrating, in milliseconds.
+     */
+    public MigrateResult(int migrationsExecuted, long executionTime) {
+        this.migrationsExecuted = migrationsExecuted;
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * @return The number of successfully applied migrations.
+     */
+    public int getMigrationsExecuted() {
+        return migrationsExecuted;
+    }
+
+    /**
+     * @return The time spent migrating, in milliseconds.
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+}
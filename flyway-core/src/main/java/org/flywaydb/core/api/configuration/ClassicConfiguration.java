@@ -20,6 +20,7 @@ import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.Location;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.executor.BackpressureProbe;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.api.migration.JavaMigration;
@@ -359,6 +360,184 @@ public class ClassicConfiguration implements Configuration {
      */
     private boolean group;
 
+    /**
+     * The file in which to cache the checksums of filesystem and classpath migrations between runs. Cached checksums
+     * are keyed by the path, size and modification time of the underlying file (as well as the entry CRC-32 and size
+     * for resources inside jar files), so they are recalculated whenever a migration changes. The file may be shared
+     * by several Flyway processes at once.
+     * <p>
+     * The path of the cache file or {@code null} to disable checksum caching. (default: {@code null})
+     */
+    private String checksumCacheFile;
+
+    /**
+     * The file in which to cache the names of the resources found in jar files on the classpath between runs. Cached
+     * results are keyed by the path, size and modification time of the jar file, so jars are scanned again whenever
+     * they change. Directories on the classpath and filesystem locations are always scanned. The file may be shared by
+     * several Flyway processes at once.
+     * <p>
+     * The path of the cache file or {@code null} to disable scan caching. (default: {@code null})
+     */
+    private String scanCacheFile;
+
+    /**
+     * The maximum number of schemas to clean at the same time, each on its own connection. Schemas which fail to be
+     * cleaned in parallel, for example because of dependencies on objects in other schemas, are cleaned again one
+     * after the other afterwards. Databases which don't support cleaning on several connections at once are always
+     * cleaned serially.
+     * <p>
+     * The maximum number of schemas to clean at the same time. (default: 1)
+     */
+    private int cleanParallelism = 1;
+
+    /**
+     * The directory in which to keep snapshots of freshly migrated embedded databases (H2 and SQLite). When set,
+     * migrating an empty database restores it from the snapshot taken for the same set of migrations instead of
+     * applying them one by one, and takes that snapshot if it doesn't exist yet. Snapshots are keyed by a fingerprint
+     * of the migrations and the configuration affecting them, so any change to a migration leads to a new snapshot.
+     * Concurrent processes sharing the directory wait for each other instead of taking the same snapshot twice.
+     * Callbacks are not invoked for restored migrations.
+     * <p>
+     * The directory for snapshots of migrated embedded databases. {@code null} to disable snapshots. (default: {@code null})
+     */
+    private String snapshotDirectory = null;
+
+    /**
+     * The tenants to migrate with migrateTenants. Each entry is either the JDBC url of a database with the same
+     * credentials as the configured one, or the name of a schema of the configured database which is then the only
+     * schema managed by Flyway for that tenant.
+     * <p>
+     * The tenants to migrate, as JDBC urls or schema names. (default: none)
+     */
+    private String[] tenants = new String[0];
+
+    /**
+     * The maximum number of tenants to migrate at the same time with migrateTenants, each on its own connection.
+     * <p>
+     * The maximum number of tenants to migrate at the same time. (default: 4)
+     */
+    private int tenantParallelism = 4;
+
+    /**
+     * The maximum number of times migrateTenants retries migrating a tenant which failed because of a transient
+     * database error, such as a lost connection, a deadlock or a timeout. Retries wait 1 second after the first
+     * failure, doubling up to 1 minute after subsequent ones. Other tenants are never affected by the failure of a
+     * tenant.
+     * <p>
+     * The maximum number of retries per tenant. (default: 0)
+     */
+    private int tenantRetries = 0;
+
+    /**
+     * The maximum number of migrations applied at the same time, each on its own connection. Only versioned
+     * migrations declaring the versions they depend on (using {@code -- flyway:dependsOn=...} in the header of a SQL
+     * migration or {@code getDependencies()} for a Java migration) run concurrently with other migrations. Migrations
+     * without declared dependencies still wait for all migrations with a lower version. Ignored when group is enabled.
+     * <p>
+     * The maximum number of migrations applied at the same time. (default: 1)
+     */
+    private int migrateParallelism = 1;
+
+    /**
+     * Whether to apply repeatable migrations which don't conflict with each other at the same time, on up to
+     * migrateParallelism connections. Two repeatable migrations conflict when one refers to an object the other one
+     * creates or modifies, or when either lists the other in a {@code -- flyway:conflictsWith=...} header. When both
+     * declare their conflicts this way, only the declarations count. Conflicting repeatable migrations are applied in
+     * their usual order, and all repeatable migrations are recorded in the schema history table in their usual order.
+     * <p>
+     * {@code true} to apply independent repeatable migrations in parallel. (default: {@code false})
+     */
+    private boolean parallelRepeatables = false;
+
+    /**
+     * The maximum number of migrations applied in the same transaction when group is enabled. Pending migrations
+     * are then applied in consecutive groups of at most this size, each committed along with its schema history rows
+     * before the next one starts. 0 means no limit: all pending migrations are applied in a single transaction.
+     * <p>
+     * The maximum number of migrations per group. (default: 0)
+     */
+    private int groupSize = 0;
+
+    /**
+     * The time in seconds after which a group is committed when group is enabled. Once the migrations applied
+     * in the current transaction have taken this long, the group is committed after the migration in progress and
+     * the remaining migrations are applied in a new group. 0 means no limit.
+     * <p>
+     * The maximum duration of a group in seconds. (default: 0)
+     */
+    private int groupMaxDuration = 0;
+
+    /**
+     * The file in which to record the progress of non-transactional SQL migrations, statement by statement. When
+     * such a migration fails, the statements it executed successfully remain recorded, so once it has been fixed
+     * and repaired, the next migrate resumes it after the last of them, provided they haven't changed. The file
+     * is written after every statement of these migrations. {@code null} disables checkpoints.
+     * <p>
+     * The checkpoint file for non-transactional migrations. (default: none)
+     */
+    private String checkpointFile = null;
+
+    /**
+     * The maximum number of statements per second to execute for migrations. Statements are paced so the
+     * average rate since the start of the script, or since the last backpressure pause, never exceeds it. This
+     * keeps large data migrations on a live database from starving other traffic. 0 means no limit.
+     * <p>
+     * The maximum number of statements per second. (default: 0)
+     */
+    private int throttleStatementsPerSecond = 0;
+
+    /**
+     * The maximum number of rows per second to modify for migrations, according to the update counts reported
+     * by the database. Once a statement has modified more rows than the limit allows so far, the next statement
+     * waits until the average rate is back within the limit. 0 means no limit.
+     * <p>
+     * The maximum number of rows modified per second. (default: 0)
+     */
+    private int throttleRowsPerSecond = 0;
+
+    /**
+     * The BackpressureProbes checked before each statement of a migration. While any of them reports pressure on the
+     * database, such as replication lag or too many active sessions, execution pauses.
+     * <p>
+     * (default: none)
+     */
+    private BackpressureProbe[] backpressureProbes = new BackpressureProbe[0];
+
+    /**
+     * Whether to apply migrations with the bulk-load profile of the database, which trades durability for speed
+     * while they run: synchronous off and an in-memory journal on SQLite, no transaction log on H2 and HSQLDB. The
+     * original settings are restored afterwards. On H2 and HSQLDB these settings apply to the whole database, so
+     * only use this for embedded and test databases. A SQL migration can override it with
+     * {@code -- flyway:bulkProfile=true} or {@code false} in its header, and a data migration with
+     * {@code # flyway:bulkProfile=true} or {@code false}. The profile is used for the whole migration run as soon
+     * as one pending migration requests it.
+     * <p>
+     * {@code true} to apply migrations with the bulk-load profile. (default: {@code false})
+     */
+    private boolean bulkProfile = false;
+
+    /**
+     * Whether SQL scripts on H2 and HSQLDB should be handed to the database in one call instead of being parsed
+     * and executed statement by statement. This only applies to scripts which need none of the features Flyway
+     * implements per statement: scripts containing placeholders, parallel blocks or checkpointed, throttled or
+     * grouped execution, and all scripts when callbacks listen for individual statements, are still parsed as usual.
+     * H2 executes these scripts with {@code RUNSCRIPT}, which commits as it goes and requires admin rights, so only
+     * scripts which already run outside a transaction, or only contain statements H2 commits by itself such as DDL, are
+     * executed this way. HSQLDB executes them in a single statement.
+     * <p>
+     * {@code true} to let H2 and HSQLDB execute SQL scripts themselves. (default: {@code false})
+     */
+    private boolean serverSideScripts = false;
+
+    /**
+     * Whether to resolve data file migrations, loading the rows of {@code .csv} and {@code .tsv} files named like
+     * versioned or repeatable SQL migrations into a table. Off by default, so such files next to the SQL migrations
+     * are never applied unintentionally.
+     * <p>
+     * {@code true} to resolve data file migrations. (default: {@code false})
+     */
+    private boolean dataMigrations = false;
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      * <p>
@@ -648,6 +827,96 @@ public class ClassicConfiguration implements Configuration {
         return group;
     }
 
+    @Override
+    public String getChecksumCacheFile() {
+        return checksumCacheFile;
+    }
+
+    @Override
+    public String getScanCacheFile() {
+        return scanCacheFile;
+    }
+
+    @Override
+    public int getCleanParallelism() {
+        return cleanParallelism;
+    }
+
+    @Override
+    public String getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    @Override
+    public String[] getTenants() {
+        return tenants;
+    }
+
+    @Override
+    public int getTenantParallelism() {
+        return tenantParallelism;
+    }
+
+    @Override
+    public int getTenantRetries() {
+        return tenantRetries;
+    }
+
+    @Override
+    public int getMigrateParallelism() {
+        return migrateParallelism;
+    }
+
+    @Override
+    public boolean isParallelRepeatables() {
+        return parallelRepeatables;
+    }
+
+    @Override
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    @Override
+    public int getGroupMaxDuration() {
+        return groupMaxDuration;
+    }
+
+    @Override
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    @Override
+    public int getThrottleStatementsPerSecond() {
+        return throttleStatementsPerSecond;
+    }
+
+    @Override
+    public int getThrottleRowsPerSecond() {
+        return throttleRowsPerSecond;
+    }
+
+    @Override
+    public BackpressureProbe[] getBackpressureProbes() {
+        return backpressureProbes;
+    }
+
+    @Override
+    public boolean isBulkProfile() {
+        return bulkProfile;
+    }
+
+    @Override
+    public boolean isServerSideScripts() {
+        return serverSideScripts;
+    }
+
+    @Override
+    public boolean isDataMigrations() {
+        return dataMigrations;
+    }
+
     @Override
     public String[] getErrorOverrides() {
 
@@ -831,6 +1100,263 @@ public class ClassicConfiguration implements Configuration {
         this.group = group;
     }
 
+    /**
+     * The file in which to cache the checksums of filesystem and classpath migrations between runs. Cached checksums
+     * are keyed by the path, size and modification time of the underlying file (as well as the entry CRC-32 and size
+     * for resources inside jar files), so they are recalculated whenever a migration changes. The file may be shared
+     * by several Flyway processes at once.
+     *
+     * @param checksumCacheFile The path of the cache file or {@code null} to disable checksum caching. (default: {@code null})
+     */
+    public void setChecksumCacheFile(String checksumCacheFile) {
+        this.checksumCacheFile = checksumCacheFile;
+    }
+
+    /**
+     * The file in which to cache the names of the resources found in jar files on the classpath between runs. Cached
+     * results are keyed by the path, size and modification time of the jar file, so jars are scanned again whenever
+     * they change. Directories on the classpath and filesystem locations are always scanned. The file may be shared by
+     * several Flyway processes at once.
+     *
+     * @param scanCacheFile The path of the cache file or {@code null} to disable scan caching. (default: {@code null})
+     */
+    public void setScanCacheFile(String scanCacheFile) {
+        this.scanCacheFile = scanCacheFile;
+    }
+
+    /**
+     * The maximum number of schemas to clean at the same time, each on its own connection. Schemas which fail to be
+     * cleaned in parallel, for example because of dependencies on objects in other schemas, are cleaned again one
+     * after the other afterwards. Databases which don't support cleaning on several connections at once are always
+     * cleaned serially.
+     *
+     * @param cleanParallelism The maximum number of schemas to clean at the same time. (default: 1)
+     */
+    public void setCleanParallelism(int cleanParallelism) {
+        if (cleanParallelism < 1) {
+            throw new FlywayException("Invalid clean parallelism (must be 1 or greater): " + cleanParallelism,
+                    ErrorCode.CONFIGURATION);
+        }
+        this.cleanParallelism = cleanParallelism;
+    }
+
+    /**
+     * The directory in which to keep snapshots of freshly migrated embedded databases (H2 and SQLite). When set,
+     * migrating an empty database restores it from the snapshot taken for the same set of migrations instead of
+     * applying them one by one, and takes that snapshot if it doesn't exist yet. Snapshots are keyed by a fingerprint
+     * of the migrations and the configuration affecting them, so any change to a migration leads to a new snapshot.
+     * Concurrent processes sharing the directory wait for each other instead of taking the same snapshot twice.
+     * Callbacks are not invoked for restored migrations.
+     *
+     * @param snapshotDirectory The directory for snapshots of migrated embedded databases. {@code null} to disable snapshots. (default: {@code null})
+     */
+    public void setSnapshotDirectory(String snapshotDirectory) {
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
+    /**
+     * The tenants to migrate with migrateTenants. Each entry is either the JDBC url of a database with the same
+     * credentials as the configured one, or the name of a schema of the configured database which is then the only
+     * schema managed by Flyway for that tenant.
+     *
+     * @param tenants The tenants to migrate, as JDBC urls or schema names. (default: none)
+     */
+    public void setTenants(String... tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * The maximum number of tenants to migrate at the same time with migrateTenants, each on its own connection.
+     *
+     * @param tenantParallelism The maximum number of tenants to migrate at the same time. (default: 4)
+     */
+    public void setTenantParallelism(int tenantParallelism) {
+        if (tenantParallelism < 1) {
+            throw new FlywayException("Invalid tenant parallelism (must be 1 or greater): " + tenantParallelism,
+                    ErrorCode.CONFIGURATION);
+        }
+        this.tenantParallelism = tenantParallelism;
+    }
+
+    /**
+     * The maximum number of times migrateTenants retries migrating a tenant which failed because of a transient
+     * database error, such as a lost connection, a deadlock or a timeout. Retries wait 1 second after the first
+     * failure, doubling up to 1 minute after subsequent ones. Other tenants are never affected by the failure of a
+     * tenant.
+     *
+     * @param tenantRetries The maximum number of retries per tenant. (default: 0)
+     */
+    public void setTenantRetries(int tenantRetries) {
+        if (tenantRetries < 0) {
+            throw new FlywayException("Invalid tenant retries (must be 0 or greater): " + tenantRetries,
+                    ErrorCode.CONFIGURATION);
+        }
+        this.tenantRetries = tenantRetries;
+    }
+
+    /**
+     * The maximum number of migrations applied at the same time, each on its own connection. Only versioned
+     * migrations declaring the versions they depend on (using {@code -- flyway:dependsOn=...} in the header of a SQL
+     * migration or {@code getDependencies()} for a Java migration) run concurrently with other migrations. Migrations
+     * without declared dependencies still wait for all migrations with a lower version. Ignored when group is enabled.
+     *
+     * @param migrateParallelism The maximum number of migrations applied at the same time. (default: 1)
+     */
+    public void setMigrateParallelism(int migrateParallelism) {
+        if (migrateParallelism < 1) {
+            throw new FlywayException("Invalid migrate parallelism (must be 1 or greater): " + migrateParallelism,
+                    ErrorCode.CONFIGURATION);
+        }
+        this.migrateParallelism = migrateParallelism;
+    }
+
+    /**
+     * Whether to apply repeatable migrations which don't conflict with each other at the same time, on up to
+     * migrateParallelism connections. Two repeatable migrations conflict when one refers to an object the other one
+     * creates or modifies, or when either lists the other in a {@code -- flyway:conflictsWith=...} header. When both
+     * declare their conflicts this way, only the declarations count. Conflicting repeatable migrations are applied in
+     * their usual order, and all repeatable migrations are recorded in the schema history table in their usual order.
+     *
+     * @param parallelRepeatables {@code true} to apply independent repeatable migrations in parallel. (default: {@code false})
+     */
+    public void setParallelRepeatables(boolean parallelRepeatables) {
+        this.parallelRepeatables = parallelRepeatables;
+    }
+
+    /**
+     * The maximum number of migrations applied in the same transaction when group is enabled. Pending migrations
+     * are then applied in consecutive groups of at most this size, each committed along with its schema history rows
+     * before the next one starts. 0 means no limit: all pending migrations are applied in a single transaction.
+     *
+     * @param groupSize The maximum number of migrations per group. (default: 0)
+     */
+    public void setGroupSize(int groupSize) {
+        if (groupSize < 0) {
+            throw new FlywayException("Invalid group size (must be 0 or greater): " + groupSize,
+                    ErrorCode.CONFIGURATION);
+        }
+        this.groupSize = groupSize;
+    }
+
+    /**
+     * The time in seconds after which a group is committed when group is enabled. Once the migrations applied
+     * in the current transaction have taken this long, the group is committed after the migration in progress and
+     * the remaining migrations are applied in a new group. 0 means no limit.
+     *
+     * @param groupMaxDuration The maximum duration of a group in seconds. (default: 0)
+     */
+    public void setGroupMaxDuration(int groupMaxDuration) {
+        if (groupMaxDuration < 0) {
+            throw new FlywayException("Invalid group max duration (must be 0 or greater): " + groupMaxDuration,
+                    ErrorCode.CONFIGURATION);
+        }
+        this.groupMaxDuration = groupMaxDuration;
+    }
+
+    /**
+     * The file in which to record the progress of non-transactional SQL migrations, statement by statement. When
+     * such a migration fails, the statements it executed successfully remain recorded, so once it has been fixed
+     * and repaired, the next migrate resumes it after the last of them, provided they haven't changed. The file
+     * is written after every statement of these migrations. {@code null} disables checkpoints.
+     *
+     * @param checkpointFile The checkpoint file for non-transactional migrations. (default: none)
+     */
+    public void setCheckpointFile(String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * The maximum number of statements per second to execute for migrations. Statements are paced so the
+     * average rate since the start of the script, or since the last backpressure pause, never exceeds it. This
+     * keeps large data migrations on a live database from starving other traffic. 0 means no limit.
+     *
+     * @param throttleStatementsPerSecond The maximum number of statements per second. (default: 0)
+     */
+    public void setThrottleStatementsPerSecond(int throttleStatementsPerSecond) {
+        if (throttleStatementsPerSecond < 0) {
+            throw new FlywayException("Invalid throttle statements per second (must be 0 or greater): "
+                    + throttleStatementsPerSecond, ErrorCode.CONFIGURATION);
+        }
+        this.throttleStatementsPerSecond = throttleStatementsPerSecond;
+    }
+
+    /**
+     * The maximum number of rows per second to modify for migrations, according to the update counts reported
+     * by the database. Once a statement has modified more rows than the limit allows so far, the next statement
+     * waits until the average rate is back within the limit. 0 means no limit.
+     *
+     * @param throttleRowsPerSecond The maximum number of rows modified per second. (default: 0)
+     */
+    public void setThrottleRowsPerSecond(int throttleRowsPerSecond) {
+        if (throttleRowsPerSecond < 0) {
+            throw new FlywayException("Invalid throttle rows per second (must be 0 or greater): "
+                    + throttleRowsPerSecond, ErrorCode.CONFIGURATION);
+        }
+        this.throttleRowsPerSecond = throttleRowsPerSecond;
+    }
+
+    /**
+     * Sets the BackpressureProbes checked before each statement of a migration. While any of them reports pressure on
+     * the database, such as replication lag or too many active sessions, execution pauses.
+     *
+     * @param backpressureProbes The BackpressureProbes. (default: none)
+     */
+    public void setBackpressureProbes(BackpressureProbe... backpressureProbes) {
+        this.backpressureProbes = backpressureProbes;
+    }
+
+    /**
+     * Sets the BackpressureProbes checked before each statement of a migration. While any of them reports pressure on
+     * the database, such as replication lag or too many active sessions, execution pauses.
+     *
+     * @param backpressureProbes The fully qualified class names of the BackpressureProbes. (default: none)
+     */
+    public void setBackpressureProbesAsClassNames(String... backpressureProbes) {
+        List<BackpressureProbe> backpressureProbeList = ClassUtils.instantiateAll(backpressureProbes, classLoader);
+        setBackpressureProbes(backpressureProbeList.toArray(new BackpressureProbe[backpressureProbes.length]));
+    }
+
+    /**
+     * Whether to apply migrations with the bulk-load profile of the database, which trades durability for speed
+     * while they run: synchronous off and an in-memory journal on SQLite, no transaction log on H2 and HSQLDB. The
+     * original settings are restored afterwards. On H2 and HSQLDB these settings apply to the whole database, so
+     * only use this for embedded and test databases. A SQL migration can override it with
+     * {@code -- flyway:bulkProfile=true} or {@code false} in its header, and a data migration with
+     * {@code # flyway:bulkProfile=true} or {@code false}. The profile is used for the whole migration run as soon
+     * as one pending migration requests it.
+     *
+     * @param bulkProfile {@code true} to apply migrations with the bulk-load profile. (default: {@code false})
+     */
+    public void setBulkProfile(boolean bulkProfile) {
+        this.bulkProfile = bulkProfile;
+    }
+
+    /**
+     * Whether SQL scripts on H2 and HSQLDB should be handed to the database in one call instead of being parsed
+     * and executed statement by statement. This only applies to scripts which need none of the features Flyway
+     * implements per statement: scripts containing placeholders, parallel blocks or checkpointed, throttled or
+     * grouped execution, and all scripts when callbacks listen for individual statements, are still parsed as usual.
+     * H2 executes these scripts with {@code RUNSCRIPT}, which commits as it goes and requires admin rights, so only
+     * scripts which already run outside a transaction, or only contain statements H2 commits by itself such as DDL, are
+     * executed this way. HSQLDB executes them in a single statement.
+     *
+     * @param serverSideScripts {@code true} to let H2 and HSQLDB execute SQL scripts themselves. (default: {@code false})
+     */
+    public void setServerSideScripts(boolean serverSideScripts) {
+        this.serverSideScripts = serverSideScripts;
+    }
+
+    /**
+     * Whether to resolve data file migrations, loading the rows of {@code .csv} and {@code .tsv} files named like
+     * versioned or repeatable SQL migrations into a table. Off by default, so such files next to the SQL migrations
+     * are never applied unintentionally.
+     *
+     * @param dataMigrations {@code true} to resolve data file migrations. (default: {@code false})
+     */
+    public void setDataMigrations(boolean dataMigrations) {
+        this.dataMigrations = dataMigrations;
+    }
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      *
@@ -1558,6 +2084,24 @@ public class ClassicConfiguration implements Configuration {
 
         setEncoding(configuration.getEncoding());
         setGroup(configuration.isGroup());
+        setChecksumCacheFile(configuration.getChecksumCacheFile());
+        setScanCacheFile(configuration.getScanCacheFile());
+        setCleanParallelism(configuration.getCleanParallelism());
+        setSnapshotDirectory(configuration.getSnapshotDirectory());
+        setTenants(configuration.getTenants());
+        setTenantParallelism(configuration.getTenantParallelism());
+        setTenantRetries(configuration.getTenantRetries());
+        setMigrateParallelism(configuration.getMigrateParallelism());
+        setParallelRepeatables(configuration.isParallelRepeatables());
+        setGroupSize(configuration.getGroupSize());
+        setGroupMaxDuration(configuration.getGroupMaxDuration());
+        setCheckpointFile(configuration.getCheckpointFile());
+        setThrottleStatementsPerSecond(configuration.getThrottleStatementsPerSecond());
+        setThrottleRowsPerSecond(configuration.getThrottleRowsPerSecond());
+        setBackpressureProbes(configuration.getBackpressureProbes());
+        setBulkProfile(configuration.isBulkProfile());
+        setServerSideScripts(configuration.isServerSideScripts());
+        setDataMigrations(configuration.isDataMigrations());
         setIgnoreFutureMigrations(configuration.isIgnoreFutureMigrations());
         setIgnoreMissingMigrations(configuration.isIgnoreMissingMigrations());
         setIgnoreIgnoredMigrations(configuration.isIgnoreIgnoredMigrations());
@@ -1804,6 +2348,96 @@ public class ClassicConfiguration implements Configuration {
             setGroup(groupProp);
         }
 
+        String checksumCacheFileProp = props.remove(ConfigUtils.CHECKSUM_CACHE_FILE);
+        if (checksumCacheFileProp != null) {
+            setChecksumCacheFile(checksumCacheFileProp);
+        }
+
+        String scanCacheFileProp = props.remove(ConfigUtils.SCAN_CACHE_FILE);
+        if (scanCacheFileProp != null) {
+            setScanCacheFile(scanCacheFileProp);
+        }
+
+        Integer cleanParallelismProp = getIntegerProp(props, ConfigUtils.CLEAN_PARALLELISM);
+        if (cleanParallelismProp != null) {
+            setCleanParallelism(cleanParallelismProp);
+        }
+
+        String snapshotDirectoryProp = props.remove(ConfigUtils.SNAPSHOT_DIRECTORY);
+        if (snapshotDirectoryProp != null) {
+            setSnapshotDirectory(snapshotDirectoryProp);
+        }
+
+        String tenantsProp = props.remove(ConfigUtils.TENANTS);
+        if (tenantsProp != null) {
+            setTenants(StringUtils.tokenizeToStringArray(tenantsProp, ","));
+        }
+
+        Integer tenantParallelismProp = getIntegerProp(props, ConfigUtils.TENANT_PARALLELISM);
+        if (tenantParallelismProp != null) {
+            setTenantParallelism(tenantParallelismProp);
+        }
+
+        Integer tenantRetriesProp = getIntegerProp(props, ConfigUtils.TENANT_RETRIES);
+        if (tenantRetriesProp != null) {
+            setTenantRetries(tenantRetriesProp);
+        }
+
+        Integer migrateParallelismProp = getIntegerProp(props, ConfigUtils.MIGRATE_PARALLELISM);
+        if (migrateParallelismProp != null) {
+            setMigrateParallelism(migrateParallelismProp);
+        }
+
+        Boolean parallelRepeatablesProp = getBooleanProp(props, ConfigUtils.PARALLEL_REPEATABLES);
+        if (parallelRepeatablesProp != null) {
+            setParallelRepeatables(parallelRepeatablesProp);
+        }
+
+        Integer groupSizeProp = getIntegerProp(props, ConfigUtils.GROUP_SIZE);
+        if (groupSizeProp != null) {
+            setGroupSize(groupSizeProp);
+        }
+
+        Integer groupMaxDurationProp = getIntegerProp(props, ConfigUtils.GROUP_MAX_DURATION);
+        if (groupMaxDurationProp != null) {
+            setGroupMaxDuration(groupMaxDurationProp);
+        }
+
+        String checkpointFileProp = props.remove(ConfigUtils.CHECKPOINT_FILE);
+        if (checkpointFileProp != null) {
+            setCheckpointFile(checkpointFileProp);
+        }
+
+        Integer throttleStatementsPerSecondProp = getIntegerProp(props, ConfigUtils.THROTTLE_STATEMENTS_PER_SECOND);
+        if (throttleStatementsPerSecondProp != null) {
+            setThrottleStatementsPerSecond(throttleStatementsPerSecondProp);
+        }
+
+        Integer throttleRowsPerSecondProp = getIntegerProp(props, ConfigUtils.THROTTLE_ROWS_PER_SECOND);
+        if (throttleRowsPerSecondProp != null) {
+            setThrottleRowsPerSecond(throttleRowsPerSecondProp);
+        }
+
+        String backpressureProbesProp = props.remove(ConfigUtils.BACKPRESSURE_PROBES);
+        if (StringUtils.hasLength(backpressureProbesProp)) {
+            setBackpressureProbesAsClassNames(StringUtils.tokenizeToStringArray(backpressureProbesProp, ","));
+        }
+
+        Boolean bulkProfileProp = getBooleanProp(props, ConfigUtils.BULK_PROFILE);
+        if (bulkProfileProp != null) {
+            setBulkProfile(bulkProfileProp);
+        }
+
+        Boolean serverSideScriptsProp = getBooleanProp(props, ConfigUtils.SERVER_SIDE_SCRIPTS);
+        if (serverSideScriptsProp != null) {
+            setServerSideScripts(serverSideScriptsProp);
+        }
+
+        Boolean dataMigrationsProp = getBooleanProp(props, ConfigUtils.DATA_MIGRATIONS);
+        if (dataMigrationsProp != null) {
+            setDataMigrations(dataMigrationsProp);
+        }
+
         String installedByProp = props.remove(ConfigUtils.INSTALLED_BY);
         if (installedByProp != null) {
             setInstalledBy(installedByProp);
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.executor;
+
+/**
+ * Checks whether the database is under too much pressure for migrations to continue, for example because of
+ * replication lag or a high number of active sessions. Flyway checks all configured probes before each statement of a
+ * migration, and pauses for as long as any of them reports pressure.
+ * <p>Probes may be called concurrently when migrations or statements are executed in parallel.</p>
+ */
+public interface BackpressureProbe {
+    /**
+     * Checks the pressure on the database.
+     *
+     * @param context The context. Its connection is the one the next statement will be executed on. Probes querying
+     *                the database through it must leave its state unchanged.
+     * @return The time to pause for before checking again, in milliseconds. 0 if there is no pressure and the next
+     * statement may be executed right away.
+     */
+    long getPause(Context context);
+}
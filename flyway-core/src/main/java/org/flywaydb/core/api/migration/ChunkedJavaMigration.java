@@ -0,0 +1,372 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.jdbc.JdbcUtils;
+import org.flywaydb.core.internal.util.ParallelUtils;
+import org.flywaydb.core.internal.util.StopWatch;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Base class for Java-based migrations processing large amounts of data, such as backfilling a column of a huge
+ * table. The range of keys to process is split into chunks, which are processed in parallel, each worker on its own
+ * connection. Every chunk is committed in its own transaction, together with a row recording its completion in a
+ * progress table, so when the migration fails or is interrupted, its next run only processes the chunks which hadn't
+ * completed yet.</p>
+ * <p>The progress table is created in the default schema if it doesn't exist yet. The rows of a migration are
+ * removed from it once the migration has completed, and the table itself is dropped once it no longer holds the
+ * progress of any migration.</p>
+ * <pre>
+ * public class V5__Backfill_order_totals extends ChunkedJavaMigration {
+ *     protected long getMinKey(Context context) throws SQLException { ... SELECT MIN(id) FROM orders ... }
+ *     protected long getMaxKey(Context context) throws SQLException { ... SELECT MAX(id) FROM orders ... }
+ *     protected long migrateChunk(Connection connection, long from, long to) throws SQLException {
+ *         ... UPDATE orders SET total = ... WHERE id &gt;= from AND id &lt;= to ...
+ *     }
+ * }
+ * </pre>
+ * <p>As chunks are committed independently, this migration never executes in a transaction.</p>
+ */
+public abstract class ChunkedJavaMigration extends BaseJavaMigration {
+    private static final Log LOG = LogFactory.getLog(ChunkedJavaMigration.class);
+
+    /**
+     * The minimum time between two progress reports, in milliseconds.
+     */
+    private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * @param context The context of the migration.
+     * @return The lowest key to process.
+     * @throws Exception when the key could not be determined.
+     */
+    protected abstract long getMinKey(Context context) throws Exception;
+
+    /**
+     * @param context The context of the migration.
+     * @return The highest key to process. Lower than the lowest key if there is nothing to process.
+     * @throws Exception when the key could not be determined.
+     */
+    protected abstract long getMaxKey(Context context) throws Exception;
+
+    /**
+     * Processes the rows of a chunk. This method is called concurrently by the workers, each with its own connection.
+     * The chunk is committed by the caller once this method returns, and rolled back if it fails.
+     *
+     * @param connection The connection of the worker, in manual commit mode.
+     * @param from       The lowest key of the chunk (inclusive).
+     * @param to         The highest key of the chunk (inclusive).
+     * @return The number of rows processed, for reporting the throughput.
+     * @throws Exception when the chunk could not be processed.
+     */
+    protected abstract long migrateChunk(Connection connection, long from, long to) throws Exception;
+
+    /**
+     * @return The number of keys per chunk. (default: 10000)
+     */
+    protected long getChunkSize() {
+        return 10000;
+    }
+
+    /**
+     * @return The maximum number of chunks to process at the same time, each on its own connection. (default: 4)
+     */
+    protected int getParallelism() {
+        return 4;
+    }
+
+    /**
+     * @param configuration The Flyway configuration.
+     * @return The name of the table recording the completed chunks. (default: the name of the schema history table
+     * followed by {@code _chunks})
+     */
+    protected String getProgressTable(Configuration configuration) {
+        return configuration.getTable() + "_chunks";
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public final void migrate(final Context context) throws Exception {
+        final long minKey = getMinKey(context);
+        final long maxKey = getMaxKey(context);
+        final long chunkSize = getChunkSize();
+        if (chunkSize < 1) {
+            throw new FlywayException("Invalid chunk size for " + getClass().getName() + " (must be 1 or greater): "
+                    + chunkSize);
+        }
+
+        final String progressTable = getProgressTable(context.getConfiguration());
+        final String migration = getClass().getName();
+        createProgressTableIfNotExists(context.getConnection(), progressTable);
+        Set<String> completedChunks = getCompletedChunks(context.getConnection(), progressTable, migration);
+
+        Queue<long[]> chunks = new ConcurrentLinkedQueue<>();
+        int totalChunks = 0;
+        long from = minKey;
+        while (from <= maxKey) {
+            long to = from + (chunkSize - 1);
+            if (to < from || to > maxKey) {
+                // Last chunk, possibly ending at Long.MAX_VALUE
+                to = maxKey;
+            }
+            totalChunks++;
+            if (!completedChunks.contains(from + ":" + to)) {
+                chunks.add(new long[]{from, to});
+            }
+            if (to == maxKey) {
+                break;
+            }
+            from = to + 1;
+        }
+        if (chunks.size() < totalChunks) {
+            LOG.info("Resuming " + getDescription() + ": " + (totalChunks - chunks.size()) + " of " + totalChunks
+                    + " chunks already completed");
+        }
+
+        final Progress progress = new Progress(getDescription(), totalChunks, totalChunks - chunks.size());
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        int threads = Math.max(1, Math.min(getParallelism(), chunks.size()));
+        List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Worker(context, chunks, progressTable, migration, progress, failure));
+        }
+        ParallelUtils.invokeAll(workers, threads);
+
+        if (failure.get() != null) {
+            throw new FlywayException("Migration of " + getDescription() + " failed after completing "
+                    + progress.completedChunks + " of " + totalChunks + " chunks. Completed chunks are skipped"
+                    + " when it is retried: " + failure.get().getMessage(), failure.get());
+        }
+        progress.logSummary();
+
+        PreparedStatement statement = context.getConnection().prepareStatement(
+                "DELETE FROM " + progressTable + " WHERE migration = ?");
+        try {
+            statement.setString(1, migration);
+            statement.executeUpdate();
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+        dropProgressTableIfEmpty(context.getConnection(), progressTable);
+    }
+
+    private static void createProgressTableIfNotExists(Connection connection, String progressTable)
+            throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            statement.executeQuery("SELECT COUNT(*) FROM " + progressTable + " WHERE 1 = 0").close();
+            return;
+        } catch (SQLException e) {
+            LOG.debug("Creating chunk progress table " + progressTable + " ...");
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+
+        statement = connection.createStatement();
+        try {
+            // Only use types every supported database understands
+            statement.execute("CREATE TABLE " + progressTable + " (migration VARCHAR(255) NOT NULL,"
+                    + " chunk_start DECIMAL(19) NOT NULL, chunk_end DECIMAL(19) NOT NULL,"
+                    + " chunk_rows DECIMAL(19) NOT NULL)");
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    /**
+     * Drops the progress table, unless it still holds the progress of other migrations which failed before completing.
+     */
+    private static void dropProgressTableIfEmpty(Connection connection, String progressTable) throws SQLException {
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = null;
+        try {
+            resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + progressTable);
+            if (!resultSet.next() || resultSet.getLong(1) > 0) {
+                return;
+            }
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+        }
+
+        LOG.debug("Dropping chunk progress table " + progressTable + " ...");
+        statement = connection.createStatement();
+        try {
+            statement.execute("DROP TABLE " + progressTable);
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    /**
+     * @return The completed chunks, as their first and last key separated by a colon. Chunks are identified by both,
+     * so changing the chunk size never skips keys which weren't processed.
+     */
+    private static Set<String> getCompletedChunks(Connection connection, String progressTable, String migration)
+            throws SQLException {
+        Set<String> completedChunks = new HashSet<>();
+        PreparedStatement statement = connection.prepareStatement(
+                "SELECT chunk_start, chunk_end FROM " + progressTable + " WHERE migration = ?");
+        ResultSet resultSet = null;
+        try {
+            statement.setString(1, migration);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                completedChunks.add(resultSet.getLong(1) + ":" + resultSet.getLong(2));
+            }
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+        }
+        return completedChunks;
+    }
+
+    /**
+     * Processes chunks on its own connection until there are none left or a worker failed.
+     */
+    private class Worker implements Callable<Void> {
+        private final Context context;
+        private final Queue<long[]> chunks;
+        private final String progressTable;
+        private final String migration;
+        private final Progress progress;
+        private final AtomicReference<Exception> failure;
+
+        Worker(Context context, Queue<long[]> chunks, String progressTable, String migration, Progress progress,
+               AtomicReference<Exception> failure) {
+            this.context = context;
+            this.chunks = chunks;
+            this.progressTable = progressTable;
+            this.migration = migration;
+            this.progress = progress;
+            this.failure = failure;
+        }
+
+        @Override
+        public Void call() {
+            Configuration configuration = context.getConfiguration();
+            Connection connection = null;
+            try {
+                connection = JdbcUtils.openConnection(configuration.getDataSource(), configuration.getConnectRetries());
+                JdbcUtils.copyCurrentSchema(context.getConnection(), connection);
+                connection.setAutoCommit(false);
+                long[] chunk;
+                while (failure.get() == null && (chunk = chunks.poll()) != null) {
+                    migrateChunk(connection, chunk[0], chunk[1]);
+                }
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                JdbcUtils.closeConnection(connection);
+            }
+            return null;
+        }
+
+        private void migrateChunk(Connection connection, long from, long to) throws Exception {
+            long rows;
+            try {
+                rows = ChunkedJavaMigration.this.migrateChunk(connection, from, to);
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO " + progressTable + " (migration, chunk_start, chunk_end, chunk_rows)"
+                                + " VALUES (?, ?, ?, ?)");
+                try {
+                    statement.setString(1, migration);
+                    statement.setLong(2, from);
+                    statement.setLong(3, to);
+                    statement.setLong(4, rows);
+                    statement.executeUpdate();
+                } finally {
+                    JdbcUtils.closeStatement(statement);
+                }
+                connection.commit();
+            } catch (Exception e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackException) {
+                    LOG.debug("Unable to roll back chunk: " + rollbackException.getMessage());
+                }
+                throw new FlywayException("Chunk [" + from + ", " + to + "] failed: " + e.getMessage(), e);
+            }
+            progress.chunkCompleted(rows);
+        }
+    }
+
+    /**
+     * The progress of the migration, reported at regular intervals.
+     */
+    private static class Progress {
+        private final String description;
+        private final int totalChunks;
+        private final int skippedChunks;
+        private final StopWatch stopWatch = new StopWatch();
+        private int completedChunks;
+        private long rows;
+        private long lastReport;
+
+        Progress(String description, int totalChunks, int skippedChunks) {
+            this.description = description;
+            this.totalChunks = totalChunks;
+            this.skippedChunks = skippedChunks;
+            this.completedChunks = skippedChunks;
+            stopWatch.start();
+        }
+
+        synchronized void chunkCompleted(long chunkRows) {
+            completedChunks++;
+            rows += chunkRows;
+            stopWatch.stop();
+            long elapsed = stopWatch.getTotalTimeMillis();
+            if (elapsed - lastReport >= PROGRESS_INTERVAL) {
+                lastReport = elapsed;
+                LOG.info(description + ": " + completedChunks + " of " + totalChunks + " chunks, " + rows
+                        + " rows (" + getThroughput(elapsed) + " rows/s)");
+            }
+        }
+
+        synchronized void logSummary() {
+            stopWatch.stop();
+            long elapsed = stopWatch.getTotalTimeMillis();
+            LOG.info("Migrated " + rows + " rows of " + description + " in " + (completedChunks - skippedChunks)
+                    + " chunks (" + elapsed + " ms, " + getThroughput(elapsed) + " rows/s)");
+        }
+
+        private long getThroughput(long elapsed) {
+            return elapsed == 0 ? rows : rows * 1000 / elapsed;
+        }
+    }
+}
@@ -70,6 +70,19 @@ public interface JavaMigration {
      */
     boolean canExecuteInTransaction();
 
+    /**
+     * The versions of the migrations this versioned migration depends on. When migrations are applied in parallel, a
+     * migration declaring its dependencies can be applied as soon as these migrations have been applied, concurrently
+     * with other migrations. Migrations which don't declare their dependencies are only applied once all migrations
+     * with a lower version have been applied.
+     *
+     * @return The versions of the migrations this migration depends on, which must all be lower than its own version.
+     * {@code null} if it depends on all migrations with a lower version. Always {@code null} for repeatable migrations.
+     */
+    default MigrationVersion[] getDependencies() {
+        return null;
+    }
+
     /**
      * Executes this migration. The execution will automatically take place within a transaction, when the underlying
      * database supports it and the canExecuteInTransaction returns {@code true}.
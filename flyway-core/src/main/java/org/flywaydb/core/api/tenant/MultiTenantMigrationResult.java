@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.tenant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The aggregated outcome of migrating a number of tenants.
+ */
+public class MultiTenantMigrationResult {
+    private final List<TenantMigrationResult> results;
+    private final long executionTime;
+
+    /**
+     * Creates a new result.
+     *
+     * @param results       The results of the individual tenants, in the order in which the tenants were specified.
+     * @param executionTime The total time spent migrating all tenants, in milliseconds.
+     */
+    public MultiTenantMigrationResult(List<TenantMigrationResult> results, long executionTime) {
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * @return The results of the individual tenants, in the order in which the tenants were specified.
+     */
+    public List<TenantMigrationResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return The results of the tenants which failed to migrate.
+     */
+    public List<TenantMigrationResult> getFailedResults() {
+        List<TenantMigrationResult> failedResults = new ArrayList<>();
+        for (TenantMigrationResult result : results) {
+            if (!result.isSuccess()) {
+                failedResults.add(result);
+            }
+        }
+        return failedResults;
+    }
+
+    /**
+     * @return Whether all tenants were migrated successfully.
+     */
+    public boolean isSuccess() {
+        for (TenantMigrationResult result : results) {
+            if (!result.isSuccess()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of tenants which were migrated successfully.
+     */
+    public int getSuccessCount() {
+        return results.size() - getFailedResults().size();
+    }
+
+    /**
+     * @return The total number of migrations successfully applied across all tenants.
+     */
+    public int getMigrationsExecuted() {
+        int migrationsExecuted = 0;
+        for (TenantMigrationResult result : results) {
+            migrationsExecuted += result.getMigrationsExecuted();
+        }
+        return migrationsExecuted;
+    }
+
+    /**
+     * @return The total time spent migrating all tenants, in milliseconds.
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+}
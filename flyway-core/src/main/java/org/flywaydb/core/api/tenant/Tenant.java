@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.tenant;
+
+import javax.sql.DataSource;
+
+/**
+ * A tenant to migrate: a database, a set of schemas within the configured database, or both. Everything which isn't
+ * specified for the tenant is taken from the Flyway configuration.
+ */
+public class Tenant {
+    private final String name;
+    private final DataSource dataSource;
+    private final String[] schemas;
+
+    /**
+     * Creates a new tenant.
+     *
+     * @param name       The name identifying the tenant in the logs and in the migration results.
+     * @param dataSource The datasource of the tenant's database. {@code null} to use the configured datasource.
+     * @param schemas    The schemas managed by Flyway for this tenant. None to use the configured schemas.
+     */
+    public Tenant(String name, DataSource dataSource, String... schemas) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.schemas = schemas;
+    }
+
+    /**
+     * Creates a tenant with its own database, whose schemas are those configured.
+     *
+     * @param name       The name identifying the tenant in the logs and in the migration results.
+     * @param dataSource The datasource of the tenant's database.
+     * @return The tenant.
+     */
+    public static Tenant ofDataSource(String name, DataSource dataSource) {
+        return new Tenant(name, dataSource);
+    }
+
+    /**
+     * Creates a tenant with its own schemas within the configured database. The first schema contains the tenant's
+     * schema history table.
+     *
+     * @param schemas The schemas managed by Flyway for this tenant. The first one is also used as name of the tenant.
+     * @return The tenant.
+     */
+    public static Tenant ofSchemas(String... schemas) {
+        return new Tenant(schemas[0], null, schemas);
+    }
+
+    /**
+     * @return The name identifying the tenant in the logs and in the migration results.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The datasource of the tenant's database. {@code null} to use the configured datasource.
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @return The schemas managed by Flyway for this tenant. Empty to use the configured schemas.
+     */
+    public String[] getSchemas() {
+        return schemas;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
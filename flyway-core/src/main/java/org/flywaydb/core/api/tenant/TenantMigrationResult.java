@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.api.tenant;
+
+import org.flywaydb.core.api.FlywayException;
+
+/**
+ * The outcome of migrating a single tenant.
+ */
+public class TenantMigrationResult {
+    private final Tenant tenant;
+    private final int migrationsExecuted;
+    private final int attempts;
+    private final long executionTime;
+    private final FlywayException exception;
+
+    /**
+     * Creates a new result.
+     *
+     * @param tenant             The tenant.
+     * @param migrationsExecuted The number of successfully applied migrations.
+     * @param attempts           The number of attempts made to migrate the tenant.
+     * @param executionTime      The time spent migrating the tenant, including retries, in milliseconds.
+     * @param exception          The failure of the last attempt. {@code null} if the tenant was migrated successfully.
+     */
+    public TenantMigrationResult(Tenant tenant, int migrationsExecuted, int attempts, long executionTime,
+                                 FlywayException exception) {
+        this.tenant = tenant;
+        this.migrationsExecuted = migrationsExecuted;
+        this.attempts = attempts;
+        this.executionTime = executionTime;
+        this.exception = exception;
+    }
+
+    /**
+     * @return The tenant.
+     */
+    public Tenant getTenant() {
+        return tenant;
+    }
+
+    /**
+     * @return Whether the tenant was migrated successfully.
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return The number of successfully applied migrations. 0 if the tenant failed to migrate.
+     */
+    public int getMigrationsExecuted() {
+        return migrationsExecuted;
+    }
+
+    /**
+     * @return The number of attempts made to migrate the tenant.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return The time spent migrating the tenant, including retries, in milliseconds.
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return The failure of the last attempt. {@code null} if the tenant was migrated successfully.
+     */
+    public FlywayException getException() {
+        return exception;
+    }
+}
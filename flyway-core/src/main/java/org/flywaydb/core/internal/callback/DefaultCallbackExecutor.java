@@ -57,6 +57,13 @@ public class DefaultCallbackExecutor implements CallbackExecutor {
         this.callbacks = callbacks;
     }
 
+    /**
+     * @return The callbacks to execute.
+     */
+    public Collection<Callback> getCallbacks() {
+        return callbacks;
+    }
+
     @Override
     public void onEvent(final Event event) {
         execute(event, database.getMainConnection());
@@ -99,6 +99,14 @@ public class SqlScriptCallbackFactory {
         return new ArrayList<>(callbacks);
     }
 
+    /**
+     * @param callback The callback.
+     * @return The SQL script this callback executes. {@code null} if it isn't a SQL callback.
+     */
+    public static LoadableResource getResource(Callback callback) {
+        return callback instanceof SqlScriptCallback ? ((SqlScriptCallback) callback).sqlScript.getResource() : null;
+    }
+
     private String stripSuffix(String fileName, String[] suffixes) {
         for (String suffix : suffixes) {
             if (fileName.endsWith(suffix)) {
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.clazz;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The structural information contained in a class file: its name, access flags, superclass, interfaces and declared
+ * methods. Reading this information doesn't load, link or initialize the class.
+ */
+public class ClassFileInfo {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+    private static final int ACC_MODULE = 0x8000;
+
+    private final String className;
+    private final int accessFlags;
+    private final String superClassName;
+    private final List<String> interfaceNames;
+
+    /**
+     * The access flags of the declared methods, indexed by name and descriptor.
+     */
+    private final Map<String, Integer> methods;
+
+    private ClassFileInfo(String className, int accessFlags, String superClassName, List<String> interfaceNames,
+                          Map<String, Integer> methods) {
+        this.className = className;
+        this.accessFlags = accessFlags;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.methods = methods;
+    }
+
+    /**
+     * Reads the structural information from this class file. The stream is not closed.
+     *
+     * @param inputStream The contents of the class file.
+     * @return The class file information.
+     * @throws IOException when the class file could not be read or is not a valid class file.
+     */
+    public static ClassFileInfo read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNameIndexes[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skipFully(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skipFully(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skipFully(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skipFully(in, 8);
+                    // Takes up two entries in the constant pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Invalid constant pool tag: " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = getClassName(utf8, classNameIndexes, in.readUnsignedShort());
+        String superClassName = getClassName(utf8, classNameIndexes, in.readUnsignedShort());
+
+        int interfacesCount = in.readUnsignedShort();
+        List<String> interfaceNames = new ArrayList<>(interfacesCount);
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaceNames.add(getClassName(utf8, classNameIndexes, in.readUnsignedShort()));
+        }
+
+        int fieldsCount = in.readUnsignedShort();
+        for (int i = 0; i < fieldsCount; i++) {
+            skipFully(in, 6);
+            skipAttributes(in);
+        }
+
+        int methodsCount = in.readUnsignedShort();
+        Map<String, Integer> methods = new HashMap<>();
+        for (int i = 0; i < methodsCount; i++) {
+            int methodAccessFlags = in.readUnsignedShort();
+            String name = getUtf8(utf8, in.readUnsignedShort());
+            String descriptor = getUtf8(utf8, in.readUnsignedShort());
+            methods.put(name + descriptor, methodAccessFlags);
+            skipAttributes(in);
+        }
+
+        return new ClassFileInfo(className, accessFlags, superClassName, Collections.unmodifiableList(interfaceNames),
+                methods);
+    }
+
+    private static String getUtf8(String[] utf8, int index) throws IOException {
+        if (index <= 0 || index >= utf8.length || utf8[index] == null) {
+            throw new IOException("Invalid constant pool reference: " + index);
+        }
+        return utf8[index];
+    }
+
+    private static String getClassName(String[] utf8, int[] classNameIndexes, int index) throws IOException {
+        if (index == 0) {
+            // Only java.lang.Object has no superclass
+            return null;
+        }
+        if (index >= classNameIndexes.length) {
+            throw new IOException("Invalid constant pool reference: " + index);
+        }
+        return getUtf8(utf8, classNameIndexes[index]).replace('/', '.');
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int attributesCount = in.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            in.readUnsignedShort(); // name
+            skipFully(in, in.readInt() & 0xFFFFFFFFL);
+        }
+    }
+
+    private static void skipFully(DataInputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new IOException("Unexpected end of class file");
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+
+    /**
+     * @return The fully qualified binary name of the class.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return The fully qualified binary name of the superclass. {@code null} for {@code java.lang.Object}.
+     */
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    /**
+     * @return The fully qualified binary names of the interfaces directly implemented by the class.
+     */
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * @return Whether this is a public concrete class, as opposed to an abstract class, an interface, an annotation, an
+     * enum or a module descriptor.
+     */
+    public boolean isPublicConcreteClass() {
+        return (accessFlags & ACC_PUBLIC) != 0
+                && (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION | ACC_ENUM | ACC_MODULE)) == 0;
+    }
+
+    /**
+     * @return Whether the class declares a public constructor without arguments, either explicitly or implicitly.
+     */
+    public boolean hasPublicNoArgConstructor() {
+        Integer constructorAccessFlags = methods.get("<init>()V");
+        return constructorAccessFlags != null && (constructorAccessFlags & ACC_PUBLIC) != 0;
+    }
+
+    /**
+     * Checks whether the class itself declares a method with this name, regardless of its parameters.
+     *
+     * @param name The name of the method.
+     * @return {@code true} if it does, {@code false} if not.
+     */
+    public boolean declaresMethod(String name) {
+        for (String method : methods.keySet()) {
+            if (method.startsWith(name + "(")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -22,9 +22,10 @@ import java.util.Collection;
  */
 public interface ClassProvider<I> {
     /**
-     * Retrieve all classes which implement the specified interface.
+     * Retrieve all classes which implement the specified interface. Classes are only loaded when this is required to
+     * determine whether they implement it.
      *
      * @return The non-abstract classes that were found.
      */
-    Collection<Class<? extends I>> getClasses();
+    Collection<LazyClass<I>> getClasses();
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.clazz;
+
+import org.flywaydb.core.internal.util.ClassUtils;
+
+/**
+ * A class which was found to implement a given interface, but which may not have been loaded yet.
+ *
+ * @param <I> The interface implemented by the class.
+ */
+public class LazyClass<I> {
+    private final Class<I> implementedInterface;
+    private final String className;
+    private final ClassLoader classLoader;
+
+    /**
+     * The information read from the class file. {@code null} if the class was loaded during scanning.
+     */
+    private final ClassFileInfo classFileInfo;
+
+    /**
+     * The physical location of the class on disk. {@code null} if unknown.
+     */
+    private final String locationOnDisk;
+
+    private boolean loaded;
+    private Class<? extends I> loadedClass;
+
+    /**
+     * Creates a new reference to a class which hasn't been loaded yet.
+     *
+     * @param implementedInterface The interface implemented by the class.
+     * @param classFileInfo        The information read from the class file.
+     * @param classLoader          The ClassLoader to load the class with.
+     * @param locationOnDisk       The physical location of the class on disk. {@code null} if unknown.
+     */
+    public LazyClass(Class<I> implementedInterface, ClassFileInfo classFileInfo, ClassLoader classLoader,
+                     String locationOnDisk) {
+        this.implementedInterface = implementedInterface;
+        this.className = classFileInfo.getClassName();
+        this.classLoader = classLoader;
+        this.classFileInfo = classFileInfo;
+        this.locationOnDisk = locationOnDisk;
+    }
+
+    private LazyClass(Class<? extends I> loadedClass) {
+        this.implementedInterface = null;
+        this.className = loadedClass.getName();
+        this.classLoader = loadedClass.getClassLoader();
+        this.classFileInfo = null;
+        this.locationOnDisk = ClassUtils.getLocationOnDisk(loadedClass);
+        this.loaded = true;
+        this.loadedClass = loadedClass;
+    }
+
+    /**
+     * Creates a new reference to a class which has already been loaded.
+     *
+     * @param loadedClass The class.
+     * @param <I>         The interface implemented by the class.
+     * @return The reference.
+     */
+    public static <I> LazyClass<I> of(Class<? extends I> loadedClass) {
+        return new LazyClass<>(loadedClass);
+    }
+
+    /**
+     * @return The fully qualified name of the class.
+     */
+    public String getName() {
+        return className;
+    }
+
+    /**
+     * @return The ClassLoader to load the class with.
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * @return The information read from the class file. {@code null} if the class was loaded during scanning.
+     */
+    public ClassFileInfo getClassFileInfo() {
+        return classFileInfo;
+    }
+
+    /**
+     * @return The physical location of the class on disk. {@code null} if unknown.
+     */
+    public String getLocationOnDisk() {
+        return locationOnDisk;
+    }
+
+    /**
+     * Loads the class, if it hasn't been loaded yet.
+     *
+     * @return The class or {@code null} if it could not be loaded or turned out not to be instantiable.
+     */
+    public synchronized Class<? extends I> load() {
+        if (!loaded) {
+            loadedClass = ClassUtils.loadClass(implementedInterface, className, classLoader);
+            loaded = true;
+        }
+        return loadedClass;
+    }
+}
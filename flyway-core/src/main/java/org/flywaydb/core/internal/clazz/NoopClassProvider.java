@@ -25,7 +25,7 @@ public enum NoopClassProvider implements ClassProvider {
     INSTANCE;
 
     @Override
-    public Collection<Class<?>> getClasses() {
+    public Collection<LazyClass<?>> getClasses() {
         return Collections.emptyList();
     }
 }
\ No newline at end of file
@@ -25,11 +25,16 @@ import org.flywaydb.core.internal.database.base.Database;
 import org.flywaydb.core.internal.database.base.Schema;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
 import org.flywaydb.core.internal.schemahistory.SchemaHistory;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.TimeFormat;
 import org.flywaydb.core.internal.jdbc.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Main workflow for cleaning the database.
@@ -37,6 +42,11 @@ import java.util.concurrent.Callable;
 public class DbClean {
     private static final Log LOG = LogFactory.getLog(DbClean.class);
 
+    /**
+     * The database to clean.
+     */
+    private final Database database;
+
     /**
      * The connection to use.
      */
@@ -63,6 +73,11 @@ public class DbClean {
      */
     private boolean cleanDisabled;
 
+    /**
+     * The maximum number of schemas to clean at the same time.
+     */
+    private final int cleanParallelism;
+
     /**
      * Creates a new database cleaner.
      *
@@ -71,14 +86,17 @@ public class DbClean {
      * @param schemas          The schemas to clean.
      * @param callbackExecutor The callback executor.
      * @param cleanDisabled    Whether to disable clean.
+     * @param cleanParallelism The maximum number of schemas to clean at the same time.
      */
     public DbClean(Database database, SchemaHistory schemaHistory, Schema[] schemas,
-                   CallbackExecutor callbackExecutor, boolean cleanDisabled) {
+                   CallbackExecutor callbackExecutor, boolean cleanDisabled, int cleanParallelism) {
+        this.database = database;
         this.connection = database.getMainConnection();
         this.schemaHistory = schemaHistory;
         this.schemas = schemas;
         this.callbackExecutor = callbackExecutor;
         this.cleanDisabled = cleanDisabled;
+        this.cleanParallelism = cleanParallelism;
     }
 
     /**
@@ -101,16 +119,24 @@ public class DbClean {
                 LOG.error("Error while checking whether the schemas should be dropped", e);
             }
 
+            List<Schema> existingSchemas = new ArrayList<>();
             for (Schema schema : schemas) {
                 if (!schema.exists()) {
                     LOG.warn("Unable to clean unknown schema: " + schema);
                     continue;
                 }
+                existingSchemas.add(schema);
+            }
 
+            if (cleanParallelism > 1 && existingSchemas.size() > 1 && database.supportsParallelClean()) {
+                existingSchemas = cleanInParallel(existingSchemas, dropSchemas);
+            }
+
+            for (Schema schema : existingSchemas) {
                 if (dropSchemas) {
-                    dropSchema(schema);
+                    dropSchema(connection, schema);
                 } else {
-                    cleanSchema(schema);
+                    cleanSchema(connection, schema);
                 }
             }
         } catch (FlywayException e) {
@@ -122,13 +148,77 @@ public class DbClean {
         schemaHistory.clearCache();
     }
 
+    /**
+     * Cleans or drops these schemas at the same time, each on a separate connection.
+     *
+     * @param schemas     The schemas to clean or drop.
+     * @param dropSchemas Whether to drop the schemas instead of cleaning them.
+     * @return The schemas which could not be cleaned or dropped in parallel, for example because of dependencies on
+     * objects in other schemas, in their original order.
+     */
+    private List<Schema> cleanInParallel(List<Schema> schemas, final boolean dropSchemas) {
+        int threads = Math.min(cleanParallelism, schemas.size());
+        LOG.debug("Cleaning " + schemas.size() + " schemas using " + threads + " connections ...");
+
+        final Queue<Schema> pending = new ConcurrentLinkedQueue<>(schemas);
+        final Queue<Schema> failed = new ConcurrentLinkedQueue<>();
+        List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Connection workerConnection;
+                    try {
+                        workerConnection = database.openAdditionalConnection();
+                    } catch (FlywayException e) {
+                        LOG.debug("Unable to open additional connection for clean: " + e.getMessage());
+                        return null;
+                    }
+                    try {
+                        Schema schema;
+                        while ((schema = pending.poll()) != null) {
+                            Schema workerSchema = workerConnection.getSchema(schema.getName());
+                            try {
+                                if (dropSchemas) {
+                                    dropSchema(workerConnection, workerSchema);
+                                } else {
+                                    cleanSchema(workerConnection, workerSchema);
+                                }
+                            } catch (FlywayException e) {
+                                LOG.debug("Unable to clean schema " + schema + " in parallel: " + e.getMessage());
+                                failed.add(schema);
+                            }
+                        }
+                    } finally {
+                        workerConnection.close();
+                    }
+                    return null;
+                }
+            });
+        }
+        ParallelUtils.invokeAll(workers, threads);
+
+        // Schemas left over because no connection could be opened are cleaned serially as well
+        List<Schema> remaining = new ArrayList<>();
+        for (Schema schema : schemas) {
+            if (failed.contains(schema) || pending.contains(schema)) {
+                remaining.add(schema);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            LOG.warn("Unable to clean " + remaining.size() + " schema(s) in parallel. Cleaning them serially instead...");
+        }
+        return remaining;
+    }
+
     /**
      * Drops this schema.
      *
-     * @param schema The schema to drop.
+     * @param connection The connection to use.
+     * @param schema     The schema to drop.
      * @throws FlywayException when the drop failed.
      */
-    private void dropSchema(final Schema schema) {
+    private void dropSchema(Connection connection, final Schema schema) {
         LOG.debug("Dropping schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -159,10 +249,11 @@ public class DbClean {
     /**
      * Cleans this schema of all objects.
      *
-     * @param schema The schema to clean.
+     * @param connection The connection to use.
+     * @param schema     The schema to clean.
      * @throws FlywayException when clean failed.
      */
-    private void cleanSchema(final Schema schema) {
+    private void cleanSchema(Connection connection, final Schema schema) {
         LOG.debug("Cleaning schema " + schema + " ...");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -33,20 +33,34 @@ import org.flywaydb.core.internal.database.base.Database;
 import org.flywaydb.core.internal.database.base.Schema;
 import org.flywaydb.core.internal.info.MigrationInfoImpl;
 import org.flywaydb.core.internal.info.MigrationInfoServiceImpl;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
 import org.flywaydb.core.internal.jdbc.TransactionTemplate;
 import org.flywaydb.core.internal.schemahistory.SchemaHistory;
 import org.flywaydb.core.internal.util.ExceptionUtils;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.StopWatch;
 import org.flywaydb.core.internal.util.StringUtils;
 import org.flywaydb.core.internal.util.TimeFormat;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main workflow for migrating the database.
@@ -89,6 +103,17 @@ public class DbMigrate {
      */
     private final Connection connectionUserObjects;
 
+    /**
+     * The tracker following the progress of this migration run. {@code null} if it isn't tracked.
+     */
+    private final MigrateProgressTracker progressTracker;
+
+    /**
+     * The failure of the last parallel migration run. It is only thrown once the schema history table has been
+     * unlocked, so the migrations which did complete remain recorded even on databases with DDL transactions.
+     */
+    private FlywayException parallelFailure;
+
     /**
      * Creates a new database migrator.
      *
@@ -97,10 +122,12 @@ public class DbMigrate {
      * @param migrationResolver The migration resolver.
      * @param configuration     The Flyway configuration.
      * @param callbackExecutor  The callbacks executor.
+     * @param progressTracker   The tracker following the progress of this migration run. {@code null} if none.
      */
     public DbMigrate(Database database,
                      SchemaHistory schemaHistory, Schema schema, MigrationResolver migrationResolver,
-                     Configuration configuration, CallbackExecutor callbackExecutor) {
+                     Configuration configuration, CallbackExecutor callbackExecutor,
+                     MigrateProgressTracker progressTracker) {
         this.database = database;
         this.connectionUserObjects = database.getMigrationConnection();
         this.schemaHistory = schemaHistory;
@@ -108,6 +135,7 @@ public class DbMigrate {
         this.migrationResolver = migrationResolver;
         this.configuration = configuration;
         this.callbackExecutor = callbackExecutor;
+        this.progressTracker = progressTracker;
     }
 
     /**
@@ -120,11 +148,23 @@ public class DbMigrate {
         callbackExecutor.onMigrateOrUndoEvent(Event.BEFORE_MIGRATE);
 
         int count;
+        boolean bulkProfile = false;
+        Throwable failure = null;
         try {
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
 
-            count = configuration.isGroup() ?
+            if (isPendingMigrationsCheckRequired()) {
+                MigrationInfoImpl[] pendingMigrations = getPendingMigrations();
+                bulkProfile = isBulkProfile(pendingMigrations);
+                if (bulkProfile) {
+                    LOG.info("Applying migrations with the bulk-load profile of the database");
+                    connectionUserObjects.applyBulkProfile();
+                }
+                prepareMigrations(pendingMigrations);
+            }
+
+            count = isSingleGroup() ?
                     // When group is active, start the transaction boundary early to
                     // ensure that all changes to the schema history table are either committed or rolled back atomically.
                     schemaHistory.lock(new Callable<Integer>() {
@@ -140,28 +180,57 @@ public class DbMigrate {
 
             logSummary(count, stopWatch.getTotalTimeMillis());
         } catch (FlywayException e) {
+            failure = e;
             callbackExecutor.onMigrateOrUndoEvent(Event.AFTER_MIGRATE_ERROR);
             throw e;
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (bulkProfile) {
+                restoreBulkProfile(failure);
+            }
         }
 
         callbackExecutor.onMigrateOrUndoEvent(Event.AFTER_MIGRATE);
         return count;
     }
 
+    /**
+     * Restores the settings changed by the bulk-load profile. When the migration already failed, a failure to restore
+     * them is logged and added to the original failure instead of replacing it.
+     *
+     * @param failure The failure of the migration. {@code null} if it succeeded.
+     */
+    private void restoreBulkProfile(Throwable failure) {
+        try {
+            connectionUserObjects.restoreBulkProfile();
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                throw e;
+            }
+            LOG.warn(e.getMessage());
+            failure.addSuppressed(e);
+        }
+    }
+
     private int migrateAll() {
         int total = 0;
         while (true) {
             final boolean firstRun = total == 0;
-            int count = configuration.isGroup()
+            int count = isSingleGroup()
                     // With group active a lock on the schema history table has already been acquired.
                     ? migrateGroup(firstRun)
-                    // Otherwise acquire the lock now. The lock will be released at the end of each migration.
+                    // Otherwise acquire the lock now. The lock will be released at the end of each migration or group.
                     : schemaHistory.lock(new Callable<Integer>() {
                 @Override
                 public Integer call() {
                     return migrateGroup(firstRun);
                 }
             });
+            if (parallelFailure != null) {
+                throw parallelFailure;
+            }
             total += count;
             if (count == 0) {
                 // No further migrations available
@@ -171,6 +240,14 @@ public class DbMigrate {
         return total;
     }
 
+    /**
+     * @return Whether all pending migrations are applied as a single group, as opposed to one at a time or in groups
+     * bounded by groupSize or groupMaxDuration, each in its own transaction.
+     */
+    private boolean isSingleGroup() {
+        return configuration.isGroup() && configuration.getGroupSize() == 0 && configuration.getGroupMaxDuration() == 0;
+    }
+
     /**
      * Migrate a group of one (group = false) or more (group = true) migrations.
      *
@@ -189,6 +266,10 @@ public class DbMigrate {
         if (firstRun) {
             LOG.info("Current version of schema " + schema + ": " + currentSchemaVersion);
 
+            if (progressTracker != null) {
+                progressTracker.init(infoService);
+            }
+
             if (configuration.isOutOfOrder()) {
                 LOG.warn("outOfOrder mode is active. Migration of schema " + schema + " may not be reproducible.");
             }
@@ -228,22 +309,52 @@ public class DbMigrate {
             }
         }
 
+        if (isParallel()) {
+            MigrationGraph graph = new MigrationGraph(Arrays.<MigrationInfoImpl>asList(infoService.pending()),
+                    infoService.all(), configuration.isParallelRepeatables());
+            if (graph.hasIndependentMigrations()) {
+                LinkedHashMap<MigrationInfoImpl, Boolean> outOfOrder = new LinkedHashMap<>();
+                for (MigrationInfoImpl pendingMigration : graph.getMigrations()) {
+                    outOfOrder.put(pendingMigration, isOutOfOrder(pendingMigration, currentSchemaVersion));
+                }
+                applyMigrationsInParallel(graph, outOfOrder);
+                return outOfOrder.size();
+            }
+        }
+
         LinkedHashMap<MigrationInfoImpl, Boolean> group = new LinkedHashMap<>();
         for (MigrationInfoImpl pendingMigration : infoService.pending()) {
-            boolean isOutOfOrder = pendingMigration.getVersion() != null
-                    && pendingMigration.getVersion().compareTo(currentSchemaVersion) < 0;
-            group.put(pendingMigration, isOutOfOrder);
+            group.put(pendingMigration, isOutOfOrder(pendingMigration, currentSchemaVersion));
 
             if (!configuration.isGroup()) {
                 // Only include one pending migration if group is disabled
                 break;
             }
+            if (group.size() == configuration.getGroupSize()) {
+                // The remaining migrations go into the next group
+                break;
+            }
         }
 
-        if (!group.isEmpty()) {
-            applyMigrations(group);
+        if (group.isEmpty()) {
+            return 0;
         }
-        return group.size();
+        return applyMigrations(group);
+    }
+
+    private static boolean isOutOfOrder(MigrationInfoImpl pendingMigration, MigrationVersion currentSchemaVersion) {
+        return pendingMigration.getVersion() != null
+                && pendingMigration.getVersion().compareTo(currentSchemaVersion) < 0;
+    }
+
+    /**
+     * @return Whether independent migrations may be applied at the same time. Group takes precedence, as a group is
+     * applied in a single transaction on a single connection.
+     */
+    private boolean isParallel() {
+        return configuration.getMigrateParallelism() > 1
+                && !configuration.isGroup()
+                && database.supportsParallelMigration();
     }
 
     /**
@@ -270,22 +381,23 @@ public class DbMigrate {
      * Applies this migration to the database. The migration state and the execution time are updated accordingly.
      *
      * @param group The group of migrations to apply.
+     * @return The number of migrations applied, which is less than the size of the group when its maximum duration
+     * was exceeded.
      */
-    private void applyMigrations(final LinkedHashMap<MigrationInfoImpl, Boolean> group) {
-        boolean executeGroupInTransaction = isExecuteGroupInTransaction(group);
+    private int applyMigrations(final LinkedHashMap<MigrationInfoImpl, Boolean> group) {
+        final boolean executeGroupInTransaction = isExecuteGroupInTransaction(group);
         final StopWatch stopWatch = new StopWatch();
         try {
             if (executeGroupInTransaction) {
-                new TransactionTemplate(connectionUserObjects.getJdbcConnection()).execute(new Callable<Object>() {
-                    @Override
-                    public Object call() {
-                        doMigrateGroup(group, stopWatch);
-                        return null;
-                    }
-                });
-            } else {
-                doMigrateGroup(group, stopWatch);
+                return new TransactionTemplate(connectionUserObjects.getJdbcConnection()).execute(
+                        new Callable<Integer>() {
+                            @Override
+                            public Integer call() {
+                                return doMigrateGroup(group, stopWatch, executeGroupInTransaction);
+                            }
+                        });
             }
+            return doMigrateGroup(group, stopWatch, executeGroupInTransaction);
         } catch (FlywayMigrateException e) {
             MigrationInfoImpl migration = e.getMigration();
             String failedMsg = "Migration of " + toMigrationText(migration, e.isOutOfOrder()) + " failed!";
@@ -303,6 +415,56 @@ public class DbMigrate {
         }
     }
 
+    /**
+     * Checks whether the pending migrations must be looked at before this migration run, which is only the case when
+     * one of the available migrations needs preparing or may request the bulk-load profile. This avoids reading the
+     * schema history table an extra time on all other runs.
+     */
+    private boolean isPendingMigrationsCheckRequired() {
+        boolean bulkProfileSupported = database.supportsBulkProfile();
+        if (bulkProfileSupported && configuration.isBulkProfile()) {
+            return true;
+        }
+        for (ResolvedMigration resolvedMigration : migrationResolver.resolveMigrations(
+                new org.flywaydb.core.api.resolver.Context() {
+                    @Override
+                    public Configuration getConfiguration() {
+                        return configuration;
+                    }
+                })) {
+            if (resolvedMigration instanceof ResolvedMigrationImpl) {
+                ResolvedMigrationImpl resolvedMigrationImpl = (ResolvedMigrationImpl) resolvedMigration;
+                if (resolvedMigrationImpl.needsPreparation()
+                        || (bulkProfileSupported && Boolean.TRUE.equals(resolvedMigrationImpl.getBulkProfile()))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether this migration run should use the bulk-load profile of the database, which is the case as soon as
+     * one of the pending migrations requests it, either by declaring it or through the configuration. The profile is
+     * applied to the whole run, as some databases don't allow changing these settings inside the transactions holding
+     * the lock on the schema history table.
+     */
+    private boolean isBulkProfile(MigrationInfoImpl[] pendingMigrations) {
+        if (!database.supportsBulkProfile()) {
+            return false;
+        }
+        for (MigrationInfoImpl migration : pendingMigrations) {
+            ResolvedMigration resolvedMigration = migration.getResolvedMigration();
+            Boolean declared = resolvedMigration instanceof ResolvedMigrationImpl
+                    ? ((ResolvedMigrationImpl) resolvedMigration).getBulkProfile()
+                    : null;
+            if (declared == null ? configuration.isBulkProfile() : declared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isExecuteGroupInTransaction(LinkedHashMap<MigrationInfoImpl, Boolean> group) {
         boolean executeGroupInTransaction = true;
         boolean first = true;
@@ -332,7 +494,87 @@ public class DbMigrate {
         return executeGroupInTransaction;
     }
 
-    private void doMigrateGroup(LinkedHashMap<MigrationInfoImpl, Boolean> group, StopWatch stopWatch) {
+    private int doMigrateGroup(LinkedHashMap<MigrationInfoImpl, Boolean> group, StopWatch stopWatch,
+                               boolean executeGroupInTransaction) {
+        if (group.size() < 2) {
+            return doMigrateGroupMembers(group, stopWatch);
+        }
+
+        // Write the schema history rows of a group at once, after the last migration or the first failure, so they
+        // end up in the table in exactly the same state as when writing them one by one
+        schemaHistory.startBatch();
+        int count;
+        try {
+            count = doMigrateGroupMembers(group, stopWatch);
+        } catch (RuntimeException e) {
+            if (database.supportsDdlTransactions() && executeGroupInTransaction) {
+                // The rows would be rolled back along with the group, and the failed transaction may not even
+                // accept them anymore
+                schemaHistory.discardBatch();
+            } else {
+                schemaHistory.flushBatch();
+            }
+            throw e;
+        }
+        schemaHistory.flushBatch();
+        return count;
+    }
+
+    /**
+     * @return The migrations pending before this migration run.
+     */
+    private MigrationInfoImpl[] getPendingMigrations() {
+        MigrationInfoServiceImpl infoService =
+                new MigrationInfoServiceImpl(migrationResolver, schemaHistory, configuration,
+                        configuration.getTarget(), configuration.isOutOfOrder(),
+                        true, true, true, true);
+        infoService.refresh();
+        return infoService.pending();
+    }
+
+    /**
+     * Creates the tables the pending migrations rely on besides the ones they migrate, in a transaction of its own
+     * before any migration is applied, just like the schema history table. On databases without transactional DDL
+     * creating them within a migration would otherwise commit it halfway.
+     */
+    private void prepareMigrations(MigrationInfoImpl[] pendingMigrations) {
+        final List<ResolvedMigrationImpl> migrationsToPrepare = new ArrayList<>();
+        for (MigrationInfoImpl migration : pendingMigrations) {
+            ResolvedMigration resolvedMigration = migration.getResolvedMigration();
+            if (resolvedMigration instanceof ResolvedMigrationImpl
+                    && ((ResolvedMigrationImpl) resolvedMigration).needsPreparation()) {
+                migrationsToPrepare.add((ResolvedMigrationImpl) resolvedMigration);
+            }
+        }
+        if (migrationsToPrepare.isEmpty()) {
+            return;
+        }
+        connectionUserObjects.restoreOriginalState();
+        connectionUserObjects.changeCurrentSchemaTo(schema);
+        final java.sql.Connection jdbcConnection = connectionUserObjects.getJdbcConnection();
+        new TransactionTemplate(jdbcConnection).execute(new Callable<Object>() {
+            @Override
+            public Object call() throws SQLException {
+                for (ResolvedMigrationImpl migration : migrationsToPrepare) {
+                    migration.prepare(jdbcConnection);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Applies the migrations of this group one after the other, stopping early once the maximum duration of the group
+     * has been exceeded.
+     *
+     * @return The number of migrations applied.
+     */
+    private int doMigrateGroupMembers(LinkedHashMap<MigrationInfoImpl, Boolean> group, StopWatch stopWatch) {
+        long maxDuration = TimeUnit.SECONDS.toMillis(configuration.getGroupMaxDuration());
+        StopWatch groupStopWatch = new StopWatch();
+        groupStopWatch.start();
+        int count = 0;
+
         Context context = new Context() {
             @Override
             public Configuration getConfiguration() {
@@ -383,7 +625,231 @@ public class DbMigrate {
 
             schemaHistory.addAppliedMigration(migration.getVersion(), migration.getDescription(), migration.getType(),
                     migration.getScript(), migration.getResolvedMigration().getChecksum(), executionTime, true);
+            count++;
+
+            groupStopWatch.stop();
+            if (maxDuration > 0 && count < group.size() && groupStopWatch.getTotalTimeMillis() >= maxDuration) {
+                LOG.debug("Group exceeded its maximum duration after " + count + " of " + group.size()
+                        + " migrations. Applying the remaining migrations in a new group ...");
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Applies all pending migrations, running each one on its own connection as soon as the migrations it depends on
+     * have completed. Callbacks run and the schema history table is updated on this thread, with migrations recorded
+     * in the order in which they would have been applied one after the other, including failed migrations. After the
+     * first failure no further migrations are started; the ones already running are allowed to complete and are
+     * recorded as well.
+     *
+     * @param graph      The dependencies between the pending migrations.
+     * @param outOfOrder Whether each pending migration is out of order.
+     */
+    private void applyMigrationsInParallel(MigrationGraph graph, final Map<MigrationInfoImpl, Boolean> outOfOrder) {
+        List<MigrationInfoImpl> migrations = graph.getMigrations();
+        int threads = Math.min(configuration.getMigrateParallelism(), migrations.size());
+        LOG.info("Applying " + migrations.size() + " migrations to schema " + schema + " using up to " + threads
+                + " connections ...");
+
+        final Queue<Connection> idleConnections = new ConcurrentLinkedQueue<>();
+        final Queue<Connection> connections = new ConcurrentLinkedQueue<>();
+        final Map<MigrationInfoImpl, Integer> executionTimes = new ConcurrentHashMap<>();
+        Set<MigrationInfoImpl> started = new HashSet<>();
+        Set<MigrationInfoImpl> completed = new HashSet<>();
+        List<FlywayMigrateException> failures = new ArrayList<>();
+        FlywayException callbackFailure = null;
+        int running = 0;
+        int recorded = 0;
+
+        ExecutorService executorService = ParallelUtils.createExecutorService(threads);
+        CompletionService<MigrationInfoImpl> completionService = new ExecutorCompletionService<>(executorService);
+        try {
+            while (true) {
+                if (failures.isEmpty() && callbackFailure == null) {
+                    for (final MigrationInfoImpl migration : migrations) {
+                        if (running == threads) {
+                            break;
+                        }
+                        if (started.contains(migration) || !completed.containsAll(graph.getDependencies(migration))) {
+                            continue;
+                        }
+
+                        callbackExecutor.setMigrationInfo(migration);
+                        try {
+                            callbackExecutor.onEachMigrateOrUndoEvent(Event.BEFORE_EACH_MIGRATE);
+                        } catch (FlywayException e) {
+                            // Stop starting migrations, but still wait for and record the running ones
+                            callbackFailure = e;
+                            break;
+                        } finally {
+                            callbackExecutor.setMigrationInfo(null);
+                        }
+                        LOG.info("Migrating " + toMigrationText(migration, outOfOrder.get(migration)));
+                        completionService.submit(new Callable<MigrationInfoImpl>() {
+                            @Override
+                            public MigrationInfoImpl call() {
+                                return applyMigration(migration, outOfOrder.get(migration), idleConnections,
+                                        connections, executionTimes);
+                            }
+                        });
+                        started.add(migration);
+                        running++;
+                    }
+                }
+                if (running == 0) {
+                    break;
+                }
+
+                MigrationInfoImpl migration;
+                try {
+                    migration = ParallelUtils.getResult(takeCompleted(completionService));
+                } catch (FlywayMigrateException e) {
+                    running--;
+                    callbackExecutor.setMigrationInfo(e.getMigration());
+                    try {
+                        callbackExecutor.onEachMigrateOrUndoEvent(Event.AFTER_EACH_MIGRATE_ERROR);
+                    } finally {
+                        callbackExecutor.setMigrationInfo(null);
+                    }
+                    if (failures.isEmpty() && running > 0) {
+                        LOG.warn("Waiting for " + running + " running migration(s) to complete ...");
+                    }
+                    failures.add(e);
+                    continue;
+                }
+                running--;
+                callbackExecutor.setMigrationInfo(migration);
+                try {
+                    callbackExecutor.onEachMigrateOrUndoEvent(Event.AFTER_EACH_MIGRATE);
+                } finally {
+                    callbackExecutor.setMigrationInfo(null);
+                }
+                completed.add(migration);
+
+                // Only record a migration once all migrations before it have been recorded
+                while (recorded < migrations.size() && completed.contains(migrations.get(recorded))) {
+                    addAppliedMigration(migrations.get(recorded), executionTimes, true);
+                    recorded++;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+
+        if (failures.isEmpty() && callbackFailure == null) {
+            return;
         }
+
+        // Record the remaining completed and failed migrations in the order in which they would have been applied one
+        // after the other, so a failure is never recorded after migrations following it
+        Map<MigrationInfoImpl, FlywayMigrateException> failed = new HashMap<>();
+        for (FlywayMigrateException failure : failures) {
+            failed.put(failure.getMigration(), failure);
+        }
+        FlywayMigrateException firstFailure = null;
+        for (MigrationInfoImpl migration : migrations.subList(recorded, migrations.size())) {
+            if (completed.contains(migration)) {
+                addAppliedMigration(migration, executionTimes, true);
+                continue;
+            }
+            FlywayMigrateException failure = failed.get(migration);
+            if (failure == null) {
+                continue;
+            }
+            if (firstFailure == null) {
+                firstFailure = failure;
+            }
+            String failedMsg = "Migration of " + toMigrationText(migration, failure.isOutOfOrder()) + " failed!";
+            if (database.supportsDdlTransactions() && migration.getResolvedMigration().getExecutor().canExecuteInTransaction()) {
+                LOG.error(failedMsg + " Changes successfully rolled back.");
+            } else {
+                LOG.error(failedMsg + " Please restore backups and roll back database and code!");
+                addAppliedMigration(migration, executionTimes, false);
+            }
+        }
+        parallelFailure = firstFailure == null ? callbackFailure : firstFailure;
+    }
+
+    private static Future<MigrationInfoImpl> takeCompleted(CompletionService<MigrationInfoImpl> completionService) {
+        try {
+            return completionService.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while waiting for migrations to complete", e);
+        }
+    }
+
+    /**
+     * Applies this migration on an idle worker connection, opening a new one if none is available.
+     *
+     * @return The migration.
+     * @throws FlywayMigrateException when the migration failed.
+     */
+    private MigrationInfoImpl applyMigration(final MigrationInfoImpl migration, boolean isOutOfOrder,
+                                             Queue<Connection> idleConnections, Queue<Connection> connections,
+                                             Map<MigrationInfoImpl, Integer> executionTimes) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Connection connection = idleConnections.poll();
+        try {
+            if (connection == null) {
+                connection = database.openAdditionalConnection();
+                connections.add(connection);
+            }
+            LOG.debug("Starting migration of " + toMigrationText(migration, isOutOfOrder) + " ...");
+
+            connection.restoreOriginalState();
+            connection.changeCurrentSchemaTo(schema);
+
+            final java.sql.Connection jdbcConnection = connection.getJdbcConnection();
+            final Context context = new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return configuration;
+                }
+
+                @Override
+                public java.sql.Connection getConnection() {
+                    return jdbcConnection;
+                }
+            };
+            final MigrationExecutor migrationExecutor = migration.getResolvedMigration().getExecutor();
+            if (migrationExecutor.canExecuteInTransaction()) {
+                new TransactionTemplate(jdbcConnection).execute(new Callable<Object>() {
+                    @Override
+                    public Object call() throws SQLException {
+                        migrationExecutor.execute(context);
+                        return null;
+                    }
+                });
+            } else {
+                migrationExecutor.execute(context);
+            }
+            LOG.debug("Successfully completed migration of " + toMigrationText(migration, isOutOfOrder));
+            return migration;
+        } catch (FlywayException e) {
+            throw new FlywayMigrateException(migration, isOutOfOrder, e);
+        } catch (SQLException e) {
+            throw new FlywayMigrateException(migration, isOutOfOrder, e);
+        } finally {
+            stopWatch.stop();
+            executionTimes.put(migration, (int) stopWatch.getTotalTimeMillis());
+            if (connection != null) {
+                idleConnections.add(connection);
+            }
+        }
+    }
+
+    private void addAppliedMigration(MigrationInfoImpl migration, Map<MigrationInfoImpl, Integer> executionTimes,
+                                     boolean success) {
+        schemaHistory.addAppliedMigration(migration.getVersion(), migration.getDescription(), migration.getType(),
+                migration.getScript(), migration.getResolvedMigration().getChecksum(), executionTimes.get(migration),
+                success);
     }
 
     private String toMigrationText(MigrationInfoImpl migration, boolean isOutOfOrder) {
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.api.tenant.MultiTenantMigrationResult;
+import org.flywaydb.core.api.tenant.Tenant;
+import org.flywaydb.core.api.tenant.TenantMigrationResult;
+import org.flywaydb.core.internal.util.ParallelUtils;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.TimeFormat;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Migrates a number of tenants concurrently. The failure of a tenant never affects the other tenants: it is retried if
+ * it was caused by a database error, and otherwise recorded in the results.
+ */
+public class DbMigrateTenants {
+    private static final Log LOG = LogFactory.getLog(DbMigrateTenants.class);
+
+    /**
+     * The maximum delay between two attempts to migrate the same tenant, in seconds.
+     */
+    private static final long MAX_RETRY_DELAY = 60;
+
+    /**
+     * The class of the SQL states reported when the connection to the database failed or was lost.
+     */
+    private static final String CONNECTION_EXCEPTION = "08";
+
+    /**
+     * The class of the SQL states reported when the database rolled back the transaction, for example because of a
+     * deadlock or a serialization failure.
+     */
+    private static final String TRANSACTION_ROLLBACK = "40";
+
+    /**
+     * The tenants to migrate.
+     */
+    private final List<Tenant> tenants;
+
+    /**
+     * The maximum number of tenants to migrate at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * The maximum number of retries per tenant.
+     */
+    private final int retries;
+
+    /**
+     * Migrates a single tenant.
+     */
+    public interface TenantMigrator {
+        /**
+         * Migrates this tenant.
+         *
+         * @param tenant The tenant.
+         * @return The number of successfully applied migrations.
+         * @throws FlywayException when the migration failed.
+         */
+        int migrate(Tenant tenant) throws FlywayException;
+    }
+
+    /**
+     * Creates a new multi-tenant migrator.
+     *
+     * @param tenants     The tenants to migrate.
+     * @param parallelism The maximum number of tenants to migrate at the same time.
+     * @param retries     The maximum number of retries per tenant.
+     */
+    public DbMigrateTenants(List<Tenant> tenants, int parallelism, int retries) {
+        this.tenants = tenants;
+        this.parallelism = parallelism;
+        this.retries = retries;
+    }
+
+    /**
+     * Migrates all tenants.
+     *
+     * @param tenantMigrator The migrator of the individual tenants.
+     * @return The aggregated results.
+     */
+    public MultiTenantMigrationResult migrate(final TenantMigrator tenantMigrator) {
+        LOG.info("Migrating " + tenants.size() + " tenant" + (tenants.size() == 1 ? "" : "s")
+                + " (parallelism " + Math.min(parallelism, Math.max(1, tenants.size())) + ") ...");
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        List<Callable<TenantMigrationResult>> tasks = new ArrayList<>(tenants.size());
+        for (final Tenant tenant : tenants) {
+            tasks.add(new Callable<TenantMigrationResult>() {
+                @Override
+                public TenantMigrationResult call() {
+                    return migrateTenant(tenantMigrator, tenant);
+                }
+            });
+        }
+        List<TenantMigrationResult> results = ParallelUtils.invokeAll(tasks, parallelism);
+
+        stopWatch.stop();
+        MultiTenantMigrationResult result = new MultiTenantMigrationResult(results, stopWatch.getTotalTimeMillis());
+        logSummary(result);
+        return result;
+    }
+
+    private TenantMigrationResult migrateTenant(TenantMigrator tenantMigrator, Tenant tenant) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            FlywayException exception;
+            try {
+                int migrationsExecuted = tenantMigrator.migrate(tenant);
+                stopWatch.stop();
+                LOG.info("Migrated tenant " + tenant + " (" + migrationsExecuted + " migration"
+                        + (migrationsExecuted == 1 ? "" : "s") + ", execution time "
+                        + TimeFormat.format(stopWatch.getTotalTimeMillis()) + ")");
+                return new TenantMigrationResult(tenant, migrationsExecuted, attempts,
+                        stopWatch.getTotalTimeMillis(), null);
+            } catch (FlywayException e) {
+                exception = e;
+            } catch (RuntimeException e) {
+                exception = new FlywayException("Unexpected error: " + e.getMessage(), e);
+            }
+
+            if (attempts <= retries && isCausedByTransientDatabaseError(exception)) {
+                long delay = Math.min(MAX_RETRY_DELAY, 1L << Math.min(attempts - 1, 6));
+                LOG.warn("Migration of tenant " + tenant + " failed (attempt " + attempts + " of " + (retries + 1)
+                        + "): " + exception.getMessage() + ". Retrying in " + delay + " s ...");
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(delay));
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    exception = new FlywayException("Interrupted while waiting to retry migration of tenant " + tenant, e);
+                }
+            }
+
+            stopWatch.stop();
+            LOG.error("Unable to migrate tenant " + tenant + ": " + exception.getMessage());
+            return new TenantMigrationResult(tenant, 0, attempts, stopWatch.getTotalTimeMillis(), exception);
+        }
+    }
+
+    /**
+     * @return Whether this failure was caused by a transient database error, such as a lost connection, a deadlock or a
+     * timeout, as opposed to for example a syntax or validation error which retrying can't resolve.
+     */
+    private static boolean isCausedByTransientDatabaseError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && (sqlState.startsWith(CONNECTION_EXCEPTION)
+                        || sqlState.startsWith(TRANSACTION_ROLLBACK))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void logSummary(MultiTenantMigrationResult result) {
+        String executionTime = TimeFormat.format(result.getExecutionTime());
+        int migrationsExecuted = result.getMigrationsExecuted();
+        String migrations = migrationsExecuted + " migration" + (migrationsExecuted == 1 ? "" : "s");
+        if (result.isSuccess()) {
+            int count = result.getResults().size();
+            LOG.info("Successfully migrated " + count + " tenant" + (count == 1 ? "" : "s") + " (" + migrations
+                    + ", execution time " + executionTime + ")");
+            return;
+        }
+
+        List<Tenant> failedTenants = new ArrayList<>();
+        for (TenantMigrationResult tenantResult : result.getFailedResults()) {
+            failedTenants.add(tenantResult.getTenant());
+        }
+        LOG.error("Migrated " + result.getSuccessCount() + " of " + result.getResults().size()
+                + " tenants successfully (" + migrations + ", execution time " + executionTime + "). Failed tenants: "
+                + StringUtils.collectionToCommaDelimitedString(failedTenants));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.database.base.Connection;
+import org.flywaydb.core.internal.database.base.Database;
+import org.flywaydb.core.internal.database.base.Schema;
+import org.flywaydb.core.internal.database.base.Table;
+import org.flywaydb.core.internal.jdbc.TransactionTemplate;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.TimeFormat;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Main workflow for resetting the data in the database to its state right after migrating, while keeping its
+ * structure. This state is recorded in a state table next to the schema history table in each schema, named after it.
+ */
+public class DbReset {
+    private static final Log LOG = LogFactory.getLog(DbReset.class);
+
+    /**
+     * The connection to use.
+     */
+    private final Connection connection;
+
+    /**
+     * The schema history table, whose data is kept.
+     */
+    private final Table schemaHistoryTable;
+
+    /**
+     * The schemas to reset.
+     */
+    private final Schema[] schemas;
+
+    /**
+     * The name of the table recording the state to reset to in each schema.
+     */
+    private final String stateTableName;
+
+    /**
+     * Whether clean, and therefore reset, is disabled.
+     */
+    private final boolean cleanDisabled;
+
+    /**
+     * Creates a new database resetter.
+     *
+     * @param database           The DB support for the connection.
+     * @param schemaHistoryTable The schema history table, whose data is kept.
+     * @param schemas            The schemas to reset.
+     * @param cleanDisabled      Whether clean, and therefore reset, is disabled.
+     */
+    public DbReset(Database database, Table schemaHistoryTable, Schema[] schemas, boolean cleanDisabled) {
+        this.connection = database.getMainConnection();
+        this.schemaHistoryTable = schemaHistoryTable;
+        this.schemas = schemas;
+        this.cleanDisabled = cleanDisabled;
+        this.stateTableName = schemaHistoryTable.getName() + "_reset";
+    }
+
+    /**
+     * @return Whether the state to reset to has been recorded.
+     */
+    public boolean isRecorded() {
+        return schemas[0].getTable(stateTableName).exists();
+    }
+
+    /**
+     * Records the current data in the schemas as the state to reset to, replacing the previous recording.
+     *
+     * @throws FlywayException when the data could not be recorded.
+     */
+    public void record() throws FlywayException {
+        connection.changeCurrentSchemaTo(schemas[0]);
+        for (final Schema schema : schemas) {
+            if (!schema.exists()) {
+                continue;
+            }
+            LOG.debug("Recording data of schema " + schema + " for reset ...");
+            new TransactionTemplate(connection.getJdbcConnection()).execute(new Callable<Object>() {
+                @Override
+                public Void call() {
+                    schema.recordResetState(schemaHistoryTable, schema.getTable(stateTableName));
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Restores the data in the schemas to the recorded state, except for the schema history table.
+     *
+     * @throws FlywayException when reset failed.
+     */
+    public void reset() throws FlywayException {
+        if (cleanDisabled) {
+            throw new FlywayException("Unable to execute reset as clean has been disabled with the \"flyway.cleanDisabled\" property.");
+        }
+
+        connection.changeCurrentSchemaTo(schemas[0]);
+        for (Schema schema : schemas) {
+            if (!schema.exists()) {
+                LOG.warn("Unable to reset unknown schema: " + schema);
+                continue;
+            }
+            resetSchema(schema);
+        }
+    }
+
+    /**
+     * Restores the data in this schema to the recorded state.
+     *
+     * @param schema The schema to reset.
+     * @throws FlywayException when reset failed.
+     */
+    private void resetSchema(final Schema schema) {
+        LOG.debug("Resetting schema " + schema + " ...");
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        new TransactionTemplate(connection.getJdbcConnection()).execute(new Callable<Object>() {
+            @Override
+            public Void call() {
+                schema.reset(schemaHistoryTable, schema.getTable(stateTableName));
+                return null;
+            }
+        });
+        stopWatch.stop();
+        LOG.info(String.format("Successfully reset schema %s (execution time %s)",
+                schema, TimeFormat.format(stopWatch.getTotalTimeMillis())));
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.api.resolver.Context;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.callback.CallbackExecutor;
+import org.flywaydb.core.internal.callback.DefaultCallbackExecutor;
+import org.flywaydb.core.internal.callback.SqlScriptCallbackFactory;
+import org.flywaydb.core.internal.database.base.Database;
+import org.flywaydb.core.internal.database.base.SnapshottableDatabase;
+import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.flywaydb.core.internal.license.VersionPrinter;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.schemahistory.AppliedMigration;
+import org.flywaydb.core.internal.schemahistory.SchemaHistory;
+import org.flywaydb.core.internal.util.CacheFileUtils;
+import org.flywaydb.core.internal.util.StopWatch;
+import org.flywaydb.core.internal.util.StringUtils;
+import org.flywaydb.core.internal.util.TimeFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Migrates an empty embedded database by restoring a snapshot of the outcome of an earlier migration with the same
+ * migrations, taking that snapshot first if it doesn't exist yet.
+ */
+public class DbSnapshot {
+    private static final Log LOG = LogFactory.getLog(DbSnapshot.class);
+
+    private static final String PREFIX = "flyway-";
+    private static final String SUFFIX = ".snapshot";
+
+    /**
+     * The number of days after which snapshots which haven't been restored anymore are deleted.
+     */
+    private static final long RETENTION_DAYS = 30;
+
+    /**
+     * The database to migrate.
+     */
+    private final Database database;
+
+    /**
+     * The schema history table.
+     */
+    private final SchemaHistory schemaHistory;
+
+    /**
+     * The migration resolver.
+     */
+    private final MigrationResolver migrationResolver;
+
+    /**
+     * The callback executor, whose SQL callbacks are part of the outcome of the migration.
+     */
+    private final CallbackExecutor callbackExecutor;
+
+    /**
+     * The Flyway configuration.
+     */
+    private final Configuration configuration;
+
+    /**
+     * The directory containing the snapshots.
+     */
+    private final File snapshotDirectory;
+
+    /**
+     * Creates a new snapshot-based migrator.
+     *
+     * @param database          The database to migrate.
+     * @param schemaHistory     The schema history table.
+     * @param migrationResolver The migration resolver.
+     * @param callbackExecutor  The callback executor.
+     * @param configuration     The Flyway configuration.
+     */
+    public DbSnapshot(Database database, SchemaHistory schemaHistory, MigrationResolver migrationResolver,
+                      CallbackExecutor callbackExecutor, Configuration configuration) {
+        this.database = database;
+        this.schemaHistory = schemaHistory;
+        this.migrationResolver = migrationResolver;
+        this.callbackExecutor = callbackExecutor;
+        this.configuration = configuration;
+        this.snapshotDirectory = new File(configuration.getSnapshotDirectory());
+    }
+
+    /**
+     * Migrates the empty database, either by restoring the snapshot for the current migrations or by executing this
+     * migration and taking that snapshot afterwards.
+     *
+     * @param migration The regular migration of the empty database.
+     * @return The number of migrations applied or restored.
+     * @throws FlywayException when the migration or the restore failed.
+     */
+    public int migrate(final Callable<Integer> migration) throws FlywayException {
+        if (!(database instanceof SnapshottableDatabase) || !((SnapshottableDatabase) database).canSnapshot()) {
+            LOG.debug(database.getDatabaseType().getName() + " databases can't be snapshotted."
+                    + " Migrating without snapshot ...");
+            return call(migration);
+        }
+
+        String fingerprint = computeFingerprint();
+        if (fingerprint == null) {
+            LOG.debug("Unable to fingerprint migrations for snapshot. Migrating without snapshot ...");
+            return call(migration);
+        }
+
+        final File snapshotFile = new File(snapshotDirectory, PREFIX + fingerprint + SUFFIX);
+        try {
+            return CacheFileUtils.lock(snapshotFile, new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    if (snapshotFile.isFile()) {
+                        return restore(snapshotFile);
+                    }
+                    int count = DbSnapshot.call(migration);
+                    create(snapshotFile);
+                    return count;
+                }
+            });
+        } catch (IOException e) {
+            // Only thrown when the lock could not be acquired, as the migration itself throws FlywayExceptions
+            LOG.warn("Unable to lock snapshot " + snapshotFile.getAbsolutePath() + ": " + e.getMessage()
+                    + ". Migrating without snapshot ...");
+            return call(migration);
+        }
+    }
+
+    private static int call(Callable<Integer> migration) {
+        try {
+            return migration.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FlywayException(e);
+        }
+    }
+
+    /**
+     * Restores the database from this snapshot.
+     *
+     * @param snapshotFile The snapshot.
+     * @return The number of migrations restored.
+     */
+    private int restore(File snapshotFile) {
+        LOG.info("Restoring " + database.getDatabaseType().getName() + " database from snapshot "
+                + snapshotFile.getAbsolutePath() + " ...");
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        try {
+            ((SnapshottableDatabase) database).restoreSnapshot(snapshotFile);
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to restore snapshot " + snapshotFile.getAbsolutePath(), e);
+        }
+        stopWatch.stop();
+
+        // Mark the snapshot as used, so it isn't deleted as stale
+        if (!snapshotFile.setLastModified(System.currentTimeMillis())) {
+            LOG.debug("Unable to update last modification time of snapshot " + snapshotFile.getAbsolutePath());
+        }
+
+        schemaHistory.clearCache();
+        int count = 0;
+        for (AppliedMigration appliedMigration : schemaHistory.allAppliedMigrations()) {
+            if (appliedMigration.isSuccess() && !appliedMigration.getType().isSynthetic()) {
+                count++;
+            }
+        }
+        LOG.info(String.format("Successfully restored %d migration%s from snapshot (execution time %s)",
+                count, count == 1 ? "" : "s", TimeFormat.format(stopWatch.getTotalTimeMillis())));
+        return count;
+    }
+
+    /**
+     * Takes a snapshot of the freshly migrated database. Failures are logged, but never fail the migration.
+     *
+     * @param snapshotFile The file to write the snapshot to.
+     */
+    private void create(File snapshotFile) {
+        LOG.debug("Creating snapshot " + snapshotFile.getAbsolutePath() + " ...");
+        File tempFile = null;
+        try {
+            // Written next to its final location first, so other processes never restore a partial snapshot
+            tempFile = File.createTempFile(snapshotFile.getName(), ".tmp", snapshotDirectory);
+            Files.delete(tempFile.toPath());
+            ((SnapshottableDatabase) database).createSnapshot(tempFile);
+            try {
+                Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), snapshotFile.toPath());
+            }
+            LOG.info("Created snapshot " + snapshotFile.getAbsolutePath());
+        } catch (IOException | SQLException e) {
+            LOG.warn("Unable to create snapshot " + snapshotFile.getAbsolutePath() + ": " + e.getMessage());
+        } finally {
+            if (tempFile != null && !tempFile.delete() && tempFile.exists()) {
+                LOG.debug("Unable to delete temporary snapshot " + tempFile.getAbsolutePath());
+            }
+        }
+        deleteStaleSnapshots();
+    }
+
+    /**
+     * Deletes the snapshots which haven't been restored for a while, such as those of outdated migrations.
+     */
+    private void deleteStaleSnapshots() {
+        File[] files = snapshotDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_DAYS);
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(PREFIX) && name.endsWith(SUFFIX) && file.lastModified() < cutoff) {
+                LOG.debug("Deleting stale snapshot " + file.getAbsolutePath());
+                if (!file.delete()) {
+                    LOG.debug("Unable to delete stale snapshot " + file.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the fingerprint of everything influencing the outcome of migrating an empty database: the available
+     * migrations, the SQL callbacks executed along with them, the configuration they are applied with, and the database
+     * and Flyway versions.
+     *
+     * @return The fingerprint, or {@code null} if some migrations can't be fingerprinted reliably.
+     */
+    private String computeFingerprint() {
+        StringBuilder key = new StringBuilder();
+        key.append(VersionPrinter.getVersion()).append('\n');
+        key.append(database.getDatabaseType().getName()).append(' ').append(database.getVersion()).append('\n');
+        key.append(StringUtils.arrayToCommaDelimitedString(configuration.getSchemas())).append('\n');
+        key.append(configuration.getTable()).append('\n');
+        key.append(configuration.getTarget()).append('\n');
+        if (configuration.isPlaceholderReplacement()) {
+            key.append(configuration.getPlaceholderPrefix()).append(configuration.getPlaceholderSuffix()).append('\n');
+            for (Map.Entry<String, String> placeholder : new TreeMap<>(configuration.getPlaceholders()).entrySet()) {
+                key.append(placeholder.getKey()).append('=').append(placeholder.getValue()).append('\n');
+            }
+        }
+
+        for (ResolvedMigration migration : migrationResolver.resolveMigrations(new Context() {
+            @Override
+            public Configuration getConfiguration() {
+                return configuration;
+            }
+        })) {
+            key.append(migration.getType()).append('|').append(migration.getVersion()).append('|')
+                    .append(migration.getDescription()).append('|').append(migration.getScript()).append('|');
+            if (migration.getChecksum() != null) {
+                key.append(migration.getChecksum());
+            } else {
+                // Without checksum, changes can only be detected through the file the migration was loaded from
+                if (migration.getPhysicalLocation() == null) {
+                    return null;
+                }
+                String fileFingerprint = CacheFileUtils.fingerprint(new File(migration.getPhysicalLocation()));
+                if (fileFingerprint == null) {
+                    return null;
+                }
+                key.append(fileFingerprint);
+            }
+            key.append('\n');
+        }
+
+        if (callbackExecutor instanceof DefaultCallbackExecutor) {
+            for (Callback callback : ((DefaultCallbackExecutor) callbackExecutor).getCallbacks()) {
+                LoadableResource resource = SqlScriptCallbackFactory.getResource(callback);
+                if (resource != null) {
+                    key.append("CALLBACK|").append(resource.getRelativePath()).append('|')
+                            .append(resource.checksum()).append('\n');
+                }
+            }
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest) {
+                fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return fingerprint.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new FlywayException("Unable to compute snapshot fingerprint", e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.flywaydb.core.api.async.MigrateFuture;
+import org.flywaydb.core.api.async.MigrateProgress;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.flywaydb.core.internal.exception.MigrateCancelledException;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.sqlscript.SqlScript;
+import org.flywaydb.core.internal.sqlscript.SqlScriptExecutor;
+import org.flywaydb.core.internal.sqlscript.SqlScriptExecutorFactory;
+import org.flywaydb.core.internal.sqlscript.SqlStatement;
+import org.flywaydb.core.internal.sqlscript.SqlStatementIterator;
+import org.flywaydb.core.internal.sqlscript.StatementCheckpoint;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Follows the progress of a migration running in the background, and stops it at the next safe point once it has been
+ * cancelled. It is notified of each migration as a callback, and of each statement of the SQL migrations through the
+ * SQL script executors it wraps.
+ */
+public class MigrateProgressTracker extends MigrateFuture implements Callback {
+    /**
+     * The estimated execution time of each pending migration, by key. {@code null} when unknown.
+     */
+    private final Map<String, Long> outstanding = new LinkedHashMap<>();
+
+    private int migrationsTotal;
+    private int migrationsCompleted;
+    private MigrationInfo currentMigration;
+    private long currentStart;
+    private int statementsExecuted;
+    private int statementsTotal;
+
+    /**
+     * Estimates the execution time of each pending migration. Repeatable migrations are expected to take as long as
+     * they did the last time they were applied, and all other migrations as long as the average successful migration
+     * recorded in the schema history table.
+     *
+     * @param migrationInfoService The state of the migrations at the start of the migration run.
+     */
+    public synchronized void init(MigrationInfoService migrationInfoService) {
+        long totalTime = 0;
+        int count = 0;
+        Map<String, Long> lastRepeatableTimes = new HashMap<>();
+        for (MigrationInfo migrationInfo : migrationInfoService.applied()) {
+            if (migrationInfo.getType().isSynthetic() || migrationInfo.getExecutionTime() == null
+                    || migrationInfo.getState().isFailed()) {
+                continue;
+            }
+            totalTime += migrationInfo.getExecutionTime();
+            count++;
+            if (migrationInfo.getVersion() == null) {
+                lastRepeatableTimes.put(migrationInfo.getDescription(), (long) migrationInfo.getExecutionTime());
+            }
+        }
+        Long average = count == 0 ? null : totalTime / count;
+
+        outstanding.clear();
+        for (MigrationInfo migrationInfo : migrationInfoService.pending()) {
+            Long estimate = migrationInfo.getVersion() == null
+                    && lastRepeatableTimes.containsKey(migrationInfo.getDescription())
+                    ? lastRepeatableTimes.get(migrationInfo.getDescription())
+                    : average;
+            outstanding.put(getKey(migrationInfo), estimate);
+        }
+        migrationsTotal = outstanding.size();
+    }
+
+    private static String getKey(MigrationInfo migrationInfo) {
+        return migrationInfo.getVersion() == null
+                ? "R:" + migrationInfo.getDescription()
+                : "V:" + migrationInfo.getVersion();
+    }
+
+    @Override
+    public synchronized MigrateProgress getProgress() {
+        long remaining = 0;
+        for (Long estimate : outstanding.values()) {
+            if (estimate == null) {
+                remaining = -1;
+                break;
+            }
+            remaining += estimate;
+        }
+        if (remaining > 0 && currentMigration != null) {
+            remaining = Math.max(0, remaining - (System.currentTimeMillis() - currentStart));
+        }
+        return new MigrateProgress(currentMigration, migrationsCompleted, migrationsTotal,
+                statementsExecuted, statementsTotal, remaining);
+    }
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE
+                || event == Event.AFTER_EACH_MIGRATE
+                || event == Event.AFTER_EACH_MIGRATE_ERROR;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public synchronized void handle(Event event, Context context) {
+        if (event == Event.BEFORE_EACH_MIGRATE) {
+            if (isCancelRequested()) {
+                throw new MigrateCancelledException("Migration cancelled before applying " + describe(context.getMigrationInfo()));
+            }
+            currentMigration = context.getMigrationInfo();
+            currentStart = System.currentTimeMillis();
+            statementsExecuted = 0;
+            statementsTotal = 0;
+            return;
+        }
+        if (event == Event.AFTER_EACH_MIGRATE) {
+            outstanding.remove(getKey(context.getMigrationInfo()));
+            migrationsCompleted++;
+        }
+        currentMigration = null;
+    }
+
+    private static String describe(MigrationInfo migrationInfo) {
+        return migrationInfo.getVersion() == null
+                ? "repeatable migration " + migrationInfo.getDescription()
+                : "migration " + migrationInfo.getVersion();
+    }
+
+    private synchronized void onScriptStarted(SqlScript sqlScript) {
+        if (currentMigration != null) {
+            statementsTotal = sqlScript.getSqlStatementCount();
+        }
+    }
+
+    private synchronized void onStatement(LoadableResource resource, boolean cancellable) {
+        if (cancellable && isCancelRequested()) {
+            throw new MigrateCancelledException("Migration cancelled while executing " + resource.getFilename());
+        }
+        if (currentMigration != null) {
+            statementsExecuted++;
+        }
+    }
+
+    /**
+     * Wraps this SQL script executor factory so the statements of the migrations are reported to this tracker.
+     *
+     * @param sqlScriptExecutorFactory The factory to wrap.
+     * @param supportsDdlTransactions  Whether the database supports DDL transactions. Only then can a migration be
+     *                                 cancelled between two of its statements, as it is rolled back as a whole.
+     * @return The wrapped factory.
+     */
+    public SqlScriptExecutorFactory wrap(final SqlScriptExecutorFactory sqlScriptExecutorFactory,
+                                         final boolean supportsDdlTransactions) {
+        return new SqlScriptExecutorFactory() {
+            @Override
+            public SqlScriptExecutor createSqlScriptExecutor(Connection connection) {
+                final SqlScriptExecutor sqlScriptExecutor = sqlScriptExecutorFactory.createSqlScriptExecutor(connection);
+                return new SqlScriptExecutor() {
+                    @Override
+                    public void execute(SqlScript sqlScript) {
+                        execute(sqlScript, null);
+                    }
+
+                    @Override
+                    public void execute(SqlScript sqlScript, StatementCheckpoint checkpoint) {
+                        sqlScriptExecutor.execute(new TrackedSqlScript(sqlScript,
+                                supportsDdlTransactions && sqlScript.executeInTransaction()), checkpoint);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * A SQL script whose statements are reported to this tracker as they are read for execution.
+     */
+    private class TrackedSqlScript implements SqlScript {
+        private final SqlScript sqlScript;
+        private final boolean cancellable;
+
+        TrackedSqlScript(SqlScript sqlScript, boolean cancellable) {
+            this.sqlScript = sqlScript;
+            this.cancellable = cancellable;
+        }
+
+        @Override
+        public SqlStatementIterator getSqlStatements() {
+            onScriptStarted(sqlScript);
+            final SqlStatementIterator sqlStatementIterator = sqlScript.getSqlStatements();
+            return new SqlStatementIterator() {
+                @Override
+                public boolean hasNext() {
+                    return sqlStatementIterator.hasNext();
+                }
+
+                @Override
+                public SqlStatement next() {
+                    onStatement(sqlScript.getResource(), cancellable);
+                    return sqlStatementIterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    sqlStatementIterator.remove();
+                }
+
+                @Override
+                public void close() {
+                    sqlStatementIterator.close();
+                }
+            };
+        }
+
+        @Override
+        public int getSqlStatementCount() {
+            return sqlScript.getSqlStatementCount();
+        }
+
+        @Override
+        public LoadableResource getResource() {
+            return sqlScript.getResource();
+        }
+
+        @Override
+        public boolean executeInTransaction() {
+            return sqlScript.executeInTransaction();
+        }
+
+        @Override
+        public void validate() {
+            sqlScript.validate();
+        }
+
+        @Override
+        public int compareTo(SqlScript other) {
+            return sqlScript.compareTo(other);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.info.MigrationInfoImpl;
+import org.flywaydb.core.internal.resolver.MigrationFootprint;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dependencies between the pending migrations of a migration run. A versioned migration which declares its
+ * dependencies only depends on the pending migrations among them. All other versioned migrations depend on every
+ * pending migration with a lower version, and repeatable migrations depend on all pending versioned migrations and on
+ * the repeatable migrations before them, just like when they are applied one after the other. When repeatable
+ * migrations may be applied in parallel, they only depend on the repeatable migrations before them they conflict with.
+ */
+public class MigrationGraph {
+    /**
+     * The pending migrations, in the order in which they would be applied one after the other.
+     */
+    private final List<MigrationInfoImpl> migrations;
+
+    /**
+     * The pending migrations each migration depends on.
+     */
+    private final Map<MigrationInfoImpl, List<MigrationInfoImpl>> dependencies = new HashMap<>();
+
+    /**
+     * Whether at least one of the pending migrations doesn't depend on all migrations before it.
+     */
+    private boolean independent;
+
+    /**
+     * Creates the graph of these pending migrations.
+     *
+     * @param migrations          The pending migrations, in the order in which they would be applied one after the
+     *                            other.
+     * @param all                 All known migrations, both applied and resolved.
+     * @param parallelRepeatables Whether repeatable migrations which don't conflict may be applied in parallel.
+     * @throws FlywayException when a migration declares an invalid dependency.
+     */
+    public MigrationGraph(List<MigrationInfoImpl> migrations, MigrationInfo[] all, boolean parallelRepeatables) {
+        this.migrations = migrations;
+
+        Set<MigrationVersion> knownVersions = new HashSet<>();
+        for (MigrationInfo migrationInfo : all) {
+            if (migrationInfo.getVersion() != null) {
+                knownVersions.add(migrationInfo.getVersion());
+            }
+        }
+
+        Map<MigrationVersion, MigrationInfoImpl> pendingVersions = new HashMap<>();
+        for (MigrationInfoImpl migration : migrations) {
+            if (migration.getVersion() != null) {
+                pendingVersions.put(migration.getVersion(), migration);
+            }
+        }
+
+        for (int i = 0; i < migrations.size(); i++) {
+            MigrationInfoImpl migration = migrations.get(i);
+            List<MigrationInfoImpl> migrationDependencies;
+            MigrationVersion[] declaredDependencies = getDeclaredDependencies(migration);
+            if (declaredDependencies != null) {
+                migrationDependencies =
+                        getDeclaredDependencies(migration, declaredDependencies, knownVersions, pendingVersions);
+            } else if (migration.getVersion() == null && parallelRepeatables) {
+                migrationDependencies = getConflictingDependencies(migrations.subList(0, i), migration);
+            } else {
+                migrationDependencies = new ArrayList<>(migrations.subList(0, i));
+            }
+            dependencies.put(migration, migrationDependencies);
+            if (migrationDependencies.size() < i) {
+                independent = true;
+            }
+        }
+    }
+
+    /**
+     * @return The migrations before this repeatable migration it must wait for: all versioned migrations, and the
+     * repeatable migrations it conflicts with.
+     */
+    private static List<MigrationInfoImpl> getConflictingDependencies(List<MigrationInfoImpl> before,
+                                                                      MigrationInfoImpl migration) {
+        MigrationFootprint footprint = getFootprint(migration);
+        List<MigrationInfoImpl> result = new ArrayList<>();
+        for (MigrationInfoImpl other : before) {
+            if (other.getVersion() != null) {
+                result.add(other);
+                continue;
+            }
+            MigrationFootprint otherFootprint = getFootprint(other);
+            if (footprint == null || otherFootprint == null || footprint.conflictsWith(otherFootprint)) {
+                result.add(other);
+            }
+        }
+        return result;
+    }
+
+    private static MigrationFootprint getFootprint(MigrationInfoImpl migration) {
+        ResolvedMigration resolvedMigration = migration.getResolvedMigration();
+        return resolvedMigration instanceof ResolvedMigrationImpl
+                ? ((ResolvedMigrationImpl) resolvedMigration).getFootprint()
+                : null;
+    }
+
+    /**
+     * @return The versions this migration declares it depends on. {@code null} if it doesn't declare them, which is
+     * always the case for repeatable migrations and migrations of custom resolvers.
+     */
+    private static MigrationVersion[] getDeclaredDependencies(MigrationInfoImpl migration) {
+        ResolvedMigration resolvedMigration = migration.getResolvedMigration();
+        if (migration.getVersion() == null || !(resolvedMigration instanceof ResolvedMigrationImpl)) {
+            return null;
+        }
+        return ((ResolvedMigrationImpl) resolvedMigration).getDependencies();
+    }
+
+    private static List<MigrationInfoImpl> getDeclaredDependencies(MigrationInfoImpl migration,
+                                                                   MigrationVersion[] declaredDependencies,
+                                                                   Collection<MigrationVersion> knownVersions,
+                                                                   Map<MigrationVersion, MigrationInfoImpl> pendingVersions) {
+        List<MigrationInfoImpl> result = new ArrayList<>();
+        for (MigrationVersion dependency : declaredDependencies) {
+            if (dependency.compareTo(migration.getVersion()) >= 0) {
+                throw new FlywayException("Migration " + migration.getVersion() + " (" + migration.getScript()
+                        + ") declares a dependency on version " + dependency + ", which is not lower than its own version");
+            }
+            if (!knownVersions.contains(dependency)) {
+                throw new FlywayException("Migration " + migration.getVersion() + " (" + migration.getScript()
+                        + ") declares a dependency on version " + dependency + ", which does not exist");
+            }
+            MigrationInfoImpl pending = pendingVersions.get(dependency);
+            if (pending != null) {
+                result.add(pending);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The pending migrations, in the order in which they would be applied one after the other.
+     */
+    public List<MigrationInfoImpl> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * @param migration The pending migration.
+     * @return The pending migrations which must be applied before this one.
+     */
+    public List<MigrationInfoImpl> getDependencies(MigrationInfoImpl migration) {
+        return dependencies.get(migration);
+    }
+
+    /**
+     * @return Whether at least one of the pending migrations doesn't depend on all migrations before it. Otherwise
+     * nothing can be applied concurrently.
+     */
+    public boolean hasIndependentMigrations() {
+        return independent;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.command;
+
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.flywaydb.core.internal.clazz.ClassProvider;
+import org.flywaydb.core.internal.jdbc.DatabaseType;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.resource.ResourceProvider;
+import org.flywaydb.core.internal.sqlscript.SqlScript;
+import org.flywaydb.core.internal.sqlscript.SqlScriptFactory;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The scan results and parsed SQL scripts shared by all tenants migrated in the same run. The classpath is only
+ * scanned once, and SQL scripts are parsed once per type of database, as the SQL dialect determines how scripts are
+ * parsed. Everything bound to the database of a tenant, such as the executors of its migrations and callbacks, is
+ * created for each tenant separately.
+ */
+public class SharedMigrationResources {
+    private final ResourceProvider resourceProvider;
+    private final ClassProvider<JavaMigration> classProvider;
+
+    private final Map<DatabaseType, SqlScriptFactory> sqlScriptFactories = new EnumMap<>(DatabaseType.class);
+
+    /**
+     * Creates a new set of shared resources.
+     *
+     * @param resourceProvider The provider of the resources found on the configured locations.
+     * @param classProvider    The provider of the Java migration classes found on the configured locations.
+     */
+    public SharedMigrationResources(ResourceProvider resourceProvider, ClassProvider<JavaMigration> classProvider) {
+        this.resourceProvider = resourceProvider;
+        this.classProvider = classProvider;
+    }
+
+    /**
+     * @return The provider of the resources found on the configured locations.
+     */
+    public ResourceProvider getResourceProvider() {
+        return resourceProvider;
+    }
+
+    /**
+     * @return The provider of the Java migration classes found on the configured locations.
+     */
+    public ClassProvider<JavaMigration> getClassProvider() {
+        return classProvider;
+    }
+
+    /**
+     * Retrieves the SQL script factory for this type of database, which creates each script only once and hands the
+     * same script to all tenants, so it is only parsed once.
+     *
+     * @param databaseType     The type of database.
+     * @param sqlScriptFactory The SQL script factory of the current tenant, used to create scripts the first time.
+     * @return The shared SQL script factory.
+     */
+    public synchronized SqlScriptFactory getSqlScriptFactory(DatabaseType databaseType,
+                                                             SqlScriptFactory sqlScriptFactory) {
+        SqlScriptFactory sharedSqlScriptFactory = sqlScriptFactories.get(databaseType);
+        if (sharedSqlScriptFactory == null) {
+            sharedSqlScriptFactory = new SharedSqlScriptFactory(sqlScriptFactory);
+            sqlScriptFactories.put(databaseType, sharedSqlScriptFactory);
+        }
+        return sharedSqlScriptFactory;
+    }
+
+    /**
+     * SQL script factory creating each script only once. Scripts parse themselves lazily and only once, and are
+     * independent of the database of the tenant they are executed against.
+     */
+    private static class SharedSqlScriptFactory implements SqlScriptFactory {
+        private final SqlScriptFactory sqlScriptFactory;
+        private final Map<String, SqlScript> sqlScripts = new HashMap<>();
+
+        SharedSqlScriptFactory(SqlScriptFactory sqlScriptFactory) {
+            this.sqlScriptFactory = sqlScriptFactory;
+        }
+
+        @Override
+        public synchronized SqlScript createSqlScript(LoadableResource resource, boolean mixed) {
+            String key = resource.getAbsolutePath() + "|" + mixed;
+            SqlScript sqlScript = sqlScripts.get(key);
+            if (sqlScript == null) {
+                sqlScript = sqlScriptFactory.createSqlScript(resource, mixed);
+                sqlScripts.put(key, sqlScript);
+            }
+            return sqlScript;
+        }
+    }
+}
@@ -46,19 +46,27 @@ public class ConfigUtils {
     public static final String CONFIG_FILE_NAME = "flyway.conf";
     public static final String CONFIG_FILES = "flyway.configFiles";
     public static final String CONFIG_FILE_ENCODING = "flyway.configFileEncoding";
+    public static final String BACKPRESSURE_PROBES = "flyway.backpressureProbes";
     public static final String BASELINE_DESCRIPTION = "flyway.baselineDescription";
     public static final String BASELINE_ON_MIGRATE = "flyway.baselineOnMigrate";
     public static final String BASELINE_VERSION = "flyway.baselineVersion";
     public static final String BATCH = "flyway.batch";
+    public static final String BULK_PROFILE = "flyway.bulkProfile";
     public static final String CALLBACKS = "flyway.callbacks";
+    public static final String CHECKPOINT_FILE = "flyway.checkpointFile";
+    public static final String CHECKSUM_CACHE_FILE = "flyway.checksumCacheFile";
     public static final String CLEAN_DISABLED = "flyway.cleanDisabled";
     public static final String CLEAN_ON_VALIDATION_ERROR = "flyway.cleanOnValidationError";
+    public static final String CLEAN_PARALLELISM = "flyway.cleanParallelism";
     public static final String CONNECT_RETRIES = "flyway.connectRetries";
+    public static final String DATA_MIGRATIONS = "flyway.dataMigrations";
     public static final String DRIVER = "flyway.driver";
     public static final String DRYRUN_OUTPUT = "flyway.dryRunOutput";
     public static final String ENCODING = "flyway.encoding";
     public static final String ERROR_OVERRIDES = "flyway.errorOverrides";
     public static final String GROUP = "flyway.group";
+    public static final String GROUP_MAX_DURATION = "flyway.groupMaxDuration";
+    public static final String GROUP_SIZE = "flyway.groupSize";
     public static final String IGNORE_FUTURE_MIGRATIONS = "flyway.ignoreFutureMigrations";
     public static final String IGNORE_MISSING_MIGRATIONS = "flyway.ignoreMissingMigrations";
     public static final String IGNORE_IGNORED_MIGRATIONS = "flyway.ignoreIgnoredMigrations";
@@ -67,9 +75,11 @@ public class ConfigUtils {
     public static final String INSTALLED_BY = "flyway.installedBy";
     public static final String LICENSE_KEY = "flyway.licenseKey";
     public static final String LOCATIONS = "flyway.locations";
+    public static final String MIGRATE_PARALLELISM = "flyway.migrateParallelism";
     public static final String MIXED = "flyway.mixed";
     public static final String OUT_OF_ORDER = "flyway.outOfOrder";
     public static final String OUTPUT_QUERY_RESULTS = "flyway.outputQueryResults";
+    public static final String PARALLEL_REPEATABLES = "flyway.parallelRepeatables";
     public static final String PASSWORD = "flyway.password";
     public static final String PLACEHOLDER_PREFIX = "flyway.placeholderPrefix";
     public static final String PLACEHOLDER_REPLACEMENT = "flyway.placeholderReplacement";
@@ -77,9 +87,12 @@ public class ConfigUtils {
     public static final String PLACEHOLDERS_PROPERTY_PREFIX = "flyway.placeholders.";
     public static final String REPEATABLE_SQL_MIGRATION_PREFIX = "flyway.repeatableSqlMigrationPrefix";
     public static final String RESOLVERS = "flyway.resolvers";
+    public static final String SCAN_CACHE_FILE = "flyway.scanCacheFile";
     public static final String SCHEMAS = "flyway.schemas";
+    public static final String SERVER_SIDE_SCRIPTS = "flyway.serverSideScripts";
     public static final String SKIP_DEFAULT_CALLBACKS = "flyway.skipDefaultCallbacks";
     public static final String SKIP_DEFAULT_RESOLVERS = "flyway.skipDefaultResolvers";
+    public static final String SNAPSHOT_DIRECTORY = "flyway.snapshotDirectory";
     public static final String SQL_MIGRATION_PREFIX = "flyway.sqlMigrationPrefix";
     public static final String SQL_MIGRATION_SEPARATOR = "flyway.sqlMigrationSeparator";
     public static final String SQL_MIGRATION_SUFFIXES = "flyway.sqlMigrationSuffixes";
@@ -87,6 +100,11 @@ public class ConfigUtils {
     public static final String TABLE = "flyway.table";
     public static final String TABLESPACE = "flyway.tablespace";
     public static final String TARGET = "flyway.target";
+    public static final String TENANTS = "flyway.tenants";
+    public static final String TENANT_PARALLELISM = "flyway.tenantParallelism";
+    public static final String TENANT_RETRIES = "flyway.tenantRetries";
+    public static final String THROTTLE_ROWS_PER_SECOND = "flyway.throttleRowsPerSecond";
+    public static final String THROTTLE_STATEMENTS_PER_SECOND = "flyway.throttleStatementsPerSecond";
     public static final String UNDO_SQL_MIGRATION_PREFIX = "flyway.undoSqlMigrationPrefix";
     public static final String URL = "flyway.url";
     public static final String USER = "flyway.user";
@@ -126,6 +144,9 @@ public class ConfigUtils {
     }
 
     private static String convertKey(String key) {
+        if ("FLYWAY_BACKPRESSURE_PROBES".equals(key)) {
+            return BACKPRESSURE_PROBES;
+        }
         if ("FLYWAY_BASELINE_DESCRIPTION".equals(key)) {
             return BASELINE_DESCRIPTION;
         }
@@ -138,9 +159,18 @@ public class ConfigUtils {
         if ("FLYWAY_BATCH".equals(key)) {
             return BATCH;
         }
+        if ("FLYWAY_BULK_PROFILE".equals(key)) {
+            return BULK_PROFILE;
+        }
         if ("FLYWAY_CALLBACKS".equals(key)) {
             return CALLBACKS;
         }
+        if ("FLYWAY_CHECKPOINT_FILE".equals(key)) {
+            return CHECKPOINT_FILE;
+        }
+        if ("FLYWAY_CHECKSUM_CACHE_FILE".equals(key)) {
+            return CHECKSUM_CACHE_FILE;
+        }
         if ("FLYWAY_CLEAN_DISABLED".equals(key)) {
             return CLEAN_DISABLED;
         }
@@ -153,9 +183,15 @@ public class ConfigUtils {
         if ("FLYWAY_CONFIG_FILES".equals(key)) {
             return CONFIG_FILES;
         }
+        if ("FLYWAY_CLEAN_PARALLELISM".equals(key)) {
+            return CLEAN_PARALLELISM;
+        }
         if ("FLYWAY_CONNECT_RETRIES".equals(key)) {
             return CONNECT_RETRIES;
         }
+        if ("FLYWAY_DATA_MIGRATIONS".equals(key)) {
+            return DATA_MIGRATIONS;
+        }
         if ("FLYWAY_DRIVER".equals(key)) {
             return DRIVER;
         }
@@ -171,6 +207,12 @@ public class ConfigUtils {
         if ("FLYWAY_GROUP".equals(key)) {
             return GROUP;
         }
+        if ("FLYWAY_GROUP_MAX_DURATION".equals(key)) {
+            return GROUP_MAX_DURATION;
+        }
+        if ("FLYWAY_GROUP_SIZE".equals(key)) {
+            return GROUP_SIZE;
+        }
         if ("FLYWAY_IGNORE_FUTURE_MIGRATIONS".equals(key)) {
             return IGNORE_FUTURE_MIGRATIONS;
         }
@@ -195,6 +237,9 @@ public class ConfigUtils {
         if ("FLYWAY_LOCATIONS".equals(key)) {
             return LOCATIONS;
         }
+        if ("FLYWAY_MIGRATE_PARALLELISM".equals(key)) {
+            return MIGRATE_PARALLELISM;
+        }
         if ("FLYWAY_MIXED".equals(key)) {
             return MIXED;
         }
@@ -204,6 +249,9 @@ public class ConfigUtils {
         if ("FLYWAY_OUTPUT_QUERY_RESULTS".equals(key)) {
             return OUTPUT_QUERY_RESULTS;
         }
+        if ("FLYWAY_PARALLEL_REPEATABLES".equals(key)) {
+            return PARALLEL_REPEATABLES;
+        }
         if ("FLYWAY_PASSWORD".equals(key)) {
             return PASSWORD;
         }
@@ -225,15 +273,24 @@ public class ConfigUtils {
         if ("FLYWAY_RESOLVERS".equals(key)) {
             return RESOLVERS;
         }
+        if ("FLYWAY_SCAN_CACHE_FILE".equals(key)) {
+            return SCAN_CACHE_FILE;
+        }
         if ("FLYWAY_SCHEMAS".equals(key)) {
             return SCHEMAS;
         }
+        if ("FLYWAY_SERVER_SIDE_SCRIPTS".equals(key)) {
+            return SERVER_SIDE_SCRIPTS;
+        }
         if ("FLYWAY_SKIP_DEFAULT_CALLBACKS".equals(key)) {
             return SKIP_DEFAULT_CALLBACKS;
         }
         if ("FLYWAY_SKIP_DEFAULT_RESOLVERS".equals(key)) {
             return SKIP_DEFAULT_RESOLVERS;
         }
+        if ("FLYWAY_SNAPSHOT_DIRECTORY".equals(key)) {
+            return SNAPSHOT_DIRECTORY;
+        }
         if ("FLYWAY_SQL_MIGRATION_PREFIX".equals(key)) {
             return SQL_MIGRATION_PREFIX;
         }
@@ -255,6 +312,21 @@ public class ConfigUtils {
         if ("FLYWAY_TARGET".equals(key)) {
             return TARGET;
         }
+        if ("FLYWAY_TENANTS".equals(key)) {
+            return TENANTS;
+        }
+        if ("FLYWAY_TENANT_PARALLELISM".equals(key)) {
+            return TENANT_PARALLELISM;
+        }
+        if ("FLYWAY_TENANT_RETRIES".equals(key)) {
+            return TENANT_RETRIES;
+        }
+        if ("FLYWAY_THROTTLE_ROWS_PER_SECOND".equals(key)) {
+            return THROTTLE_ROWS_PER_SECOND;
+        }
+        if ("FLYWAY_THROTTLE_STATEMENTS_PER_SECOND".equals(key)) {
+            return THROTTLE_STATEMENTS_PER_SECOND;
+        }
         if ("FLYWAY_UNDO_SQL_MIGRATION_PREFIX".equals(key)) {
             return UNDO_SQL_MIGRATION_PREFIX;
         }
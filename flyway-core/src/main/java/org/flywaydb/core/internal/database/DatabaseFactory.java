@@ -32,8 +32,10 @@ import org.flywaydb.core.internal.database.firebird.FirebirdDatabase;
 import org.flywaydb.core.internal.database.firebird.FirebirdParser;
 import org.flywaydb.core.internal.database.h2.H2Database;
 import org.flywaydb.core.internal.database.h2.H2Parser;
+import org.flywaydb.core.internal.database.h2.H2SqlScript;
 import org.flywaydb.core.internal.database.hsqldb.HSQLDBDatabase;
 import org.flywaydb.core.internal.database.hsqldb.HSQLDBParser;
+import org.flywaydb.core.internal.database.hsqldb.HSQLDBSqlScript;
 import org.flywaydb.core.internal.database.informix.InformixDatabase;
 import org.flywaydb.core.internal.database.informix.InformixParser;
 import org.flywaydb.core.internal.database.mysql.MySQLDatabase;
@@ -61,10 +63,12 @@ import org.flywaydb.core.internal.resource.LoadableResource;
 import org.flywaydb.core.internal.resource.ResourceProvider;
 import org.flywaydb.core.internal.sqlscript.DefaultSqlScriptExecutor;
 import org.flywaydb.core.internal.sqlscript.ParserSqlScript;
+import org.flywaydb.core.internal.sqlscript.ServerSideSqlScript;
 import org.flywaydb.core.internal.sqlscript.SqlScript;
 import org.flywaydb.core.internal.sqlscript.SqlScriptExecutor;
 import org.flywaydb.core.internal.sqlscript.SqlScriptExecutorFactory;
 import org.flywaydb.core.internal.sqlscript.SqlScriptFactory;
+import org.flywaydb.core.internal.sqlscript.StatementThrottle;
 
 import java.sql.Connection;
 
@@ -248,6 +252,20 @@ public class DatabaseFactory {
 
 
 
+        if (configuration.isServerSideScripts()
+                && (DatabaseType.H2 == databaseType || DatabaseType.HSQLDB == databaseType)) {
+            final boolean statementCallbacks = ServerSideSqlScript.hasStatementCallbacks(configuration);
+            return new SqlScriptFactory() {
+                @Override
+                public SqlScript createSqlScript(LoadableResource resource, boolean mixed) {
+                    Parser parser = createParser(jdbcConnectionFactory, configuration);
+                    return DatabaseType.H2 == databaseType
+                            ? new H2SqlScript(parser, resource, mixed, configuration, statementCallbacks)
+                            : new HSQLDBSqlScript(parser, resource, mixed, configuration, statementCallbacks);
+                }
+            };
+        }
+
             return new SqlScriptFactory() {
                 @Override
                 public SqlScript createSqlScript(LoadableResource resource, boolean mixed
@@ -327,7 +345,7 @@ public class DatabaseFactory {
     }
 
     public static SqlScriptExecutorFactory createSqlScriptExecutorFactory(
-            final JdbcConnectionFactory jdbcConnectionFactory
+            final JdbcConnectionFactory jdbcConnectionFactory, final StatementThrottle throttle
 
 
 
@@ -346,7 +364,8 @@ public class DatabaseFactory {
 
 
                 ) {
-                    return new OracleSqlScriptExecutor(new JdbcTemplate(connection, databaseType)
+                    return new OracleSqlScriptExecutor(new JdbcTemplate(connection, databaseType), jdbcConnectionFactory,
+                            throttle
 
 
 
@@ -362,7 +381,8 @@ public class DatabaseFactory {
 
 
             ) {
-                return new DefaultSqlScriptExecutor(new JdbcTemplate(connection, databaseType)
+                return new DefaultSqlScriptExecutor(new JdbcTemplate(connection, databaseType), jdbcConnectionFactory,
+                        throttle
 
 
 
@@ -170,6 +170,41 @@ public abstract class Connection<D extends Database> implements Closeable {
         }
     }
 
+    /**
+     * Applies the bulk-load profile of the database to this connection, trading durability for speed until
+     * {@link #restoreBulkProfile()} is called. Databases without such a profile ignore this.
+     */
+    public final void applyBulkProfile() {
+        try {
+            doApplyBulkProfile();
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to apply the bulk-load profile", e);
+        }
+    }
+
+    /**
+     * Restores the settings changed by {@link #applyBulkProfile()} to their original values.
+     */
+    public final void restoreBulkProfile() {
+        try {
+            doRestoreBulkProfile();
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to restore the settings changed by the bulk-load profile", e);
+        }
+    }
+
+    /**
+     * Applies the bulk-load profile of the database to this connection, remembering the original settings.
+     */
+    protected void doApplyBulkProfile() throws SQLException {
+    }
+
+    /**
+     * Restores the settings changed by the bulk-load profile to their original values.
+     */
+    protected void doRestoreBulkProfile() throws SQLException {
+    }
+
     /**
      * Restores this connection to its original auto-commit setting.
      */
@@ -303,6 +303,36 @@ public abstract class Database<C extends Connection> implements Closeable {
         return false;
     }
 
+    /**
+     * @return Whether several schemas can be cleaned at the same time, each on its own connection.
+     */
+    public boolean supportsParallelClean() {
+        return !useSingleConnection();
+    }
+
+    /**
+     * @return Whether this database has a bulk-load profile trading durability for speed, which its connections apply
+     * with {@link Connection#applyBulkProfile()}.
+     */
+    public boolean supportsBulkProfile() {
+        return false;
+    }
+
+    /**
+     * @return Whether several migrations can be applied at the same time, each on its own connection.
+     */
+    public boolean supportsParallelMigration() {
+        return false;
+    }
+
+    /**
+     * @return Whether the data of this database can be restored to a recorded state while keeping its structure, with
+     * {@link Schema#reset(Table, Table)}.
+     */
+    public boolean supportsReset() {
+        return false;
+    }
+
     public DatabaseMetaData getJdbcMetaData() {
         return jdbcMetaData;
     }
@@ -331,6 +361,16 @@ public abstract class Database<C extends Connection> implements Closeable {
         return migrationConnection;
     }
 
+    /**
+     * Opens an additional connection to this database, for work performed alongside the main and migration
+     * connections. The caller is responsible for closing it.
+     *
+     * @return The new connection.
+     */
+    public final C openAdditionalConnection() {
+        return getConnection(jdbcConnectionFactory.openConnection());
+    }
+
     /**
      * @return The major and minor version of the database.
      */
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.base;
+
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The objects of a schema to drop when cleaning it, together with the dependencies between them.
+ * <p>Objects are identified by a key of the dialect's choosing, such as the object's name qualified by its type or its
+ * identifier in the catalog. Objects are dropped in batches: every batch only contains objects which nothing left
+ * depends on, so all statements within a batch can be executed independently of each other.</p>
+ */
+public class DropGraph {
+    private static final Log LOG = LogFactory.getLog(DropGraph.class);
+
+    /**
+     * The drop statements of the objects, by key. {@code null} for the placeholders linking groups of objects.
+     */
+    private final Map<String, String> dropStatements = new LinkedHashMap<>();
+
+    /**
+     * The keys of the objects which must be dropped after each object, by key.
+     */
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+
+    private int placeholderCount;
+
+    /**
+     * Adds an object to drop.
+     *
+     * @param key           The key identifying the object.
+     * @param dropStatement The statement dropping the object.
+     */
+    public void addObject(String key, String dropStatement) {
+        dropStatements.put(key, dropStatement);
+    }
+
+    /**
+     * Records that an object depends on another one, and must therefore be dropped first. Dependencies on objects which
+     * aren't part of this graph, such as objects in other schemas, are ignored.
+     *
+     * @param dependentKey  The key of the object which depends on the other one.
+     * @param dependencyKey The key of the object it depends on.
+     */
+    public void addDependency(String dependentKey, String dependencyKey) {
+        if (dependentKey.equals(dependencyKey)) {
+            return;
+        }
+        Set<String> keys = dependencies.get(dependentKey);
+        if (keys == null) {
+            keys = new LinkedHashSet<>();
+            dependencies.put(dependentKey, keys);
+        }
+        keys.add(dependencyKey);
+    }
+
+    /**
+     * Records that all these objects must be dropped before all those other objects, for example because the catalog
+     * doesn't expose the precise dependencies between both types of objects.
+     *
+     * @param dependentKeys  The keys of the objects to drop first.
+     * @param dependencyKeys The keys of the objects to drop afterwards.
+     */
+    public void addDependencies(Collection<String> dependentKeys, Collection<String> dependencyKeys) {
+        if (dependentKeys.isEmpty() || dependencyKeys.isEmpty()) {
+            return;
+        }
+        // Link both groups through a placeholder to avoid adding an edge for every pair of objects
+        String placeholder = "\u0000placeholder" + placeholderCount++;
+        dropStatements.put(placeholder, null);
+        for (String dependentKey : dependentKeys) {
+            addDependency(dependentKey, placeholder);
+        }
+        for (String dependencyKey : dependencyKeys) {
+            addDependency(placeholder, dependencyKey);
+        }
+    }
+
+    /**
+     * @return Whether this graph contains no objects to drop.
+     */
+    public boolean isEmpty() {
+        for (String dropStatement : dropStatements.values()) {
+            if (dropStatement != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Orders the drop statements topologically. Objects involved in a dependency cycle are dropped together in a final
+     * batch, in the order in which they were added.
+     *
+     * @return The batches of drop statements, in the order in which they must be executed.
+     */
+    public List<List<String>> getDropBatches() {
+        Map<String, Integer> dependentCounts = new HashMap<>();
+        for (String key : dropStatements.keySet()) {
+            dependentCounts.put(key, 0);
+        }
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            if (!dropStatements.containsKey(entry.getKey())) {
+                continue;
+            }
+            for (String dependencyKey : entry.getValue()) {
+                Integer count = dependentCounts.get(dependencyKey);
+                if (count != null) {
+                    dependentCounts.put(dependencyKey, count + 1);
+                }
+            }
+        }
+
+        List<List<String>> batches = new ArrayList<>();
+        Set<String> remaining = new LinkedHashSet<>(dropStatements.keySet());
+        while (!remaining.isEmpty()) {
+            List<String> ready = new ArrayList<>();
+            for (String key : remaining) {
+                if (dependentCounts.get(key) == 0) {
+                    ready.add(key);
+                }
+            }
+            if (ready.isEmpty()) {
+                LOG.debug("Circular dependencies between " + remaining.size() + " objects. Dropping them in catalog order.");
+                ready.addAll(remaining);
+            }
+
+            List<String> batch = new ArrayList<>();
+            for (String key : ready) {
+                remaining.remove(key);
+                String dropStatement = dropStatements.get(key);
+                if (dropStatement != null) {
+                    batch.add(dropStatement);
+                }
+                Set<String> dependencyKeys = dependencies.get(key);
+                if (dependencyKeys != null) {
+                    for (String dependencyKey : dependencyKeys) {
+                        Integer count = dependentCounts.get(dependencyKey);
+                        if (count != null) {
+                            dependentCounts.put(dependencyKey, count - 1);
+                        }
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+            }
+        }
+        return batches;
+    }
+}
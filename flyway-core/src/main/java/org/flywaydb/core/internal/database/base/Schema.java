@@ -15,16 +15,22 @@
  */
 package org.flywaydb.core.internal.database.base;
 
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
 import org.flywaydb.core.internal.jdbc.JdbcTemplate;
 import org.flywaydb.core.internal.jdbc.JdbcUtils;
+import org.flywaydb.core.internal.jdbc.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a database schema.
@@ -32,6 +38,16 @@ import java.util.List;
 public abstract class Schema<D extends Database, T extends Table> {
     private static final Log LOG = LogFactory.getLog(Schema.class);
 
+    /**
+     * The type of the state table rows naming the copy of a table.
+     */
+    private static final String RESET_STATE_TABLE = "TABLE";
+
+    /**
+     * The type of the state table rows storing the value of a sequence or identity column.
+     */
+    private static final String RESET_STATE_SEQUENCE = "SEQUENCE";
+
     /**
      * The Jdbc Template for communicating with the DB.
      */
@@ -158,12 +174,203 @@ public abstract class Schema<D extends Database, T extends Table> {
     }
 
     /**
-     * Cleans all the objects in this schema.
+     * Cleans all the objects in this schema. Dialects which can read their objects and the dependencies between them
+     * in bulk can implement this with {@link #dropInDependencyOrder(DropGraph)}.
      *
      * @throws SQLException when the clean failed.
      */
     protected abstract void doClean() throws SQLException;
 
+    /**
+     * Drops the objects in this graph, in dependency order.
+     *
+     * @param dropGraph The objects to drop.
+     * @throws SQLException when an object could not be dropped.
+     */
+    protected final void dropInDependencyOrder(DropGraph dropGraph) throws SQLException {
+        for (List<String> batch : dropGraph.getDropBatches()) {
+            jdbcTemplate.executeBatch(batch);
+        }
+    }
+
+    /**
+     * Records the data of this schema, so that {@link #reset(Table, Table)} can restore it later on. The tables which
+     * contain data are copied to tables named after the state table, and the values of the sequences and identity
+     * columns are stored in the state table itself. A previous recording is replaced.
+     *
+     * @param excludedTable A table whose data is never reset, such as the schema history table. {@code null} if none.
+     * @param stateTable    The table listing the copies and storing the values of the sequences.
+     */
+    public void recordResetState(Table excludedTable, Table stateTable) {
+        try {
+            if (stateTable.exists()) {
+                for (String copy : readResetState(stateTable, RESET_STATE_TABLE).values()) {
+                    Table copyTable = getTable(copy);
+                    if (copyTable.exists()) {
+                        copyTable.drop();
+                    }
+                }
+                stateTable.drop();
+            }
+
+            List<T> tables = getResetTables(excludedTable, stateTable, Collections.<String>emptyList());
+            jdbcTemplate.execute("CREATE TABLE " + stateTable + " (object_type VARCHAR(10) NOT NULL,"
+                    + " object_name VARCHAR(255) NOT NULL, reset_value VARCHAR(255) NOT NULL)");
+            String insert = "INSERT INTO " + stateTable + " (object_type, object_name, reset_value) VALUES (?, ?, ?)";
+            int copies = 0;
+            for (T table : tables) {
+                if (jdbcTemplate.queryForInt("SELECT COUNT(*) FROM " + table) > 0) {
+                    Table copy = getTable(stateTable.getName() + "_" + ++copies);
+                    doCopyTable(table, copy);
+                    jdbcTemplate.update(insert, RESET_STATE_TABLE, table.getName(), copy.getName());
+                }
+            }
+            for (Map.Entry<String, String> sequence : doRecordSequences(tables).entrySet()) {
+                jdbcTemplate.update(insert, RESET_STATE_SEQUENCE, sequence.getKey(), sequence.getValue());
+            }
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to record the data of schema " + this, e);
+        }
+    }
+
+    /**
+     * Restores the data of this schema to the state recorded by {@link #recordResetState(Table, Table)}, while keeping
+     * its structure intact. All other data is deleted.
+     *
+     * @param excludedTable A table whose data must be kept, such as the schema history table. {@code null} if none.
+     * @param stateTable    The table listing the copies and storing the values of the sequences.
+     * @throws FlywayException when no state has been recorded for this schema.
+     */
+    public void reset(Table excludedTable, Table stateTable) {
+        try {
+            if (!stateTable.exists()) {
+                throw new FlywayException("Unable to reset schema " + this + " as its data after migrating has not"
+                        + " been recorded. This is only done when migrating an empty database. Clean and migrate it"
+                        + " once to be able to reset it afterwards.");
+            }
+            Map<String, String> copies = readResetState(stateTable, RESET_STATE_TABLE);
+            List<T> tables = getResetTables(excludedTable, stateTable, copies.values());
+            doReset(tables, readResetState(stateTable, RESET_STATE_SEQUENCE));
+
+            // Referenced tables are filled before the tables referencing them
+            DropGraph insertGraph = new DropGraph();
+            for (T table : tables) {
+                if (copies.containsKey(table.getName())) {
+                    insertGraph.addObject(table.getName(), table.getName());
+                }
+            }
+            for (T table : tables) {
+                ResultSet resultSet = database.jdbcMetaData.getImportedKeys(null, name, table.getName());
+                try {
+                    while (resultSet.next()) {
+                        insertGraph.addDependency(resultSet.getString("PKTABLE_NAME"), table.getName());
+                    }
+                } finally {
+                    JdbcUtils.closeResultSet(resultSet);
+                }
+            }
+            for (List<String> batch : insertGraph.getDropBatches()) {
+                for (String tableName : batch) {
+                    for (T table : tables) {
+                        if (table.getName().equals(tableName)) {
+                            doRestoreRows(table, getTable(copies.get(tableName)));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to reset schema " + this, e);
+        }
+    }
+
+    /**
+     * @return The tables of this schema whose data is reset.
+     */
+    private List<T> getResetTables(Table excludedTable, Table stateTable, Collection<String> copies)
+            throws SQLException {
+        List<T> tables = new ArrayList<>();
+        for (T table : doAllTables()) {
+            if (isResettable(table)
+                    && !table.getName().equals(stateTable.getName())
+                    && !copies.contains(table.getName())
+                    && (excludedTable == null
+                    || !excludedTable.getSchema().getName().equals(name)
+                    || !excludedTable.getName().equals(table.getName()))) {
+                tables.add(table);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * @return The values stored in the state table for this type of objects, by object name.
+     */
+    private Map<String, String> readResetState(Table stateTable, String objectType) throws SQLException {
+        final Map<String, String> values = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT object_name, reset_value FROM " + stateTable + " WHERE object_type = ?",
+                new RowMapper<Void>() {
+                    @Override
+                    public Void mapRow(ResultSet rs) throws SQLException {
+                        values.put(rs.getString(1), rs.getString(2));
+                        return null;
+                    }
+                }, objectType);
+        return values;
+    }
+
+    /**
+     * @param table A table of this schema.
+     * @return Whether the data of this table is reset, as opposed to system tables maintained by the database itself.
+     */
+    protected boolean isResettable(T table) {
+        return true;
+    }
+
+    /**
+     * Copies the structure and the data of this table to a new table.
+     *
+     * @param table The table to copy.
+     * @param copy  The table to create.
+     * @throws SQLException when the table could not be copied.
+     */
+    protected void doCopyTable(T table, Table copy) throws SQLException {
+        jdbcTemplate.execute("CREATE TABLE " + copy + " AS SELECT * FROM " + table);
+    }
+
+    /**
+     * Retrieves the values the sequences and identity columns of this schema will generate next.
+     *
+     * @param tables The tables whose data is reset.
+     * @return The values to restart the sequences and identity columns with, by a name of the dialect's choosing.
+     * @throws SQLException when the values could not be retrieved.
+     */
+    protected Map<String, String> doRecordSequences(List<T> tables) throws SQLException {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Deletes all the data in these tables of this schema, and restarts the sequences and identity columns of this
+     * schema with the recorded values, or their initial values if none were recorded.
+     *
+     * @param tables         The tables to empty.
+     * @param sequenceValues The values recorded by {@link #doRecordSequences(List)}.
+     * @throws SQLException when the reset failed.
+     */
+    protected void doReset(List<T> tables, Map<String, String> sequenceValues) throws SQLException {
+        throw new FlywayException("Reset is not supported for " + database.getDatabaseType().getName() + " databases");
+    }
+
+    /**
+     * Inserts the rows of the copy of this table back into it.
+     *
+     * @param table The table to restore.
+     * @param copy  The copy made by {@link #doCopyTable(Table, Table)}.
+     * @throws SQLException when the rows could not be inserted.
+     */
+    protected void doRestoreRows(T table, Table copy) throws SQLException {
+        jdbcTemplate.execute("INSERT INTO " + table + " SELECT * FROM " + copy);
+    }
+
     /**
      * Retrieves all the tables in this schema.
      *
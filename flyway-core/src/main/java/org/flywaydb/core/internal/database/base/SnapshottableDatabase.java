@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.base;
+
+import java.io.File;
+import java.sql.SQLException;
+
+/**
+ * Implemented by the databases which Flyway itself can snapshot to a file and restore from that file in place, through
+ * the main connection.
+ */
+public interface SnapshottableDatabase {
+    /**
+     * @return Whether this particular database can be snapshotted, which depends on how it is accessed.
+     */
+    boolean canSnapshot();
+
+    /**
+     * Writes a snapshot of the complete contents of this database to this file.
+     *
+     * @param file The file to write the snapshot to.
+     * @throws SQLException when the snapshot could not be written.
+     */
+    void createSnapshot(File file) throws SQLException;
+
+    /**
+     * Restores the contents of this empty database from this snapshot.
+     *
+     * @param file The file containing the snapshot, as written by {@link #createSnapshot(File)}.
+     * @throws SQLException when the snapshot could not be restored.
+     */
+    void restoreSnapshot(File file) throws SQLException;
+}
@@ -85,17 +85,13 @@ public class CockroachDBSchema extends Schema<CockroachDBDatabase, CockroachDBTa
 
     @Override
     protected void doClean() throws SQLException {
-        for (String statement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForViews());
 
         for (Table table : allTables()) {
             table.drop();
         }
 
-        for (String statement : generateDropStatementsForSequences()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForSequences());
     }
 
     /**
@@ -87,51 +87,35 @@ public class DB2Schema extends Schema<DB2Database, DB2Table> {
             List<String> dropVersioningStatements = generateDropVersioningStatement();
             if (!dropVersioningStatements.isEmpty()) {
                 // Do a explicit drop of MQTs in order to be able to drop the Versioning
-                for (String dropTableStatement : generateDropStatements("S", "TABLE")) {
-                    jdbcTemplate.execute(dropTableStatement);
-                }
+                jdbcTemplate.executeBatch(generateDropStatements("S", "TABLE"));
             }
 
-            for (String dropVersioningStatement : dropVersioningStatements) {
-                jdbcTemplate.execute(dropVersioningStatement);
-            }
+            jdbcTemplate.executeBatch(dropVersioningStatements);
 
 
 
 
         // views
-        for (String dropStatement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForViews());
 
         // aliases
-        for (String dropStatement : generateDropStatements("A", "ALIAS")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatements("A", "ALIAS"));
 
         // temporary Tables
-        for (String dropStatement : generateDropStatements("G", "TABLE")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatements("G", "TABLE"));
 
         for (Table table : allTables()) {
             table.drop();
         }
 
         // sequences
-        for (String dropStatement : generateDropStatementsForSequences()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForSequences());
 
         // procedures
-        for (String dropStatement : generateDropStatementsForProcedures()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForProcedures());
 
         // triggers
-        for (String dropStatement : generateDropStatementsForTriggers()) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForTriggers());
 
         for (Function function : allFunctions()) {
             function.drop();
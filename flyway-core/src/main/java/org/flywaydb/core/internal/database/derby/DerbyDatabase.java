@@ -125,4 +125,9 @@ public class DerbyDatabase extends Database<DerbyConnection> {
     public boolean useSingleConnection() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsReset() {
+        return true;
+    }
+}
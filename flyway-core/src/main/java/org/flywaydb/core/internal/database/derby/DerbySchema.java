@@ -16,19 +16,28 @@
 package org.flywaydb.core.internal.database.derby;
 
 import org.flywaydb.core.internal.jdbc.JdbcTemplate;
+import org.flywaydb.core.internal.database.base.DropGraph;
 import org.flywaydb.core.internal.database.base.Schema;
 import org.flywaydb.core.internal.database.base.Table;
 import org.flywaydb.core.internal.util.StringUtils;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Derby implementation of Schema.
  */
 public class DerbySchema extends Schema<DerbyDatabase, DerbyTable> {
+    /**
+     * The suffix appended to the name of a table to key the recorded value of its identity column.
+     */
+    private static final String IDENTITY = "IDENTITY";
+
     /**
      * Creates a new Derby schema.
      *
@@ -63,69 +72,215 @@ public class DerbySchema extends Schema<DerbyDatabase, DerbyTable> {
 
     @Override
     protected void doClean() throws SQLException {
-        List<String> triggerNames = listObjectNames("TRIGGER", "");
-        for (String statement : generateDropStatements("TRIGGER", triggerNames, "")) {
-            jdbcTemplate.execute(statement);
+        dropInDependencyOrder(readDropGraph());
+    }
+
+    /**
+     * Reads all the objects to drop when cleaning this schema, together with the dependencies between them.
+     *
+     * @return The objects to drop.
+     * @throws SQLException when the objects could not be read.
+     */
+    private DropGraph readDropGraph() throws SQLException {
+        DropGraph dropGraph = new DropGraph();
+
+        List<Map<String, String>> triggers = jdbcTemplate.queryForList("SELECT t.triggerid, t.triggername, t.tableid" +
+                " FROM sys.systriggers t" +
+                " INNER JOIN sys.sysschemas s ON t.schemaid = s.schemaid" +
+                " WHERE s.schemaname = ?", name);
+        for (Map<String, String> trigger : triggers) {
+            dropGraph.addObject(trigger.get("TRIGGERID"),
+                    "DROP TRIGGER " + database.quote(name, trigger.get("TRIGGERNAME")));
+            dropGraph.addDependency(trigger.get("TRIGGERID"), trigger.get("TABLEID"));
         }
 
-        for (String statement : generateDropStatementsForConstraints()) {
-            jdbcTemplate.execute(statement);
+        // Foreign keys are dropped separately, as they may form cycles between tables
+        List<Map<String, String>> foreignKeys = jdbcTemplate.queryForList("SELECT c.constraintid, c.constraintname," +
+                " t.tablename, c.tableid, k.tableid AS referencedtableid FROM sys.sysconstraints c" +
+                " INNER JOIN sys.systables t ON c.tableid = t.tableid" +
+                " INNER JOIN sys.sysschemas s ON c.schemaid = s.schemaid" +
+                " INNER JOIN sys.sysforeignkeys f ON c.constraintid = f.constraintid" +
+                " INNER JOIN sys.sysconstraints k ON f.keyconstraintid = k.constraintid" +
+                " WHERE c.type = 'F' AND s.schemaname = ?", name);
+        for (Map<String, String> foreignKey : foreignKeys) {
+            dropGraph.addObject(foreignKey.get("CONSTRAINTID"),
+                    "ALTER TABLE " + database.quote(name, foreignKey.get("TABLENAME"))
+                            + " DROP CONSTRAINT " + database.quote(foreignKey.get("CONSTRAINTNAME")));
+            dropGraph.addDependency(foreignKey.get("CONSTRAINTID"), foreignKey.get("TABLEID"));
+            dropGraph.addDependency(foreignKey.get("CONSTRAINTID"), foreignKey.get("REFERENCEDTABLEID"));
         }
 
-        List<String> viewNames = listObjectNames("TABLE", "TABLETYPE='V'");
-        for (String statement : generateDropStatements("VIEW", viewNames, "")) {
-            jdbcTemplate.execute(statement);
+        List<String> tableKeys = new ArrayList<>();
+        List<Map<String, String>> tables = jdbcTemplate.queryForList("SELECT t.tableid, t.tablename, t.tabletype" +
+                " FROM sys.systables t" +
+                " INNER JOIN sys.sysschemas s ON t.schemaid = s.schemaid" +
+                " WHERE t.tabletype IN ('T', 'V') AND s.schemaname = ?", name);
+        for (Map<String, String> table : tables) {
+            String objectType = "V".equals(table.get("TABLETYPE")) ? "VIEW" : "TABLE";
+            dropGraph.addObject(table.get("TABLEID"),
+                    "DROP " + objectType + " " + database.quote(name, table.get("TABLENAME")));
+            tableKeys.add(table.get("TABLEID"));
         }
 
-        for (Table table : allTables()) {
-            table.drop();
+        List<String> sequenceKeys = new ArrayList<>();
+        List<Map<String, String>> sequences = jdbcTemplate.queryForList("SELECT q.sequenceid, q.sequencename" +
+                " FROM sys.syssequences q" +
+                " INNER JOIN sys.sysschemas s ON q.schemaid = s.schemaid" +
+                " WHERE s.schemaname = ?", name);
+        for (Map<String, String> sequence : sequences) {
+            dropGraph.addObject(sequence.get("SEQUENCEID"),
+                    "DROP SEQUENCE " + database.quote(name, sequence.get("SEQUENCENAME")) + " RESTRICT");
+            sequenceKeys.add(sequence.get("SEQUENCEID"));
         }
+        dropGraph.addDependencies(tableKeys, sequenceKeys);
 
-        List<String> sequenceNames = listObjectNames("SEQUENCE", "");
-        for (String statement : generateDropStatements("SEQUENCE", sequenceNames, "RESTRICT")) {
-            jdbcTemplate.execute(statement);
+        // Views on other views or tables and triggers referencing other tables, as recorded by Derby itself
+        List<Map<String, String>> dependencies = jdbcTemplate.queryForList("SELECT d.dependentid, d.providerid" +
+                " FROM sys.sysdepends d");
+        for (Map<String, String> dependency : dependencies) {
+            dropGraph.addDependency(dependency.get("DEPENDENTID"), dependency.get("PROVIDERID"));
         }
-    }
 
-    /**
-     * Generate the statements for dropping all the constraints in this schema.
-     *
-     * @return The list of statements.
-     * @throws SQLException when the statements could not be generated.
-     */
-    private List<String> generateDropStatementsForConstraints() throws SQLException {
-        List<Map<String, String>> results = jdbcTemplate.queryForList("SELECT c.constraintname, t.tablename FROM sys.sysconstraints c" +
-                " INNER JOIN sys.systables t ON c.tableid = t.tableid" +
-                " INNER JOIN sys.sysschemas s ON c.schemaid = s.schemaid" +
-                " WHERE c.type = 'F' AND s.schemaname = ?", name);
+        return dropGraph;
+    }
 
-        List<String> statements = new ArrayList<>();
-        for (Map<String, String> result : results) {
-            String dropStatement = "ALTER TABLE " + database.quote(name, result.get("TABLENAME"))
-                    + " DROP CONSTRAINT " + database.quote(result.get("CONSTRAINTNAME"));
+    @Override
+    protected void doCopyTable(DerbyTable table, Table copy) throws SQLException {
+        jdbcTemplate.execute("CREATE TABLE " + copy + " AS SELECT * FROM " + table + " WITH NO DATA");
+        jdbcTemplate.execute("INSERT INTO " + copy + " SELECT * FROM " + table);
+    }
 
-            statements.add(dropStatement);
+    @Override
+    protected Map<String, String> doRecordSequences(List<DerbyTable> tables) throws SQLException {
+        // The catalog only knows the end of the range of values preallocated by the database, so the values are peeked
+        Map<String, String> sequenceValues = new HashMap<>();
+        for (String sequenceName : jdbcTemplate.queryForStringList("SELECT q.sequencename FROM sys.syssequences q" +
+                " INNER JOIN sys.sysschemas s ON q.schemaid = s.schemaid" +
+                " WHERE s.schemaname = ?", name)) {
+            String value = jdbcTemplate.queryForString("VALUES SYSCS_UTIL.SYSCS_PEEK_AT_SEQUENCE(?, ?)",
+                    name, sequenceName);
+            if (value != null) {
+                sequenceValues.put(sequenceName, value);
+            }
+        }
+        // Identity columns are recorded by table, as a table has at most one
+        Set<String> tableNames = new HashSet<>();
+        for (DerbyTable table : tables) {
+            tableNames.add(table.getName());
+        }
+        for (String tableName : jdbcTemplate.queryForStringList("SELECT t.tablename FROM sys.syscolumns c" +
+                " INNER JOIN sys.systables t ON c.referenceid = t.tableid" +
+                " INNER JOIN sys.sysschemas s ON t.schemaid = s.schemaid" +
+                " WHERE c.autoincrementinc IS NOT NULL AND s.schemaname = ?", name)) {
+            if (!tableNames.contains(tableName)) {
+                continue;
+            }
+            String value = jdbcTemplate.queryForString("VALUES SYSCS_UTIL.SYSCS_PEEK_AT_IDENTITY(?, ?)",
+                    name, tableName);
+            if (value != null) {
+                sequenceValues.put(tableName + "." + IDENTITY, value);
+            }
         }
-        return statements;
+        return sequenceValues;
     }
 
-    /**
-     * Generate the statements for dropping all the objects of this type in this schema.
-     *
-     * @param objectType          The type of object to drop (Sequence, constant, ...)
-     * @param objectNames         The names of the objects to drop.
-     * @param dropStatementSuffix Suffix to append to the statement for dropping the objects.
-     * @return The list of statements.
-     */
-    private List<String> generateDropStatements(String objectType, List<String> objectNames, String dropStatementSuffix) {
-        List<String> statements = new ArrayList<>();
-        for (String objectName : objectNames) {
-            String dropStatement =
-                    "DROP " + objectType + " " + database.quote(name, objectName) + " " + dropStatementSuffix;
+    @Override
+    protected void doReset(List<DerbyTable> tables, Map<String, String> sequenceValues) throws SQLException {
+        Set<String> tableNames = new HashSet<>();
+        for (DerbyTable table : tables) {
+            tableNames.add(table.getName());
+        }
 
-            statements.add(dropStatement);
+        // Derby can't disable foreign keys, so tables are emptied in the same order in which they would be dropped
+        List<Map<String, String>> foreignKeys = jdbcTemplate.queryForList("SELECT c.tableid," +
+                " k.tableid AS referencedtableid FROM sys.sysconstraints c" +
+                " INNER JOIN sys.sysforeignkeys f ON c.constraintid = f.constraintid" +
+                " INNER JOIN sys.sysconstraints k ON f.keyconstraintid = k.constraintid" +
+                " INNER JOIN sys.sysschemas s ON k.schemaid = s.schemaid" +
+                " WHERE c.type = 'F' AND c.state = 'E' AND s.schemaname = ?", name);
+        Set<String> referencedTableIds = new HashSet<>();
+        for (Map<String, String> foreignKey : foreignKeys) {
+            if (!foreignKey.get("TABLEID").equals(foreignKey.get("REFERENCEDTABLEID"))) {
+                referencedTableIds.add(foreignKey.get("REFERENCEDTABLEID"));
+            }
+        }
+
+        DropGraph deleteGraph = new DropGraph();
+        for (Map<String, String> table : jdbcTemplate.queryForList("SELECT t.tableid, t.tablename" +
+                " FROM sys.systables t" +
+                " INNER JOIN sys.sysschemas s ON t.schemaid = s.schemaid" +
+                " WHERE t.tabletype = 'T' AND s.schemaname = ?", name)) {
+            if (tableNames.contains(table.get("TABLENAME"))) {
+                // TRUNCATE is not permitted on tables referenced by foreign keys from other tables
+                String statement = referencedTableIds.contains(table.get("TABLEID")) ? "DELETE FROM " : "TRUNCATE TABLE ";
+                deleteGraph.addObject(table.get("TABLEID"), statement + database.quote(name, table.get("TABLENAME")));
+            }
+        }
+        for (Map<String, String> foreignKey : foreignKeys) {
+            deleteGraph.addDependency(foreignKey.get("TABLEID"), foreignKey.get("REFERENCEDTABLEID"));
+        }
+        for (List<String> batch : deleteGraph.getDropBatches()) {
+            jdbcTemplate.executeBatch(batch);
+        }
+
+        List<String> restartStatements = new ArrayList<>();
+        for (Map<String, String> column : jdbcTemplate.queryForList("SELECT t.tablename, c.columnname," +
+                " c.autoincrementstart FROM sys.syscolumns c" +
+                " INNER JOIN sys.systables t ON c.referenceid = t.tableid" +
+                " INNER JOIN sys.sysschemas s ON t.schemaid = s.schemaid" +
+                " WHERE c.autoincrementinc IS NOT NULL AND s.schemaname = ?", name)) {
+            if (tableNames.contains(column.get("TABLENAME"))) {
+                String value = sequenceValues.get(column.get("TABLENAME") + "." + IDENTITY);
+                restartStatements.add("ALTER TABLE " + database.quote(name, column.get("TABLENAME"))
+                        + " ALTER COLUMN " + database.quote(column.get("COLUMNNAME"))
+                        + " RESTART WITH " + (value == null ? column.get("AUTOINCREMENTSTART") : value));
+            }
+        }
+
+        // Derby can't restart sequences, so used ones are recreated instead. Privileges granted on them are lost.
+        for (Map<String, String> sequence : jdbcTemplate.queryForList("SELECT q.sequencename, q.sequencedatatype," +
+                " q.startvalue, q.currentvalue, q.increment, q.minimumvalue, q.maximumvalue, q.cycleoption" +
+                " FROM sys.syssequences q" +
+                " INNER JOIN sys.sysschemas s ON q.schemaid = s.schemaid" +
+                " WHERE s.schemaname = ?", name)) {
+            String value = sequenceValues.get(sequence.get("SEQUENCENAME"));
+            if (value == null) {
+                value = sequence.get("STARTVALUE");
+            }
+            if (value.equals(jdbcTemplate.queryForString("VALUES SYSCS_UTIL.SYSCS_PEEK_AT_SEQUENCE(?, ?)",
+                    name, sequence.get("SEQUENCENAME")))) {
+                continue;
+            }
+            String sequenceName = database.quote(name, sequence.get("SEQUENCENAME"));
+            restartStatements.add("DROP SEQUENCE " + sequenceName + " RESTRICT");
+            restartStatements.add("CREATE SEQUENCE " + sequenceName
+                    + " AS " + sequence.get("SEQUENCEDATATYPE").replace(" NOT NULL", "")
+                    + " START WITH " + value
+                    + " INCREMENT BY " + sequence.get("INCREMENT")
+                    + " MINVALUE " + sequence.get("MINIMUMVALUE")
+                    + " MAXVALUE " + sequence.get("MAXIMUMVALUE")
+                    + ("Y".equals(sequence.get("CYCLEOPTION")) ? " CYCLE" : " NO CYCLE"));
+        }
+        jdbcTemplate.executeBatch(restartStatements);
+    }
+
+    @Override
+    protected void doRestoreRows(DerbyTable table, Table copy) throws SQLException {
+        // Values can only be inserted into identity columns generated always once they are generated by default
+        List<String> generatedAlways = jdbcTemplate.queryForStringList("SELECT c.columnname FROM sys.syscolumns c" +
+                " INNER JOIN sys.systables t ON c.referenceid = t.tableid" +
+                " INNER JOIN sys.sysschemas s ON t.schemaid = s.schemaid" +
+                " WHERE c.autoincrementinc IS NOT NULL AND c.columndefault IS NULL" +
+                " AND s.schemaname = ? AND t.tablename = ?", name, table.getName());
+        for (String column : generatedAlways) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + database.quote(column)
+                    + " SET GENERATED BY DEFAULT");
+        }
+        jdbcTemplate.execute("INSERT INTO " + table + " SELECT * FROM " + copy);
+        for (String column : generatedAlways) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + database.quote(column)
+                    + " SET GENERATED ALWAYS");
         }
-        return statements;
     }
 
     @Override
@@ -106,38 +106,20 @@ public class FirebirdSchema extends Schema<FirebirdDatabase, FirebirdTable> {
     @Override
     protected void doClean() throws SQLException {
         // Dropping everything except custom collations and roles
-        for (String dropPackageStmt : generateDropPackageStatements()) {
-            jdbcTemplate.execute(dropPackageStmt);
-        }
-        for (String dropProcedureStmt : generateDropProcedureStatements()) {
-            jdbcTemplate.execute(dropProcedureStmt);
-        }
-        for (String dropViewStmt : generateDropViewStatements()) {
-            jdbcTemplate.execute(dropViewStmt);
-        }
+        jdbcTemplate.executeBatch(generateDropPackageStatements());
+        jdbcTemplate.executeBatch(generateDropProcedureStatements());
+        jdbcTemplate.executeBatch(generateDropViewStatements());
 
-        for (String dropConstraintStmt: generateDropConstraintStatements()) {
-            jdbcTemplate.execute(dropConstraintStmt);
-        }
+        jdbcTemplate.executeBatch(generateDropConstraintStatements());
 
         for (Table table : allTables()) {
             table.drop();
         }
-        for (String dropTriggerStmt : generateDropTriggerStatements()) {
-            jdbcTemplate.execute(dropTriggerStmt);
-        }
-        for (String dropFunctionStmt : generateDropFunctionStatements()) {
-            jdbcTemplate.execute(dropFunctionStmt);
-        }
-        for (String dropSequenceStmt : generateDropSequenceStatements()) {
-            jdbcTemplate.execute(dropSequenceStmt);
-        }
-        for (String dropExceptionStmt : generateDropExceptionStatements()) {
-            jdbcTemplate.execute(dropExceptionStmt);
-        }
-        for (String dropDomainStmt : generateDropDomainStatements()) {
-            jdbcTemplate.execute(dropDomainStmt);
-        }
+        jdbcTemplate.executeBatch(generateDropTriggerStatements());
+        jdbcTemplate.executeBatch(generateDropFunctionStatements());
+        jdbcTemplate.executeBatch(generateDropSequenceStatements());
+        jdbcTemplate.executeBatch(generateDropExceptionStatements());
+        jdbcTemplate.executeBatch(generateDropDomainStatements());
     }
 
     private List<String> generateDropConstraintStatements() throws SQLException {
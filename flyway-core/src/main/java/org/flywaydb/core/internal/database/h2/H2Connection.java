@@ -24,6 +24,11 @@ import java.sql.SQLException;
  * H2 connection.
  */
 public class H2Connection extends Connection<H2Database> {
+    /**
+     * The transaction log mode to restore after the bulk-load profile.
+     */
+    private String originalLog;
+
     H2Connection(H2Database database, java.sql.Connection connection) {
         super(database, connection);
     }
@@ -42,4 +47,21 @@ public class H2Connection extends Connection<H2Database> {
     protected String getCurrentSchemaNameOrSearchPath() throws SQLException {
         return jdbcTemplate.queryForString("CALL SCHEMA()");
     }
+
+    @Override
+    protected void doApplyBulkProfile() throws SQLException {
+        // This affects the whole database, not just this session
+        originalLog = jdbcTemplate.queryForString("SELECT VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE NAME = 'LOG'");
+        if (originalLog != null) {
+            jdbcTemplate.execute("SET LOG 0");
+        }
+    }
+
+    @Override
+    protected void doRestoreBulkProfile() throws SQLException {
+        if (originalLog != null) {
+            jdbcTemplate.execute("SET LOG " + Integer.parseInt(originalLog));
+            originalLog = null;
+        }
+    }
 }
\ No newline at end of file
@@ -18,17 +18,19 @@ package org.flywaydb.core.internal.database.h2;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.internal.database.base.Database;
+import org.flywaydb.core.internal.database.base.SnapshottableDatabase;
 import org.flywaydb.core.internal.database.base.Table;
 import org.flywaydb.core.internal.exception.FlywaySqlException;
 import org.flywaydb.core.internal.jdbc.JdbcConnectionFactory;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 /**
  * H2 database.
  */
-public class H2Database extends Database<H2Connection> {
+public class H2Database extends Database<H2Connection> implements SnapshottableDatabase {
 
     /**
      * A dummy user used in Oracle mode, where USER() can return null but nulls can't be inserted into the
@@ -194,6 +196,11 @@ public class H2Database extends Database<H2Connection> {
         return true;
     }
 
+    @Override
+    public boolean supportsBulkProfile() {
+        return true;
+    }
+
     @Override
     public String getBooleanTrue() {
         return "1";
@@ -214,4 +221,38 @@ public class H2Database extends Database<H2Connection> {
         return false;
     }
 
-}
\ No newline at end of file
+    @Override
+    public boolean canSnapshot() {
+        // Scripts of remote databases would be written to and read from the file system of the server
+        try {
+            String url = jdbcMetaData.getURL();
+            return url != null && !url.startsWith("jdbc:h2:tcp:") && !url.startsWith("jdbc:h2:ssl:");
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to determine the URL of the H2 database", e);
+        }
+    }
+
+    @Override
+    public void createSnapshot(File file) throws SQLException {
+        getMainConnection().getJdbcTemplate().execute("SCRIPT TO " + toLiteral(file) + " COMPRESSION GZIP");
+    }
+
+    @Override
+    public void restoreSnapshot(File file) throws SQLException {
+        getMainConnection().getJdbcTemplate().execute("RUNSCRIPT FROM " + toLiteral(file) + " COMPRESSION GZIP");
+    }
+
+    private static String toLiteral(File file) {
+        return "'" + file.getAbsolutePath().replace("'", "''") + "'";
+    }
+
+    @Override
+    public boolean supportsReset() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParallelMigration() {
+        return true;
+    }
+}
@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.database.h2;
 
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.database.base.DropGraph;
 import org.flywaydb.core.internal.database.base.Schema;
 import org.flywaydb.core.internal.database.base.Table;
 import org.flywaydb.core.internal.jdbc.JdbcTemplate;
@@ -24,7 +25,11 @@ import org.flywaydb.core.internal.util.StringUtils;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * H2 implementation of Schema.
@@ -66,37 +71,81 @@ public class H2Schema extends Schema<H2Database, H2Table> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (Table table : allTables()) {
-            table.drop();
-        }
+        dropInDependencyOrder(readDropGraph());
+    }
 
-        List<String> sequenceNames = listObjectNames("SEQUENCE", "IS_GENERATED = false");
-        for (String statement : generateDropStatements("SEQUENCE", sequenceNames)) {
-            jdbcTemplate.execute(statement);
+    /**
+     * Reads all the objects to drop when cleaning this schema, together with the dependencies between them.
+     *
+     * @return The objects to drop.
+     * @throws SQLException when the objects could not be read.
+     */
+    private DropGraph readDropGraph() throws SQLException {
+        DropGraph dropGraph = new DropGraph();
+
+        List<String> tableKeys = new ArrayList<>();
+        for (String tableName : listObjectNames("TABLE", "TABLE_TYPE = 'TABLE'")) {
+            String key = "TABLE " + tableName;
+            dropGraph.addObject(key, "DROP TABLE " + database.quote(name, tableName) + " CASCADE");
+            tableKeys.add(key);
         }
 
-        List<String> constantNames = listObjectNames("CONSTANT", "");
-        for (String statement : generateDropStatements("CONSTANT", constantNames)) {
-            jdbcTemplate.execute(statement);
+        // Drop referencing tables before the tables they reference, to avoid cascading into them
+        List<Map<String, String>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT FKTABLE_NAME, PKTABLE_NAME FROM INFORMATION_SCHEMA.CROSS_REFERENCES"
+                        + " WHERE FKTABLE_SCHEMA = ? AND PKTABLE_SCHEMA = ?", name, name);
+        for (Map<String, String> foreignKey : foreignKeys) {
+            dropGraph.addDependency("TABLE " + foreignKey.get("FKTABLE_NAME"), "TABLE " + foreignKey.get("PKTABLE_NAME"));
         }
 
+        // Sequences, constants and aliases may be referenced by column defaults
+        List<String> sequenceNames = listObjectNames("SEQUENCE", "IS_GENERATED = false");
+        List<String> constantNames = listObjectNames("CONSTANT", "");
         List<String> aliasNames = jdbcTemplate.queryForStringList(
                 "SELECT ALIAS_NAME FROM INFORMATION_SCHEMA.FUNCTION_ALIASES WHERE ALIAS_SCHEMA = ?", name);
-        for (String statement : generateDropStatements("ALIAS", aliasNames)) {
-            jdbcTemplate.execute(statement);
-        }
+        List<String> objectKeys = new ArrayList<>();
+        objectKeys.addAll(addObjects(dropGraph, "SEQUENCE", sequenceNames,
+                generateDropStatements("SEQUENCE", sequenceNames)));
+        objectKeys.addAll(addObjects(dropGraph, "CONSTANT", constantNames,
+                generateDropStatements("CONSTANT", constantNames)));
+        objectKeys.addAll(addObjects(dropGraph, "ALIAS", aliasNames,
+                generateDropStatements("ALIAS", aliasNames)));
+        dropGraph.addDependencies(tableKeys, objectKeys);
 
         List<String> domainNames = listObjectNames("DOMAIN", "");
         if (!domainNames.isEmpty()) {
             if (name.equals(database.getMainConnection().getCurrentSchema().getName())) {
-                for (String statement : generateDropStatementsForCurrentSchema("DOMAIN", domainNames)) {
-                    jdbcTemplate.execute(statement);
-                }
+                List<String> domainKeys = addObjects(dropGraph, "DOMAIN", domainNames,
+                        generateDropStatementsForCurrentSchema("DOMAIN", domainNames));
+                dropGraph.addDependencies(tableKeys, domainKeys);
+                dropGraph.addDependencies(objectKeys, domainKeys);
             } else {
                 LOG.error("Unable to drop DOMAIN objects in schema " + database.quote(name)
                         + " due to H2 bug! (More info: http://code.google.com/p/h2database/issues/detail?id=306)");
             }
         }
+
+        return dropGraph;
+    }
+
+    /**
+     * Adds objects of this type, which don't depend on each other, to this graph.
+     *
+     * @param dropGraph      The graph.
+     * @param objectType     The type of the objects.
+     * @param objectNames    The names of the objects.
+     * @param dropStatements The statements dropping the objects, in the same order as their names.
+     * @return The keys of the objects.
+     */
+    private List<String> addObjects(DropGraph dropGraph, String objectType, List<String> objectNames,
+                                    List<String> dropStatements) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < objectNames.size(); i++) {
+            String key = objectType + " " + objectNames.get(i);
+            dropGraph.addObject(key, dropStatements.get(i));
+            keys.add(key);
+        }
+        return keys;
     }
 
     /**
@@ -135,6 +184,69 @@ public class H2Schema extends Schema<H2Database, H2Table> {
         return statements;
     }
 
+    @Override
+    protected Map<String, String> doRecordSequences(List<H2Table> tables) throws SQLException {
+        Map<String, String> sequenceValues = new HashMap<>();
+        for (Map<String, String> sequence : jdbcTemplate.queryForList("SELECT SEQUENCE_NAME, CURRENT_VALUE, INCREMENT"
+                + " FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = ?", name)) {
+            sequenceValues.put(sequence.get("SEQUENCE_NAME"), String.valueOf(
+                    Long.parseLong(sequence.get("CURRENT_VALUE")) + Long.parseLong(sequence.get("INCREMENT"))));
+        }
+        return sequenceValues;
+    }
+
+    @Override
+    protected void doReset(List<H2Table> tables, Map<String, String> sequenceValues) throws SQLException {
+        List<String> disableStatements = new ArrayList<>();
+        List<String> truncateStatements = new ArrayList<>();
+        List<String> enableStatements = new ArrayList<>();
+        Set<String> tableNames = new HashSet<>();
+        for (H2Table table : tables) {
+            disableStatements.add("ALTER TABLE " + table + " SET REFERENTIAL_INTEGRITY FALSE");
+            truncateStatements.add("TRUNCATE TABLE " + table);
+            // All referencing tables are emptied as well, so there is nothing left to check
+            enableStatements.add("ALTER TABLE " + table + " SET REFERENTIAL_INTEGRITY TRUE NOCHECK");
+            tableNames.add(table.getName());
+        }
+
+        jdbcTemplate.executeBatch(disableStatements);
+        try {
+            jdbcTemplate.executeBatch(truncateStatements);
+        } finally {
+            jdbcTemplate.executeBatch(enableStatements);
+        }
+
+        // Sequences backing the identity columns of the tables which keep their data are left untouched
+        Set<String> keptSequenceNames = new HashSet<>();
+        for (Map<String, String> column : jdbcTemplate.queryForList("SELECT TABLE_NAME, SEQUENCE_NAME"
+                + " FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = ? AND SEQUENCE_NAME IS NOT NULL", name)) {
+            if (!tableNames.contains(column.get("TABLE_NAME"))) {
+                keptSequenceNames.add(column.get("SEQUENCE_NAME"));
+            }
+        }
+
+        List<String> restartStatements = new ArrayList<>();
+        for (Map<String, String> sequence : jdbcTemplate.queryForList(
+                "SELECT * FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = ?", name)) {
+            if (keptSequenceNames.contains(sequence.get("SEQUENCE_NAME"))) {
+                continue;
+            }
+            // Sequences created after the recording restart from their start value. Older H2 versions don't record it,
+            // which then defaults to the bound the sequence counts from.
+            String startValue = sequenceValues.get(sequence.get("SEQUENCE_NAME"));
+            if (startValue == null) {
+                startValue = sequence.get("START_VALUE");
+            }
+            if (startValue == null) {
+                startValue = Long.parseLong(sequence.get("INCREMENT")) > 0
+                        ? sequence.get("MIN_VALUE") : sequence.get("MAX_VALUE");
+            }
+            restartStatements.add("ALTER SEQUENCE " + database.quote(name, sequence.get("SEQUENCE_NAME"))
+                    + " RESTART WITH " + startValue);
+        }
+        jdbcTemplate.executeBatch(restartStatements);
+    }
+
     @Override
     protected H2Table[] doAllTables() throws SQLException {
         List<String> tableNames = listObjectNames("TABLE", "TABLE_TYPE = 'TABLE'");
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.h2;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.internal.parser.Parser;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.sqlscript.ServerSideSqlScript;
+import org.flywaydb.core.internal.sqlscript.SqlStatement;
+import org.flywaydb.core.internal.util.StringUtils;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * H2 SQL script executed with RUNSCRIPT. H2 commits as it goes through such a script, so it is executed outside a
+ * transaction. Only scripts which would run outside a transaction anyway, or which only contain statements H2 commits
+ * by itself, are therefore executed this way. All others are executed statement by statement in a transaction.
+ */
+public class H2SqlScript extends ServerSideSqlScript {
+    /**
+     * The error code of H2 when the user lacks the admin rights RUNSCRIPT requires.
+     */
+    private static final int ADMIN_RIGHTS_REQUIRED = 90040;
+
+    /**
+     * The statements H2 commits by itself, together with any open transaction, after the comments preceding them.
+     */
+    private static final Pattern AUTO_COMMITTED_STATEMENT = Pattern.compile(
+            "^(\\s*(--[^\\n]*|/\\*.*?\\*/))*\\s*(ALTER|ANALYZE|COMMENT|CREATE|DROP|GRANT|REVOKE|TRUNCATE)\\b",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    public H2SqlScript(Parser parser, LoadableResource resource, boolean mixed, Configuration configuration,
+                       boolean statementCallbacks) {
+        super(parser, resource, mixed, configuration, statementCallbacks);
+    }
+
+    @Override
+    protected boolean canExecuteServerSide() {
+        // RUNSCRIPT reads the script from disk, and its commits would break up migration groups and checkpoints
+        return getFile() != null
+                && !configuration.isGroup()
+                && !StringUtils.hasText(configuration.getCheckpointFile())
+                && super.canExecuteServerSide()
+                && isCommittedAnyway();
+    }
+
+    /**
+     * @return Whether executing this script outside a transaction changes nothing: it contains non-transactional
+     * statements and would therefore be executed outside a transaction anyway, or H2 commits all of its statements by
+     * itself.
+     */
+    private boolean isCommittedAnyway() {
+        boolean autoCommitted = true;
+        for (SqlStatement sqlStatement : parseSqlStatements()) {
+            if (!sqlStatement.canExecuteInTransaction()) {
+                return true;
+            }
+            if (!AUTO_COMMITTED_STATEMENT.matcher(sqlStatement.getSql()).find()) {
+                autoCommitted = false;
+            }
+        }
+        return autoCommitted;
+    }
+
+    /**
+     * @return The file containing this script. {@code null} if it isn't a file on disk.
+     */
+    private File getFile() {
+        String path = resource.getAbsolutePathOnDisk();
+        if (path == null) {
+            return null;
+        }
+        File file = new File(path);
+        return file.isFile() ? file : null;
+    }
+
+    @Override
+    protected String getServerSideSql() {
+        return "RUNSCRIPT FROM '" + getFile().getAbsolutePath().replace("'", "''") + "'"
+                + " CHARSET '" + configuration.getEncoding().name() + "'";
+    }
+
+    @Override
+    protected boolean isServerSideTransactional() {
+        return false;
+    }
+
+    @Override
+    protected boolean isRejected(SQLException e) {
+        return e.getErrorCode() == ADMIN_RIGHTS_REQUIRED;
+    }
+}
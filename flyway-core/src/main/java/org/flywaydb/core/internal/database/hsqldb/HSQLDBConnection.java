@@ -26,6 +26,11 @@ import java.sql.SQLException;
  * HSQLDB connection.
  */
 public class HSQLDBConnection extends Connection<HSQLDBDatabase> {
+    /**
+     * Whether the transaction log must be turned on again after the bulk-load profile.
+     */
+    private boolean restoreLog;
+
     HSQLDBConnection(HSQLDBDatabase database, java.sql.Connection connection) {
         super(database, connection);
     }
@@ -59,4 +64,22 @@ public class HSQLDBConnection extends Connection<HSQLDBDatabase> {
     public Schema getSchema(String name) {
         return new HSQLDBSchema(jdbcTemplate, database, name);
     }
+
+    @Override
+    protected void doApplyBulkProfile() throws SQLException {
+        // This affects the whole database, not just this session
+        restoreLog = "true".equalsIgnoreCase(jdbcTemplate.queryForString("SELECT PROPERTY_VALUE"
+                + " FROM INFORMATION_SCHEMA.SYSTEM_PROPERTIES WHERE PROPERTY_NAME = 'hsqldb.log_data'"));
+        if (restoreLog) {
+            jdbcTemplate.execute("SET FILES LOG FALSE");
+        }
+    }
+
+    @Override
+    protected void doRestoreBulkProfile() throws SQLException {
+        if (restoreLog) {
+            jdbcTemplate.execute("SET FILES LOG TRUE");
+            restoreLog = false;
+        }
+    }
 }
\ No newline at end of file
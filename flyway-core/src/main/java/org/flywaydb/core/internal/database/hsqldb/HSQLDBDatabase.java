@@ -97,6 +97,11 @@ public class HSQLDBDatabase extends Database<HSQLDBConnection> {
         return true;
     }
 
+    @Override
+    public boolean supportsBulkProfile() {
+        return true;
+    }
+
     @Override
     public String getBooleanTrue() {
         return "1";
@@ -121,4 +126,9 @@ public class HSQLDBDatabase extends Database<HSQLDBConnection> {
     public boolean useSingleConnection() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsReset() {
+        return true;
+    }
+}
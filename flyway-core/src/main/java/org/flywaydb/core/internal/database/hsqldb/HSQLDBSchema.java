@@ -16,12 +16,15 @@
 package org.flywaydb.core.internal.database.hsqldb;
 
 import org.flywaydb.core.internal.jdbc.JdbcTemplate;
+import org.flywaydb.core.internal.database.base.DropGraph;
 import org.flywaydb.core.internal.database.base.Schema;
 import org.flywaydb.core.internal.database.base.Table;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * HSQLDB implementation of Schema.
@@ -61,31 +64,89 @@ public class HSQLDBSchema extends Schema<HSQLDBDatabase, HSQLDBTable> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (Table table : allTables()) {
-            table.drop();
-        }
-
-        for (String statement : generateDropStatementsForSequences()) {
-            jdbcTemplate.execute(statement);
-        }
+        dropInDependencyOrder(readDropGraph());
     }
 
     /**
-     * Generates the statements to drop the sequences in this schema.
+     * Reads all the objects to drop when cleaning this schema, together with the dependencies between them.
      *
-     * @return The drop statements.
-     * @throws SQLException when the drop statements could not be generated.
+     * @return The objects to drop.
+     * @throws SQLException when the objects could not be read.
      */
-    private List<String> generateDropStatementsForSequences() throws SQLException {
-        List<String> sequenceNames = jdbcTemplate.queryForStringList(
-                "SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.SYSTEM_SEQUENCES where SEQUENCE_SCHEMA = ?", name);
+    private DropGraph readDropGraph() throws SQLException {
+        DropGraph dropGraph = new DropGraph();
+
+        List<String> tableKeys = new ArrayList<>();
+        for (HSQLDBTable table : allTables()) {
+            String key = "TABLE " + table.getName();
+            dropGraph.addObject(key, "DROP TABLE " + database.quote(name, table.getName()) + " CASCADE");
+            tableKeys.add(key);
+        }
+
+        // Drop referencing tables before the tables they reference, to avoid cascading into them
+        List<Map<String, String>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT FKTABLE_NAME, PKTABLE_NAME FROM INFORMATION_SCHEMA.SYSTEM_CROSSREFERENCE"
+                        + " WHERE FKTABLE_SCHEM = ? AND PKTABLE_SCHEM = ?", name, name);
+        for (Map<String, String> foreignKey : foreignKeys) {
+            dropGraph.addDependency("TABLE " + foreignKey.get("FKTABLE_NAME"), "TABLE " + foreignKey.get("PKTABLE_NAME"));
+        }
 
-        List<String> statements = new ArrayList<>();
-        for (String seqName : sequenceNames) {
-            statements.add("DROP SEQUENCE " + database.quote(name, seqName));
+        // Sequences may be referenced by column defaults
+        List<String> sequenceKeys = new ArrayList<>();
+        for (String sequenceName : jdbcTemplate.queryForStringList(
+                "SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.SYSTEM_SEQUENCES where SEQUENCE_SCHEMA = ?", name)) {
+            String key = "SEQUENCE " + sequenceName;
+            dropGraph.addObject(key, "DROP SEQUENCE " + database.quote(name, sequenceName));
+            sequenceKeys.add(key);
         }
+        dropGraph.addDependencies(tableKeys, sequenceKeys);
+
+        return dropGraph;
+    }
+
+    @Override
+    protected void doCopyTable(HSQLDBTable table, Table copy) throws SQLException {
+        jdbcTemplate.execute("CREATE TABLE " + copy + " AS (SELECT * FROM " + table + ") WITH DATA");
+    }
 
-        return statements;
+    @Override
+    protected Map<String, String> doRecordSequences(List<HSQLDBTable> tables) throws SQLException {
+        // Identity columns aren't recorded, as inserting the restored rows makes them continue after the highest value
+        Map<String, String> sequenceValues = new HashMap<>();
+        for (Map<String, String> sequence : jdbcTemplate.queryForList("SELECT SEQUENCE_NAME, NEXT_VALUE"
+                + " FROM INFORMATION_SCHEMA.SYSTEM_SEQUENCES WHERE SEQUENCE_SCHEMA = ?", name)) {
+            sequenceValues.put(sequence.get("SEQUENCE_NAME"), sequence.get("NEXT_VALUE"));
+        }
+        return sequenceValues;
+    }
+
+    @Override
+    protected void doReset(List<HSQLDBTable> tables, Map<String, String> sequenceValues) throws SQLException {
+        List<String> truncateStatements = new ArrayList<>();
+        for (HSQLDBTable table : tables) {
+            // NO CHECK skips the foreign key checks, as the referencing tables are emptied as well
+            truncateStatements.add("TRUNCATE TABLE " + table + " RESTART IDENTITY AND COMMIT NO CHECK");
+        }
+        jdbcTemplate.executeBatch(truncateStatements);
+
+        List<String> restartStatements = new ArrayList<>();
+        for (Map<String, String> sequence : jdbcTemplate.queryForList("SELECT SEQUENCE_NAME, START_WITH"
+                + " FROM INFORMATION_SCHEMA.SYSTEM_SEQUENCES WHERE SEQUENCE_SCHEMA = ?", name)) {
+            String value = sequenceValues.get(sequence.get("SEQUENCE_NAME"));
+            restartStatements.add("ALTER SEQUENCE " + database.quote(name, sequence.get("SEQUENCE_NAME"))
+                    + " RESTART WITH " + (value == null ? sequence.get("START_WITH") : value));
+        }
+        jdbcTemplate.executeBatch(restartStatements);
+    }
+
+    @Override
+    protected void doRestoreRows(HSQLDBTable table, Table copy) throws SQLException {
+        // Values can only be inserted into identity columns generated always when overriding them explicitly
+        boolean generatedAlways = jdbcTemplate.queryForInt("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS"
+                + " WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND IDENTITY_GENERATION = 'ALWAYS'",
+                name, table.getName()) > 0;
+        jdbcTemplate.execute("INSERT INTO " + table + (generatedAlways ? " OVERRIDING SYSTEM VALUE" : "")
+                + " SELECT * FROM " + copy);
     }
 
     @Override
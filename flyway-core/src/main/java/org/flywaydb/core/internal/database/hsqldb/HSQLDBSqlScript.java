@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.database.hsqldb;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.internal.parser.Parser;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.sqlscript.ServerSideSqlScript;
+
+import java.sql.SQLException;
+
+/**
+ * HSQLDB SQL script executed as a single statement. HSQLDB compiles all statements of such a script before executing
+ * the first one, so a script referring to objects it creates itself is rejected as a whole and then executed statement
+ * by statement instead.
+ */
+public class HSQLDBSqlScript extends ServerSideSqlScript {
+    /**
+     * The class of the SQL states HSQLDB reports for syntax errors and unknown objects.
+     */
+    private static final String SYNTAX_ERROR_OR_ACCESS_RULE_VIOLATION = "42";
+
+    public HSQLDBSqlScript(Parser parser, LoadableResource resource, boolean mixed, Configuration configuration,
+                           boolean statementCallbacks) {
+        super(parser, resource, mixed, configuration, statementCallbacks);
+    }
+
+    @Override
+    protected String getServerSideSql() {
+        return readText();
+    }
+
+    @Override
+    protected boolean isServerSideTransactional() {
+        return true;
+    }
+
+    @Override
+    protected boolean isRejected(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith(SYNTAX_ERROR_OR_ACCESS_RULE_VIOLATION);
+    }
+}
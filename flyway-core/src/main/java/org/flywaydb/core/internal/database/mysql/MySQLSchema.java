@@ -79,18 +79,12 @@ public class MySQLSchema extends Schema<MySQLDatabase, MySQLTable> {
     @Override
     protected void doClean() throws SQLException {
         if (database.eventSchedulerQueryable) {
-            for (String statement : cleanEvents()) {
-                jdbcTemplate.execute(statement);
-            }
+            jdbcTemplate.executeBatch(cleanEvents());
         }
 
-        for (String statement : cleanRoutines()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanRoutines());
 
-        for (String statement : cleanViews()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanViews());
 
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
         for (Table table : allTables()) {
@@ -99,9 +93,7 @@ public class MySQLSchema extends Schema<MySQLDatabase, MySQLTable> {
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
 
         // MariaDB 10.3 and newer only
-        for (String statement : cleanSequences()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanSequences());
     }
 
     /**
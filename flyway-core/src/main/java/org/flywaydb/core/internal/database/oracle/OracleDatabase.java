@@ -348,4 +348,9 @@ public class OracleDatabase extends Database<OracleConnection> {
 
         return result;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsParallelMigration() {
+        return true;
+    }
+}
@@ -22,6 +22,7 @@ import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.callback.CallbackExecutor;
 
 import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.flywaydb.core.internal.jdbc.JdbcConnectionFactory;
 import org.flywaydb.core.internal.jdbc.JdbcTemplate;
 import org.flywaydb.core.internal.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.jdbc.Result;
@@ -29,6 +30,7 @@ import org.flywaydb.core.internal.jdbc.Results;
 import org.flywaydb.core.internal.sqlscript.DefaultSqlScriptExecutor;
 import org.flywaydb.core.internal.sqlscript.SqlScript;
 import org.flywaydb.core.internal.sqlscript.SqlStatement;
+import org.flywaydb.core.internal.sqlscript.StatementThrottle;
 import org.flywaydb.core.internal.util.AsciiTable;
 import org.flywaydb.core.internal.util.DateUtils;
 import org.flywaydb.core.internal.util.StopWatch;
@@ -63,13 +65,14 @@ public class OracleSqlScriptExecutor extends DefaultSqlScriptExecutor {
 
 
 
-    public OracleSqlScriptExecutor(JdbcTemplate jdbcTemplate
+    public OracleSqlScriptExecutor(JdbcTemplate jdbcTemplate, JdbcConnectionFactory jdbcConnectionFactory,
+                                   StatementThrottle throttle
 
 
 
 
     ) {
-        super(jdbcTemplate
+        super(jdbcTemplate, jdbcConnectionFactory, throttle
 
 
 
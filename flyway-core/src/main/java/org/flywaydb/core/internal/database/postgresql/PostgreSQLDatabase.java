@@ -140,4 +140,8 @@ public class PostgreSQLDatabase extends Database<PostgreSQLConnection> {
         return true;
     }
 
-}
\ No newline at end of file
+    @Override
+    public boolean supportsParallelMigration() {
+        return true;
+    }
+}
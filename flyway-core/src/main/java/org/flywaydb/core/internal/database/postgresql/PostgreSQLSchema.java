@@ -82,44 +82,28 @@ public class PostgreSQLSchema extends Schema<PostgreSQLDatabase, PostgreSQLTable
 
 
 
-            for (String statement : generateDropStatementsForMaterializedViews()) {
-                jdbcTemplate.execute(statement);
-            }
+            jdbcTemplate.executeBatch(generateDropStatementsForMaterializedViews());
 
 
 
 
-        for (String statement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForViews());
 
         for (Table table : allTables()) {
             table.drop();
         }
 
-        for (String statement : generateDropStatementsForBaseTypes(true)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForBaseTypes(true));
 
-        for (String statement : generateDropStatementsForRoutines()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForRoutines());
 
-        for (String statement : generateDropStatementsForEnums()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForEnums());
 
-        for (String statement : generateDropStatementsForDomains()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForDomains());
 
-        for (String statement : generateDropStatementsForSequences()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForSequences());
 
-        for (String statement : generateDropStatementsForBaseTypes(false)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForBaseTypes(false));
     }
 
     /**
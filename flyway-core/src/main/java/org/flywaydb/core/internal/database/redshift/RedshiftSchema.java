@@ -65,17 +65,13 @@ public class RedshiftSchema extends Schema<RedshiftDatabase, RedshiftTable> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (String statement : generateDropStatementsForViews()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForViews());
 
         for (Table table : allTables()) {
             table.drop();
         }
 
-        for (String statement : generateDropStatementsForRoutines()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatementsForRoutines());
     }
 
     /**
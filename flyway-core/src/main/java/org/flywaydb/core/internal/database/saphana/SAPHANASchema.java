@@ -65,21 +65,13 @@ public class SAPHANASchema extends Schema<SAPHANADatabase, SAPHANATable> {
 
     @Override
     protected void doClean() throws SQLException {
-        for (String dropStatement : generateDropStatements("SYNONYM")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatements("SYNONYM"));
 
-        for (String dropStatement : generateDropStatements("VIEW")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatements("VIEW"));
 
-        for (String dropStatement : generateDropStatements("TABLE")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatements("TABLE"));
 
-        for (String dropStatement : generateDropStatements("SEQUENCE")) {
-            jdbcTemplate.execute(dropStatement);
-        }
+        jdbcTemplate.executeBatch(generateDropStatements("SEQUENCE"));
     }
 
     /**
@@ -18,10 +18,22 @@ package org.flywaydb.core.internal.database.sqlite;
 import org.flywaydb.core.internal.database.base.Connection;
 import org.flywaydb.core.internal.database.base.Schema;
 
+import java.sql.SQLException;
+
 /**
  * SQLite connection.
  */
 public class SQLiteConnection extends Connection<SQLiteDatabase> {
+    /**
+     * The synchronous setting to restore after the bulk-load profile.
+     */
+    private String originalSynchronous;
+
+    /**
+     * The journal mode to restore after the bulk-load profile. {@code null} if it wasn't changed.
+     */
+    private String originalJournalMode;
+
     SQLiteConnection(SQLiteDatabase database, java.sql.Connection connection) {
         super(database, connection);
     }
@@ -35,4 +47,29 @@ public class SQLiteConnection extends Connection<SQLiteDatabase> {
     protected String getCurrentSchemaNameOrSearchPath() {
         return "main";
     }
+
+    @Override
+    protected void doApplyBulkProfile() throws SQLException {
+        originalSynchronous = jdbcTemplate.queryForString("PRAGMA synchronous");
+        jdbcTemplate.execute("PRAGMA synchronous = OFF");
+
+        // WAL is persistent and already avoids most of the journal overhead, so it is left alone
+        String journalMode = jdbcTemplate.queryForString("PRAGMA journal_mode");
+        if (!"wal".equalsIgnoreCase(journalMode)) {
+            jdbcTemplate.queryForString("PRAGMA journal_mode = MEMORY");
+            originalJournalMode = journalMode;
+        }
+    }
+
+    @Override
+    protected void doRestoreBulkProfile() throws SQLException {
+        if (originalJournalMode != null) {
+            jdbcTemplate.queryForString("PRAGMA journal_mode = " + originalJournalMode);
+            originalJournalMode = null;
+        }
+        if (originalSynchronous != null) {
+            jdbcTemplate.execute("PRAGMA synchronous = " + originalSynchronous);
+            originalSynchronous = null;
+        }
+    }
 }
\ No newline at end of file
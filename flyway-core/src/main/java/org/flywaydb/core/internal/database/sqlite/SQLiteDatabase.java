@@ -17,15 +17,20 @@ package org.flywaydb.core.internal.database.sqlite;
 
 import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.internal.database.base.Database;
+import org.flywaydb.core.internal.database.base.SnapshottableDatabase;
 import org.flywaydb.core.internal.database.base.Table;
+import org.flywaydb.core.internal.exception.FlywaySqlException;
 import org.flywaydb.core.internal.jdbc.JdbcConnectionFactory;
+import org.flywaydb.core.internal.jdbc.Results;
 
+import java.io.File;
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * SQLite database.
  */
-public class SQLiteDatabase extends Database<SQLiteConnection> {
+public class SQLiteDatabase extends Database<SQLiteConnection> implements SnapshottableDatabase {
     /**
      * Creates a new instance.
      *
@@ -93,6 +98,11 @@ public class SQLiteDatabase extends Database<SQLiteConnection> {
         return false;
     }
 
+    @Override
+    public boolean supportsBulkProfile() {
+        return true;
+    }
+
 
 
 
@@ -124,4 +134,41 @@ public class SQLiteDatabase extends Database<SQLiteConnection> {
     public boolean useSingleConnection() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean canSnapshot() {
+        // Backup and restore are extensions of the Xerial driver, built on the SQLite online backup API
+        try {
+            return "SQLite JDBC".equals(jdbcMetaData.getDriverName());
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to determine the SQLite JDBC driver", e);
+        }
+    }
+
+    @Override
+    public void createSnapshot(File file) throws SQLException {
+        executeDriverCommand("backup to " + toLiteral(file));
+    }
+
+    @Override
+    public void restoreSnapshot(File file) throws SQLException {
+        executeDriverCommand("restore from " + toLiteral(file));
+    }
+
+    private void executeDriverCommand(String command) throws SQLException {
+        // Driver commands are only understood by plain statements
+        Results results = getMainConnection().getJdbcTemplate().executeStatement(command);
+        if (results.getException() != null) {
+            throw results.getException();
+        }
+    }
+
+    private static String toLiteral(File file) {
+        return "'" + file.getAbsolutePath().replace("'", "''") + "'";
+    }
+
+    @Override
+    public boolean supportsReset() {
+        return true;
+    }
+}
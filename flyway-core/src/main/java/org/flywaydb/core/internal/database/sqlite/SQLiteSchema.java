@@ -24,7 +24,9 @@ import org.flywaydb.core.internal.jdbc.JdbcTemplate;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * SQLite implementation of Schema.
@@ -100,6 +102,47 @@ public class SQLiteSchema extends Schema<SQLiteDatabase, SQLiteTable> {
         }
     }
 
+    @Override
+    protected boolean isResettable(SQLiteTable table) {
+        return !IGNORED_SYSTEM_TABLE_NAMES.contains(table.getName());
+    }
+
+    @Override
+    protected Map<String, String> doRecordSequences(List<SQLiteTable> tables) throws SQLException {
+        Map<String, String> sequenceValues = new HashMap<>();
+        if (getTable(SQLiteTable.SQLITE_SEQUENCE).exists()) {
+            for (Map<String, String> sequence : jdbcTemplate.queryForList("SELECT name, seq FROM "
+                    + database.quote(name, SQLiteTable.SQLITE_SEQUENCE))) {
+                sequenceValues.put(sequence.get("name"), sequence.get("seq"));
+            }
+        }
+        return sequenceValues;
+    }
+
+    @Override
+    protected void doReset(List<SQLiteTable> tables, Map<String, String> sequenceValues) throws SQLException {
+        // Foreign keys are only checked on commit, by which time the referencing tables have been emptied as well
+        jdbcTemplate.execute("PRAGMA " + database.quote(name) + ".defer_foreign_keys = ON");
+
+        List<String> deleteStatements = new ArrayList<>();
+        for (SQLiteTable table : tables) {
+            deleteStatements.add("DELETE FROM " + table);
+        }
+        jdbcTemplate.executeBatch(deleteStatements);
+
+        if (getTable(SQLiteTable.SQLITE_SEQUENCE).exists()) {
+            String sequenceTable = database.quote(name, SQLiteTable.SQLITE_SEQUENCE);
+            for (SQLiteTable table : tables) {
+                jdbcTemplate.execute("DELETE FROM " + sequenceTable + " WHERE name = ?", table.getName());
+                String value = sequenceValues.get(table.getName());
+                if (value != null) {
+                    jdbcTemplate.execute("INSERT INTO " + sequenceTable + " (name, seq) VALUES (?, ?)",
+                            table.getName(), value);
+                }
+            }
+        }
+    }
+
     @Override
     protected SQLiteTable[] doAllTables() throws SQLException {
         List<String> tableNames = jdbcTemplate.queryForStringList("SELECT tbl_name FROM " + database.quote(name) + ".sqlite_master WHERE type='table'");
@@ -212,4 +212,8 @@ public class SQLServerDatabase extends Database<SQLServerConnection> {
         return getMainConnection().isAzureConnection();
     }
 
-}
\ No newline at end of file
+    @Override
+    public boolean supportsParallelMigration() {
+        return true;
+    }
+}
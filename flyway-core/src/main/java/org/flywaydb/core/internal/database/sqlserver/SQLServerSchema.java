@@ -200,25 +200,15 @@ public class SQLServerSchema extends Schema<SQLServerDatabase, SQLServerTable> {
     protected void doClean() throws SQLException {
         List<DBObject> tables = queryDBObjects(ObjectType.USER_TABLE);
 
-        for (String statement : cleanTriggers()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanTriggers());
 
-        for (String statement : cleanForeignKeys(tables)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanForeignKeys(tables));
 
-        for (String statement : cleanDefaultConstraints(tables)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanDefaultConstraints(tables));
 
-        for (String statement : cleanUniqueConstraints(tables)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanUniqueConstraints(tables));
 
-        for (String statement : cleanIndexes(tables)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanIndexes(tables));
 
         // Use a 2-pass approach for cleaning computed columns and functions with SCHEMABINDING due to dependency errors
         // Pass 1
@@ -243,28 +233,20 @@ public class SQLServerSchema extends Schema<SQLServerDatabase, SQLServerTable> {
         }
 
         // Pass 2
-        for (String statement : cleanComputedColumns(tables)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanComputedColumns(tables));
 
-        for (String statement : cleanObjects("PROCEDURE",
+        jdbcTemplate.executeBatch(cleanObjects("PROCEDURE",
                 ObjectType.STORED_PROCEDURE,
-                ObjectType.CLR_STORED_PROCEDURE)) {
-            jdbcTemplate.execute(statement);
-        }
+                ObjectType.CLR_STORED_PROCEDURE));
 
-        for (String statement : cleanObjects("VIEW", ObjectType.VIEW)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanObjects("VIEW", ObjectType.VIEW));
 
-        for (String statement : cleanObjects("FUNCTION",
+        jdbcTemplate.executeBatch(cleanObjects("FUNCTION",
                 ObjectType.SCALAR_FUNCTION,
                 ObjectType.CLR_SCALAR_FUNCTION,
                 ObjectType.CLR_TABLE_VALUED_FUNCTION,
                 ObjectType.TABLE_VALUED_FUNCTION,
-                ObjectType.INLINED_TABLE_FUNCTION)) {
-            jdbcTemplate.execute(statement);
-        }
+                ObjectType.INLINED_TABLE_FUNCTION));
 
         SQLServerTable[] allTables = allTables();
         for (SQLServerTable table : allTables) {
@@ -274,40 +256,24 @@ public class SQLServerSchema extends Schema<SQLServerDatabase, SQLServerTable> {
             table.drop();
         }
 
-        for (String statement : cleanObjects("AGGREGATE", ObjectType.AGGREGATE)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanObjects("AGGREGATE", ObjectType.AGGREGATE));
 
-        for (String statement : cleanTypes()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanTypes());
 
-        for (String statement : cleanAssemblies()) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanAssemblies());
 
-        for (String statement : cleanObjects("SYNONYM", ObjectType.SYNONYM)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanObjects("SYNONYM", ObjectType.SYNONYM));
 
-        for (String statement : cleanObjects("RULE", ObjectType.RULE)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanObjects("RULE", ObjectType.RULE));
 
-        for (String statement : cleanObjects("DEFAULT", ObjectType.DEFAULT_CONSTRAINT)) {
-            jdbcTemplate.execute(statement);
-        }
+        jdbcTemplate.executeBatch(cleanObjects("DEFAULT", ObjectType.DEFAULT_CONSTRAINT));
 
 
 
 
-            for (String statement : cleanPartitionSchemes()) {
-                jdbcTemplate.execute(statement);
-            }
+            jdbcTemplate.executeBatch(cleanPartitionSchemes());
 
-            for (String statement : cleanPartitionFunctions()) {
-                jdbcTemplate.execute(statement);
-            }
+            jdbcTemplate.executeBatch(cleanPartitionFunctions());
 
 
 
@@ -315,9 +281,7 @@ public class SQLServerSchema extends Schema<SQLServerDatabase, SQLServerTable> {
 
 
 
-            for (String statement : cleanObjects("SEQUENCE", ObjectType.SEQUENCE_OBJECT)) {
-                jdbcTemplate.execute(statement);
-            }
+            jdbcTemplate.executeBatch(cleanObjects("SEQUENCE", ObjectType.SEQUENCE_OBJECT));
 
 
 
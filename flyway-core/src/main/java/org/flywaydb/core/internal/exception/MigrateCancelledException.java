@@ -0,0 +1,47 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.exception;
+
+import org.flywaydb.core.api.FlywayException;
+
+/**
+ * Thrown when a migration running in the background stops at a safe point after being cancelled.
+ */
+public class MigrateCancelledException extends FlywayException {
+    /**
+     * Creates a new MigrateCancelledException.
+     *
+     * @param message The safe point at which the migration stopped.
+     */
+    public MigrateCancelledException(String message) {
+        super(message);
+    }
+
+    /**
+     * Finds the cancellation behind this failure, as it may have been wrapped on its way up.
+     *
+     * @param failure The failure of the migration.
+     * @return The cancellation, or {@code null} if the migration failed for another reason.
+     */
+    public static MigrateCancelledException find(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MigrateCancelledException) {
+                return (MigrateCancelledException) cause;
+            }
+        }
+        return null;
+    }
+}
@@ -234,7 +234,7 @@ public class JdbcConnectionFactory {
      * @param url The raw url.
      * @return The filtered url.
      */
-    static String filterUrl(String url) {
+    public static String filterUrl(String url) {
         int questionMark = url.indexOf("?");
         if (questionMark >= 0 && !url.contains("?databaseName=")) {
             url = url.substring(0, questionMark);
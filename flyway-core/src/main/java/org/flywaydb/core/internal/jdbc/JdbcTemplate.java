@@ -15,12 +15,16 @@
  */
 package org.flywaydb.core.internal.jdbc;
 
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -32,6 +36,8 @@ import java.util.Map;
  * Collection of utility methods for querying the DB. Inspired by Spring's JdbcTemplate.
  */
 public class JdbcTemplate {
+    private static final Log LOG = LogFactory.getLog(JdbcTemplate.class);
+
     /**
      * The DB connection to use.
      */
@@ -227,6 +233,91 @@ public class JdbcTemplate {
         }
     }
 
+    /**
+     * Executes these sql statements, in order, as a single JDBC batch, falling back to executing them one by one when
+     * the batch fails. The statements which the batch didn't execute successfully are then executed again individually,
+     * so that the error reported is the one of the precise statement which failed.
+     * <p>When running within a transaction, the batch is guarded by a savepoint so that the transaction remains usable
+     * after a failed batch. Without savepoint support the statements are always executed one by one.</p>
+     *
+     * @param sqls The statements to execute. They must neither require parameters nor return results.
+     * @throws SQLException when the execution of one of the statements failed.
+     */
+    public void executeBatch(List<String> sqls) throws SQLException {
+        if (sqls.isEmpty()) {
+            return;
+        }
+        if (sqls.size() == 1 || !connection.getMetaData().supportsBatchUpdates()) {
+            executeOneByOne(sqls, null);
+            return;
+        }
+
+        Savepoint savepoint = null;
+        if (!connection.getAutoCommit()) {
+            if (!connection.getMetaData().supportsSavepoints()) {
+                executeOneByOne(sqls, null);
+                return;
+            }
+            savepoint = connection.setSavepoint();
+        }
+
+        int[] updateCounts;
+        Statement statement = null;
+        try {
+            statement = connection.createStatement();
+            for (String sql : sqls) {
+                statement.addBatch(sql);
+            }
+            statement.executeBatch();
+            if (savepoint != null) {
+                releaseSavepoint(savepoint);
+            }
+            return;
+        } catch (BatchUpdateException e) {
+            LOG.debug("Batch of " + sqls.size() + " statements failed, executing them one by one: " + e.getMessage());
+            updateCounts = e.getUpdateCounts();
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+
+        if (savepoint != null) {
+            try {
+                connection.rollback(savepoint);
+                // Everything executed by the batch has been undone
+                updateCounts = null;
+            } catch (SQLException e) {
+                // The statements were committed implicitly (non-transactional DDL), so the savepoint is gone
+                LOG.debug("Unable to roll back to savepoint after failed batch: " + e.getMessage());
+            }
+        }
+        executeOneByOne(sqls, updateCounts);
+    }
+
+    /**
+     * Executes these statements one by one, skipping those which already completed successfully as part of a batch.
+     *
+     * @param sqls         The statements to execute.
+     * @param updateCounts The update counts of the batch which already ran these statements. {@code null} if none did.
+     * @throws SQLException when the execution of one of the statements failed.
+     */
+    private void executeOneByOne(List<String> sqls, int[] updateCounts) throws SQLException {
+        for (int i = 0; i < sqls.size(); i++) {
+            if (updateCounts != null && i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED) {
+                continue;
+            }
+            execute(sqls.get(i));
+        }
+    }
+
+    private void releaseSavepoint(Savepoint savepoint) {
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            // Not all drivers support releasing savepoints. The savepoint is then released when the transaction ends.
+            LOG.debug("Unable to release savepoint: " + e.getMessage());
+        }
+    }
+
     /**
      * Executes this sql statement using an ordinary Statement.
      *
@@ -320,6 +411,38 @@ public class JdbcTemplate {
         }
     }
 
+    /**
+     * Executes this update sql statement once for each set of parameters, reusing a single prepared statement and
+     * sending all executions as one batch if the driver supports it.
+     *
+     * @param sql        The statement to execute.
+     * @param paramsList The statement parameters of each execution.
+     * @throws SQLException when the execution failed.
+     */
+    public void updateBatch(String sql, List<Object[]> paramsList) throws SQLException {
+        if (paramsList.isEmpty()) {
+            return;
+        }
+        boolean batch = paramsList.size() > 1 && connection.getMetaData().supportsBatchUpdates();
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql);
+            for (Object[] params : paramsList) {
+                setParams(statement, params);
+                if (batch) {
+                    statement.addBatch();
+                } else {
+                    statement.executeUpdate();
+                }
+            }
+            if (batch) {
+                statement.executeBatch();
+            }
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
     /**
      * Creates a new prepared statement for this sql with these params.
      *
@@ -330,6 +453,11 @@ public class JdbcTemplate {
      */
     private PreparedStatement prepareStatement(String sql, Object[] params) throws SQLException {
         PreparedStatement statement = connection.prepareStatement(sql);
+        setParams(statement, params);
+        return statement;
+    }
+
+    private void setParams(PreparedStatement statement, Object[] params) throws SQLException {
         for (int i = 0; i < params.length; i++) {
             if (params[i] == null) {
                 statement.setNull(i + 1, nullType);
@@ -341,7 +469,6 @@ public class JdbcTemplate {
                 statement.setString(i + 1, params[i].toString());
             }
         }
-        return statement;
     }
 
     /**
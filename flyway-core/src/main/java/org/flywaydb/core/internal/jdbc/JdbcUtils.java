@@ -100,6 +100,31 @@ public class JdbcUtils {
         }
     }
 
+    /**
+     * Makes the current schema of this additional connection the same as the one of the main connection, so
+     * unqualified names resolve to the same objects. This method never fails.
+     *
+     * @param from The main connection.
+     * @param to   The additional connection.
+     */
+    public static void copyCurrentSchema(Connection from, Connection to) {
+        try {
+            String catalog = from.getCatalog();
+            if (catalog != null && !catalog.equals(to.getCatalog())) {
+                to.setCatalog(catalog);
+            }
+            String schema = from.getSchema();
+            if (schema != null && !schema.equals(to.getSchema())) {
+                to.setSchema(schema);
+            }
+        } catch (SQLException e) {
+            LOG.debug("Unable to set the current schema of the additional connection: " + e.getMessage());
+        } catch (AbstractMethodError e) {
+            // Driver predating JDBC 4.1
+            LOG.debug("Unable to set the current schema of the additional connection: " + e.getMessage());
+        }
+    }
+
     /**
      * Safely closes this statement. This method never fails.
      *
@@ -55,6 +55,13 @@ public class VersionPrinter {
         // Do nothing.
     }
 
+    /**
+     * @return The version of Flyway.
+     */
+    public static String getVersion() {
+        return version;
+    }
+
     /**
      * Prints the Flyway version.
      */
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The database objects a repeatable migration touches, used to find out whether two repeatable migrations can be
+ * applied at the same time. Conflicts are declared by the migrations themselves, as the descriptions of the
+ * repeatable migrations they conflict with, and otherwise inferred from the names of the objects they create or modify
+ * and the names they refer to.
+ */
+public class MigrationFootprint {
+    /**
+     * The description of the repeatable migration.
+     */
+    private final String description;
+
+    /**
+     * The descriptions of the repeatable migrations this migration declares it conflicts with. {@code null} if it
+     * doesn't declare them.
+     */
+    private final Set<String> declaredConflicts;
+
+    /**
+     * The lowercase names of the objects this migration creates or modifies.
+     */
+    private final Set<String> modifiedObjects;
+
+    /**
+     * All lowercase names this migration refers to.
+     */
+    private final Set<String> names;
+
+    /**
+     * Creates a new footprint.
+     *
+     * @param description       The description of the repeatable migration.
+     * @param declaredConflicts The descriptions of the repeatable migrations this migration declares it conflicts
+     *                          with. {@code null} if it doesn't declare them.
+     * @param modifiedObjects   The lowercase names of the objects this migration creates or modifies.
+     * @param names             All lowercase names this migration refers to.
+     */
+    public MigrationFootprint(String description, Set<String> declaredConflicts, Set<String> modifiedObjects,
+                              Set<String> names) {
+        this.description = description;
+        this.declaredConflicts = declaredConflicts;
+        this.modifiedObjects = modifiedObjects;
+        this.names = names;
+    }
+
+    /**
+     * Checks whether this migration conflicts with this other one, and must therefore not be applied at the same time.
+     * They conflict when either declares the other as a conflict. When both declare their conflicts, only the
+     * declarations are considered. Otherwise they also conflict when one refers to an object the other one creates or
+     * modifies, or when the objects modified by either of them are unknown.
+     *
+     * @param other The other repeatable migration.
+     * @return {@code true} if they conflict, {@code false} if they are independent.
+     */
+    public boolean conflictsWith(MigrationFootprint other) {
+        if (declares(other.description) || other.declares(description)) {
+            return true;
+        }
+        if (declaredConflicts != null && other.declaredConflicts != null) {
+            return false;
+        }
+        if (modifiedObjects.isEmpty() || other.modifiedObjects.isEmpty()) {
+            return true;
+        }
+        return !Collections.disjoint(modifiedObjects, other.names)
+                || !Collections.disjoint(other.modifiedObjects, names);
+    }
+
+    private boolean declares(String otherDescription) {
+        return declaredConflicts != null && declaredConflicts.contains(otherDescription);
+    }
+}
@@ -20,6 +20,8 @@ import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.executor.MigrationExecutor;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Objects;
 
 /**
@@ -117,6 +119,50 @@ public class ResolvedMigrationImpl implements ResolvedMigration {
         return executor;
     }
 
+    /**
+     * @return The versions of the migrations this versioned migration depends on, as declared by the migration itself.
+     * {@code null} if it depends on all migrations with a lower version.
+     */
+    public MigrationVersion[] getDependencies() {
+        return null;
+    }
+
+    /**
+     * @return The database objects this repeatable migration touches. {@code null} if unknown, in which case it
+     * conflicts with all other repeatable migrations.
+     */
+    public MigrationFootprint getFootprint() {
+        return null;
+    }
+
+    /**
+     * @return Whether this migration should be applied with the bulk-load profile of the database, as declared by the
+     * migration itself. {@code null} if it doesn't declare it, in which case the configuration decides.
+     */
+    public Boolean getBulkProfile() {
+        return null;
+    }
+
+    /**
+     * @return Whether this migration relies on tables besides the ones it migrates, which must be created by
+     * {@link #prepare(Connection)} before the migrations are applied.
+     */
+    public boolean needsPreparation() {
+        return false;
+    }
+
+    /**
+     * Creates the tables this migration relies on besides the ones it migrates, such as its own state tables. This
+     * happens in a transaction of its own before the migrations are applied, just like the creation of the schema
+     * history table, so it never commits or breaks up the transaction of a migration.
+     *
+     * @param connection The connection to use, in the schema the migrations are applied to.
+     * @throws SQLException when the tables could not be created.
+     */
+    public void prepare(Connection connection) throws SQLException {
+        // Do nothing by default.
+    }
+
     public int compareTo(ResolvedMigrationImpl o) {
         return version.compareTo(o.version);
     }
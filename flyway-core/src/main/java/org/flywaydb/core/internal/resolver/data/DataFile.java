@@ -0,0 +1,353 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.data;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.util.IOUtils;
+import org.flywaydb.core.internal.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A data file, whose rows are streamed from its resource one at a time. The file starts with optional comment lines
+ * starting with {@code #}, followed by a header line naming the columns and then one line per row. The target table
+ * defaults to the description of the migration and can be set with a {@code # flyway:table=name} comment line:
+ * <pre>
+ * # flyway:table=countries
+ * code,name
+ * BE,Belgium
+ * "NL","The Netherlands"
+ * </pre>
+ * Fields are separated by commas in {@code .csv} files and by tabs in {@code .tsv} files. A field enclosed in double
+ * quotes may contain separators, line breaks and doubled double quotes. An empty unquoted field is {@code NULL}, an
+ * empty quoted field the empty string. Blank lines are ignored.
+ * <p>A repeatable data file can declare the columns identifying its rows with a {@code # flyway:key=column,...}
+ * comment line, so that its table is synchronized row by row instead of being replaced. A
+ * {@code # flyway:bulkProfile=true} comment line loads it with the bulk-load profile of the database.</p>
+ */
+public class DataFile implements Closeable {
+    private static final Pattern DIRECTIVE = Pattern.compile("#\\s*flyway:(\\w+)\\s*=\\s*(.*?)\\s*");
+    private static final String TABLE = "table";
+    private static final String KEY = "key";
+    private static final String BULK_PROFILE = "bulkProfile";
+
+    private final LoadableResource resource;
+    private final BufferedReader reader;
+    private final char separator;
+
+    /**
+     * The name of the table the rows are loaded into.
+     */
+    private String table;
+
+    /**
+     * The names of the columns, as declared in the header.
+     */
+    private String[] columns;
+
+    /**
+     * The names of the key columns, as declared in the key directive. {@code null} if none were declared.
+     */
+    private String[] keyColumns;
+
+    /**
+     * The positions of the key columns among the columns. {@code null} if none were declared.
+     */
+    private int[] key;
+
+    /**
+     * Whether the file should be loaded with the bulk-load profile of the database. {@code null} if it doesn't
+     * declare it.
+     */
+    private Boolean bulkProfile;
+
+    /**
+     * The line on which the last row read starts.
+     */
+    private int rowLineNumber;
+
+    /**
+     * The line currently being read.
+     */
+    private int lineNumber = 1;
+
+    /**
+     * The character read ahead. {@code -2} if none.
+     */
+    private int lookahead = -2;
+
+    private DataFile(LoadableResource resource, String defaultTable) {
+        this.resource = resource;
+        this.reader = new BufferedReader(resource.read());
+        this.separator = resource.getFilename().toLowerCase(Locale.ENGLISH).endsWith(".tsv") ? '\t' : ',';
+        this.table = defaultTable;
+    }
+
+    /**
+     * Opens this data file and reads its header.
+     *
+     * @param resource     The data file.
+     * @param defaultTable The table to load the rows into when the file doesn't declare one.
+     * @return The data file, positioned on its first row.
+     * @throws FlywayException when the header could not be read.
+     */
+    public static DataFile open(LoadableResource resource, String defaultTable) {
+        DataFile dataFile = new DataFile(resource, defaultTable);
+        try {
+            dataFile.readHeader();
+        } catch (IOException e) {
+            dataFile.close();
+            throw new FlywayException("Unable to read " + resource.getAbsolutePath(), e);
+        } catch (RuntimeException e) {
+            dataFile.close();
+            throw e;
+        }
+        return dataFile;
+    }
+
+    /**
+     * Opens this data file again, to read its rows a second time.
+     *
+     * @return The data file, positioned on its first row.
+     * @throws FlywayException when the header could not be read.
+     */
+    public DataFile reopen() {
+        return open(resource, table);
+    }
+
+    private void readHeader() throws IOException {
+        skipByteOrderMark();
+        while (peek() == '#' || peek() == '\r' || peek() == '\n') {
+            String line = readLine();
+            Matcher matcher = DIRECTIVE.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            if (TABLE.equals(matcher.group(1))) {
+                table = matcher.group(2);
+            } else if (KEY.equals(matcher.group(1))) {
+                keyColumns = StringUtils.tokenizeToStringArray(matcher.group(2), ",");
+            } else if (BULK_PROFILE.equals(matcher.group(1))) {
+                bulkProfile = Boolean.valueOf(matcher.group(2));
+            } else {
+                throw new FlywayException("Unknown directive " + matcher.group(1) + " at line " + (lineNumber - 1)
+                        + " of " + resource.getAbsolutePath() + " (supported: " + TABLE + ", " + KEY + ", "
+                        + BULK_PROFILE + ")");
+            }
+        }
+        if (!StringUtils.hasText(table)) {
+            throw new FlywayException("No table to load " + resource.getAbsolutePath()
+                    + " into. Declare it with a '# flyway:" + TABLE + "=name' line.");
+        }
+        columns = readRow();
+        if (columns == null) {
+            throw new FlywayException("Missing header line with the column names in " + resource.getAbsolutePath());
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (!StringUtils.hasText(columns[i])) {
+                throw new FlywayException("Column " + (i + 1) + " of the header of " + resource.getAbsolutePath()
+                        + " has no name");
+            }
+            columns[i] = columns[i].trim();
+        }
+        if (keyColumns != null) {
+            key = findKey();
+        }
+    }
+
+    private int[] findKey() {
+        if (keyColumns.length == 0) {
+            throw new FlywayException("Empty " + KEY + " directive in " + resource.getAbsolutePath());
+        }
+        int[] positions = new int[keyColumns.length];
+        for (int k = 0; k < keyColumns.length; k++) {
+            positions[k] = -1;
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i].equalsIgnoreCase(keyColumns[k])) {
+                    positions[k] = i;
+                }
+            }
+            if (positions[k] < 0) {
+                throw new FlywayException("Key column " + keyColumns[k] + " of " + resource.getAbsolutePath()
+                        + " is missing from its header");
+            }
+        }
+        return positions;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (peek() == '\uFEFF') {
+            read();
+        }
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * @return The name of the data file.
+     */
+    public String getFilename() {
+        return resource.getFilename();
+    }
+
+    /**
+     * @return The name of the table the rows are loaded into.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return The names of the columns, as declared in the header.
+     */
+    public String[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return The positions of the columns identifying a row among the columns. {@code null} if the file doesn't
+     * declare them.
+     */
+    public int[] getKey() {
+        return key;
+    }
+
+    /**
+     * @return Whether the file should be loaded with the bulk-load profile of the database. {@code null} if it doesn't
+     * declare it.
+     */
+    public Boolean getBulkProfile() {
+        return bulkProfile;
+    }
+
+    /**
+     * @return The line on which the last row read starts.
+     */
+    public int getRowLineNumber() {
+        return rowLineNumber;
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return The values of its fields, in the order of the columns. {@code null} for {@code NULL} values. {@code null}
+     * if the end of the file has been reached.
+     * @throws FlywayException when the row could not be read or doesn't have a value for each column.
+     */
+    public String[] next() {
+        String[] row;
+        try {
+            row = readRow();
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read " + resource.getAbsolutePath(), e);
+        }
+        if (row != null && row.length != columns.length) {
+            throw new FlywayException("Line " + rowLineNumber + " of " + resource.getAbsolutePath() + " has "
+                    + row.length + " fields, but the header declares " + columns.length + " columns");
+        }
+        return row;
+    }
+
+    private String[] readRow() throws IOException {
+        while (true) {
+            if (peek() == -1) {
+                return null;
+            }
+            rowLineNumber = lineNumber;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int c;
+            while ((c = read()) != -1 && c != '\n') {
+                if (c == '"' && !quoted && field.length() == 0) {
+                    quoted = true;
+                    readQuoted(field);
+                } else if (c == separator) {
+                    fields.add(toValue(field, quoted));
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            // Blank line
+            if (fields.isEmpty() && field.length() == 0 && !quoted) {
+                continue;
+            }
+            fields.add(toValue(field, quoted));
+            return fields.toArray(new String[0]);
+        }
+    }
+
+    private void readQuoted(StringBuilder field) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new FlywayException("Unterminated quoted field starting at line " + rowLineNumber + " of "
+                        + resource.getAbsolutePath());
+            }
+            if (c == '"') {
+                if (peek() != '"') {
+                    return;
+                }
+                read();
+            }
+            field.append((char) c);
+        }
+    }
+
+    private static String toValue(StringBuilder field, boolean quoted) {
+        return field.length() == 0 && !quoted ? null : field.toString();
+    }
+
+    private int peek() throws IOException {
+        if (lookahead == -2) {
+            lookahead = reader.read();
+        }
+        return lookahead;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        lookahead = -2;
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    @Override
+    public void close() {
+        IOUtils.close(reader);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.data;
+
+import org.flywaydb.core.api.executor.Context;
+import org.flywaydb.core.api.executor.MigrationExecutor;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.jdbc.JdbcUtils;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Database migration loading the rows of a data file into its table using batched inserts. The rows are streamed
+ * from the file, so memory use doesn't depend on its size. A repeatable data migration replaces the whole contents of
+ * its table, unless it declares a key, in which case only the rows which changed since it was last applied are
+ * written.
+ */
+public class DataMigrationExecutor implements MigrationExecutor {
+    private static final Log LOG = LogFactory.getLog(DataMigrationExecutor.class);
+
+    /**
+     * The data file to load.
+     */
+    private final LoadableResource resource;
+
+    /**
+     * The table to load the rows into when the file doesn't declare one.
+     */
+    private final String defaultTable;
+
+    /**
+     * Whether the current contents of the table should be deleted first.
+     */
+    private final boolean replace;
+
+    /**
+     * Creates a new data file migration.
+     *
+     * @param resource     The data file to load.
+     * @param defaultTable The table to load the rows into when the file doesn't declare one.
+     * @param replace      Whether the current contents of the table should be deleted first.
+     */
+    DataMigrationExecutor(LoadableResource resource, String defaultTable, boolean replace) {
+        this.resource = resource;
+        this.defaultTable = defaultTable;
+        this.replace = replace;
+    }
+
+    @Override
+    public void execute(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        DataFile dataFile = DataFile.open(resource, defaultTable);
+        try {
+            int[] types = getColumnTypes(connection, dataFile.getTable(), dataFile.getColumns());
+            if (replace && dataFile.getKey() != null) {
+                new DataSync(connection, DataSync.getStateTable(context.getConfiguration()),
+                        resource.getRelativePath(), dataFile, types).sync();
+                return;
+            }
+            if (replace) {
+                deleteAll(connection, dataFile.getTable());
+            }
+            int rows = insertAll(connection, dataFile, types);
+            LOG.debug("Loaded " + rows + " rows from " + resource.getFilename() + " into " + dataFile.getTable());
+        } finally {
+            dataFile.close();
+        }
+    }
+
+    /**
+     * Deletes all rows of this table.
+     */
+    static void deleteAll(Connection connection, String table) throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            statement.executeUpdate("DELETE FROM " + table);
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    /**
+     * Inserts all remaining rows of this data file into its table.
+     *
+     * @return The number of rows inserted.
+     */
+    private static int insertAll(Connection connection, DataFile dataFile, int[] types) throws SQLException {
+        RowBatch insert = createInsert(connection, dataFile, types);
+        try {
+            String[] row;
+            while ((row = dataFile.next()) != null) {
+                insert.add(row, dataFile.getRowLineNumber());
+            }
+            insert.flush();
+            return insert.getRows();
+        } finally {
+            insert.close();
+        }
+    }
+
+    /**
+     * Prepares the batch inserting the rows of this data file into its table.
+     */
+    static RowBatch createInsert(Connection connection, DataFile dataFile, int[] types) throws SQLException {
+        String[] columns = dataFile.getColumns();
+        String[] parameters = new String[columns.length];
+        Arrays.fill(parameters, "?");
+        int[] positions = new int[columns.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        return new RowBatch(connection, "INSERT INTO " + dataFile.getTable()
+                + " (" + StringUtils.arrayToCommaDelimitedString(columns) + ")"
+                + " VALUES (" + StringUtils.arrayToCommaDelimitedString(parameters) + ")",
+                "insert", dataFile.getFilename(), columns, types, positions);
+    }
+
+    /**
+     * Retrieves the SQL types of these columns of this table, so that each value can be bound with the type the
+     * database expects instead of relying on implicit conversions from strings, which not all databases support.
+     */
+    static int[] getColumnTypes(Connection connection, String table, String[] columns) throws SQLException {
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = null;
+        try {
+            resultSet = statement.executeQuery("SELECT " + StringUtils.arrayToCommaDelimitedString(columns)
+                    + " FROM " + table + " WHERE 1 = 0");
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int[] types = new int[columns.length];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = metaData.getColumnType(i + 1);
+            }
+            return types;
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+}
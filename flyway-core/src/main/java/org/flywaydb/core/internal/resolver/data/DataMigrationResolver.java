@@ -0,0 +1,178 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.data;
+
+import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.resolver.Context;
+import org.flywaydb.core.api.resolver.MigrationResolver;
+import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.MigrationFootprint;
+import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
+import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
+import org.flywaydb.core.internal.resolver.sql.SqlObjectNames;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.resource.ResourceProvider;
+import org.flywaydb.core.internal.util.Pair;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Migration resolver for data files on the classpath. The data files must have names like V1__Description.csv,
+ * V1_1__Description.tsv or R__description.csv, using the same prefixes and separator as SQL migrations. It is only
+ * used when data migrations are enabled with the {@code dataMigrations} property.
+ *
+ * @see DataFile
+ */
+public class DataMigrationResolver implements MigrationResolver {
+    /**
+     * The suffixes of data files.
+     */
+    public static final String[] SUFFIXES = {".csv", ".tsv"};
+
+    /**
+     * The resource provider to use.
+     */
+    private final ResourceProvider resourceProvider;
+
+    /**
+     * The Flyway configuration.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param resourceProvider The Scanner for loading migrations on the classpath.
+     * @param configuration    The Flyway configuration.
+     */
+    public DataMigrationResolver(ResourceProvider resourceProvider, Configuration configuration) {
+        this.resourceProvider = resourceProvider;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public List<ResolvedMigration> resolveMigrations(Context context) {
+        List<ResolvedMigration> migrations = new ArrayList<>();
+        addMigrations(migrations, configuration.getSqlMigrationPrefix(), false);
+        addMigrations(migrations, configuration.getRepeatableSqlMigrationPrefix(), true);
+        Collections.sort(migrations, new ResolvedMigrationComparator());
+        return migrations;
+    }
+
+    private void addMigrations(List<ResolvedMigration> migrations, String prefix, boolean repeatable) {
+        Collection<LoadableResource> resources = resourceProvider.getResources(prefix, SUFFIXES);
+        LoadableResource.calculateChecksums(resources);
+
+        for (final LoadableResource resource : resources) {
+            Pair<MigrationVersion, String> info = MigrationInfoHelper.extractVersionAndDescription(
+                    resource.getFilename(), prefix, configuration.getSqlMigrationSeparator(), SUFFIXES, repeatable);
+            final String defaultTable = info.getRight().replace(' ', '_');
+
+            migrations.add(new ResolvedMigrationImpl(
+                    info.getLeft(),
+                    info.getRight(),
+                    resource.getRelativePath(),
+                    resource.checksum(),
+                    MigrationType.DATA,
+                    resource.getAbsolutePathOnDisk(),
+                    new DataMigrationExecutor(resource, defaultTable, repeatable)) {
+                private MigrationFootprint footprint;
+                private boolean bulkProfileRead;
+                private Boolean bulkProfile;
+                private Boolean keyed;
+
+                @Override
+                public void validate() {
+                    // Do nothing by default.
+                }
+
+                @Override
+                public synchronized Boolean getBulkProfile() {
+                    if (!bulkProfileRead) {
+                        DataFile dataFile = DataFile.open(resource, defaultTable);
+                        try {
+                            bulkProfile = dataFile.getBulkProfile();
+                        } finally {
+                            dataFile.close();
+                        }
+                        bulkProfileRead = true;
+                    }
+                    return bulkProfile;
+                }
+
+                @Override
+                public synchronized boolean needsPreparation() {
+                    if (getVersion() != null) {
+                        return false;
+                    }
+                    if (keyed == null) {
+                        DataFile dataFile = DataFile.open(resource, defaultTable);
+                        try {
+                            keyed = dataFile.getKey() != null;
+                        } finally {
+                            dataFile.close();
+                        }
+                    }
+                    return keyed;
+                }
+
+                @Override
+                public void prepare(Connection connection) throws SQLException {
+                    if (needsPreparation()) {
+                        DataSync.createStateTableIfNotExists(connection, DataSync.getStateTable(configuration));
+                    }
+                }
+
+                @Override
+                public synchronized MigrationFootprint getFootprint() {
+                    if (getVersion() != null) {
+                        return null;
+                    }
+                    if (footprint == null) {
+                        footprint = readFootprint(resource, defaultTable, getDescription());
+                    }
+                    return footprint;
+                }
+            });
+        }
+    }
+
+    /**
+     * A repeatable data migration only modifies its table and refers to nothing else. When it declares a key, it also
+     * modifies the rows of the shared state table.
+     */
+    private MigrationFootprint readFootprint(LoadableResource resource, String defaultTable, String description) {
+        DataFile dataFile = DataFile.open(resource, defaultTable);
+        try {
+            Set<String> tables = SqlObjectNames.getModifiedObjects("DELETE FROM " + dataFile.getTable());
+            if (dataFile.getKey() != null) {
+                tables.addAll(SqlObjectNames.getModifiedObjects("DELETE FROM " + DataSync.getStateTable(configuration)));
+            }
+            return new MigrationFootprint(description, null, tables, tables);
+        } finally {
+            dataFile.close();
+        }
+    }
+}
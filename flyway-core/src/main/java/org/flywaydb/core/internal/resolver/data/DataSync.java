@@ -0,0 +1,381 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.data;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.jdbc.JdbcUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Synchronizes the table of a repeatable data file declaring a key with the rows of the file, by only inserting,
+ * updating and deleting the rows which changed since it was last applied. To find them, the key and a hash of each
+ * row are stored in a state table next to the schema history table when the file is applied. This table is created
+ * before the migrations are applied, by {@link #createStateTableIfNotExists(Connection, String)}. The first time, or
+ * after the state was lost, the contents of the table are replaced instead. Changes made to the table by anything
+ * else than this migration are not detected.
+ */
+class DataSync {
+    private static final Log LOG = LogFactory.getLog(DataSync.class);
+
+    /**
+     * The maximum length of the stored keys.
+     */
+    private static final int MAX_KEY_LENGTH = 1000;
+
+    private final Connection connection;
+    private final String stateTable;
+    private final String migration;
+    private final DataFile dataFile;
+    private final int[] types;
+
+    /**
+     * Creates a new synchronization.
+     *
+     * @param connection The connection to use.
+     * @param stateTable The table storing the keys and hashes of the rows applied before.
+     * @param migration  The script of the migration, identifying its rows in the state table.
+     * @param dataFile   The data file, positioned on its first row.
+     * @param types      The SQL types of the columns of the data file.
+     */
+    DataSync(Connection connection, String stateTable, String migration, DataFile dataFile, int[] types) {
+        this.connection = connection;
+        this.stateTable = stateTable;
+        this.migration = migration;
+        this.dataFile = dataFile;
+        this.types = types;
+    }
+
+    /**
+     * @param configuration The Flyway configuration.
+     * @return The table storing the keys and hashes of the rows of the repeatable data files declaring a key.
+     */
+    static String getStateTable(Configuration configuration) {
+        return configuration.getTable() + "_rows";
+    }
+
+    /**
+     * Synchronizes the table with the data file. Removed rows are deleted first, so that they can't conflict with the
+     * rows inserted or updated afterwards.
+     *
+     * @throws SQLException when the table could not be synchronized.
+     */
+    void sync() throws SQLException {
+        Map<String, Long> previous = readState();
+        int deleted;
+        if (previous.isEmpty()) {
+            LOG.debug("No previous state for " + migration + ". Replacing the contents of " + dataFile.getTable());
+            DataMigrationExecutor.deleteAll(connection, dataFile.getTable());
+            deleted = 0;
+        } else {
+            deleted = deleteRemovedRows(previous);
+        }
+
+        String[] columns = dataFile.getColumns();
+        int[] key = dataFile.getKey();
+        int[] values = getValueColumns(columns.length, key);
+        RowBatch insert = DataMigrationExecutor.createInsert(connection, dataFile, types);
+        RowBatch update = values.length == 0 ? null : new RowBatch(connection,
+                "UPDATE " + dataFile.getTable() + " SET " + toCondition(columns, values, ", ")
+                        + " WHERE " + toCondition(columns, key, " AND "),
+                "update", dataFile.getFilename(), columns, types, concat(values, key));
+        StateBatch insertState = new StateBatch(
+                "INSERT INTO " + stateTable + " (migration, row_key, row_hash) VALUES (?, ?, ?)");
+        StateBatch updateState = new StateBatch(
+                "UPDATE " + stateTable + " SET row_hash = ? WHERE migration = ? AND row_key = ?");
+        try {
+            Set<String> seen = new HashSet<>();
+            int unchanged = 0;
+            String[] row;
+            while ((row = dataFile.next()) != null) {
+                String rowKey = encodeKey(dataFile, row);
+                if (!seen.add(rowKey)) {
+                    throw new FlywayException("Duplicate key at line " + dataFile.getRowLineNumber() + " of "
+                            + dataFile.getFilename());
+                }
+                long hash = hash(columns, row);
+                Long previousHash = previous.get(rowKey);
+                if (previousHash == null) {
+                    insert.add(row, dataFile.getRowLineNumber());
+                    insertState.add(migration, rowKey, hash);
+                } else if (previousHash != hash && update != null) {
+                    update.add(row, dataFile.getRowLineNumber());
+                    updateState.add(hash, migration, rowKey);
+                } else {
+                    unchanged++;
+                }
+            }
+            insert.flush();
+            insertState.flush();
+            if (update != null) {
+                update.flush();
+            }
+            updateState.flush();
+
+            LOG.debug("Synchronized " + dataFile.getTable() + " with " + dataFile.getFilename() + ": "
+                    + insert.getRows() + " inserted, " + (update == null ? 0 : update.getRows()) + " updated, "
+                    + deleted + " deleted, " + unchanged + " unchanged");
+        } finally {
+            insert.close();
+            if (update != null) {
+                update.close();
+            }
+            insertState.close();
+            updateState.close();
+        }
+    }
+
+    /**
+     * Deletes the rows applied before which are no longer part of the data file, reading the file a first time to
+     * find them.
+     *
+     * @param previous The hashes of the rows applied before, by key. The deleted rows are removed from it.
+     * @return The number of rows deleted.
+     */
+    private int deleteRemovedRows(Map<String, Long> previous) throws SQLException {
+        Set<String> removed = new HashSet<>(previous.keySet());
+        DataFile keys = dataFile.reopen();
+        try {
+            String[] row;
+            while ((row = keys.next()) != null) {
+                removed.remove(encodeKey(keys, row));
+            }
+        } finally {
+            keys.close();
+        }
+
+        String[] columns = dataFile.getColumns();
+        int[] key = dataFile.getKey();
+        RowBatch delete = new RowBatch(connection,
+                "DELETE FROM " + dataFile.getTable() + " WHERE " + toCondition(columns, key, " AND "),
+                "delete", dataFile.getFilename(), columns, types, key);
+        StateBatch deleteState = new StateBatch("DELETE FROM " + stateTable + " WHERE migration = ? AND row_key = ?");
+        try {
+            for (String rowKey : removed) {
+                delete.add(decodeKey(rowKey, key, columns.length), 0);
+                deleteState.add(migration, rowKey);
+                previous.remove(rowKey);
+            }
+            delete.flush();
+            deleteState.flush();
+            return delete.getRows();
+        } finally {
+            delete.close();
+            deleteState.close();
+        }
+    }
+
+    /**
+     * Creates the state table unless it already exists. Its existence is checked using the metadata, as a failed
+     * query would abort the surrounding transaction on some databases. This must happen in a transaction of its own
+     * before the migration, as on databases without transactional DDL creating the table commits the migration
+     * transaction.
+     *
+     * @param connection The connection to use.
+     * @param stateTable The name of the state table.
+     * @throws SQLException when the table could not be created.
+     */
+    static void createStateTableIfNotExists(Connection connection, String stateTable) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String schema = getCurrentSchema(connection);
+        for (String name : new String[]{stateTable, stateTable.toUpperCase(Locale.ENGLISH),
+                stateTable.toLowerCase(Locale.ENGLISH)}) {
+            ResultSet resultSet = metaData.getTables(connection.getCatalog(), schema, name, null);
+            try {
+                if (resultSet.next()) {
+                    return;
+                }
+            } finally {
+                JdbcUtils.closeResultSet(resultSet);
+            }
+        }
+
+        LOG.debug("Creating data sync state table " + stateTable + " ...");
+        Statement statement = connection.createStatement();
+        try {
+            // Only use types every supported database understands
+            statement.execute("CREATE TABLE " + stateTable + " (migration VARCHAR(255) NOT NULL,"
+                    + " row_key VARCHAR(" + MAX_KEY_LENGTH + ") NOT NULL, row_hash DECIMAL(19) NOT NULL)");
+        } finally {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+
+    /**
+     * @return The current schema of the connection. {@code null} if the driver can't tell.
+     */
+    private static String getCurrentSchema(Connection connection) {
+        try {
+            return connection.getSchema();
+        } catch (SQLException | AbstractMethodError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The hashes of the rows applied before, by key.
+     */
+    private Map<String, Long> readState() throws SQLException {
+        Map<String, Long> state = new HashMap<>();
+        PreparedStatement statement = connection.prepareStatement(
+                "SELECT row_key, row_hash FROM " + stateTable + " WHERE migration = ?");
+        ResultSet resultSet = null;
+        try {
+            statement.setString(1, migration);
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                state.put(resultSet.getString(1), resultSet.getLong(2));
+            }
+        } finally {
+            JdbcUtils.closeResultSet(resultSet);
+            JdbcUtils.closeStatement(statement);
+        }
+        return state;
+    }
+
+    /**
+     * Encodes the key of this row as the length and text of each of its values, so that it can be decoded again to
+     * delete the row once it is removed from the file.
+     */
+    private static String encodeKey(DataFile dataFile, String[] row) {
+        StringBuilder encoded = new StringBuilder();
+        for (int position : dataFile.getKey()) {
+            String value = row[position];
+            if (value == null) {
+                throw new FlywayException("Key column " + dataFile.getColumns()[position] + " is empty at line "
+                        + dataFile.getRowLineNumber() + " of " + dataFile.getFilename());
+            }
+            encoded.append(value.length()).append(':').append(value);
+        }
+        if (encoded.length() > MAX_KEY_LENGTH) {
+            throw new FlywayException("Key at line " + dataFile.getRowLineNumber() + " of " + dataFile.getFilename()
+                    + " is longer than " + MAX_KEY_LENGTH + " characters");
+        }
+        return encoded.toString();
+    }
+
+    private static String[] decodeKey(String encoded, int[] key, int columnCount) {
+        String[] row = new String[columnCount];
+        int start = 0;
+        for (int position : key) {
+            int separator = encoded.indexOf(':', start);
+            int length = Integer.parseInt(encoded.substring(start, separator));
+            row[position] = encoded.substring(separator + 1, separator + 1 + length);
+            start = separator + 1 + length;
+        }
+        return row;
+    }
+
+    /**
+     * Hashes the columns and values of this row, so that a row is also written again when the columns of the file
+     * change.
+     */
+    private static long hash(String[] columns, String[] row) {
+        CRC32 crc32 = new CRC32();
+        for (int i = 0; i < row.length; i++) {
+            crc32.update(columns[i].toLowerCase(Locale.ENGLISH).getBytes(StandardCharsets.UTF_8));
+            crc32.update(row[i] == null ? "\u0000".getBytes(StandardCharsets.UTF_8)
+                    : (row[i].length() + ":" + row[i]).getBytes(StandardCharsets.UTF_8));
+        }
+        return crc32.getValue();
+    }
+
+    private static int[] getValueColumns(int columnCount, int[] key) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            boolean isKey = false;
+            for (int position : key) {
+                isKey |= position == i;
+            }
+            if (!isKey) {
+                values.add(i);
+            }
+        }
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static String toCondition(String[] columns, int[] positions, String separator) {
+        StringBuilder condition = new StringBuilder();
+        for (int i = 0; i < positions.length; i++) {
+            if (i > 0) {
+                condition.append(separator);
+            }
+            condition.append(columns[positions[i]]).append(" = ?");
+        }
+        return condition.toString();
+    }
+
+    /**
+     * A statement on the state table executed in batches.
+     */
+    private class StateBatch {
+        private final PreparedStatement statement;
+        private int batchRows;
+
+        StateBatch(String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++batchRows == RowBatch.BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (batchRows > 0) {
+                statement.executeBatch();
+                batchRows = 0;
+            }
+        }
+
+        void close() {
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+}
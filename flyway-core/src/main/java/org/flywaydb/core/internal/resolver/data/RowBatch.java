@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.data;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.exception.FlywaySqlException;
+import org.flywaydb.core.internal.jdbc.JdbcUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * A prepared statement executed in batches for the rows of a data file. Each value is bound with the type of its
+ * column as reported by the database, instead of relying on implicit conversions from strings, which not all
+ * databases support.
+ */
+class RowBatch {
+    /**
+     * The number of rows per batch.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private final PreparedStatement statement;
+    private final String action;
+    private final String filename;
+    private final String[] columns;
+    private final int[] types;
+
+    /**
+     * The positions, among the columns, of the values bound to each parameter.
+     */
+    private final int[] parameters;
+
+    private int rows;
+    private int batchRows;
+    private int batchFirstLine;
+    private int batchLastLine;
+
+    /**
+     * Prepares a new batch.
+     *
+     * @param connection The connection to use.
+     * @param sql        The SQL statement.
+     * @param action     What the statement does, for error messages, e.g. insert.
+     * @param filename   The name of the data file, for error messages.
+     * @param columns    The names of the columns of the data file.
+     * @param types      The SQL types of the columns of the data file.
+     * @param parameters The positions, among the columns, of the values bound to each parameter.
+     * @throws SQLException when the statement could not be prepared.
+     */
+    RowBatch(Connection connection, String sql, String action, String filename, String[] columns, int[] types,
+             int[] parameters) throws SQLException {
+        this.statement = connection.prepareStatement(sql);
+        this.action = action;
+        this.filename = filename;
+        this.columns = columns;
+        this.types = types;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Adds this row to the batch, executing it once it is full.
+     *
+     * @param row        The values of the row, in the order of the columns.
+     * @param lineNumber The line on which the row starts. {@code 0} if the row doesn't come from the file.
+     * @throws SQLException when the values could not be bound.
+     */
+    void add(String[] row, int lineNumber) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            bind(i + 1, parameters[i], row[parameters[i]], lineNumber);
+        }
+        statement.addBatch();
+        rows++;
+        if (batchRows++ == 0) {
+            batchFirstLine = lineNumber;
+        }
+        batchLastLine = lineNumber;
+        if (batchRows == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Executes the rows added since the last execution.
+     */
+    void flush() {
+        if (batchRows == 0) {
+            return;
+        }
+        try {
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to " + action + " the rows "
+                    + (batchFirstLine > 0 ? "at lines " + batchFirstLine + " to " + batchLastLine + " " : "")
+                    + "of " + filename, e);
+        }
+        batchRows = 0;
+    }
+
+    /**
+     * @return The number of rows added so far.
+     */
+    int getRows() {
+        return rows;
+    }
+
+    void close() {
+        JdbcUtils.closeStatement(statement);
+    }
+
+    private void bind(int index, int column, String value, int lineNumber) throws SQLException {
+        int type = types[column];
+        if (value == null) {
+            statement.setNull(index, type);
+            return;
+        }
+        try {
+            switch (type) {
+                case Types.BIT:
+                case Types.BOOLEAN:
+                    statement.setBoolean(index, "true".equalsIgnoreCase(value) || "1".equals(value));
+                    break;
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                    statement.setBigDecimal(index, new BigDecimal(value.trim()));
+                    break;
+                case Types.DATE:
+                    statement.setDate(index, Date.valueOf(value.trim()));
+                    break;
+                case Types.TIME:
+                    statement.setTime(index, Time.valueOf(value.trim()));
+                    break;
+                case Types.TIMESTAMP:
+                    statement.setTimestamp(index, Timestamp.valueOf(value.trim().replace('T', ' ')));
+                    break;
+                default:
+                    statement.setString(index, value);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new FlywayException("Invalid value for column " + columns[column]
+                    + (lineNumber > 0 ? " at line " + lineNumber : "") + " of " + filename + ": " + value, e);
+        }
+    }
+}
@@ -67,4 +67,11 @@ public class JavaMigrationExecutor implements MigrationExecutor {
     public boolean canExecuteInTransaction() {
         return javaMigration.canExecuteInTransaction();
     }
+
+    /**
+     * @return The JavaMigration to execute.
+     */
+    JavaMigration getJavaMigration() {
+        return javaMigration;
+    }
 }
\ No newline at end of file
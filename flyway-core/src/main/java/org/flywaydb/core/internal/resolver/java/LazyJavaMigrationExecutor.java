@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.java;
+
+import org.flywaydb.core.api.executor.Context;
+import org.flywaydb.core.api.executor.MigrationExecutor;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.flywaydb.core.internal.util.ClassUtils;
+
+import java.sql.SQLException;
+
+/**
+ * Adapter for executing migrations implementing JavaMigration, which only loads and instantiates the migration class
+ * once it is actually needed.
+ */
+public class LazyJavaMigrationExecutor implements MigrationExecutor {
+    /**
+     * The name of the JavaMigration class.
+     */
+    private final String className;
+
+    /**
+     * The ClassLoader to load the JavaMigration class with.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * The executor for the JavaMigration, once it has been instantiated.
+     */
+    private JavaMigrationExecutor delegate;
+
+    /**
+     * Creates a new LazyJavaMigrationExecutor.
+     *
+     * @param className   The name of the JavaMigration class.
+     * @param classLoader The ClassLoader to load the JavaMigration class with.
+     */
+    LazyJavaMigrationExecutor(String className, ClassLoader classLoader) {
+        this.className = className;
+        this.classLoader = classLoader;
+    }
+
+    private synchronized JavaMigrationExecutor getDelegate() {
+        if (delegate == null) {
+            JavaMigration javaMigration = ClassUtils.instantiate(className, classLoader);
+            delegate = new JavaMigrationExecutor(javaMigration);
+        }
+        return delegate;
+    }
+
+    @Override
+    public void execute(Context context) throws SQLException {
+        getDelegate().execute(context);
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return getDelegate().canExecuteInTransaction();
+    }
+
+    /**
+     * @return The JavaMigration to execute, which is loaded and instantiated if this hasn't happened yet.
+     */
+    JavaMigration getJavaMigration() {
+        return getDelegate().getJavaMigration();
+    }
+}
@@ -16,6 +16,7 @@
 package org.flywaydb.core.internal.resolver.java;
 
 import org.flywaydb.core.api.MigrationType;
+import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.migration.JavaMigration;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
 import org.flywaydb.core.internal.util.ClassUtils;
@@ -24,6 +25,22 @@ import org.flywaydb.core.internal.util.ClassUtils;
  * A resolved Java migration.
  */
 public class ResolvedJavaMigration extends ResolvedMigrationImpl {
+    /**
+     * The Java migration. {@code null} if its class hasn't been loaded yet.
+     */
+    private final JavaMigration javaMigration;
+
+    /**
+     * The executor loading the class of the Java migration. {@code null} if it has been loaded already.
+     */
+    private final LazyJavaMigrationExecutor lazyExecutor;
+
+    /**
+     * Whether the class of the Java migration declares its dependencies, as read from its class file. Only relevant
+     * while the class hasn't been loaded.
+     */
+    private final boolean declaresDependencies;
+
     /**
      * Creates a new ResolvedJavaMigration based on this JavaMigration.
      *
@@ -41,5 +58,50 @@ public class ResolvedJavaMigration extends ResolvedMigrationImpl {
                 ClassUtils.getLocationOnDisk(javaMigration.getClass()),
                 new JavaMigrationExecutor(javaMigration)
         );
+        this.javaMigration = javaMigration;
+        this.lazyExecutor = null;
+        this.declaresDependencies = true;
+    }
+
+    /**
+     * Creates a new ResolvedJavaMigration for a JavaMigration class which hasn't been loaded yet.
+     *
+     * @param version              The target version of the migration.
+     * @param description          The description of the migration.
+     * @param className            The name of the JavaMigration class.
+     * @param locationOnDisk       The physical location of the class on disk.
+     * @param classLoader          The ClassLoader to load the class with once the migration is executed.
+     * @param declaresDependencies Whether the class declares its dependencies. If not, it depends on all migrations
+     *                             with a lower version.
+     */
+    ResolvedJavaMigration(MigrationVersion version, String description, String className, String locationOnDisk,
+                          ClassLoader classLoader, boolean declaresDependencies) {
+        this(version, description, className, locationOnDisk, new LazyJavaMigrationExecutor(className, classLoader),
+                declaresDependencies);
+    }
+
+    private ResolvedJavaMigration(MigrationVersion version, String description, String className,
+                                  String locationOnDisk, LazyJavaMigrationExecutor lazyExecutor,
+                                  boolean declaresDependencies) {
+        super(version,
+                description,
+                className,
+                null,
+                MigrationType.JDBC,
+                locationOnDisk,
+                lazyExecutor
+        );
+        this.javaMigration = null;
+        this.lazyExecutor = lazyExecutor;
+        this.declaresDependencies = declaresDependencies;
+    }
+
+    @Override
+    public MigrationVersion[] getDependencies() {
+        if (javaMigration != null) {
+            return javaMigration.getDependencies();
+        }
+        // Only load the class when it actually declares its dependencies
+        return declaresDependencies ? lazyExecutor.getJavaMigration().getDependencies() : null;
     }
 }
\ No newline at end of file
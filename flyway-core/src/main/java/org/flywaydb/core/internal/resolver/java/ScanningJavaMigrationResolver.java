@@ -15,14 +15,21 @@
  */
 package org.flywaydb.core.internal.resolver.java;
 
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
 import org.flywaydb.core.api.migration.JavaMigration;
 import org.flywaydb.core.api.resolver.Context;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.clazz.ClassFileInfo;
 import org.flywaydb.core.internal.clazz.ClassProvider;
+import org.flywaydb.core.internal.clazz.LazyClass;
+import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.util.ClassUtils;
+import org.flywaydb.core.internal.util.Pair;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -58,12 +65,64 @@ public class ScanningJavaMigrationResolver implements MigrationResolver {
     public List<ResolvedMigration> resolveMigrations(Context context) {
         List<ResolvedMigration> migrations = new ArrayList<>();
 
-        for (Class<?> clazz : classProvider.getClasses()) {
-            JavaMigration javaMigration = ClassUtils.instantiate(clazz.getName(), configuration.getClassLoader());
-            migrations.add(new ResolvedJavaMigration(javaMigration));
+        for (LazyClass<JavaMigration> lazyClass : classProvider.getClasses()) {
+            ResolvedJavaMigration migration = resolveWithoutLoading(lazyClass);
+            if (migration == null) {
+                Class<? extends JavaMigration> clazz = lazyClass.load();
+                if (clazz == null) {
+                    continue;
+                }
+                JavaMigration javaMigration = ClassUtils.instantiate(clazz.getName(), configuration.getClassLoader());
+                migration = new ResolvedJavaMigration(javaMigration);
+            }
+            migrations.add(migration);
         }
 
         Collections.sort(migrations, new ResolvedMigrationComparator());
         return migrations;
     }
+
+    /**
+     * Resolves this migration from its class name alone, without loading the class. This is only possible for direct
+     * subclasses of BaseJavaMigration which follow the default naming convention and don't override the methods
+     * providing version, description and checksum.
+     *
+     * @param lazyClass The migration class.
+     * @return The resolved migration or {@code null} if the class must be loaded to resolve it.
+     */
+    private ResolvedJavaMigration resolveWithoutLoading(LazyClass<JavaMigration> lazyClass) {
+        ClassFileInfo classFileInfo = lazyClass.getClassFileInfo();
+        if (classFileInfo == null
+                || !BaseJavaMigration.class.getName().equals(classFileInfo.getSuperClassName())
+                || !classFileInfo.hasPublicNoArgConstructor()
+                || classFileInfo.declaresMethod("getVersion")
+                || classFileInfo.declaresMethod("getDescription")
+                || classFileInfo.declaresMethod("getChecksum")
+                || classFileInfo.declaresMethod("isUndo")) {
+            return null;
+        }
+
+        String className = lazyClass.getName();
+        String shortName = className.substring(className.lastIndexOf('.') + 1);
+        if (shortName.contains("$")) {
+            // Nested class
+            return null;
+        }
+
+        boolean repeatable = shortName.startsWith("R");
+        if (!shortName.startsWith("V") && !repeatable) {
+            return null;
+        }
+
+        Pair<MigrationVersion, String> info;
+        try {
+            info = MigrationInfoHelper.extractVersionAndDescription(
+                    shortName, shortName.substring(0, 1), "__", new String[]{""}, repeatable);
+        } catch (FlywayException e) {
+            // Let loading the class report the invalid name
+            return null;
+        }
+        return new ResolvedJavaMigration(info.getLeft(), info.getRight(), className, lazyClass.getLocationOnDisk(),
+                lazyClass.getClassLoader(), classFileInfo.declaresMethod("getDependencies"));
+    }
 }
\ No newline at end of file
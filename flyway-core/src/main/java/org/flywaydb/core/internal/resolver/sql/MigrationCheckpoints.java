@@ -0,0 +1,339 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.jdbc.JdbcConnectionFactory;
+import org.flywaydb.core.internal.sqlscript.SqlScript;
+import org.flywaydb.core.internal.sqlscript.SqlStatement;
+import org.flywaydb.core.internal.sqlscript.SqlStatementIterator;
+import org.flywaydb.core.internal.sqlscript.StatementCheckpoint;
+import org.flywaydb.core.internal.util.CacheFileUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
+
+/**
+ * The checkpoint file recording the progress of the SQL migrations executed outside a transaction. For each migration
+ * which is running or failed, it holds the number of statements at the start of the script which completed, along with
+ * a checksum of these statements. As the statements of a parallel block complete in any order, those which completed
+ * after a statement still running or failed are listed separately, each with its own checksum. Migrations are keyed
+ * by the database, the current schema and their script, so they never mix up when several databases or tenants share
+ * the same checkpoint file. The entry of a migration is removed once it succeeds.
+ * <p>As the progress is recorded after each statement, it is appended to the file, the last line of a migration
+ * superseding the previous ones. The file is only rewritten as a whole, dropping the superseded lines, when an entry is
+ * removed.</p>
+ */
+public class MigrationCheckpoints {
+    private static final Log LOG = LogFactory.getLog(MigrationCheckpoints.class);
+
+    private static final String HEADER = "# Flyway checkpoints v2";
+
+    private final File file;
+
+    /**
+     * Creates a new set of checkpoints backed by this file.
+     *
+     * @param file The checkpoint file. It is created once the first checkpoint is recorded.
+     */
+    public MigrationCheckpoints(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the checkpoint of this SQL script about to be executed on this connection. When a previous execution
+     * failed, the checkpoint resumes it after the statements which completed, provided these statements are still the
+     * same. Otherwise the script is executed from the start.
+     *
+     * @param connection The connection the script is executed on.
+     * @param sqlScript  The SQL script.
+     * @return The checkpoint.
+     */
+    public StatementCheckpoint open(Connection connection, SqlScript sqlScript) {
+        String key = getKey(connection, sqlScript);
+        Entry entry = read().get(key);
+        if (entry == null) {
+            return new Checkpoint(key, 0, new CRC32(), new TreeMap<Integer, Long>());
+        }
+
+        int end = entry.completed.isEmpty()
+                ? entry.statements
+                : Math.max(entry.statements, entry.completed.lastKey() + 1);
+        CRC32 checksum = new CRC32();
+        boolean unchanged = true;
+        int index = 0;
+        int lineNumber = 0;
+        try (SqlStatementIterator sqlStatementIterator = sqlScript.getSqlStatements()) {
+            while (index < end && sqlStatementIterator.hasNext()) {
+                SqlStatement sqlStatement = sqlStatementIterator.next();
+                long statementChecksum = checksum(sqlStatement);
+                if (index < entry.statements) {
+                    update(checksum, statementChecksum);
+                    lineNumber = sqlStatement.getLineNumber();
+                } else if (entry.completed.containsKey(index)) {
+                    unchanged &= entry.completed.get(index) == statementChecksum;
+                }
+                index++;
+            }
+        }
+        String filename = sqlScript.getResource().getFilename();
+        if (unchanged && index == end && checksum.getValue() == entry.checksum) {
+            LOG.info("Resuming " + filename + " after statement " + entry.statements + " at line " + lineNumber
+                    + ", the last one which completed before it failed"
+                    + (entry.completed.isEmpty() ? "" : ", skipping the " + entry.completed.size()
+                    + " statements of its parallel block which completed as well"));
+            return new Checkpoint(key, entry.statements, checksum, new TreeMap<>(entry.completed));
+        }
+
+        LOG.warn("The statements of " + filename + " which completed before it failed"
+                + " have changed since. Executing it from the start.");
+        write(key, null);
+        return new Checkpoint(key, 0, new CRC32(), new TreeMap<Integer, Long>());
+    }
+
+    /**
+     * Removes this checkpoint once its script has completed successfully.
+     *
+     * @param checkpoint The checkpoint, as returned by {@link #open(Connection, SqlScript)}.
+     */
+    public void complete(StatementCheckpoint checkpoint) {
+        Checkpoint completed = (Checkpoint) checkpoint;
+        if (completed.recorded) {
+            write(completed.key, null);
+        }
+    }
+
+    private static String getKey(Connection connection, SqlScript sqlScript) {
+        try {
+            String url = connection.getMetaData().getURL();
+            return (url == null ? "" : JdbcConnectionFactory.filterUrl(url)) + "|" + connection.getCatalog()
+                    + "|" + getSchema(connection) + "|" + sqlScript.getResource().getRelativePath();
+        } catch (SQLException e) {
+            throw new FlywayException("Unable to determine the database of the checkpoint of "
+                    + sqlScript.getResource().getFilename() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String getSchema(Connection connection) throws SQLException {
+        try {
+            return connection.getSchema();
+        } catch (AbstractMethodError e) {
+            // Driver predating JDBC 4.1
+            return null;
+        }
+    }
+
+    private static long checksum(SqlStatement sqlStatement) {
+        CRC32 checksum = new CRC32();
+        checksum.update(sqlStatement.getSql().getBytes(StandardCharsets.UTF_8));
+        return checksum.getValue();
+    }
+
+    /**
+     * Adds the checksum of the next statement at the start of the script to the checksum of the statements before it.
+     */
+    private static void update(CRC32 checksum, long statementChecksum) {
+        for (int i = 0; i < 8; i++) {
+            checksum.update((int) (statementChecksum >>> (8 * i)));
+        }
+    }
+
+    private Map<String, Entry> read() {
+        try {
+            return parse(CacheFileUtils.readLines(file));
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read checkpoint file " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Records this entry in the checkpoint file, merging it with the entries written by other migrations in the
+     * meantime. Failures abort the migration, as an outdated entry could otherwise resume it at the wrong statement.
+     *
+     * @param key   The key of the migration.
+     * @param entry The entry to record. {@code null} to remove it.
+     */
+    private void write(final String key, final Entry entry) {
+        try {
+            CacheFileUtils.update(file, new CacheFileUtils.Updater() {
+                @Override
+                public List<String> update(List<String> currentLines) {
+                    Map<String, Entry> entries = parse(currentLines);
+                    if (entry == null) {
+                        entries.remove(key);
+                    } else {
+                        entries.put(key, entry);
+                    }
+
+                    List<String> lines = new ArrayList<>(entries.size() + 1);
+                    lines.add(HEADER);
+                    for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                        lines.add(format(e.getKey(), e.getValue()));
+                    }
+                    return lines;
+                }
+            });
+        } catch (IOException e) {
+            throw new FlywayException("Unable to write checkpoint file " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Formats this entry as a line of the checkpoint file: the number of statements at the start of the script which
+     * completed, their checksum, the statements after them which completed as well ({@code -} if none), and the key.
+     */
+    private static String format(String key, Entry entry) {
+        StringBuilder completed = new StringBuilder();
+        for (Map.Entry<Integer, Long> e : entry.completed.entrySet()) {
+            if (completed.length() > 0) {
+                completed.append(',');
+            }
+            completed.append(e.getKey()).append(':').append(e.getValue());
+        }
+        return entry.statements + "\t" + entry.checksum + "\t" + (completed.length() == 0 ? "-" : completed)
+                + "\t" + key;
+    }
+
+    /**
+     * Appends this entry to the checkpoint file, superseding the previous entry of this migration. Unlike
+     * {@link #write(String, Entry)}, this doesn't rewrite the entries of the other migrations, so recording the
+     * progress after each statement costs the same however many statements preceded it. Failures abort the migration,
+     * as an outdated entry could otherwise resume it at the wrong statement.
+     *
+     * @param key   The key of the migration.
+     * @param entry The entry to record.
+     */
+    private void append(final String key, final Entry entry) {
+        try {
+            boolean appended = CacheFileUtils.lock(file, new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws IOException {
+                    Path path = file.toPath();
+                    if (!Files.exists(path) || Files.size(path) == 0) {
+                        Files.write(path, Arrays.asList(HEADER, format(key, entry)), StandardCharsets.UTF_8);
+                        return true;
+                    }
+                    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                        if (!HEADER.equals(reader.readLine())) {
+                            return false;
+                        }
+                    }
+                    Files.write(path, Collections.singletonList(format(key, entry)), StandardCharsets.UTF_8,
+                            StandardOpenOption.APPEND);
+                    return true;
+                }
+            });
+            if (!appended) {
+                // Outdated or corrupted file, replaced by a file in the current format holding only the valid entries
+                write(key, entry);
+            }
+        } catch (IOException e) {
+            throw new FlywayException("Unable to write checkpoint file " + file.getAbsolutePath(), e);
+        }
+    }
+
+    private static Map<String, Entry> parse(List<String> lines) {
+        Map<String, Entry> result = new LinkedHashMap<>();
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+            return result;
+        }
+        for (int i = 1; i < lines.size(); i++) {
+            String[] parts = lines.get(i).split("\t", 4);
+            if (parts.length == 4) {
+                try {
+                    TreeMap<Integer, Long> completed = new TreeMap<>();
+                    if (!"-".equals(parts[2])) {
+                        for (String statement : parts[2].split(",")) {
+                            int separator = statement.indexOf(':');
+                            completed.put(Integer.parseInt(statement.substring(0, separator)),
+                                    Long.parseLong(statement.substring(separator + 1)));
+                        }
+                    }
+                    result.put(parts[3], new Entry(Integer.parseInt(parts[0]), Long.parseLong(parts[1]), completed));
+                } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                    // Skip corrupted entry
+                }
+            }
+        }
+        return result;
+    }
+
+    private static class Entry {
+        private final int statements;
+        private final long checksum;
+        private final TreeMap<Integer, Long> completed;
+
+        Entry(int statements, long checksum, TreeMap<Integer, Long> completed) {
+            this.statements = statements;
+            this.checksum = checksum;
+            this.completed = completed;
+        }
+    }
+
+    /**
+     * The checkpoint of a single execution of a script. Its methods are synchronized, as the statements of a parallel
+     * block are recorded by the thread which executed them.
+     */
+    private class Checkpoint implements StatementCheckpoint {
+        private final String key;
+        private final CRC32 checksum;
+        private final TreeMap<Integer, Long> completed;
+        private int statements;
+        private boolean recorded;
+
+        Checkpoint(String key, int statements, CRC32 checksum, TreeMap<Integer, Long> completed) {
+            this.key = key;
+            this.statements = statements;
+            this.checksum = checksum;
+            this.completed = completed;
+            this.recorded = statements > 0 || !completed.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean isExecuted(int index) {
+            return index < statements || completed.containsKey(index);
+        }
+
+        @Override
+        public synchronized void statementExecuted(int index, SqlStatement sqlStatement) {
+            completed.put(index, checksum(sqlStatement));
+            while (completed.containsKey(statements)) {
+                update(checksum, completed.remove(statements));
+                statements++;
+            }
+            recorded = true;
+            append(key, new Entry(statements, checksum.getValue(), new TreeMap<>(completed)));
+        }
+    }
+}
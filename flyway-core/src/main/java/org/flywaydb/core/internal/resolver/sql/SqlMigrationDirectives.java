@@ -0,0 +1,153 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.util.IOUtils;
+import org.flywaydb.core.internal.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The directives declared in the header of a SQL migration. The header consists of the comment lines at the start of
+ * the script, and directives are comments of the form {@code -- flyway:name=value}, such as
+ * <pre>
+ * -- flyway:dependsOn=1.2,1.5
+ * -- flyway:conflictsWith=Customer views,Order views
+ * -- flyway:bulkProfile=true
+ * </pre>
+ */
+public class SqlMigrationDirectives {
+    private static final Pattern DIRECTIVE = Pattern.compile("--\\s*flyway:(\\w+)\\s*=(.*)");
+
+    /**
+     * The directive declaring the versions of the migrations a versioned migration depends on.
+     */
+    public static final String DEPENDS_ON = "dependsOn";
+
+    /**
+     * The directive declaring the descriptions of the repeatable migrations a repeatable migration conflicts with.
+     */
+    public static final String CONFLICTS_WITH = "conflictsWith";
+
+    /**
+     * The directive declaring whether a migration should be applied with the bulk-load profile of the database.
+     */
+    public static final String BULK_PROFILE = "bulkProfile";
+
+    /**
+     * The values of the directives, by name.
+     */
+    private final Map<String, String> directives;
+
+    private SqlMigrationDirectives(Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * Reads the directives from the header of this migration script.
+     *
+     * @param resource The migration script.
+     * @return The directives.
+     */
+    public static SqlMigrationDirectives read(LoadableResource resource) {
+        Map<String, String> directives = new HashMap<>();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(resource.read());
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                if (first) {
+                    // Strip the byte order mark, if any
+                    line = line.startsWith("\uFEFF") ? line.substring(1) : line;
+                    first = false;
+                }
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (!line.startsWith("--")) {
+                    break;
+                }
+                Matcher matcher = DIRECTIVE.matcher(line);
+                if (matcher.matches()) {
+                    directives.put(matcher.group(1), matcher.group(2).trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read directives from " + resource.getAbsolutePath(), e);
+        } finally {
+            IOUtils.close(reader);
+        }
+        return new SqlMigrationDirectives(directives);
+    }
+
+    /**
+     * @return The versions of the migrations this migration depends on. {@code null} if it doesn't declare them.
+     */
+    public MigrationVersion[] getDependencies() {
+        String dependsOn = directives.get(DEPENDS_ON);
+        if (dependsOn == null) {
+            return null;
+        }
+        List<MigrationVersion> dependencies = new ArrayList<>();
+        for (String version : StringUtils.tokenizeToStringArray(dependsOn, ",")) {
+            if (StringUtils.hasText(version)) {
+                dependencies.add(MigrationVersion.fromVersion(version.trim()));
+            }
+        }
+        return dependencies.toArray(new MigrationVersion[0]);
+    }
+
+    /**
+     * @return The descriptions of the repeatable migrations this migration conflicts with. {@code null} if it doesn't
+     * declare them.
+     */
+    public Set<String> getConflicts() {
+        String conflictsWith = directives.get(CONFLICTS_WITH);
+        if (conflictsWith == null) {
+            return null;
+        }
+        Set<String> conflicts = new HashSet<>();
+        for (String description : StringUtils.tokenizeToStringArray(conflictsWith, ",")) {
+            if (StringUtils.hasText(description)) {
+                conflicts.add(description.trim());
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * @return Whether this migration should be applied with the bulk-load profile of the database. {@code null} if it
+     * doesn't declare it.
+     */
+    public Boolean getBulkProfile() {
+        String bulkProfile = directives.get(BULK_PROFILE);
+        return bulkProfile == null ? null : Boolean.valueOf(bulkProfile);
+    }
+}
@@ -18,7 +18,11 @@ package org.flywaydb.core.internal.resolver.sql;
 import org.flywaydb.core.api.executor.Context;
 import org.flywaydb.core.api.executor.MigrationExecutor;
 import org.flywaydb.core.internal.sqlscript.SqlScript;
+import org.flywaydb.core.internal.sqlscript.SqlScriptExecutor;
 import org.flywaydb.core.internal.sqlscript.SqlScriptExecutorFactory;
+import org.flywaydb.core.internal.sqlscript.StatementCheckpoint;
+
+import java.sql.SQLException;
 
 /**
  * Database migration based on a sql file.
@@ -31,6 +35,12 @@ public class SqlMigrationExecutor implements MigrationExecutor {
      */
     private final SqlScript sqlScript;
 
+    /**
+     * The checkpoints recording the progress of the script when it executes outside a transaction. {@code null} if
+     * checkpoints are disabled.
+     */
+    private final MigrationCheckpoints checkpoints;
+
 
 
 
@@ -46,15 +56,19 @@ public class SqlMigrationExecutor implements MigrationExecutor {
     /**
      * Creates a new sql script migration based on this sql script.
      *
-     * @param sqlScript The SQL script that will be executed.
+     * @param sqlScript   The SQL script that will be executed.
+     * @param checkpoints The checkpoints recording the progress of the script when it executes outside a
+     *                    transaction. {@code null} if checkpoints are disabled.
      */
-    SqlMigrationExecutor(SqlScriptExecutorFactory sqlScriptExecutorFactory, SqlScript sqlScript
+    SqlMigrationExecutor(SqlScriptExecutorFactory sqlScriptExecutorFactory, SqlScript sqlScript,
+                         MigrationCheckpoints checkpoints
 
 
 
     ) {
         this.sqlScriptExecutorFactory = sqlScriptExecutorFactory;
         this.sqlScript = sqlScript;
+        this.checkpoints = checkpoints;
 
 
 
@@ -62,12 +76,21 @@ public class SqlMigrationExecutor implements MigrationExecutor {
     }
 
     @Override
-    public void execute(Context context) {
-        sqlScriptExecutorFactory.createSqlScriptExecutor(context.getConnection()
+    public void execute(Context context) throws SQLException {
+        SqlScriptExecutor sqlScriptExecutor = sqlScriptExecutorFactory.createSqlScriptExecutor(context.getConnection()
+
 
 
+        );
 
-        ).execute(sqlScript);
+        // Only statements committed as soon as they complete can safely be skipped when resuming
+        if (checkpoints == null || !context.getConnection().getAutoCommit()) {
+            sqlScriptExecutor.execute(sqlScript);
+            return;
+        }
+        StatementCheckpoint checkpoint = checkpoints.open(context.getConnection(), sqlScript);
+        sqlScriptExecutor.execute(sqlScript, checkpoint);
+        checkpoints.complete(checkpoint);
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package org.flywaydb.core.internal.resolver.sql;
 
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.MigrationType;
 import org.flywaydb.core.api.MigrationVersion;
 import org.flywaydb.core.api.callback.Event;
@@ -22,6 +23,7 @@ import org.flywaydb.core.api.configuration.Configuration;
 import org.flywaydb.core.api.resolver.Context;
 import org.flywaydb.core.api.resolver.MigrationResolver;
 import org.flywaydb.core.api.resolver.ResolvedMigration;
+import org.flywaydb.core.internal.resolver.MigrationFootprint;
 import org.flywaydb.core.internal.resolver.MigrationInfoHelper;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationComparator;
 import org.flywaydb.core.internal.resolver.ResolvedMigrationImpl;
@@ -30,11 +32,16 @@ import org.flywaydb.core.internal.resource.ResourceProvider;
 import org.flywaydb.core.internal.sqlscript.SqlScript;
 import org.flywaydb.core.internal.sqlscript.SqlScriptExecutorFactory;
 import org.flywaydb.core.internal.sqlscript.SqlScriptFactory;
+import org.flywaydb.core.internal.util.FileCopyUtils;
 import org.flywaydb.core.internal.util.Pair;
+import org.flywaydb.core.internal.util.StringUtils;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.zip.CRC32;
@@ -61,6 +68,12 @@ public class SqlMigrationResolver implements MigrationResolver {
      */
     private final Configuration configuration;
 
+    /**
+     * The checkpoints recording the progress of the migrations executed outside a transaction. {@code null} if
+     * checkpoints are disabled.
+     */
+    private final MigrationCheckpoints checkpoints;
+
     /**
      * Creates a new instance.
      *
@@ -76,6 +89,9 @@ public class SqlMigrationResolver implements MigrationResolver {
         this.resourceProvider = resourceProvider;
         this.sqlScriptFactory = sqlScriptFactory;
         this.configuration = configuration;
+        this.checkpoints = StringUtils.hasText(configuration.getCheckpointFile())
+                ? new MigrationCheckpoints(new File(configuration.getCheckpointFile()))
+                : null;
     }
 
     public List<ResolvedMigration> resolveMigrations(Context context) {
@@ -104,17 +120,39 @@ public class SqlMigrationResolver implements MigrationResolver {
         return migrations;
     }
 
+    /**
+     * Reads the footprint of this repeatable migration: the conflicts declared in its header if any, and the names of
+     * the objects it touches for comparing it with migrations that don't declare theirs.
+     */
+    private static MigrationFootprint readFootprint(LoadableResource resource, String description) {
+        Set<String> declaredConflicts = SqlMigrationDirectives.read(resource).getConflicts();
+        try {
+            String sql = FileCopyUtils.copyToString(resource.read());
+            return new MigrationFootprint(description, declaredConflicts, SqlObjectNames.getModifiedObjects(sql),
+                    SqlObjectNames.getNames(sql));
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read " + resource.getAbsolutePath(), e);
+        }
+    }
+
     private void addMigrations(List<ResolvedMigration> migrations, String prefix,
                                String separator, String[] suffixes, boolean repeatable
 
 
 
     ) {
+        List<LoadableResource> resources = new ArrayList<>();
         for (LoadableResource resource : resourceProvider.getResources(prefix, suffixes)) {
-            String filename = resource.getFilename();
-            if (isSqlCallback(filename, separator, suffixes)) {
-                continue;
+            if (!isSqlCallback(resource.getFilename(), separator, suffixes)) {
+                resources.add(resource);
             }
+        }
+
+        // Checksum calculation dominates resolution time for large numbers of migrations
+        LoadableResource.calculateChecksums(resources);
+
+        for (final LoadableResource resource : resources) {
+            String filename = resource.getFilename();
 
             SqlScript sqlScript = sqlScriptFactory.createSqlScript(resource, configuration.isMixed()
 
@@ -162,15 +200,56 @@ public class SqlMigrationResolver implements MigrationResolver {
 
                             MigrationType.SQL,
                     resource.getAbsolutePathOnDisk(),
-                    new SqlMigrationExecutor(sqlScriptExecutorFactory, sqlScript
+                    new SqlMigrationExecutor(sqlScriptExecutorFactory, sqlScript, checkpoints
 
 
 
                     )) {
+                private boolean directivesRead;
+                private MigrationVersion[] dependencies;
+                private Boolean bulkProfile;
+                private MigrationFootprint footprint;
+
                 @Override
                 public void validate() {
                     // Do nothing by default.
                 }
+
+                @Override
+                public synchronized MigrationVersion[] getDependencies() {
+                    if (getVersion() == null) {
+                        return null;
+                    }
+                    readDirectives();
+                    return dependencies;
+                }
+
+                @Override
+                public synchronized Boolean getBulkProfile() {
+                    readDirectives();
+                    return bulkProfile;
+                }
+
+                // Only read the header when needed, as most migrations don't declare any directives
+                private void readDirectives() {
+                    if (!directivesRead) {
+                        SqlMigrationDirectives directives = SqlMigrationDirectives.read(resource);
+                        dependencies = directives.getDependencies();
+                        bulkProfile = directives.getBulkProfile();
+                        directivesRead = true;
+                    }
+                }
+
+                @Override
+                public synchronized MigrationFootprint getFootprint() {
+                    if (getVersion() != null) {
+                        return null;
+                    }
+                    if (footprint == null) {
+                        footprint = readFootprint(resource, getDescription());
+                    }
+                    return footprint;
+                }
             });
         }
     }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resolver.sql;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Infers the names of the objects a SQL script creates, modifies or refers to. This is a purely lexical, dialect
+ * independent approximation: names are compared without their schema and case-insensitively, which may report more
+ * overlap between scripts than there actually is, but never less for the statements it recognizes.
+ */
+public class SqlObjectNames {
+    private static final String IDENTIFIER = "(?:[\\w$#]+|\"[^\"]+\"|\\[[^\\]]+\\]|`[^`]+`)";
+    private static final String NAME = "(" + IDENTIFIER + "(?:\\s*\\.\\s*" + IDENTIFIER + ")*)";
+
+    private static final Pattern COMMENT = Pattern.compile("--[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+
+    private static final Pattern DDL = Pattern.compile("\\b(?:CREATE|ALTER|DROP)\\s+"
+            + "(?:OR\\s+(?:REPLACE|ALTER)\\s+)?"
+            + "(?:(?:GLOBAL|LOCAL|TEMPORARY|TEMP|MATERIALIZED|UNIQUE|FORCE|NOFORCE|EDITIONABLE|NONEDITIONABLE"
+            + "|RECURSIVE|DEFINER\\s*=\\s*\\S+|SQL\\s+SECURITY\\s+\\w+|ALGORITHM\\s*=\\s*\\w+)\\s+)*"
+            + "(?:VIEW|TABLE|PROCEDURE|PROC|FUNCTION|TRIGGER|SEQUENCE|INDEX|TYPE|PACKAGE(?:\\s+BODY)?|SYNONYM|ALIAS"
+            + "|DOMAIN|RULE|EVENT)\\s+"
+            + "(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?" + NAME, Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DML = Pattern.compile("\\b(?:INSERT\\s+INTO|REPLACE\\s+INTO|MERGE\\s+INTO|UPDATE"
+            + "|DELETE\\s+FROM|TRUNCATE\\s+TABLE)\\s+" + NAME, Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WORD = Pattern.compile(IDENTIFIER);
+
+    /**
+     * Prevent instantiation.
+     */
+    private SqlObjectNames() {
+        // Do nothing
+    }
+
+    /**
+     * @param sql The SQL script.
+     * @return The lowercase names, without schema, of the objects this script creates, alters, drops or writes to.
+     */
+    public static Set<String> getModifiedObjects(String sql) {
+        String text = stripComments(sql);
+        Set<String> objects = new HashSet<>();
+        addNames(objects, DDL.matcher(text));
+        addNames(objects, DML.matcher(text));
+        return objects;
+    }
+
+    /**
+     * @param sql The SQL script.
+     * @return All lowercase identifiers appearing in this script.
+     */
+    public static Set<String> getNames(String sql) {
+        Set<String> names = new HashSet<>();
+        Matcher matcher = WORD.matcher(stripComments(sql));
+        while (matcher.find()) {
+            names.add(normalize(matcher.group()));
+        }
+        return names;
+    }
+
+    private static void addNames(Set<String> names, Matcher matcher) {
+        while (matcher.find()) {
+            // Only keep the last part of a qualified name
+            Matcher identifiers = WORD.matcher(matcher.group(1));
+            String name = null;
+            while (identifiers.find()) {
+                name = identifiers.group();
+            }
+            names.add(normalize(name));
+        }
+    }
+
+    private static String stripComments(String sql) {
+        return COMMENT.matcher(sql).replaceAll(" ");
+    }
+
+    private static String normalize(String identifier) {
+        String name = identifier.trim();
+        if (name.length() > 1 && "\"[`".indexOf(name.charAt(0)) >= 0) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+}
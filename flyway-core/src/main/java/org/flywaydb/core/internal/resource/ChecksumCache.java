@@ -0,0 +1,223 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resource;
+
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.util.CacheFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+
+/**
+ * Persistent cache of resource checksums, shared between Flyway runs and processes.
+ * <p>Checksums are keyed by the location of the resource together with the metadata that changes whenever its contents
+ * change: the canonical path, size and modification time of files, the path, size and modification time of jar files
+ * combined with the CRC-32 and size of the entry within them, and the encoding used to read them. A modified resource
+ * therefore never matches its old entry. Entries which haven't been used for a while are dropped when saving.</p>
+ */
+public class ChecksumCache {
+    private static final Log LOG = LogFactory.getLog(ChecksumCache.class);
+
+    private static final String HEADER = "# Flyway checksum cache v1";
+
+    /**
+     * The number of days after which unused entries are dropped.
+     */
+    private static final long RETENTION_DAYS = 30;
+
+    private final File file;
+    private final long today = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis());
+
+    /**
+     * The entries read from the cache file.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The entries used or added during this run, which must be written back.
+     */
+    private final Map<String, Entry> touchedEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new checksum cache backed by this file. The file is read immediately if it exists.
+     *
+     * @param file The cache file.
+     */
+    public ChecksumCache(File file) {
+        this.file = file;
+        try {
+            entries.putAll(parse(CacheFileUtils.readLines(file)));
+            LOG.debug("Loaded " + entries.size() + " entries from checksum cache " + file.getAbsolutePath());
+        } catch (IOException e) {
+            LOG.warn("Unable to read checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the cached checksum for this key.
+     *
+     * @param key The key identifying the current contents of the resource.
+     * @return The checksum or {@code null} if none is cached.
+     */
+    public Integer get(String key) {
+        Entry entry = touchedEntries.get(key);
+        if (entry == null) {
+            entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            touchedEntries.put(key, new Entry(entry.checksum, today));
+        }
+        return entry.checksum;
+    }
+
+    /**
+     * Caches this checksum.
+     *
+     * @param key      The key identifying the current contents of the resource.
+     * @param checksum The checksum.
+     */
+    public void put(String key, int checksum) {
+        touchedEntries.put(key, new Entry(checksum, today));
+    }
+
+    /**
+     * Writes the entries used or added during this run back to the cache file, merging them with any entries written by
+     * other processes in the meantime. Failures are logged, but never fail the run.
+     */
+    public void save() {
+        if (touchedEntries.isEmpty()) {
+            return;
+        }
+
+        try {
+            CacheFileUtils.update(file, new CacheFileUtils.Updater() {
+                @Override
+                public List<String> update(List<String> currentLines) {
+                    Map<String, Entry> merged = parse(currentLines);
+                    merged.putAll(touchedEntries);
+
+                    List<String> lines = new ArrayList<>(merged.size() + 1);
+                    lines.add(HEADER);
+                    for (Map.Entry<String, Entry> entry : merged.entrySet()) {
+                        if (today - entry.getValue().lastUsed <= RETENTION_DAYS) {
+                            lines.add(entry.getValue().checksum + "\t" + entry.getValue().lastUsed + "\t" + entry.getKey());
+                        }
+                    }
+                    return lines;
+                }
+            });
+            entries.putAll(touchedEntries);
+            touchedEntries.clear();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to save checksum cache " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Entry> parse(List<String> lines) {
+        Map<String, Entry> result = new HashMap<>();
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+            return result;
+        }
+        for (int i = 1; i < lines.size(); i++) {
+            String[] parts = lines.get(i).split("\t", 3);
+            if (parts.length == 3) {
+                try {
+                    result.put(parts[2], new Entry(Integer.parseInt(parts[0]), Long.parseLong(parts[1])));
+                } catch (NumberFormatException e) {
+                    // Skip corrupted entry
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the cache key for a file on disk.
+     *
+     * @param file     The file.
+     * @param encoding The encoding used to read the file.
+     * @return The key, or {@code null} if the checksum of this file can't safely be cached.
+     */
+    public static String fileKey(File file, Charset encoding) {
+        String fingerprint = CacheFileUtils.fingerprint(file);
+        if (fingerprint == null) {
+            return null;
+        }
+        return "file:" + fingerprint + "|" + encoding.name();
+    }
+
+    /**
+     * Computes the cache key for a resource on the classpath.
+     *
+     * @param url      The URL of the resource.
+     * @param encoding The encoding used to read the resource.
+     * @return The key, or {@code null} if the checksum of this resource can't safely be cached.
+     */
+    public static String urlKey(URL url, Charset encoding) {
+        if (url == null) {
+            return null;
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return fileKey(new File(url.toURI()), encoding);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        try {
+            URLConnection connection = url.openConnection();
+            if (!(connection instanceof JarURLConnection)) {
+                return null;
+            }
+            JarURLConnection jarConnection = (JarURLConnection) connection;
+            JarEntry jarEntry = jarConnection.getJarEntry();
+            URL jarFileUrl = jarConnection.getJarFileURL();
+            if (jarEntry == null || jarEntry.getCrc() == -1 || !"file".equals(jarFileUrl.getProtocol())) {
+                return null;
+            }
+            String jarKey = fileKey(new File(jarFileUrl.toURI()), encoding);
+            if (jarKey == null) {
+                return null;
+            }
+            return "jar:" + jarKey + "!" + jarEntry.getName() + "|" + jarEntry.getSize() + "|" + jarEntry.getCrc();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static class Entry {
+        private final int checksum;
+        private final long lastUsed;
+
+        private Entry(int checksum, long lastUsed) {
+            this.checksum = checksum;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -18,12 +18,19 @@ package org.flywaydb.core.internal.resource;
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.internal.util.BomFilter;
 import org.flywaydb.core.internal.util.IOUtils;
+import org.flywaydb.core.internal.util.ParallelUtils;
 import org.flywaydb.core.internal.util.StringUtils;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.zip.CRC32;
 
 /**
@@ -31,7 +38,28 @@ import java.util.zip.CRC32;
  */
 public abstract class LoadableResource implements Resource, Comparable<LoadableResource> {
 
-    private Integer checksum;
+    private volatile Integer checksum;
+
+    /**
+     * The persistent checksum cache to consult before calculating checksums. {@code null} if none.
+     */
+    private final ChecksumCache checksumCache;
+
+    /**
+     * Creates a new resource without persistent checksum caching.
+     */
+    protected LoadableResource() {
+        this(null);
+    }
+
+    /**
+     * Creates a new resource.
+     *
+     * @param checksumCache The persistent checksum cache to consult before calculating checksums. {@code null} if none.
+     */
+    protected LoadableResource(ChecksumCache checksumCache) {
+        this.checksumCache = checksumCache;
+    }
 
     /**
      * Reads the contents of this resource.
@@ -40,6 +68,33 @@ public abstract class LoadableResource implements Resource, Comparable<LoadableR
      */
     public abstract Reader read();
 
+    /**
+     * Opens a stream on the raw, undecoded bytes of this resource. Resources supporting this let checksums be
+     * calculated without decoding their contents into characters first.
+     *
+     * @return The stream with the raw contents of the resource, or {@code null} if this resource doesn't support it.
+     */
+    protected InputStream readRaw() {
+        return null;
+    }
+
+    /**
+     * @return The encoding of this resource, or {@code null} if it isn't known.
+     */
+    protected Charset getEncoding() {
+        return null;
+    }
+
+    /**
+     * Computes the key under which the checksum of this resource is stored in the persistent checksum cache. The key
+     * must change whenever the contents of the resource change.
+     *
+     * @return The key, or {@code null} if the checksum of this resource can't be cached.
+     */
+    protected String getChecksumCacheKey() {
+        return null;
+    }
+
 
 
 
@@ -57,31 +112,89 @@ public abstract class LoadableResource implements Resource, Comparable<LoadableR
      */
     public final int checksum() {
         if (checksum == null) {
-            final CRC32 crc32 = new CRC32();
+            String cacheKey = checksumCache == null ? null : getChecksumCacheKey();
+            Integer cachedChecksum = cacheKey == null ? null : checksumCache.get(cacheKey);
+            if (cachedChecksum != null) {
+                checksum = cachedChecksum;
+            } else {
+                Integer rawChecksum = calculateRawChecksum();
+                checksum = rawChecksum != null ? rawChecksum : calculateChecksum();
+                if (cacheKey != null) {
+                    checksumCache.put(cacheKey, checksum);
+                }
+            }
+        }
+        return checksum;
+    }
 
-            BufferedReader reader = null;
-            try {
-                reader = new BufferedReader(read(), 4096);
+    /**
+     * Calculates the checksum straight from the raw bytes of this resource, if both the resource and its encoding
+     * support it.
+     *
+     * @return The checksum, or {@code null} if it must be calculated from the decoded contents instead.
+     */
+    private Integer calculateRawChecksum() {
+        Charset encoding = getEncoding();
+        if (encoding == null || !RawChecksumCalculator.supports(encoding)) {
+            return null;
+        }
 
-                String line = reader.readLine();
+        InputStream inputStream = readRaw();
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return RawChecksumCalculator.calculate(inputStream, encoding);
+        } catch (IOException e) {
+            throw new FlywayException("Unable to calculate checksum for " + getFilename() + ": " + e.getMessage(), e);
+        } finally {
+            IOUtils.close(inputStream);
+        }
+    }
 
-                if (line != null) {
-                    line = BomFilter.FilterBomFromString(line);
+    private int calculateChecksum() {
+        final CRC32 crc32 = new CRC32();
 
-                    do {
-                        //noinspection Since15
-                        crc32.update(StringUtils.trimLineBreak(line).getBytes(StandardCharsets.UTF_8));
-                    } while ((line = reader.readLine()) != null);
-                }
-            } catch (IOException e) {
-                throw new FlywayException("Unable to calculate checksum for " + getFilename() + ": " + e.getMessage(), e);
-            } finally {
-                IOUtils.close(reader);
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(read(), 4096);
+
+            String line = reader.readLine();
+
+            if (line != null) {
+                line = BomFilter.FilterBomFromString(line);
+
+                do {
+                    //noinspection Since15
+                    crc32.update(StringUtils.trimLineBreak(line).getBytes(StandardCharsets.UTF_8));
+                } while ((line = reader.readLine()) != null);
             }
+        } catch (IOException e) {
+            throw new FlywayException("Unable to calculate checksum for " + getFilename() + ": " + e.getMessage(), e);
+        } finally {
+            IOUtils.close(reader);
+        }
+
+        return (int) crc32.getValue();
+    }
 
-            checksum = (int) crc32.getValue();
+    /**
+     * Calculates the checksums of these resources in parallel, so that subsequent calls to {@link #checksum()} return
+     * immediately.
+     *
+     * @param resources The resources whose checksums to calculate.
+     */
+    public static void calculateChecksums(Collection<? extends LoadableResource> resources) {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (final LoadableResource resource : resources) {
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return resource.checksum();
+                }
+            });
         }
-        return checksum;
+        ParallelUtils.invokeAll(tasks, ParallelUtils.getDefaultParallelism());
     }
 
     @Override
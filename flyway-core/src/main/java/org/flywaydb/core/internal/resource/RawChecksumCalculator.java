@@ -0,0 +1,148 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Calculates resource checksums directly on the raw bytes of a resource, without decoding it into characters first.
+ * <p>The result is identical to the line-based checksum of {@link LoadableResource}: a CRC-32 over the UTF-8 bytes of
+ * the contents, with a leading byte order mark and all line breaks removed. This only holds as long as the raw bytes
+ * are the UTF-8 encoding of the decoded characters, which is the case for valid UTF-8 and for pure ASCII in
+ * ISO-8859-1 or US-ASCII. Whenever this cannot be guaranteed the calculation is abandoned and the caller must fall
+ * back to the decoding implementation.</p>
+ */
+class RawChecksumCalculator {
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int BOM_1 = 0xEF;
+    private static final int BOM_2 = 0xBB;
+    private static final int BOM_3 = 0xBF;
+
+    /**
+     * Prevent instantiation.
+     */
+    private RawChecksumCalculator() {
+        // Do nothing
+    }
+
+    /**
+     * Checks whether raw checksums can be calculated for resources in this encoding.
+     *
+     * @param encoding The encoding of the resource.
+     * @return {@code true} if they can, {@code false} if the decoding implementation must be used.
+     */
+    static boolean supports(Charset encoding) {
+        return StandardCharsets.UTF_8.equals(encoding)
+                || StandardCharsets.US_ASCII.equals(encoding)
+                || StandardCharsets.ISO_8859_1.equals(encoding);
+    }
+
+    /**
+     * Calculates the checksum of the contents of this stream. The stream is not closed.
+     *
+     * @param inputStream The raw contents of the resource.
+     * @param encoding    The encoding of the resource.
+     * @return The checksum, or {@code null} if the contents contain bytes for which the raw checksum may differ from
+     * the decoded one (non-ASCII bytes in a single-byte encoding or malformed UTF-8).
+     * @throws IOException when the stream could not be read.
+     */
+    static Integer calculate(InputStream inputStream, Charset encoding) throws IOException {
+        boolean utf8 = StandardCharsets.UTF_8.equals(encoding);
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        // Number of continuation bytes still expected for the current UTF-8 sequence,
+        // as well as the permitted range of the next one (to reject overlong forms and surrogates)
+        int pending = 0;
+        int lower = 0x80;
+        int upper = 0xBF;
+
+        int read = readFirstBytes(inputStream, buffer);
+        int from = utf8 && read >= 3
+                && (buffer[0] & 0xFF) == BOM_1 && (buffer[1] & 0xFF) == BOM_2 && (buffer[2] & 0xFF) == BOM_3
+                ? 3 : 0;
+        while (read != -1) {
+            int length = 0;
+            for (int i = from; i < read; i++) {
+                int b = buffer[i] & 0xFF;
+                if (pending > 0) {
+                    if (b < lower || b > upper) {
+                        return null;
+                    }
+                    pending--;
+                    lower = 0x80;
+                    upper = 0xBF;
+                } else if (b >= 0x80) {
+                    if (!utf8) {
+                        return null;
+                    }
+                    if (b >= 0xC2 && b <= 0xDF) {
+                        pending = 1;
+                    } else if (b >= 0xE0 && b <= 0xEF) {
+                        pending = 2;
+                        if (b == 0xE0) {
+                            lower = 0xA0;
+                        } else if (b == 0xED) {
+                            upper = 0x9F;
+                        }
+                    } else if (b >= 0xF0 && b <= 0xF4) {
+                        pending = 3;
+                        if (b == 0xF0) {
+                            lower = 0x90;
+                        } else if (b == 0xF4) {
+                            upper = 0x8F;
+                        }
+                    } else {
+                        return null;
+                    }
+                } else if (b == '\n' || b == '\r') {
+                    continue;
+                }
+                buffer[length++] = (byte) b;
+            }
+            crc32.update(buffer, 0, length);
+            from = 0;
+            read = inputStream.read(buffer);
+        }
+
+        if (pending > 0) {
+            return null;
+        }
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * Reads the first bytes of this stream, making sure enough of them are available to detect a byte order mark.
+     *
+     * @return The number of bytes read, or -1 if the stream is empty.
+     */
+    private static int readFirstBytes(InputStream inputStream, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < 3) {
+            int read = inputStream.read(buffer, total, buffer.length - total);
+            if (read == -1) {
+                return total == 0 ? -1 : total;
+            }
+            total += read;
+        }
+        return total;
+    }
+}
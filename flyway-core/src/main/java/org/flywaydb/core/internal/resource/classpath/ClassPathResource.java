@@ -17,6 +17,7 @@ package org.flywaydb.core.internal.resource.classpath;
 
 import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.Location;
+import org.flywaydb.core.internal.resource.ChecksumCache;
 import org.flywaydb.core.internal.resource.LoadableResource;
 import org.flywaydb.core.internal.util.UrlUtils;
 
@@ -48,9 +49,12 @@ public class ClassPathResource extends LoadableResource {
      *
      * @param fileNameWithAbsolutePath The path and filename of the resource on the classpath.
      * @param classLoader              The ClassLoader to use.
+     * @param encoding                 The encoding of the resource.
+     * @param checksumCache            The persistent checksum cache to use. {@code null} if none.
      */
     public ClassPathResource(Location location, String fileNameWithAbsolutePath, ClassLoader classLoader,
-                             Charset encoding) {
+                             Charset encoding, ChecksumCache checksumCache) {
+        super(checksumCache);
         this.fileNameWithAbsolutePath = fileNameWithAbsolutePath;
         this.fileNameWithRelativePath = location == null || location.getPath().isEmpty()
                 ? fileNameWithAbsolutePath
@@ -94,6 +98,21 @@ public class ClassPathResource extends LoadableResource {
         return new InputStreamReader(inputStream, encoding.newDecoder());
     }
 
+    @Override
+    protected InputStream readRaw() {
+        return classLoader.getResourceAsStream(fileNameWithAbsolutePath);
+    }
+
+    @Override
+    protected Charset getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    protected String getChecksumCacheKey() {
+        return ChecksumCache.urlKey(getUrl(), encoding);
+    }
+
     @Override
     public String getFilename() {
         return fileNameWithAbsolutePath.substring(fileNameWithAbsolutePath.lastIndexOf("/") + 1);
@@ -20,6 +20,7 @@ import org.flywaydb.core.api.Location;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.parser.Parser;
+import org.flywaydb.core.internal.resource.ChecksumCache;
 import org.flywaydb.core.internal.resource.LoadableResource;
 import org.flywaydb.core.internal.util.BomStrippingReader;
 
@@ -58,12 +59,15 @@ public class FileSystemResource extends LoadableResource {
      * Creates a new ClassPathResource.
      *
      * @param fileNameWithPath The path and filename of the resource on the filesystem.
+     * @param encoding         The encoding of the resource.
+     * @param checksumCache    The persistent checksum cache to use. {@code null} if none.
      */
-    public FileSystemResource(Location location, String fileNameWithPath, Charset encoding
+    public FileSystemResource(Location location, String fileNameWithPath, Charset encoding, ChecksumCache checksumCache
 
 
 
     ) {
+        super(checksumCache);
         this.file = new File(new File(fileNameWithPath).getPath());
         this.relativePath = (location == null || location.getPath().isEmpty()
                 ? file.getPath()
@@ -109,6 +113,27 @@ public class FileSystemResource extends LoadableResource {
         }
     }
 
+    @Override
+    protected InputStream readRaw() {
+        try {
+            return Channels.newInputStream(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+        } catch (IOException e) {
+            LOG.debug("Unable to open filesystem resource " + file.getPath() + " for raw reading."
+                    + " Falling back to the decoding implementation. Exception message: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    protected Charset getEncoding() {
+        return encoding;
+    }
+
+    @Override
+    protected String getChecksumCacheKey() {
+        return ChecksumCache.fileKey(file, encoding);
+    }
+
 
 
 
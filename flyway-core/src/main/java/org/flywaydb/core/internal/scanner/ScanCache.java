@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.scanner;
+
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.util.CacheFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent cache of the resource names found in jar files on the classpath, shared between Flyway runs and
+ * processes.
+ * <p>Entries are keyed by the canonical path, size and modification time of the jar file together with what was
+ * scanned within it, so a replaced jar never matches its old entries. Directories on the classpath are not cached, as
+ * files can be added to them without any change to the directory itself being visible. Entries which haven't been
+ * used for a while are dropped when saving.</p>
+ */
+public class ScanCache {
+    private static final Log LOG = LogFactory.getLog(ScanCache.class);
+
+    private static final String HEADER = "# Flyway scan cache v1";
+
+    /**
+     * The number of days after which unused entries are dropped.
+     */
+    private static final long RETENTION_DAYS = 30;
+
+    private final File file;
+    private final long today = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis());
+
+    /**
+     * The entries read from the cache file.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The entries used or added during this run, which must be written back.
+     */
+    private final Map<String, Entry> touchedEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new scan cache backed by this file. The file is read immediately if it exists.
+     *
+     * @param file The cache file.
+     */
+    public ScanCache(File file) {
+        this.file = file;
+        try {
+            entries.putAll(parse(CacheFileUtils.readLines(file)));
+            LOG.debug("Loaded " + entries.size() + " entries from scan cache " + file.getAbsolutePath());
+        } catch (IOException e) {
+            LOG.warn("Unable to read scan cache " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the cache key for a scan of a jar file.
+     *
+     * @param jarFile The jar file on disk.
+     * @param scope   What was scanned within the jar file, such as the full URL of the scanned location.
+     * @return The key, or {@code null} if the scan results of this jar file can't safely be cached.
+     */
+    public static String jarKey(File jarFile, String scope) {
+        String fingerprint = CacheFileUtils.fingerprint(jarFile);
+        if (fingerprint == null || !isStorable(fingerprint) || !isStorable(scope)) {
+            return null;
+        }
+        return "jar:" + fingerprint + "|" + scope;
+    }
+
+    /**
+     * Retrieves the cached resource names for this key.
+     *
+     * @param key The key, as computed by {@link #jarKey(File, String)}.
+     * @return The resource names or {@code null} if none are cached.
+     */
+    public Set<String> get(String key) {
+        Entry entry = touchedEntries.get(key);
+        if (entry == null) {
+            entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            touchedEntries.put(key, new Entry(entry.resourceNames, today));
+        }
+        return new TreeSet<>(entry.resourceNames);
+    }
+
+    /**
+     * Caches these resource names. Names which can't be stored in the cache file are silently not cached.
+     *
+     * @param key           The key, as computed by {@link #jarKey(File, String)}.
+     * @param resourceNames The resource names.
+     */
+    public void put(String key, Set<String> resourceNames) {
+        for (String resourceName : resourceNames) {
+            if (!isStorable(resourceName)) {
+                return;
+            }
+        }
+        touchedEntries.put(key, new Entry(Collections.unmodifiableSet(new TreeSet<>(resourceNames)), today));
+    }
+
+    /**
+     * Writes the entries used or added during this run back to the cache file, merging them with any entries written by
+     * other processes in the meantime. Failures are logged, but never fail the run.
+     */
+    public void save() {
+        if (touchedEntries.isEmpty()) {
+            return;
+        }
+
+        try {
+            CacheFileUtils.update(file, new CacheFileUtils.Updater() {
+                @Override
+                public List<String> update(List<String> currentLines) {
+                    Map<String, Entry> merged = parse(currentLines);
+                    merged.putAll(touchedEntries);
+
+                    List<String> lines = new ArrayList<>(merged.size() + 1);
+                    lines.add(HEADER);
+                    for (Map.Entry<String, Entry> entry : merged.entrySet()) {
+                        if (today - entry.getValue().lastUsed <= RETENTION_DAYS) {
+                            StringBuilder line = new StringBuilder();
+                            line.append(entry.getValue().lastUsed).append('\t').append(entry.getKey());
+                            for (String resourceName : entry.getValue().resourceNames) {
+                                line.append('\t').append(resourceName);
+                            }
+                            lines.add(line.toString());
+                        }
+                    }
+                    return lines;
+                }
+            });
+            entries.putAll(touchedEntries);
+            touchedEntries.clear();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to save scan cache " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Entry> parse(List<String> lines) {
+        Map<String, Entry> result = new HashMap<>();
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+            return result;
+        }
+        for (int i = 1; i < lines.size(); i++) {
+            String[] parts = lines.get(i).split("\t", -1);
+            if (parts.length >= 2) {
+                try {
+                    long lastUsed = Long.parseLong(parts[0]);
+                    Set<String> resourceNames = new TreeSet<>();
+                    for (int j = 2; j < parts.length; j++) {
+                        resourceNames.add(parts[j]);
+                    }
+                    result.put(parts[1], new Entry(Collections.unmodifiableSet(resourceNames), lastUsed));
+                } catch (NumberFormatException e) {
+                    // Skip corrupted entry
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Whether this string can be stored as a field in the tab-separated cache file.
+     */
+    private static boolean isStorable(String s) {
+        return s.indexOf('\t') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0;
+    }
+
+    private static class Entry {
+        private final Set<String> resourceNames;
+        private final long lastUsed;
+
+        private Entry(Set<String> resourceNames, long lastUsed) {
+            this.resourceNames = resourceNames;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -19,6 +19,8 @@ import org.flywaydb.core.api.Location;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.clazz.ClassProvider;
+import org.flywaydb.core.internal.clazz.LazyClass;
+import org.flywaydb.core.internal.resource.ChecksumCache;
 import org.flywaydb.core.internal.resource.LoadableResource;
 import org.flywaydb.core.internal.resource.ResourceProvider;
 import org.flywaydb.core.internal.scanner.android.AndroidScanner;
@@ -30,9 +32,13 @@ import org.flywaydb.core.internal.util.StringUtils;
 
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Scanner for Resources and Classes.
@@ -41,15 +47,27 @@ public class Scanner<I> implements ResourceProvider, ClassProvider<I> {
     private static final Log LOG = LogFactory.getLog(Scanner.class);
 
     private final List<LoadableResource> resources = new ArrayList<>();
-    private final List<Class<? extends I>> classes = new ArrayList<>();
+    private final List<LazyClass<I>> classes = new ArrayList<>();
+
+    /**
+     * The resources indexed by relative path. When several locations contain a resource with the same relative path,
+     * the first one found is used.
+     */
+    private final Map<String, LoadableResource> resourcesByRelativePath = new HashMap<>();
+
+    /**
+     * The positions of the resources in {@link #resources}, sorted by filename so that all resources whose filename
+     * starts with a given prefix form a contiguous range.
+     */
+    private final Integer[] positionsByFilename;
 
     public Scanner(Class<I> implementedInterface, Collection<Location> locations, ClassLoader classLoader, Charset encoding
 
 
 
-            , ResourceNameCache resourceNameCache
+            , ResourceNameCache resourceNameCache, ChecksumCache checksumCache, ScanCache scanCache
     ) {
-        FileSystemScanner fileSystemScanner = new FileSystemScanner(encoding
+        FileSystemScanner fileSystemScanner = new FileSystemScanner(encoding, checksumCache
 
 
 
@@ -63,22 +81,37 @@ public class Scanner<I> implements ResourceProvider, ClassProvider<I> {
             } else {
                 ResourceAndClassScanner<I> resourceAndClassScanner = android
                         ? new AndroidScanner<>(implementedInterface, classLoader, encoding, location)
-                        : new ClassPathScanner<>(implementedInterface, classLoader, encoding, location, resourceNameCache);
+                        : new ClassPathScanner<>(implementedInterface, classLoader, encoding, location, resourceNameCache,
+                        checksumCache, scanCache);
                 resources.addAll(resourceAndClassScanner.scanForResources());
                 classes.addAll(resourceAndClassScanner.scanForClasses());
             }
         }
-    }
 
-    @Override
-    public LoadableResource getResource(String name) {
         for (LoadableResource resource : resources) {
-            String fileName = resource.getRelativePath();
-            if (fileName.equals(name)) {
-                return resource;
+            String relativePath = resource.getRelativePath();
+            if (!resourcesByRelativePath.containsKey(relativePath)) {
+                resourcesByRelativePath.put(relativePath, resource);
             }
         }
-        return null;
+
+        final String[] filenames = new String[resources.size()];
+        positionsByFilename = new Integer[resources.size()];
+        for (int i = 0; i < filenames.length; i++) {
+            filenames[i] = resources.get(i).getFilename();
+            positionsByFilename[i] = i;
+        }
+        Arrays.sort(positionsByFilename, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return filenames[o1].compareTo(filenames[o2]);
+            }
+        });
+    }
+
+    @Override
+    public LoadableResource getResource(String name) {
+        return resourcesByRelativePath.get(name);
     }
 
     /**
@@ -89,25 +122,64 @@ public class Scanner<I> implements ResourceProvider, ClassProvider<I> {
      * @return The resources that were found.
      */
     public Collection<LoadableResource> getResources(String prefix, String... suffixes) {
-        List<LoadableResource> result = new ArrayList<>();
-        for (LoadableResource resource : resources) {
+        boolean debugEnabled = LOG.isDebugEnabled();
+        List<Integer> matches = new ArrayList<>();
+        int candidates = 0;
+        for (int i = findFirstPosition(prefix); i < positionsByFilename.length; i++) {
+            int position = positionsByFilename[i];
+            LoadableResource resource = resources.get(position);
             String fileName = resource.getFilename();
+            if (!fileName.startsWith(prefix)) {
+                break;
+            }
+            candidates++;
             if (StringUtils.startsAndEndsWith(fileName, prefix, suffixes)) {
-                result.add(resource);
-            } else {
+                matches.add(position);
+            } else if (debugEnabled) {
                 LOG.debug("Filtering out resource: " + resource.getAbsolutePath() + " (filename: " + fileName + ")");
             }
         }
+        if (debugEnabled && candidates < resources.size()) {
+            LOG.debug("Filtering out " + (resources.size() - candidates) + " resource(s) not starting with '" + prefix + "'");
+        }
+
+        // Preserve the order in which the resources were found
+        Collections.sort(matches);
+        List<LoadableResource> result = new ArrayList<>(matches.size());
+        for (Integer position : matches) {
+            result.add(resources.get(position));
+        }
         return result;
     }
 
+    /**
+     * Finds the first position in the filename index whose filename is not less than this prefix.
+     *
+     * @param prefix The prefix.
+     * @return The position. The length of the index if there is none.
+     */
+    private int findFirstPosition(String prefix) {
+        int low = 0;
+        int high = positionsByFilename.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (resources.get(positionsByFilename[mid]).getFilename().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /**
      * Scans the classpath for concrete classes under the specified package implementing the specified interface.
-     * Non-instantiable abstract classes are filtered out.
+     * Non-instantiable abstract classes are filtered out. Classes are only loaded when this is required to determine
+     * whether they implement the interface.
      *
      * @return The non-abstract classes that were found.
      */
-    public Collection<Class<? extends I>> getClasses() {
+    public Collection<LazyClass<I>> getClasses() {
         return Collections.unmodifiableCollection(classes);
     }
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import org.flywaydb.core.api.Location;
 import org.flywaydb.core.api.android.ContextHolder;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.clazz.LazyClass;
 import org.flywaydb.core.internal.resource.LoadableResource;
 import org.flywaydb.core.internal.resource.android.AndroidResource;
 import org.flywaydb.core.internal.scanner.classpath.ResourceAndClassScanner;
@@ -76,10 +77,10 @@ public class AndroidScanner<I> implements ResourceAndClassScanner<I> {
     }
 
     @Override
-    public Collection<Class<? extends I>> scanForClasses() {
+    public Collection<LazyClass<I>> scanForClasses() {
         String pkg = location.getPath().replace("/", ".");
 
-        List<Class<? extends I>> classes = new ArrayList<>();
+        List<LazyClass<I>> classes = new ArrayList<>();
         String sourceDir = context.getApplicationInfo().sourceDir;
         DexFile dex = null;
         try {
@@ -90,7 +91,7 @@ public class AndroidScanner<I> implements ResourceAndClassScanner<I> {
                 if (className.startsWith(pkg)) {
                     Class<? extends I> clazz = ClassUtils.loadClass(implementedInterface, className, clazzLoader);
                     if (clazz != null) {
-                        classes.add(clazz);
+                        classes.add(LazyClass.<I>of(clazz));
                     }
                 }
             }
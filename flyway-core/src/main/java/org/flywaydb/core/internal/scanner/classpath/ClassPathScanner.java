@@ -18,16 +18,23 @@ package org.flywaydb.core.internal.scanner.classpath;
 import org.flywaydb.core.api.Location;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.clazz.ClassFileInfo;
+import org.flywaydb.core.internal.clazz.LazyClass;
+import org.flywaydb.core.internal.resource.ChecksumCache;
 import org.flywaydb.core.internal.resource.LoadableResource;
 import org.flywaydb.core.internal.resource.classpath.ClassPathResource;
 import org.flywaydb.core.internal.scanner.ResourceNameCache;
+import org.flywaydb.core.internal.scanner.ScanCache;
 import org.flywaydb.core.internal.scanner.classpath.jboss.JBossVFSv2UrlResolver;
 import org.flywaydb.core.internal.scanner.classpath.jboss.JBossVFSv3ClassPathLocationScanner;
 import org.flywaydb.core.internal.util.ClassUtils;
 import org.flywaydb.core.internal.util.FeatureDetector;
+import org.flywaydb.core.internal.util.IOUtils;
 import org.flywaydb.core.internal.util.UrlUtils;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -57,6 +64,11 @@ public class ClassPathScanner<I> implements ResourceAndClassScanner<I> {
      */
     private final Map<Location, List<URL>> locationUrlCache = new HashMap<>();
 
+    /**
+     * Cache whether supertypes implement the interface, as determined from their class files. {@code null} if unknown.
+     */
+    private final Map<String, Boolean> supertypeCache = new HashMap<>();
+
     /**
      * Cache location scanners.
      */
@@ -67,21 +79,29 @@ public class ClassPathScanner<I> implements ResourceAndClassScanner<I> {
      */
     private final ResourceNameCache resourceNameCache;
 
+    /**
+     * The persistent scan cache to use. {@code null} if none.
+     */
+    private final ScanCache scanCache;
+
     /**
      * Creates a new Classpath scanner.
      *
-     * @param classLoader The ClassLoader for loading migrations on the classpath.
+     * @param classLoader   The ClassLoader for loading migrations on the classpath.
+     * @param checksumCache The persistent checksum cache to use. {@code null} if none.
+     * @param scanCache     The persistent scan cache to use. {@code null} if none.
      */
     public ClassPathScanner(Class<I> implementedInterface, ClassLoader classLoader, Charset encoding, Location location,
-                            ResourceNameCache resourceNameCache) {
+                            ResourceNameCache resourceNameCache, ChecksumCache checksumCache, ScanCache scanCache) {
         this.implementedInterface = implementedInterface;
         this.classLoader = classLoader;
         this.location = location;
         this.resourceNameCache = resourceNameCache;
+        this.scanCache = scanCache;
 
         LOG.debug("Scanning for classpath resources at '" + location + "' ...");
         for (String resourceName : findResourceNames()) {
-            resources.add(new ClassPathResource(location, resourceName, classLoader, encoding));
+            resources.add(new ClassPathResource(location, resourceName, classLoader, encoding, checksumCache));
             LOG.debug("Found resource: " + resourceName);
         }
     }
@@ -92,19 +112,31 @@ public class ClassPathScanner<I> implements ResourceAndClassScanner<I> {
     }
 
     @Override
-    public Collection<Class<? extends I>> scanForClasses() {
+    public Collection<LazyClass<I>> scanForClasses() {
         LOG.debug("Scanning for classes at " + location);
 
-        List<Class<? extends I>> classes = new ArrayList<>();
+        List<LazyClass<I>> classes = new ArrayList<>();
 
         for (LoadableResource resource : resources) {
             if (resource.getAbsolutePath().endsWith(".class")) {
-                Class<? extends I> clazz = ClassUtils.loadClass(
-                        implementedInterface,
-                        toClassName(resource.getAbsolutePath()),
-                        classLoader);
-                if (clazz != null) {
-                    classes.add(clazz);
+                String className = toClassName(resource.getAbsolutePath());
+                ClassFileInfo classFileInfo = readClassFileInfo(resource.getAbsolutePath());
+                Boolean implementing = classFileInfo == null ? null : implementsInterface(classFileInfo);
+
+                if (implementing == null) {
+                    // Unable to tell without loading the class
+                    Class<? extends I> clazz = ClassUtils.loadClass(implementedInterface, className, classLoader);
+                    if (clazz != null) {
+                        classes.add(LazyClass.<I>of(clazz));
+                    }
+                } else if (implementing) {
+                    if (!classFileInfo.isPublicConcreteClass() || isAnonymous(className)) {
+                        LOG.debug("Skipping non-instantiable class: " + className);
+                    } else {
+                        LOG.debug("Found class: " + className);
+                        classes.add(new LazyClass<>(implementedInterface, classFileInfo, classLoader,
+                                getLocationOnDisk(resource.getAbsolutePath())));
+                    }
                 }
             }
         }
@@ -112,6 +144,104 @@ public class ClassPathScanner<I> implements ResourceAndClassScanner<I> {
         return classes;
     }
 
+    /**
+     * Reads the class file information of this class on the classpath, without loading it.
+     *
+     * @param path The path of the class file on the classpath.
+     * @return The class file information or {@code null} if it could not be read.
+     */
+    private ClassFileInfo readClassFileInfo(String path) {
+        InputStream inputStream = classLoader.getResourceAsStream(path);
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return ClassFileInfo.read(inputStream);
+        } catch (IOException e) {
+            LOG.debug("Unable to read class file " + path + ": " + e.getMessage());
+            return null;
+        } finally {
+            IOUtils.close(inputStream);
+        }
+    }
+
+    /**
+     * Checks whether this class implements the interface this scanner looks for, by walking its superclasses and
+     * interfaces using their class files.
+     *
+     * @param classFileInfo The class file information of the class.
+     * @return {@code true} if it does, {@code false} if it doesn't, or {@code null} if this couldn't be determined
+     * without loading classes.
+     */
+    private Boolean implementsInterface(ClassFileInfo classFileInfo) {
+        List<String> supertypes = new ArrayList<>(classFileInfo.getInterfaceNames());
+        if (classFileInfo.getSuperClassName() != null) {
+            supertypes.add(classFileInfo.getSuperClassName());
+        }
+
+        boolean unknown = false;
+        for (String supertype : supertypes) {
+            Boolean result = isSubtypeOfInterface(supertype);
+            if (result == null) {
+                unknown = true;
+            } else if (result) {
+                return true;
+            }
+        }
+        return unknown ? null : false;
+    }
+
+    private Boolean isSubtypeOfInterface(String className) {
+        if (className.equals(implementedInterface.getName())) {
+            return true;
+        }
+        if (className.startsWith("java.") || className.startsWith("javax.")) {
+            // Platform classes can't implement our interface
+            return false;
+        }
+        if (supertypeCache.containsKey(className)) {
+            return supertypeCache.get(className);
+        }
+
+        ClassFileInfo classFileInfo = readClassFileInfo(className.replace('.', '/') + ".class");
+        Boolean result = classFileInfo == null ? null : implementsInterface(classFileInfo);
+        supertypeCache.put(className, result);
+        return result;
+    }
+
+    /**
+     * @return Whether this class name is the name of an anonymous class, which can't be instantiated.
+     */
+    private static boolean isAnonymous(String className) {
+        int index = className.lastIndexOf('$');
+        return index >= 0 && index + 1 < className.length() && Character.isDigit(className.charAt(index + 1));
+    }
+
+    /**
+     * Determines the physical location on disk of this class file, the same way as
+     * {@link ClassUtils#getLocationOnDisk(Class)} would once it is loaded: the jar file or classpath root directory
+     * containing it.
+     *
+     * @param path The path of the class file on the classpath.
+     * @return The location or {@code null} if it could not be determined.
+     */
+    private String getLocationOnDisk(String path) {
+        URL url = classLoader.getResource(path);
+        if (url == null) {
+            return null;
+        }
+        if ("file".equals(url.getProtocol())) {
+            String filePath = UrlUtils.decodeURL(url.getPath());
+            return filePath.endsWith(path) ? filePath.substring(0, filePath.length() - path.length()) : filePath;
+        }
+        String urlPath = url.getPath();
+        int separatorIndex = urlPath.indexOf("!/");
+        if ("jar".equals(url.getProtocol()) && urlPath.startsWith("file:") && separatorIndex > 0) {
+            return UrlUtils.decodeURL(urlPath.substring("file:".length(), separatorIndex));
+        }
+        return null;
+    }
+
     /**
      * Converts this resource name to a fully qualified class name.
      *
@@ -170,34 +300,10 @@ public class ClassPathScanner<I> implements ResourceAndClassScanner<I> {
                             && url.getPath().endsWith(".jar")
                             && !url.getPath().matches(".*" + Pattern.quote("/jre/lib/") + ".*")) {
                         // All non-system jars on disk
-                        JarFile jarFile;
-                        try {
-                            try {
-                                jarFile = new JarFile(url.toURI().getSchemeSpecificPart());
-                            } catch (URISyntaxException ex) {
-                                // Fallback for URLs that are not valid URIs (should hardly ever happen).
-                                jarFile = new JarFile(url.getPath().substring("file:".length()));
-                            }
-                        } catch (IOException | SecurityException e) {
-                            LOG.warn("Skipping unloadable jar file: " + url + " (" + e.getMessage() + ")");
-                            continue;
-                        }
-
-                        try {
-                            Enumeration<JarEntry> entries = jarFile.entries();
-                            while (entries.hasMoreElements()) {
-                                String entryName = entries.nextElement().getName();
-                                if (entryName.startsWith(location.getPath())) {
-                                    locationResolved = true;
-                                    resourceNames.add(entryName);
-                                }
-                            }
-                        } finally {
-                            try {
-                                jarFile.close();
-                            } catch (IOException e) {
-                                // Ignore
-                            }
+                        Set<String> names = findResourceNamesInJarFile(url);
+                        if (!names.isEmpty()) {
+                            locationResolved = true;
+                            resourceNames.addAll(names);
                         }
                     }
                 }
@@ -211,6 +317,62 @@ public class ClassPathScanner<I> implements ResourceAndClassScanner<I> {
         return resourceNames;
     }
 
+    /**
+     * Finds the names of all entries of this jar file on disk which start with the path of the location, using the
+     * scan cache when possible.
+     *
+     * @param url The URL of the jar file.
+     * @return The resource names. An empty set if the jar file could not be read.
+     */
+    private Set<String> findResourceNamesInJarFile(URL url) {
+        String path;
+        try {
+            path = url.toURI().getSchemeSpecificPart();
+        } catch (URISyntaxException ex) {
+            // Fallback for URLs that are not valid URIs (should hardly ever happen).
+            path = url.getPath().substring("file:".length());
+        }
+
+        String cacheKey = scanCache == null ? null : ScanCache.jarKey(new File(path), "entries:" + location.getPath());
+        if (cacheKey != null) {
+            Set<String> cachedNames = scanCache.get(cacheKey);
+            if (cachedNames != null) {
+                LOG.debug("Using cached scan results for " + url);
+                return cachedNames;
+            }
+        }
+
+        JarFile jarFile;
+        try {
+            jarFile = new JarFile(path);
+        } catch (IOException | SecurityException e) {
+            LOG.warn("Skipping unloadable jar file: " + url + " (" + e.getMessage() + ")");
+            return Collections.emptySet();
+        }
+
+        Set<String> names = new TreeSet<>();
+        try {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+                if (entryName.startsWith(location.getPath())) {
+                    names.add(entryName);
+                }
+            }
+        } finally {
+            try {
+                jarFile.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+
+        if (cacheKey != null) {
+            scanCache.put(cacheKey, names);
+        }
+        return names;
+    }
+
     /**
      * Gets the physical location urls for this logical path on the classpath.
      *
@@ -294,7 +456,7 @@ public class ClassPathScanner<I> implements ResourceAndClassScanner<I> {
 
         if ("jar".equals(protocol) || isTomcat(protocol) || isWebLogic(protocol) || isWebSphere(protocol)) {
             String separator = isTomcat(protocol) ? "*/" : "!/";
-            ClassPathLocationScanner locationScanner = new JarFileClassPathLocationScanner(separator);
+            ClassPathLocationScanner locationScanner = new JarFileClassPathLocationScanner(separator, scanCache);
             locationScannerCache.put(protocol, locationScanner);
             resourceNameCache.put(locationScanner, new HashMap<>());
             return locationScanner;
@@ -17,8 +17,10 @@ package org.flywaydb.core.internal.scanner.classpath;
 
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.scanner.ScanCache;
 import org.flywaydb.core.internal.util.IOUtils;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.JarURLConnection;
 import java.net.URISyntaxException;
@@ -42,12 +44,44 @@ public class JarFileClassPathLocationScanner implements ClassPathLocationScanner
      */
     private final String separator;
 
+    /**
+     * The persistent scan cache to use. {@code null} if none.
+     */
+    private final ScanCache scanCache;
+
     /**
      * @param separator The separator that delimits the jar file name and the file inside the jar within a URL.
+     * @param scanCache The persistent scan cache to use. {@code null} if none.
      */
-    JarFileClassPathLocationScanner(String separator) { this.separator = separator; }
+    JarFileClassPathLocationScanner(String separator, ScanCache scanCache) {
+        this.separator = separator;
+        this.scanCache = scanCache;
+    }
 
     public Set<String> findResourceNames(String location, URL locationUrl) {
+        String cacheKey = null;
+        if (scanCache != null) {
+            File jarFileOnDisk = getJarFileOnDisk(locationUrl);
+            if (jarFileOnDisk != null) {
+                cacheKey = ScanCache.jarKey(jarFileOnDisk, locationUrl.toExternalForm());
+            }
+            if (cacheKey != null) {
+                Set<String> resourceNames = scanCache.get(cacheKey);
+                if (resourceNames != null) {
+                    LOG.debug("Using cached scan results for " + locationUrl);
+                    return resourceNames;
+                }
+            }
+        }
+
+        Set<String> resourceNames = scanJarFile(location, locationUrl);
+        if (cacheKey != null) {
+            scanCache.put(cacheKey, resourceNames);
+        }
+        return resourceNames;
+    }
+
+    private Set<String> scanJarFile(String location, URL locationUrl) {
         JarFile jarFile;
         try {
             jarFile = getJarFromUrl(locationUrl);
@@ -69,6 +103,30 @@ public class JarFileClassPathLocationScanner implements ClassPathLocationScanner
         }
     }
 
+    /**
+     * Determines the file on disk containing the jar represented by this URL, without opening it.
+     *
+     * @param locationUrl The URL of the jar.
+     * @return The file or {@code null} if it could not be determined.
+     */
+    private File getJarFileOnDisk(URL locationUrl) {
+        String urlFile = locationUrl.getFile();
+        int separatorIndex = urlFile.indexOf(separator);
+        String jarFileUrl = separatorIndex == -1 ? urlFile : urlFile.substring(0, separatorIndex);
+        try {
+            if (jarFileUrl.startsWith("file:")) {
+                return new File(new URL(jarFileUrl).toURI());
+            }
+            if (jarFileUrl.contains(":")) {
+                // Some other URL scheme, such as http:
+                return null;
+            }
+            return new File(jarFileUrl);
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Retrieves the Jar file represented by this URL.
      *
@@ -15,6 +15,7 @@
  */
 package org.flywaydb.core.internal.scanner.classpath;
 
+import org.flywaydb.core.internal.clazz.LazyClass;
 import org.flywaydb.core.internal.resource.LoadableResource;
 
 import java.util.Collection;
@@ -32,9 +33,10 @@ public interface ResourceAndClassScanner<I> {
 
     /**
      * Scans the classpath for concrete classes under the specified package implementing the specified interface.
-     * Non-instantiable abstract classes are filtered out.
+     * Non-instantiable abstract classes are filtered out. Classes are only loaded when this is required to determine
+     * whether they implement the interface.
      *
      * @return The non-abstract classes that were found.
      */
-    Collection<Class<? extends I>> scanForClasses();
+    Collection<LazyClass<I>> scanForClasses();
 }
\ No newline at end of file
@@ -18,15 +18,24 @@ package org.flywaydb.core.internal.scanner.filesystem;
 import org.flywaydb.core.api.Location;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.resource.ChecksumCache;
 import org.flywaydb.core.internal.resource.LoadableResource;
 import org.flywaydb.core.internal.resource.filesystem.FileSystemResource;
+import org.flywaydb.core.internal.util.ParallelUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * FileSystem scanner.
@@ -34,6 +43,7 @@ import java.util.TreeSet;
 public class FileSystemScanner {
     private static final Log LOG = LogFactory.getLog(FileSystemScanner.class);
     private final Charset encoding;
+    private final ChecksumCache checksumCache;
 
 
 
@@ -42,28 +52,29 @@ public class FileSystemScanner {
     /**
      * Creates a new filesystem scanner.
      *
-     * @param encoding The encoding to use.
+     * @param encoding      The encoding to use.
+     * @param checksumCache The persistent checksum cache to use. {@code null} if none.
 
 
 
      */
-    public FileSystemScanner(Charset encoding
+    public FileSystemScanner(Charset encoding, ChecksumCache checksumCache
 
 
 
     ) {
         this.encoding = encoding;
+        this.checksumCache = checksumCache;
 
 
 
     }
 
     /**
-     * Scans the FileSystem for resources under the specified location, starting with the specified prefix and ending with
-     * the specified suffix.
+     * Scans the FileSystem for resources under the specified location. Subdirectories are scanned in parallel.
      *
      * @param location The location in the filesystem to start searching. Subdirectories are also searched.
-     * @return The resources that were found.
+     * @return The resources that were found, sorted by path.
      */
     public Collection<LoadableResource> scanForResources(Location location) {
         String path = location.getPath();
@@ -83,10 +94,18 @@ public class FileSystemScanner {
             return Collections.emptyList();
         }
 
-        Set<LoadableResource> resources = new TreeSet<>();
+        List<String> resourceNames;
+        ForkJoinPool pool = new ForkJoinPool(ParallelUtils.getDefaultParallelism());
+        try {
+            resourceNames = pool.invoke(new DirectoryScanTask(dir.toPath()));
+        } finally {
+            pool.shutdownNow();
+        }
+        Collections.sort(resourceNames);
 
-        for (String resourceName : findResourceNamesFromFileSystem(path, new File(path))) {
-            resources.add(new FileSystemResource(location, resourceName, encoding
+        List<LoadableResource> resources = new ArrayList<>(resourceNames.size());
+        for (String resourceName : resourceNames) {
+            resources.add(new FileSystemResource(location, resourceName, encoding, checksumCache
 
 
 
@@ -98,34 +117,63 @@ public class FileSystemScanner {
     }
 
     /**
-     * Finds all the resource names contained in this file system folder.
-     *
-     * @param scanRootLocation The root location of the scan on disk.
-     * @param folder           The folder to look for resources under on disk.
-     * @return The resource names;
+     * Finds all the resource names contained in a file system folder, forking a new task for each subfolder.
      */
-    @SuppressWarnings("ConstantConditions")
-    private Set<String> findResourceNamesFromFileSystem(String scanRootLocation, File folder) {
-        LOG.debug("Scanning for resources in path: " + folder.getPath() + " (" + scanRootLocation + ")");
-
-        Set<String> resourceNames = new TreeSet<>();
-
-        File[] files = folder.listFiles();
-        for (File file : files) {
-            if (file.canRead()) {
-                if (file.isDirectory()) {
-                    if (file.isHidden()) {
-                        // #1807: Skip hidden directories to avoid issues with Kubernetes
-                        LOG.debug("Skipping hidden directory: " + file.getAbsolutePath());
-                    } else {
-                        resourceNames.addAll(findResourceNamesFromFileSystem(scanRootLocation, file));
+    private class DirectoryScanTask extends RecursiveTask<List<String>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path folder;
+
+        private DirectoryScanTask(Path folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        protected List<String> compute() {
+            LOG.debug("Scanning for resources in path: " + folder);
+
+            List<String> resourceNames = new ArrayList<>();
+            List<DirectoryScanTask> subTasks = new ArrayList<>();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(folder)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    } catch (IOException e) {
+                        LOG.debug("Skipping unreadable path: " + entry + " (" + e.getMessage() + ")");
+                        continue;
+                    }
+
+                    if (attributes.isDirectory()) {
+                        if (isHidden(entry)) {
+                            // #1807: Skip hidden directories to avoid issues with Kubernetes
+                            LOG.debug("Skipping hidden directory: " + entry.toAbsolutePath());
+                        } else {
+                            DirectoryScanTask subTask = new DirectoryScanTask(entry);
+                            subTask.fork();
+                            subTasks.add(subTask);
+                        }
+                    } else if (Files.isReadable(entry)) {
+                        resourceNames.add(entry.toString());
                     }
-                } else {
-                    resourceNames.add(file.getPath());
                 }
+            } catch (IOException e) {
+                LOG.debug("Skipping unreadable directory: " + folder + " (" + e.getMessage() + ")");
+            }
+
+            for (DirectoryScanTask subTask : subTasks) {
+                resourceNames.addAll(subTask.join());
             }
+            return resourceNames;
         }
 
-        return resourceNames;
+        private boolean isHidden(Path path) {
+            try {
+                return Files.isHidden(path);
+            } catch (IOException e) {
+                return false;
+            }
+        }
     }
-}
\ No newline at end of file
+}
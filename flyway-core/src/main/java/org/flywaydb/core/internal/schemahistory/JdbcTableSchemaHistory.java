@@ -165,6 +165,35 @@ class JdbcTableSchemaHistory extends SchemaHistory {
         }
     }
 
+    @Override
+    protected void doAddAppliedMigrations(List<AppliedMigration> appliedMigrations) {
+        connection.restoreOriginalState();
+
+        // Lock again for databases with no clean DDL transactions like Oracle
+        // to prevent implicit commits from triggering deadlocks
+        // in highly concurrent environments
+        if (!database.supportsDdlTransactions()) {
+            table.lock();
+        }
+
+        List<Object[]> rows = new ArrayList<>(appliedMigrations.size());
+        for (AppliedMigration appliedMigration : appliedMigrations) {
+            MigrationVersion version = appliedMigration.getVersion();
+            rows.add(new Object[]{appliedMigration.getInstalledRank(), version == null ? null : version.toString(),
+                    appliedMigration.getDescription(), appliedMigration.getType().name(), appliedMigration.getScript(),
+                    appliedMigration.getChecksum(), database.getInstalledBy(), appliedMigration.getExecutionTime(),
+                    appliedMigration.isSuccess()});
+        }
+
+        try {
+            jdbcTemplate.updateBatch(database.getInsertStatement(table), rows);
+            LOG.debug("Schema History table " + table + " successfully updated to reflect changes");
+        } catch (SQLException e) {
+            throw new FlywaySqlException("Unable to insert rows for " + appliedMigrations.size()
+                    + " migrations in Schema History table " + table, e);
+        }
+    }
+
     @Override
     public List<AppliedMigration> allAppliedMigrations() {
         if (!exists()) {
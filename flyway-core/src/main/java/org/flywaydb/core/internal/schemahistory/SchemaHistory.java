@@ -23,6 +23,7 @@ import org.flywaydb.core.internal.database.base.Table;
 import org.flywaydb.core.internal.util.AbbreviationUtils;
 import org.flywaydb.core.internal.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -36,6 +37,12 @@ public abstract class SchemaHistory {
      */
     protected Table table;
 
+    /**
+     * The migrations recorded since the current batch was started, which still have to be written. {@code null} when
+     * no batch is in progress.
+     */
+    private List<AppliedMigration> batch;
+
     /**
      * Acquires an exclusive read-write lock on the schema history table. This lock will be released automatically upon completion.
      *
@@ -157,6 +164,17 @@ public abstract class SchemaHistory {
      */
     public final void addAppliedMigration(MigrationVersion version, String description, MigrationType type,
                                           String script, Integer checksum, int executionTime, boolean success) {
+        if (batch != null && type != MigrationType.SCHEMA) {
+            // Only query the current maximum rank once per batch
+            int installedRank = batch.isEmpty()
+                    ? calculateInstalledRank()
+                    : batch.get(batch.size() - 1).getInstalledRank() + 1;
+            batch.add(new AppliedMigration(installedRank, version,
+                    AbbreviationUtils.abbreviateDescription(description), type,
+                    AbbreviationUtils.abbreviateScript(script), checksum, null, null, executionTime, success));
+            return;
+        }
+
         int installedRank = type == MigrationType.SCHEMA ? 0 : calculateInstalledRank();
         doAddAppliedMigration(
                 installedRank,
@@ -186,6 +204,44 @@ public abstract class SchemaHistory {
                                                   MigrationType type, String script, Integer checksum,
                                                   int executionTime, boolean success);
 
+    /**
+     * Starts a batch. Until it is flushed, applied migrations are only recorded in memory.
+     */
+    public final void startBatch() {
+        batch = new ArrayList<>();
+    }
+
+    /**
+     * Writes all applied migrations recorded since the batch was started and ends the batch.
+     */
+    public final void flushBatch() {
+        List<AppliedMigration> appliedMigrations = batch;
+        batch = null;
+        if (appliedMigrations != null && !appliedMigrations.isEmpty()) {
+            doAddAppliedMigrations(appliedMigrations);
+        }
+    }
+
+    /**
+     * Ends the batch without writing the applied migrations recorded since it was started.
+     */
+    public final void discardBatch() {
+        batch = null;
+    }
+
+    /**
+     * Writes these applied migrations, whose installed ranks have already been assigned.
+     *
+     * @param appliedMigrations The applied migrations.
+     */
+    protected void doAddAppliedMigrations(List<AppliedMigration> appliedMigrations) {
+        for (AppliedMigration appliedMigration : appliedMigrations) {
+            doAddAppliedMigration(appliedMigration.getInstalledRank(), appliedMigration.getVersion(),
+                    appliedMigration.getDescription(), appliedMigration.getType(), appliedMigration.getScript(),
+                    appliedMigration.getChecksum(), appliedMigration.getExecutionTime(), appliedMigration.isSuccess());
+        }
+    }
+
     @Override
     public String toString() {
         return table.toString();
@@ -21,22 +21,41 @@ import org.flywaydb.core.api.callback.Warning;
 import org.flywaydb.core.api.logging.Log;
 import org.flywaydb.core.api.logging.LogFactory;
 import org.flywaydb.core.internal.callback.CallbackExecutor;
+import org.flywaydb.core.internal.jdbc.JdbcConnectionFactory;
 import org.flywaydb.core.internal.jdbc.JdbcTemplate;
+import org.flywaydb.core.internal.jdbc.JdbcUtils;
 import org.flywaydb.core.internal.jdbc.Result;
 import org.flywaydb.core.internal.jdbc.Results;
 import org.flywaydb.core.internal.util.AsciiTable;
+import org.flywaydb.core.internal.util.ParallelUtils;
 
+import java.sql.Connection;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class DefaultSqlScriptExecutor implements SqlScriptExecutor {
     private static final Log LOG = LogFactory.getLog(DefaultSqlScriptExecutor.class);
 
     private final JdbcTemplate jdbcTemplate;
 
+    /**
+     * The factory for the additional connections used to execute parallel blocks. {@code null} if parallel blocks
+     * should be executed on the main connection like all other statements.
+     */
+    private final JdbcConnectionFactory jdbcConnectionFactory;
 
+    /**
+     * The throttle slowing down the statements. {@code null} if they are executed at full speed.
+     */
+    private final StatementThrottle throttle;
 
 
 
@@ -68,13 +87,18 @@ public class DefaultSqlScriptExecutor implements SqlScriptExecutor {
 
 
 
-    public DefaultSqlScriptExecutor(JdbcTemplate jdbcTemplate
+
+
+    public DefaultSqlScriptExecutor(JdbcTemplate jdbcTemplate, JdbcConnectionFactory jdbcConnectionFactory,
+                                    StatementThrottle throttle
 
 
 
 
     ) {
         this.jdbcTemplate = jdbcTemplate;
+        this.jdbcConnectionFactory = jdbcConnectionFactory;
+        this.throttle = throttle;
 
 
 
@@ -86,6 +110,11 @@ public class DefaultSqlScriptExecutor implements SqlScriptExecutor {
 
     @Override
     public void execute(SqlScript sqlScript) {
+        execute(sqlScript, null);
+    }
+
+    @Override
+    public void execute(SqlScript sqlScript, StatementCheckpoint checkpoint) {
 
 
 
@@ -94,9 +123,31 @@ public class DefaultSqlScriptExecutor implements SqlScriptExecutor {
 
 
 
+        ParallelStatementBlocks parallelStatementBlocks = readParallelStatementBlocks(sqlScript);
+        ParallelStatementBlocks.Block block = null;
+        Map<SqlStatement, Integer> blockStatements = new LinkedHashMap<>();
+        int index = -1;
         try (SqlStatementIterator sqlStatementIterator = sqlScript.getSqlStatements()) {
             while (sqlStatementIterator.hasNext()) {
                 SqlStatement sqlStatement = sqlStatementIterator.next();
+                index++;
+                if (checkpoint != null && checkpoint.isExecuted(index)) {
+                    continue;
+                }
+
+                if (parallelStatementBlocks != null) {
+                    ParallelStatementBlocks.Block statementBlock =
+                            parallelStatementBlocks.getBlock(sqlStatement);
+                    if (block != null && statementBlock != block) {
+                        executeInParallel(sqlScript, blockStatements, block.getParallelism(), checkpoint);
+                        blockStatements.clear();
+                    }
+                    block = statementBlock;
+                    if (block != null) {
+                        blockStatements.put(sqlStatement, index);
+                        continue;
+                    }
+                }
 
 
 
@@ -125,11 +176,17 @@ public class DefaultSqlScriptExecutor implements SqlScriptExecutor {
 
 
                     executeStatement(jdbcTemplate, sqlScript, sqlStatement);
+                    if (checkpoint != null) {
+                        checkpoint.statementExecuted(index, sqlStatement);
+                    }
 
 
 
             }
         }
+        if (block != null) {
+            executeInParallel(sqlScript, blockStatements, block.getParallelism(), checkpoint);
+        }
 
 
 
@@ -137,6 +194,89 @@ public class DefaultSqlScriptExecutor implements SqlScriptExecutor {
 
 
 
+    }
+
+    /**
+     * @return The parallel blocks of this script. {@code null} if all its statements must be executed on the main
+     * connection, which is always the case for scripts executed in a transaction.
+     */
+    private ParallelStatementBlocks readParallelStatementBlocks(SqlScript sqlScript) {
+        if (jdbcConnectionFactory == null || sqlScript.executeInTransaction() || sqlScript.getResource() == null) {
+            return null;
+        }
+        ParallelStatementBlocks parallelStatementBlocks = ParallelStatementBlocks.read(sqlScript.getResource());
+        return parallelStatementBlocks.isEmpty() ? null : parallelStatementBlocks;
+    }
+
+    /**
+     * Executes these statements of a parallel block at the same time, each worker on its own additional connection.
+     * After the first failure no further statements are started. Once all running statements have completed, each
+     * failed statement is reported and the first failure is rethrown. Each statement is recorded in the checkpoint as
+     * soon as it completes, so resuming after a failure only executes the statements of the block which didn't.
+     *
+     * @param sqlScript   The script containing the statements.
+     * @param statements  The statements of the block, along with their index in the script.
+     * @param parallelism The maximum number of connections to use.
+     * @param checkpoint  The progress of the script. {@code null} if it isn't recorded.
+     */
+    private void executeInParallel(final SqlScript sqlScript, final Map<SqlStatement, Integer> statements,
+                                   int parallelism, final StatementCheckpoint checkpoint) {
+        int threads = Math.min(parallelism, statements.size());
+        LOG.debug("Executing " + statements.size() + " statements in parallel using " + threads + " connections ...");
+
+        final Queue<SqlStatement> pending = new ConcurrentLinkedQueue<>(statements.keySet());
+        final Map<SqlStatement, Results> failures = new ConcurrentHashMap<>();
+        List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Connection connection = jdbcConnectionFactory.openConnection();
+                    try {
+                        JdbcUtils.copyCurrentSchema(jdbcTemplate.getConnection(), connection);
+                        JdbcTemplate workerJdbcTemplate =
+                                new JdbcTemplate(connection, jdbcConnectionFactory.getDatabaseType());
+                        SqlStatement sqlStatement;
+                        while (failures.isEmpty() && (sqlStatement = pending.poll()) != null) {
+                            logStatementExecution(sqlStatement);
+                            long start = throttle == null ? 0 : throttle.beforeStatement(connection);
+                            Results results = sqlStatement.execute(workerJdbcTemplate);
+                            if (throttle != null) {
+                                throttle.afterStatement(start, results);
+                            }
+                            printWarnings(results);
+                            if (results.getException() != null) {
+                                failures.put(sqlStatement, results);
+                            } else {
+                                handleResults(results);
+                                if (checkpoint != null) {
+                                    checkpoint.statementExecuted(statements.get(sqlStatement), sqlStatement);
+                                }
+                            }
+                        }
+                    } finally {
+                        JdbcUtils.closeConnection(connection);
+                    }
+                    return null;
+                }
+            });
+        }
+        ParallelUtils.invokeAll(workers, threads);
+
+        SqlStatement firstFailure = null;
+        for (SqlStatement sqlStatement : statements.keySet()) {
+            Results results = failures.get(sqlStatement);
+            if (results != null) {
+                LOG.error("Statement at line " + sqlStatement.getLineNumber() + " of "
+                        + sqlScript.getResource().getFilename() + " failed: " + results.getException().getMessage());
+                if (firstFailure == null) {
+                    firstFailure = sqlStatement;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            handleException(failures.get(firstFailure), sqlScript, firstFailure);
+        }
     }
 
     protected void logStatementExecution(SqlStatement sqlStatement) {
@@ -205,11 +345,15 @@ public class DefaultSqlScriptExecutor implements SqlScriptExecutor {
 
 
 
+        long start = throttle == null ? 0 : throttle.beforeStatement(jdbcTemplate.getConnection());
         Results results = sqlStatement.execute(jdbcTemplate
 
 
 
         );
+        if (throttle != null) {
+            throttle.afterStatement(start, results);
+        }
         if (results.getException() != null) {
 
 
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.sqlscript;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.util.IOUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The blocks of a SQL script whose statements may be executed at the same time, each on its own connection. A block
+ * starts with a {@code -- flyway:parallel=N} comment line, where N is the maximum number of connections to use, and
+ * ends with a {@code -- flyway:parallel=end} comment line, the start of the next block or the end of the script:
+ * <pre>
+ * -- flyway:parallel=4
+ * CREATE INDEX CONCURRENTLY idx_a ON a (x);
+ * CREATE INDEX CONCURRENTLY idx_b ON b (y);
+ * -- flyway:parallel=end
+ * </pre>
+ */
+public class ParallelStatementBlocks {
+    private static final Pattern DIRECTIVE = Pattern.compile("--\\s*flyway:parallel\\s*=\\s*(\\S*)\\s*");
+    private static final String END = "end";
+
+    /**
+     * A block of statements which may be executed at the same time.
+     */
+    public static class Block {
+        private final int startLine;
+        private final int endLine;
+        private final int parallelism;
+
+        Block(int startLine, int endLine, int parallelism) {
+            this.startLine = startLine;
+            this.endLine = endLine;
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * @return The maximum number of connections to execute the statements of this block on.
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        boolean contains(int lineNumber) {
+            return lineNumber > startLine && lineNumber < endLine;
+        }
+    }
+
+    private final List<Block> blocks;
+
+    private ParallelStatementBlocks(List<Block> blocks) {
+        this.blocks = blocks;
+    }
+
+    /**
+     * Reads the parallel blocks declared in this SQL script.
+     *
+     * @param resource The SQL script.
+     * @return The blocks.
+     * @throws FlywayException when the script contains an invalid parallel directive.
+     */
+    public static ParallelStatementBlocks read(LoadableResource resource) {
+        List<Block> blocks = new ArrayList<>();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(resource.read());
+            int startLine = 0;
+            int parallelism = 0;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                Matcher matcher = DIRECTIVE.matcher(line.trim());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                if (parallelism > 0) {
+                    blocks.add(new Block(startLine, lineNumber, parallelism));
+                }
+                String value = matcher.group(1);
+                if (END.equalsIgnoreCase(value)) {
+                    parallelism = 0;
+                    continue;
+                }
+                parallelism = parseParallelism(resource, lineNumber, value);
+                startLine = lineNumber;
+            }
+            if (parallelism > 0) {
+                blocks.add(new Block(startLine, Integer.MAX_VALUE, parallelism));
+            }
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read " + resource.getAbsolutePath(), e);
+        } finally {
+            IOUtils.close(reader);
+        }
+        return new ParallelStatementBlocks(blocks);
+    }
+
+    private static int parseParallelism(LoadableResource resource, int lineNumber, String value) {
+        try {
+            int parallelism = Integer.parseInt(value);
+            if (parallelism >= 1) {
+                return parallelism;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new FlywayException("Invalid parallel directive at line " + lineNumber + " of "
+                + resource.getAbsolutePath() + " (must be a number of connections of 1 or greater, or end): " + value);
+    }
+
+    /**
+     * @return Whether the script declares no parallel blocks at all.
+     */
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    /**
+     * @param sqlStatement The statement.
+     * @return The block containing this statement. {@code null} if it isn't part of any block.
+     */
+    public Block getBlock(SqlStatement sqlStatement) {
+        int lineNumber = getFirstCodeLine(sqlStatement);
+        for (Block block : blocks) {
+            if (block.contains(lineNumber)) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The parser numbers a statement from its first token, which may be one of the comments preceding it, such as the
+     * directive opening a block. The statement is therefore located by its first line which is neither blank nor a
+     * single-line comment.
+     *
+     * @return The first line of this statement containing code.
+     */
+    private static int getFirstCodeLine(SqlStatement sqlStatement) {
+        int lineNumber = sqlStatement.getLineNumber();
+        for (String line : sqlStatement.getSql().split("\n", -1)) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("--")) {
+                return lineNumber;
+            }
+            lineNumber++;
+        }
+        return sqlStatement.getLineNumber();
+    }
+}
@@ -119,7 +119,7 @@ public class ParserSqlScript implements SqlScript {
     }
 
     @Override
-    public void validate() {
+    public synchronized void validate() {
         if (!parsed) {
             parse();
         }
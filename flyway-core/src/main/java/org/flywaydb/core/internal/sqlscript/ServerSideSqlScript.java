@@ -0,0 +1,320 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.sqlscript;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.flywaydb.core.api.callback.Statement;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.jdbc.JdbcTemplate;
+import org.flywaydb.core.internal.jdbc.JdbcUtils;
+import org.flywaydb.core.internal.jdbc.Results;
+import org.flywaydb.core.internal.parser.Parser;
+import org.flywaydb.core.internal.resource.LoadableResource;
+import org.flywaydb.core.internal.util.FileCopyUtils;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A SQL script which is handed to the database in one call instead of being parsed and executed statement by
+ * statement, as long as it needs none of the features Flyway implements per statement. Otherwise, and whenever the
+ * database rejects the script before executing any of it, it is parsed and executed like any other script.
+ */
+public abstract class ServerSideSqlScript extends ParserSqlScript {
+    private static final Log LOG = LogFactory.getLog(ServerSideSqlScript.class);
+
+    private static final String PARALLEL_DIRECTIVE = "flyway:parallel";
+
+    private static final Event[] STATEMENT_EVENTS = {
+            Event.BEFORE_EACH_MIGRATE_STATEMENT,
+            Event.AFTER_EACH_MIGRATE_STATEMENT,
+            Event.AFTER_EACH_MIGRATE_STATEMENT_ERROR,
+            Event.BEFORE_EACH_UNDO_STATEMENT,
+            Event.AFTER_EACH_UNDO_STATEMENT,
+            Event.AFTER_EACH_UNDO_STATEMENT_ERROR
+    };
+
+    protected final Configuration configuration;
+
+    /**
+     * Whether callbacks listen for individual statements.
+     */
+    private final boolean statementCallbacks;
+
+    /**
+     * Whether this script is handed to the database as a whole. {@code null} until decided.
+     */
+    private Boolean serverSide;
+
+    /**
+     * Creates a new server-side sql script from this source.
+     *
+     * @param parser        The parser to fall back to.
+     * @param resource      The sql script resource.
+     * @param mixed         Whether to allow mixing transactional and non-transactional statements within the same
+     *                      migration.
+     * @param configuration      The Flyway configuration.
+     * @param statementCallbacks Whether callbacks listen for individual statements, as determined by
+     *                           {@link #hasStatementCallbacks(Configuration)}.
+     */
+    protected ServerSideSqlScript(Parser parser, LoadableResource resource, boolean mixed,
+                                  Configuration configuration, boolean statementCallbacks) {
+        super(parser, resource, mixed);
+        this.configuration = configuration;
+        this.statementCallbacks = statementCallbacks;
+    }
+
+    private synchronized boolean isServerSide() {
+        if (serverSide == null) {
+            serverSide = canExecuteServerSide();
+            if (serverSide && LOG.isDebugEnabled()) {
+                LOG.debug("Executing " + resource.getFilename() + " as a whole on the database");
+            }
+        }
+        return serverSide;
+    }
+
+    private synchronized void fallBack(SQLException e) {
+        LOG.debug("Database rejected " + resource.getFilename() + " as a whole (" + e.getMessage()
+                + "), executing it statement by statement instead");
+        serverSide = false;
+    }
+
+    /**
+     * @return Whether this script may be handed to the database as a whole: it contains no placeholders and no
+     * parallel blocks, its statements aren't throttled and no callback listens for individual statements.
+     */
+    protected boolean canExecuteServerSide() {
+        if (StatementThrottle.create(configuration) != null || statementCallbacks) {
+            return false;
+        }
+        String text = readText();
+        if (configuration.isPlaceholderReplacement() && text.contains(configuration.getPlaceholderPrefix())) {
+            return false;
+        }
+        return !text.contains(PARALLEL_DIRECTIVE);
+    }
+
+    /**
+     * Checks whether any of the configured callbacks listens for individual statements. The callbacks are asked with
+     * a context holding a connection to the database of this configuration, which is only opened when callbacks are
+     * configured.
+     *
+     * @param configuration The Flyway configuration.
+     * @return {@code true} if a callback listens for individual statements, {@code false} if not.
+     */
+    public static boolean hasStatementCallbacks(final Configuration configuration) {
+        Callback[] callbacks = configuration.getCallbacks();
+        if (callbacks.length == 0) {
+            return false;
+        }
+
+        final Connection connection =
+                JdbcUtils.openConnection(configuration.getDataSource(), configuration.getConnectRetries());
+        try {
+            Context context = new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return configuration;
+                }
+
+                @Override
+                public Connection getConnection() {
+                    return connection;
+                }
+
+                @Override
+                public MigrationInfo getMigrationInfo() {
+                    return null;
+                }
+
+                @Override
+                public Statement getStatement() {
+                    return null;
+                }
+            };
+            for (Callback callback : callbacks) {
+                for (Event event : STATEMENT_EVENTS) {
+                    if (callback.supports(event, context)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            JdbcUtils.closeConnection(connection);
+        }
+    }
+
+    /**
+     * @return The contents of this script.
+     */
+    protected String readText() {
+        try {
+            return FileCopyUtils.copyToString(resource.read());
+        } catch (IOException e) {
+            throw new FlywayException("Unable to read " + resource.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * @return The SQL executing this script as a whole.
+     */
+    protected abstract String getServerSideSql();
+
+    /**
+     * @return Whether the database executes this script as a whole inside the current transaction.
+     */
+    protected abstract boolean isServerSideTransactional();
+
+    /**
+     * @param e The exception thrown when executing this script as a whole.
+     * @return Whether the database rejected the script before executing any of it.
+     */
+    protected abstract boolean isRejected(SQLException e);
+
+    @Override
+    public synchronized void validate() {
+        if (!isServerSide()) {
+            super.validate();
+        }
+    }
+
+    @Override
+    public SqlStatementIterator getSqlStatements() {
+        if (!isServerSide()) {
+            return super.getSqlStatements();
+        }
+
+        final ServerSideSqlStatement serverSideSqlStatement = new ServerSideSqlStatement(getServerSideSql());
+        return new SqlStatementIterator() {
+            private boolean started;
+            private SqlStatementIterator parsedStatements;
+
+            @Override
+            public void close() {
+                if (parsedStatements != null) {
+                    parsedStatements.close();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    return true;
+                }
+                if (!serverSideSqlStatement.rejected) {
+                    return false;
+                }
+                if (parsedStatements == null) {
+                    parsedStatements = getParsedSqlStatements();
+                }
+                return parsedStatements.hasNext();
+            }
+
+            @Override
+            public SqlStatement next() {
+                if (!started) {
+                    started = true;
+                    return serverSideSqlStatement;
+                }
+                hasNext();
+                return parsedStatements.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("remove");
+            }
+        };
+    }
+
+    private SqlStatementIterator getParsedSqlStatements() {
+        return super.getSqlStatements();
+    }
+
+    /**
+     * Parses this script, as if it weren't executed as a whole.
+     *
+     * @return The statements of this script.
+     */
+    protected List<SqlStatement> parseSqlStatements() {
+        super.validate();
+        return sqlStatements;
+    }
+
+    @Override
+    public int getSqlStatementCount() {
+        return isServerSide() ? 1 : super.getSqlStatementCount();
+    }
+
+    @Override
+    public boolean executeInTransaction() {
+        return isServerSide() ? isServerSideTransactional() : super.executeInTransaction();
+    }
+
+    /**
+     * The single statement executing the whole script. When the database rejects it, the script is parsed and its
+     * statements follow it.
+     */
+    private class ServerSideSqlStatement implements SqlStatement {
+        private final String sql;
+        private boolean rejected;
+
+        ServerSideSqlStatement(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return 1;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+
+        @Override
+        public String getDelimiter() {
+            return "";
+        }
+
+        @Override
+        public boolean canExecuteInTransaction() {
+            return isServerSideTransactional();
+        }
+
+        @Override
+        public Results execute(JdbcTemplate jdbcTemplate) {
+            Results results = jdbcTemplate.executeStatement(sql);
+            if (results.getException() != null && isRejected(results.getException())) {
+                fallBack(results.getException());
+                rejected = true;
+                return new Results();
+            }
+            return results;
+        }
+    }
+}
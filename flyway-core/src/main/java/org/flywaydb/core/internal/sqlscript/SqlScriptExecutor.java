@@ -25,4 +25,13 @@ public interface SqlScriptExecutor {
      * @param sqlScript The SQL script.
      */
     void execute(SqlScript sqlScript);
-}
\ No newline at end of file
+
+    /**
+     * Executes this SQL script, skipping the statements already executed according to this checkpoint and recording
+     * each further statement in it as soon as it completes.
+     *
+     * @param sqlScript  The SQL script.
+     * @param checkpoint The progress of the script. {@code null} to execute it from the start without recording it.
+     */
+    void execute(SqlScript sqlScript, StatementCheckpoint checkpoint);
+}
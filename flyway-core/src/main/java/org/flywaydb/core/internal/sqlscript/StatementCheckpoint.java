@@ -0,0 +1,39 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.sqlscript;
+
+/**
+ * The progress of a SQL script executed outside a transaction, so its execution can resume after the statements which
+ * already completed when it failed.
+ */
+public interface StatementCheckpoint {
+    /**
+     * Checks whether this statement already completed in a previous execution and must be skipped.
+     *
+     * @param index The index of the statement in the script, starting at 0.
+     * @return {@code true} if it completed, {@code false} if it must be executed.
+     */
+    boolean isExecuted(int index);
+
+    /**
+     * Records that this statement completed successfully. The statements of a parallel block may complete in any
+     * order and from several threads at the same time.
+     *
+     * @param index        The index of the statement in the script, starting at 0.
+     * @param sqlStatement The statement.
+     */
+    void statementExecuted(int index, SqlStatement sqlStatement);
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.sqlscript;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.executor.BackpressureProbe;
+import org.flywaydb.core.api.executor.Context;
+import org.flywaydb.core.api.logging.Log;
+import org.flywaydb.core.api.logging.LogFactory;
+import org.flywaydb.core.internal.jdbc.Result;
+import org.flywaydb.core.internal.jdbc.Results;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slows down the statements of migrations so they don't compete too much with the other traffic of a live database.
+ * Statements are paced to the maximum number of statements and modified rows per second, and paused while any
+ * backpressure probe reports pressure. Unused capacity is never saved up, so a slow statement is not followed by a
+ * burst of fast ones. A single throttle is shared by all connections executing migrations.
+ */
+public class StatementThrottle {
+    private static final Log LOG = LogFactory.getLog(StatementThrottle.class);
+
+    private final Configuration configuration;
+    private final BackpressureProbe[] backpressureProbes;
+
+    /**
+     * The minimum time between the start of two statements, in nanoseconds. 0 if unlimited.
+     */
+    private final long statementInterval;
+
+    /**
+     * The number of rows per second which may be modified. 0 if unlimited.
+     */
+    private final int rowsPerSecond;
+
+    /**
+     * The time before which the next statement may not start, as given by {@link System#nanoTime()}.
+     */
+    private long nextStatementTime;
+
+    /**
+     * How much the statements were slowed down, as reported by {@link #logSummary()}.
+     */
+    private int throttleWaits;
+    private long throttleWaitTime;
+    private int backpressurePauses;
+    private long backpressurePauseTime;
+
+    private StatementThrottle(Configuration configuration) {
+        this.configuration = configuration;
+        this.backpressureProbes = configuration.getBackpressureProbes();
+        this.statementInterval = configuration.getThrottleStatementsPerSecond() > 0
+                ? TimeUnit.SECONDS.toNanos(1) / configuration.getThrottleStatementsPerSecond()
+                : 0;
+        this.rowsPerSecond = configuration.getThrottleRowsPerSecond();
+        this.nextStatementTime = System.nanoTime();
+    }
+
+    /**
+     * Creates the throttle for the migrations of this configuration.
+     *
+     * @param configuration The configuration.
+     * @return The throttle. {@code null} if the migrations must be executed at full speed.
+     */
+    public static StatementThrottle create(Configuration configuration) {
+        if (configuration.getThrottleStatementsPerSecond() == 0 && configuration.getThrottleRowsPerSecond() == 0
+                && configuration.getBackpressureProbes().length == 0) {
+            return null;
+        }
+        return new StatementThrottle(configuration);
+    }
+
+    /**
+     * Waits until the next statement may be executed on this connection.
+     *
+     * @param connection The connection the statement will be executed on.
+     * @return The time the statement starts, as given by {@link System#nanoTime()}.
+     */
+    public long beforeStatement(Connection connection) {
+        pauseWhileUnderPressure(connection);
+        return waitForTurn();
+    }
+
+    private void pauseWhileUnderPressure(final Connection connection) {
+        if (backpressureProbes.length == 0) {
+            return;
+        }
+        Context context = new Context() {
+            @Override
+            public Configuration getConfiguration() {
+                return configuration;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return connection;
+            }
+        };
+        boolean paused = false;
+        for (int i = 0; i < backpressureProbes.length; i++) {
+            long pause = backpressureProbes[i].getPause(context);
+            if (pause > 0) {
+                LOG.info("Backpressure reported by " + backpressureProbes[i].getClass().getName()
+                        + ": pausing migration for " + pause + " ms");
+                sleep(TimeUnit.MILLISECONDS.toNanos(pause));
+                recordBackpressurePause(pause);
+                paused = true;
+                // Check all probes again, as the pressure reported by the others may have changed meanwhile
+                i = -1;
+            }
+        }
+        if (paused) {
+            LOG.info("Backpressure released: resuming migration");
+        }
+    }
+
+    private synchronized void recordBackpressurePause(long pause) {
+        backpressurePauses++;
+        backpressurePauseTime += pause;
+    }
+
+    /**
+     * Reserves the next free slot for a statement and waits for it. The slot is reserved while holding the lock, but
+     * the wait happens outside of it, so the other connections can reserve the following slots meanwhile.
+     *
+     * @return The time the statement starts, as given by {@link System#nanoTime()}.
+     */
+    private long waitForTurn() {
+        long start;
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            start = Math.max(now, nextStatementTime);
+            wait = start - now;
+            nextStatementTime = start + statementInterval;
+            if (wait > 0) {
+                throttleWaits++;
+                throttleWaitTime += TimeUnit.NANOSECONDS.toMillis(wait);
+            }
+        }
+        if (wait > 0) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Throttling: waiting " + TimeUnit.NANOSECONDS.toMillis(wait) + " ms before the next statement");
+            }
+            sleep(wait);
+        }
+        return start;
+    }
+
+    /**
+     * Records the rows modified by this statement, delaying the next statements until they fit within the maximum
+     * number of rows per second.
+     *
+     * @param start   The time the statement started, as returned by {@link #beforeStatement(Connection)}.
+     * @param results The results of the statement.
+     */
+    public synchronized void afterStatement(long start, Results results) {
+        if (rowsPerSecond == 0) {
+            return;
+        }
+        long rows = 0;
+        for (Result result : results.getResults()) {
+            if (result.getUpdateCount() > 0) {
+                rows += result.getUpdateCount();
+            }
+        }
+        if (rows > 0) {
+            nextStatementTime = Math.max(nextStatementTime, start + TimeUnit.SECONDS.toNanos(1) * rows / rowsPerSecond);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while throttling migration", e);
+        }
+    }
+
+    /**
+     * Logs how much the migration was slowed down.
+     */
+    public synchronized void logSummary() {
+        if (throttleWaits == 0 && backpressurePauses == 0) {
+            return;
+        }
+        LOG.info("Throttling delayed statements " + throttleWaits + " times for a total of " + throttleWaitTime
+                + " ms, backpressure paused them " + backpressurePauses + " times for a total of "
+                + backpressurePauseTime + " ms");
+    }
+}
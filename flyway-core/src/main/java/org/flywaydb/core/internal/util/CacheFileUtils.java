@@ -0,0 +1,186 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utility methods for the line-based cache files Flyway keeps on disk between runs. Cache files may be shared by
+ * several processes at once. They are therefore always replaced atomically, so readers never see a partially written
+ * file, and updates are serialized using a lock file next to the cache file.
+ */
+public class CacheFileUtils {
+    /**
+     * File locks are held on behalf of the whole JVM, so updates from within this JVM must be serialized separately.
+     */
+    private static final ConcurrentMap<String, Object> MONITORS = new ConcurrentHashMap<>();
+
+    /**
+     * Files modified this recently are not fingerprinted, as a further modification within the timestamp granularity of
+     * the filesystem would otherwise go unnoticed.
+     */
+    private static final long MIN_AGE_MILLIS = TimeUnit.SECONDS.toMillis(2);
+
+    /**
+     * Prevent instantiation.
+     */
+    private CacheFileUtils() {
+        // Do nothing
+    }
+
+    /**
+     * Callback for updating the contents of a cache file.
+     */
+    public interface Updater {
+        /**
+         * Computes the new contents of the cache file.
+         *
+         * @param currentLines The current contents of the cache file, as written by the last process to update it.
+         * @return The new contents of the cache file.
+         */
+        List<String> update(List<String> currentLines);
+    }
+
+    /**
+     * Computes a fingerprint of this file which changes whenever its contents change, made up of its canonical path,
+     * size and modification time.
+     *
+     * @param file The file.
+     * @return The fingerprint, or {@code null} if the file doesn't exist or was modified too recently to be
+     * fingerprinted safely.
+     */
+    public static String fingerprint(File file) {
+        long lastModified = file.lastModified();
+        if (lastModified == 0 || lastModified > System.currentTimeMillis() - MIN_AGE_MILLIS) {
+            return null;
+        }
+        try {
+            return file.getCanonicalPath() + "|" + file.length() + "|" + lastModified;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the lines of this cache file.
+     *
+     * @param file The cache file.
+     * @return The lines. An empty list if the file doesn't exist yet.
+     * @throws IOException when the file exists, but could not be read.
+     */
+    public static List<String> readLines(File file) throws IOException {
+        try {
+            return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Updates this cache file while holding an exclusive lock on it, so concurrent updates from other processes are
+     * merged instead of lost.
+     *
+     * @param file    The cache file.
+     * @param updater The callback computing the new contents from the current ones.
+     * @throws IOException when the file could not be locked, read or written.
+     */
+    public static void update(final File file, final Updater updater) throws IOException {
+        lock(file, new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                File absoluteFile = file.getAbsoluteFile();
+                write(absoluteFile.getParentFile(), absoluteFile, updater.update(readLines(absoluteFile)));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Executes this callable while holding an exclusive lock on this file, using a lock file next to it. Other threads
+     * and processes locking the same file wait until the callable has completed.
+     *
+     * @param file     The file to lock. It doesn't need to exist.
+     * @param callable The callable to execute.
+     * @param <T>      The type of the result.
+     * @return The result of the callable.
+     * @throws IOException when the file could not be locked, or the callable failed with an IOException.
+     */
+    public static <T> T lock(File file, Callable<T> callable) throws IOException {
+        File absoluteFile = file.getAbsoluteFile();
+        File dir = absoluteFile.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            throw new IOException("Unable to create directory " + dir);
+        }
+
+        Object monitor = new Object();
+        Object existingMonitor = MONITORS.putIfAbsent(absoluteFile.getPath(), monitor);
+        if (existingMonitor != null) {
+            monitor = existingMonitor;
+        }
+
+        File lockFile = new File(dir, absoluteFile.getName() + ".lock");
+        synchronized (monitor) {
+            try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock fileLock = lockChannel.lock();
+                try {
+                    return callable.call();
+                } finally {
+                    fileLock.release();
+                }
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new FlywayException(e);
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the contents of this file by writing them to a temporary file in the same directory first.
+     */
+    private static void write(File dir, File file, List<String> lines) throws IOException {
+        File tempFile = File.createTempFile(file.getName(), ".tmp", dir);
+        try {
+            Files.write(tempFile.toPath(), lines, StandardCharsets.UTF_8);
+            try {
+                Files.move(tempFile.toPath(), file.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+}
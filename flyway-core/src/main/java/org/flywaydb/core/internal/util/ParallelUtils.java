@@ -0,0 +1,139 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.core.internal.util;
+
+import org.flywaydb.core.api.FlywayException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility methods for running independent tasks on a bounded pool of worker threads.
+ */
+public class ParallelUtils {
+    /**
+     * The maximum number of worker threads used by default, regardless of the number of available processors.
+     */
+    private static final int MAX_DEFAULT_PARALLELISM = 8;
+
+    /**
+     * Prevent instantiation.
+     */
+    private ParallelUtils() {
+        // Do nothing
+    }
+
+    /**
+     * @return The default number of worker threads to use for CPU and I/O-bound work such as checksum calculation.
+     */
+    public static int getDefaultParallelism() {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_PARALLELISM));
+    }
+
+    /**
+     * Executes these tasks on at most this many worker threads and waits for all of them to complete. Tasks are run
+     * on the calling thread if there is nothing to gain from using more threads.
+     *
+     * @param tasks       The tasks to execute.
+     * @param parallelism The maximum number of worker threads to use.
+     * @param <T>         The result type of the tasks.
+     * @return The results of the tasks, in the same order as the tasks.
+     * @throws FlywayException when one of the tasks failed. Runtime exceptions thrown by tasks are rethrown as is.
+     */
+    public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks, int parallelism) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (parallelism <= 1 || tasks.size() <= 1) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new FlywayException(e.getMessage(), e);
+                }
+            }
+            return results;
+        }
+
+        ExecutorService executorService = createExecutorService(Math.min(parallelism, tasks.size()));
+        try {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(executorService.submit(task));
+            }
+            for (Future<T> future : futures) {
+                results.add(getResult(future));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Creates a new executor service with this many daemon worker threads. The caller is responsible for shutting it
+     * down.
+     *
+     * @param threads The number of worker threads.
+     * @return The executor service.
+     */
+    public static ExecutorService createExecutorService(int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "flyway-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Waits for this future to complete and retrieves its result.
+     *
+     * @param future The future.
+     * @param <T>    The result type.
+     * @return The result.
+     * @throws FlywayException when the task failed or the wait was interrupted. Runtime exceptions and errors thrown
+     *                         by the task are rethrown as is.
+     */
+    public static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlywayException("Interrupted while waiting for parallel task to complete", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FlywayException(cause.getMessage(), cause);
+        }
+    }
+}
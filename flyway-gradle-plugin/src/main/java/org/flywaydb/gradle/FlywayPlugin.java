@@ -19,7 +19,9 @@ import org.flywaydb.gradle.task.FlywayBaselineTask;
 import org.flywaydb.gradle.task.FlywayCleanTask;
 import org.flywaydb.gradle.task.FlywayInfoTask;
 import org.flywaydb.gradle.task.FlywayMigrateTask;
+import org.flywaydb.gradle.task.FlywayMigrateTenantsTask;
 import org.flywaydb.gradle.task.FlywayRepairTask;
+import org.flywaydb.gradle.task.FlywayResetTask;
 import org.flywaydb.gradle.task.FlywayUndoTask;
 import org.flywaydb.gradle.task.FlywayValidateTask;
 import org.gradle.api.Plugin;
@@ -32,8 +34,10 @@ public class FlywayPlugin implements Plugin<Project> {
     public void apply(Project project) {
         project.getExtensions().create("flyway", FlywayExtension.class);
         project.getTasks().create("flywayClean", FlywayCleanTask.class);
+        project.getTasks().create("flywayReset", FlywayResetTask.class);
         project.getTasks().create("flywayBaseline", FlywayBaselineTask.class);
         project.getTasks().create("flywayMigrate", FlywayMigrateTask.class);
+        project.getTasks().create("flywayMigrateTenants", FlywayMigrateTenantsTask.class);
         project.getTasks().create("flywayUndo", FlywayUndoTask.class);
         project.getTasks().create("flywayValidate", FlywayValidateTask.class);
         project.getTasks().create("flywayInfo", FlywayInfoTask.class);
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.gradle.task;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.tenant.MultiTenantMigrationResult;
+
+public class FlywayMigrateTenantsTask extends AbstractFlywayTask {
+    public FlywayMigrateTenantsTask() {
+        super();
+        setDescription("Migrates all configured tenants concurrently to the latest version.");
+    }
+
+    @Override
+    protected Object run(Flyway flyway) {
+        MultiTenantMigrationResult result = flyway.migrateTenants();
+        if (!result.isSuccess()) {
+            throw new FlywayException("Migration failed for " + result.getFailedResults().size() + " of "
+                    + result.getResults().size() + " tenants");
+        }
+        return result.getMigrationsExecuted();
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2010-2019 Boxfuse GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flywaydb.gradle.task;
+
+import org.flywaydb.core.Flyway;
+
+public class FlywayResetTask extends AbstractFlywayTask {
+    public FlywayResetTask() {
+        super();
+        setDescription("Restores the data in the configured schemas to their state right after migrating.");
+    }
+
+    @Override
+    protected Object run(Flyway flyway) {
+        flyway.reset();
+        return null;
+    }
+}
\ No newline at end of file
@@ -448,6 +448,203 @@ abstract class AbstractFlywayMojo extends AbstractMojo {
     @Parameter(property = ConfigUtils.GROUP)
     private Boolean group;
 
+    /**
+     * The file in which to cache the checksums of filesystem and classpath migrations between runs. Cached checksums
+     * are keyed by the path, size and modification time of the underlying file (as well as the entry CRC-32 and size
+     * for resources inside jar files), so they are recalculated whenever a migration changes. The file may be shared
+     * by several Flyway processes at once.
+     * <p>The path of the cache file or {@code null} to disable checksum caching. (default: {@code null})</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.checksumCacheFile}</p>
+     */
+    @Parameter(property = ConfigUtils.CHECKSUM_CACHE_FILE)
+    private String checksumCacheFile;
+
+    /**
+     * The file in which to cache the names of the resources found in jar files on the classpath between runs. Cached
+     * results are keyed by the path, size and modification time of the jar file, so jars are scanned again whenever
+     * they change. Directories on the classpath and filesystem locations are always scanned. The file may be shared by
+     * several Flyway processes at once.
+     * <p>The path of the cache file or {@code null} to disable scan caching. (default: {@code null})</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.scanCacheFile}</p>
+     */
+    @Parameter(property = ConfigUtils.SCAN_CACHE_FILE)
+    private String scanCacheFile;
+
+    /**
+     * The maximum number of schemas to clean at the same time, each on its own connection. Schemas which fail to be
+     * cleaned in parallel, for example because of dependencies on objects in other schemas, are cleaned again one
+     * after the other afterwards. Databases which don't support cleaning on several connections at once are always
+     * cleaned serially.
+     * <p>The maximum number of schemas to clean at the same time. (default: 1)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.cleanParallelism}</p>
+     */
+    @Parameter(property = ConfigUtils.CLEAN_PARALLELISM)
+    private Integer cleanParallelism;
+
+    /**
+     * The directory in which to keep snapshots of freshly migrated embedded databases (H2 and SQLite). When set,
+     * migrating an empty database restores it from the snapshot taken for the same set of migrations instead of
+     * applying them one by one, and takes that snapshot if it doesn't exist yet. Snapshots are keyed by a fingerprint
+     * of the migrations and the configuration affecting them, so any change to a migration leads to a new snapshot.
+     * Concurrent processes sharing the directory wait for each other instead of taking the same snapshot twice.
+     * Callbacks are not invoked for restored migrations.
+     * <p>The directory for snapshots of migrated embedded databases. {@code null} to disable snapshots. (default: {@code null})</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.snapshotDirectory}</p>
+     */
+    @Parameter(property = ConfigUtils.SNAPSHOT_DIRECTORY)
+    private String snapshotDirectory;
+
+    /**
+     * The tenants to migrate with migrateTenants. Each entry is either the JDBC url of a database with the same
+     * credentials as the configured one, or the name of a schema of the configured database which is then the only
+     * schema managed by Flyway for that tenant.
+     * <p>The tenants to migrate, as JDBC urls or schema names. (default: none)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.tenants} (comma-separated list)</p>
+     */
+    @Parameter(property = ConfigUtils.TENANTS)
+    private String[] tenants;
+
+    /**
+     * The maximum number of tenants to migrate at the same time with migrateTenants, each on its own connection.
+     * <p>The maximum number of tenants to migrate at the same time. (default: 4)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.tenantParallelism}</p>
+     */
+    @Parameter(property = ConfigUtils.TENANT_PARALLELISM)
+    private Integer tenantParallelism;
+
+    /**
+     * The maximum number of times migrateTenants retries migrating a tenant which failed because of a transient
+     * database error, such as a lost connection, a deadlock or a timeout. Retries wait 1 second after the first
+     * failure, doubling up to 1 minute after subsequent ones. Other tenants are never affected by the failure of a
+     * tenant.
+     * <p>The maximum number of retries per tenant. (default: 0)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.tenantRetries}</p>
+     */
+    @Parameter(property = ConfigUtils.TENANT_RETRIES)
+    private Integer tenantRetries;
+
+    /**
+     * The maximum number of migrations applied at the same time, each on its own connection. Only versioned
+     * migrations declaring the versions they depend on (using {@code -- flyway:dependsOn=...} in the header of a SQL
+     * migration or {@code getDependencies()} for a Java migration) run concurrently with other migrations. Migrations
+     * without declared dependencies still wait for all migrations with a lower version. Ignored when group is enabled.
+     * <p>The maximum number of migrations applied at the same time. (default: 1)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.migrateParallelism}</p>
+     */
+    @Parameter(property = ConfigUtils.MIGRATE_PARALLELISM)
+    private Integer migrateParallelism;
+
+    /**
+     * Whether to apply repeatable migrations which don't conflict with each other at the same time, on up to
+     * migrateParallelism connections. Two repeatable migrations conflict when one refers to an object the other one
+     * creates or modifies, or when either lists the other in a {@code -- flyway:conflictsWith=...} header. When both
+     * declare their conflicts this way, only the declarations count. Conflicting repeatable migrations are applied in
+     * their usual order, and all repeatable migrations are recorded in the schema history table in their usual order.
+     * <p>{@code true} to apply independent repeatable migrations in parallel. (default: {@code false})</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.parallelRepeatables}</p>
+     */
+    @Parameter(property = ConfigUtils.PARALLEL_REPEATABLES)
+    private Boolean parallelRepeatables;
+
+    /**
+     * The maximum number of migrations applied in the same transaction when group is enabled. Pending migrations
+     * are then applied in consecutive groups of at most this size, each committed along with its schema history rows
+     * before the next one starts. 0 means no limit: all pending migrations are applied in a single transaction.
+     * <p>The maximum number of migrations per group. (default: 0)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.groupSize}</p>
+     */
+    @Parameter(property = ConfigUtils.GROUP_SIZE)
+    private Integer groupSize;
+
+    /**
+     * The time in seconds after which a group is committed when group is enabled. Once the migrations applied
+     * in the current transaction have taken this long, the group is committed after the migration in progress and
+     * the remaining migrations are applied in a new group. 0 means no limit.
+     * <p>The maximum duration of a group in seconds. (default: 0)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.groupMaxDuration}</p>
+     */
+    @Parameter(property = ConfigUtils.GROUP_MAX_DURATION)
+    private Integer groupMaxDuration;
+
+    /**
+     * The file in which to record the progress of non-transactional SQL migrations, statement by statement. When
+     * such a migration fails, the statements it executed successfully remain recorded, so once it has been fixed
+     * and repaired, the next migrate resumes it after the last of them, provided they haven't changed. The file
+     * is written after every statement of these migrations. {@code null} disables checkpoints.
+     * <p>The checkpoint file for non-transactional migrations. (default: none)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.checkpointFile}</p>
+     */
+    @Parameter(property = ConfigUtils.CHECKPOINT_FILE)
+    private String checkpointFile;
+
+    /**
+     * The maximum number of statements per second to execute for migrations. Statements are paced so the
+     * average rate since the start of the script, or since the last backpressure pause, never exceeds it. This
+     * keeps large data migrations on a live database from starving other traffic. 0 means no limit.
+     * <p>The maximum number of statements per second. (default: 0)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.throttleStatementsPerSecond}</p>
+     */
+    @Parameter(property = ConfigUtils.THROTTLE_STATEMENTS_PER_SECOND)
+    private Integer throttleStatementsPerSecond;
+
+    /**
+     * The maximum number of rows per second to modify for migrations, according to the update counts reported
+     * by the database. Once a statement has modified more rows than the limit allows so far, the next statement
+     * waits until the average rate is back within the limit. 0 means no limit.
+     * <p>The maximum number of rows modified per second. (default: 0)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.throttleRowsPerSecond}</p>
+     */
+    @Parameter(property = ConfigUtils.THROTTLE_ROWS_PER_SECOND)
+    private Integer throttleRowsPerSecond;
+
+    /**
+     * The fully qualified class names of the BackpressureProbes checked before each statement of a migration. While
+     * any of them reports pressure on the database, such as replication lag or too many active sessions, execution
+     * pauses.
+     * <p>(default: none)</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.backpressureProbes} (Comma-separated list)</p>
+     */
+    @Parameter(property = ConfigUtils.BACKPRESSURE_PROBES)
+    private String[] backpressureProbes;
+
+    /**
+     * Whether to apply migrations with the bulk-load profile of the database, which trades durability for speed
+     * while they run: synchronous off and an in-memory journal on SQLite, no transaction log on H2 and HSQLDB. The
+     * original settings are restored afterwards. On H2 and HSQLDB these settings apply to the whole database, so
+     * only use this for embedded and test databases. A SQL migration can override it with
+     * {@code -- flyway:bulkProfile=true} or {@code false} in its header, and a data migration with
+     * {@code # flyway:bulkProfile=true} or {@code false}. The profile is used for the whole migration run as soon
+     * as one pending migration requests it.
+     * <p>{@code true} to apply migrations with the bulk-load profile. (default: {@code false})</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.bulkProfile}</p>
+     */
+    @Parameter(property = ConfigUtils.BULK_PROFILE)
+    private Boolean bulkProfile;
+
+    /**
+     * Whether SQL scripts on H2 and HSQLDB should be handed to the database in one call instead of being parsed
+     * and executed statement by statement. This only applies to scripts which need none of the features Flyway
+     * implements per statement: scripts containing placeholders, parallel blocks or checkpointed, throttled or
+     * grouped execution, and all scripts when callbacks listen for individual statements, are still parsed as usual.
+     * H2 executes these scripts with {@code RUNSCRIPT}, which commits as it goes and requires admin rights, so only
+     * scripts which already run outside a transaction, or only contain statements H2 commits by itself such as DDL, are
+     * executed this way. HSQLDB executes them in a single statement.
+     * <p>{@code true} to let H2 and HSQLDB execute SQL scripts themselves. (default: {@code false})</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.serverSideScripts}</p>
+     */
+    @Parameter(property = ConfigUtils.SERVER_SIDE_SCRIPTS)
+    private Boolean serverSideScripts;
+
+    /**
+     * Whether to resolve data file migrations, loading the rows of {@code .csv} and {@code .tsv} files named like
+     * versioned or repeatable SQL migrations into a table. Off by default, so such files next to the SQL migrations
+     * are never applied unintentionally.
+     * <p>{@code true} to resolve data file migrations. (default: {@code false})</p>
+     * <p>Also configurable with Maven or System Property: ${flyway.dataMigrations}</p>
+     */
+    @Parameter(property = ConfigUtils.DATA_MIGRATIONS)
+    private Boolean dataMigrations;
+
     /**
      * The username that will be recorded in the schema history table as having applied the migration.
      * <p>{@code null} for the current database user of the connection. (default: {@code null}).</p>
@@ -707,6 +904,24 @@ abstract class AbstractFlywayMojo extends AbstractMojo {
             putArrayIfSet(conf, ConfigUtils.SQL_MIGRATION_SUFFIXES, sqlMigrationSuffixes);
             putIfSet(conf, ConfigUtils.MIXED, mixed);
             putIfSet(conf, ConfigUtils.GROUP, group);
+            putIfSet(conf, ConfigUtils.CHECKSUM_CACHE_FILE, checksumCacheFile);
+            putIfSet(conf, ConfigUtils.SCAN_CACHE_FILE, scanCacheFile);
+            putIfSet(conf, ConfigUtils.CLEAN_PARALLELISM, cleanParallelism);
+            putIfSet(conf, ConfigUtils.SNAPSHOT_DIRECTORY, snapshotDirectory);
+            putArrayIfSet(conf, ConfigUtils.TENANTS, tenants);
+            putIfSet(conf, ConfigUtils.TENANT_PARALLELISM, tenantParallelism);
+            putIfSet(conf, ConfigUtils.TENANT_RETRIES, tenantRetries);
+            putIfSet(conf, ConfigUtils.MIGRATE_PARALLELISM, migrateParallelism);
+            putIfSet(conf, ConfigUtils.PARALLEL_REPEATABLES, parallelRepeatables);
+            putIfSet(conf, ConfigUtils.GROUP_SIZE, groupSize);
+            putIfSet(conf, ConfigUtils.GROUP_MAX_DURATION, groupMaxDuration);
+            putIfSet(conf, ConfigUtils.CHECKPOINT_FILE, checkpointFile);
+            putIfSet(conf, ConfigUtils.THROTTLE_STATEMENTS_PER_SECOND, throttleStatementsPerSecond);
+            putIfSet(conf, ConfigUtils.THROTTLE_ROWS_PER_SECOND, throttleRowsPerSecond);
+            putArrayIfSet(conf, ConfigUtils.BACKPRESSURE_PROBES, backpressureProbes);
+            putIfSet(conf, ConfigUtils.BULK_PROFILE, bulkProfile);
+            putIfSet(conf, ConfigUtils.SERVER_SIDE_SCRIPTS, serverSideScripts);
+            putIfSet(conf, ConfigUtils.DATA_MIGRATIONS, dataMigrations);
             putIfSet(conf, ConfigUtils.INSTALLED_BY, installedBy);
             putIfSet(conf, ConfigUtils.CLEAN_ON_VALIDATION_ERROR, cleanOnValidationError);
             putIfSet(conf, ConfigUtils.CLEAN_DISABLED, cleanDisabled);